@@ -14,14 +14,13 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.DAOFactory;
 import com.campusconf.dao.SubmissionDAO;
-import com.campusconf.dao.impl.SubmissionDAOImpl;
 import com.campusconf.models.Conference;
 import com.campusconf.models.Submission;
 import com.campusconf.utils.DatabaseUtil;
 
-@WebServlet("/dashboard/author/*")
+@WebServlet(urlPatterns = "/dashboard/author/*", asyncSupported = true)
 public class AuthorDashboardServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceDAO conferenceDAO;
@@ -30,8 +29,8 @@ public class AuthorDashboardServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            submissionDAO = new SubmissionDAOImpl();
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            submissionDAO = DAOFactory.getSubmissionDAO();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -0,0 +1,203 @@
+package com.campusconf.controllers;
+
+import com.campusconf.dao.ConferenceDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.models.BulkMailJob;
+import com.campusconf.models.Conference;
+import com.campusconf.services.BulkMailService;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bulk announcement mail for conference presidents.
+ *
+ * POST /email/bulk                 creates a job (conferenceId, audience, mode,
+ *                                  subject, body) and returns 202 with its id
+ * GET  /email/bulk/{jobId}         progress of the job
+ * POST /email/bulk/{jobId}/cancel  stops the job after the current page
+ * POST /email/bulk/{jobId}/resume  continues a cancelled or interrupted job
+ *
+ * Sending happens in BulkMailService; no request waits for the mail.
+ */
+@WebServlet("/email/bulk/*")
+public class BulkMailServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final BulkMailService bulkMailService = BulkMailService.getInstance();
+    private final ConferenceDAO conferenceDAO = DAOFactory.getConferenceDAO();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Long userId = currentUserId(request, response);
+        if (userId == null) {
+            return;
+        }
+        String[] path = pathParts(request);
+        if (path.length != 1) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        try {
+            BulkMailJob job = findOwnJob(path[0], userId, response);
+            if (job != null) {
+                writeJob(response, job);
+            }
+        } catch (SQLException e) {
+            LogUtil.error("Error reading bulk mail job", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error reading bulk mail job");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Long userId = currentUserId(request, response);
+        if (userId == null) {
+            return;
+        }
+        String[] path = pathParts(request);
+        try {
+            if (path.length == 0) {
+                createJob(request, response, userId);
+                return;
+            }
+            if (path.length != 2 || !("cancel".equals(path[1]) || "resume".equals(path[1]))) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            BulkMailJob job = findOwnJob(path[0], userId, response);
+            if (job == null) {
+                return;
+            }
+            boolean changed = "cancel".equals(path[1])
+                    ? bulkMailService.cancel(job.getJobId())
+                    : bulkMailService.resume(job.getJobId());
+            if (!changed) {
+                response.sendError(HttpServletResponse.SC_CONFLICT, "Job is " + job.getStatus());
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_ACCEPTED);
+            writeJob(response, bulkMailService.getJob(job.getJobId()));
+        } catch (SQLException e) {
+            LogUtil.error("Error processing bulk mail request", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error processing bulk mail request");
+        }
+    }
+
+    private void createJob(HttpServletRequest request, HttpServletResponse response, Long userId)
+            throws SQLException, IOException {
+        String conferenceId = request.getParameter("conferenceId");
+        String audience = upper(request.getParameter("audience"));
+        String mode = request.getParameter("mode") != null ? upper(request.getParameter("mode")) : "BCC";
+        String subject = request.getParameter("subject");
+        String body = request.getParameter("body");
+
+        if (conferenceId == null || !conferenceId.matches("\\d+")) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "conferenceId is required");
+            return;
+        }
+        if (!BulkMailService.isValidAudience(audience)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "audience must be AUTHORS, PC, SC, COMMITTEES or ALL");
+            return;
+        }
+        if (!BulkMailService.isValidMode(mode)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "mode must be BCC or PERSONALIZED");
+            return;
+        }
+        if (subject == null || subject.trim().isEmpty() || body == null || body.trim().isEmpty()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "subject and body are required");
+            return;
+        }
+        if (!isPresident(Long.parseLong(conferenceId), userId, response)) {
+            return;
+        }
+
+        BulkMailJob job;
+        try {
+            job = bulkMailService.createJob(Long.parseLong(conferenceId), userId, audience, mode,
+                    subject.trim(), body);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid template: " + e.getMessage());
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+        response.setHeader("Location", request.getContextPath() + "/email/bulk/" + job.getJobId());
+        writeJob(response, job);
+    }
+
+    private BulkMailJob findOwnJob(String jobId, Long userId, HttpServletResponse response)
+            throws SQLException, IOException {
+        if (!jobId.matches("\\d+")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        BulkMailJob job = bulkMailService.getJob(Long.parseLong(jobId));
+        if (job == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return null;
+        }
+        return isPresident(job.getConferenceId(), userId, response) ? job : null;
+    }
+
+    private boolean isPresident(Long conferenceId, Long userId, HttpServletResponse response)
+            throws SQLException, IOException {
+        Conference conference = conferenceDAO.findById(conferenceId);
+        if (conference == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return false;
+        }
+        if (!userId.equals(conference.getPresidentId())) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+        return true;
+    }
+
+    private static String[] pathParts(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null || pathInfo.equals("/")) {
+            return new String[0];
+        }
+        return pathInfo.substring(1).split("/");
+    }
+
+    private static String upper(String value) {
+        return value != null ? value.trim().toUpperCase() : null;
+    }
+
+    private static Long currentUserId(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return null;
+        }
+        return (Long) session.getAttribute("userId");
+    }
+
+    private static void writeJob(HttpServletResponse response, BulkMailJob job) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("jobId", job.getJobId());
+        json.put("conferenceId", job.getConferenceId());
+        json.put("audience", job.getAudience());
+        json.put("mode", job.getMode());
+        json.put("status", job.getStatus());
+        json.put("totalRecipients", job.getTotalRecipients());
+        json.put("sent", job.getSentCount());
+        json.put("failed", job.getFailedCount());
+        json.put("pending", job.getTotalRecipients() - job.getSentCount() - job.getFailedCount());
+        response.setContentType("application/json");
+        response.getWriter().write(JsonUtil.toJsonObject(json));
+    }
+}
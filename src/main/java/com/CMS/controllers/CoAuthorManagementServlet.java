@@ -7,12 +7,16 @@ import java.sql.ResultSet;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import com.campusconf.dao.RoleIndexMaintainer;
+import com.campusconf.dao.loader.EntityLoaders;
 import com.campusconf.models.Submission;
 import com.campusconf.models.SubmissionAuthor;
 import com.campusconf.models.User;
+import com.campusconf.services.DigestService;
 import com.campusconf.utils.DatabaseUtil;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -71,11 +75,10 @@ public class CoAuthorManagementServlet extends HttpServlet {
                 return;
             }
 
-            // Get all co-authors
+            // Get all co-authors; their users are resolved through the request loader
             String authorsSql = 
-                "SELECT sa.*, u.first_name, u.last_name, u.email " +
+                "SELECT sa.* " +
                 "FROM submission_authors sa " +
-                "JOIN users u ON sa.user_id = u.user_id " +
                 "WHERE sa.submission_id = ?";
             
             PreparedStatement authorsStmt = conn.prepareStatement(authorsSql);
@@ -94,10 +97,18 @@ public class CoAuthorManagementServlet extends HttpServlet {
                 coAuthors.add(author);
             }
 
+            // Load every co-author's user in one query
+            List<Long> authorIds = new ArrayList<>();
+            for (SubmissionAuthor author : coAuthors) {
+                authorIds.add(author.getUserId());
+            }
+            Map<Long, User> authorUsers = EntityLoaders.forRequest(request).users().loadAll(authorIds);
+
             // Set attributes for JSP
             request.setAttribute("submissionId", submissionId);
             request.setAttribute("submissionTitle", submissionRs.getString("title"));
             request.setAttribute("coAuthors", coAuthors);
+            request.setAttribute("authorUsers", authorUsers);
 
             // Forward to management page
             request.getRequestDispatcher("/WEB-INF/views/team/manage.jsp").forward(request, response);
@@ -176,34 +187,11 @@ public class CoAuthorManagementServlet extends HttpServlet {
                 removeStmt.setString(1, submissionId);
                 removeStmt.setLong(2, Long.parseLong(authorId));
                 removeStmt.executeUpdate();
+                RoleIndexMaintainer.submissionChanged(submissionId);
 
-                // Get removed author's email for notification
-                String getAuthorSql = 
-                    "SELECT u.email, u.first_name, u.last_name " +
-                    "FROM users u " +
-                    "WHERE u.user_id = ?";
-                
-                PreparedStatement authorStmt = conn.prepareStatement(getAuthorSql);
-                authorStmt.setLong(1, Long.parseLong(authorId));
-                ResultSet authorRs = authorStmt.executeQuery();
-                
-                if (authorRs.next()) {
-                    String authorEmail = authorRs.getString("email");
-                    String authorName = authorRs.getString("first_name") + " " + 
-                                     authorRs.getString("last_name");
-                    
-                    // Send email notification
-                    String subject = "Removed from Submission Team";
-                    String body = String.format(
-                        "Dear %s,\n\n" +
-                        "You have been removed from the submission team.\n\n" +
-                        "Best regards,\n" +
-                        "CampusConf Team",
-                        authorName
-                    );
-                    
-                    EmailUtil.sendEmail(authorEmail, subject, body);
-                }
+                // Email the removed author with their next digest
+                DigestService.getInstance().submit(List.of(Long.parseLong(authorId)),
+                        EmailTemplateCatalog.NOTICE_TEAM_REMOVED, Map.of("submissionId", submissionId), "TEAM");
             }
 
             response.sendRedirect(request.getContextPath() + "/team/manage?submissionId=" + submissionId + "&success=" + action);
@@ -14,29 +14,31 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.DAOFactory;
 import com.campusconf.dao.SubmissionDAO;
-import com.campusconf.dao.impl.SubmissionDAOImpl;
+import com.campusconf.dao.SummaryDAO;
 import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
 import com.campusconf.models.Conference;
-import com.campusconf.models.Submission;
+import com.campusconf.models.SubmissionSummary;
 import com.campusconf.models.CommitteeMember;
 import com.campusconf.utils.DatabaseUtil;
+import com.campusconf.utils.QueryScope;
 
-@WebServlet("/dashboard/committee/*")
+@WebServlet(urlPatterns = "/dashboard/committee/*", asyncSupported = true)
 public class CommitteeDashboardServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceDAO conferenceDAO;
     private SubmissionDAO submissionDAO;
+    private SummaryDAO summaryDAO;
     private CommitteeMemberDAO committeeDAO;
 
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            submissionDAO = new SubmissionDAOImpl();
-            committeeDAO = new CommitteeMemberDAOImpl();
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            submissionDAO = DAOFactory.getSubmissionDAO();
+            summaryDAO = DAOFactory.getSummaryDAO();
+            committeeDAO = DAOFactory.getCommitteeMemberDAO();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -60,18 +62,23 @@ public class CommitteeDashboardServlet extends HttpServlet {
         Long userId = (Long) session.getAttribute("userId");
 
         try {
-            // Get conferences where user is a committee member
-            List<Conference> conferences = conferenceDAO.findByCommitteeMemberId(userId);
-            
-            // Get user's committee memberships
-            List<CommitteeMember> memberships = committeeDAO.findByUserId(userId);
-
-            // Get submissions for review based on committee type
-            List<Submission> submissions;
-            if ("PC".equals(role)) {
-                submissions = submissionDAO.findByPCReviewerId(userId);
-            } else {
-                submissions = submissionDAO.findBySCReviewerId(userId);
+            // Conferences, memberships and submissions to review are independent
+            // lookups, so run them side by side
+            List<Conference> conferences;
+            List<CommitteeMember> memberships;
+            List<SubmissionSummary> submissions;
+            String committeeType = "PC".equals(role) ? "PC" : "SC";
+            try (QueryScope scope = QueryScope.open()) {
+                QueryScope.Task<List<Conference>> conferencesTask =
+                        scope.fork(() -> conferenceDAO.findByCommitteeMemberId(userId));
+                QueryScope.Task<List<CommitteeMember>> membershipsTask =
+                        scope.fork(() -> committeeDAO.findByUserId(userId));
+                QueryScope.Task<List<SubmissionSummary>> submissionsTask =
+                        scope.fork(() -> summaryDAO.findSubmissionSummariesByReviewerId(userId, committeeType));
+                scope.join();
+                conferences = conferencesTask.get();
+                memberships = membershipsTask.get();
+                submissions = submissionsTask.get();
             }
 
             // Get filter parameters
@@ -103,7 +110,7 @@ public class CommitteeDashboardServlet extends HttpServlet {
             int endIndex = Math.min(startIndex + recordsPerPage, noOfRecords);
 
             // Get paginated submissions
-            List<Submission> paginatedSubmissions = submissions.subList(startIndex, endIndex);
+            List<SubmissionSummary> paginatedSubmissions = submissions.subList(startIndex, endIndex);
 
             // Set attributes for the view
             request.setAttribute("conferences", conferences);
@@ -220,13 +227,13 @@ public class CommitteeDashboardServlet extends HttpServlet {
         response.sendRedirect(request.getContextPath() + "/submission/review/update/" + submissionId);
     }
 
-    private List<Submission> filterSubmissionsByStatus(List<Submission> submissions, String status) {
+    private List<SubmissionSummary> filterSubmissionsByStatus(List<SubmissionSummary> submissions, String status) {
         return submissions.stream()
                 .filter(sub -> status.equals(sub.getStatus()))
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByDate(List<Submission> submissions, String dateFilter) {
+    private List<SubmissionSummary> filterSubmissionsByDate(List<SubmissionSummary> submissions, String dateFilter) {
         java.time.LocalDate today = java.time.LocalDate.now();
         return submissions.stream()
                 .filter(sub -> {
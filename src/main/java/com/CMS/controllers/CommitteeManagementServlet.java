@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -14,11 +13,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.DAOFactory;
 import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
 import com.campusconf.models.Conference;
 import com.campusconf.models.CommitteeMember;
+import com.campusconf.models.ConferenceAggregate;
+import com.campusconf.services.ConferenceAggregateService;
 import com.campusconf.utils.ValidationUtils;
 import com.campusconf.utils.DatabaseUtil;
 
@@ -27,12 +27,14 @@ public class CommitteeManagementServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceDAO conferenceDAO;
     private CommitteeMemberDAO committeeDAO;
+    private ConferenceAggregateService aggregateService;
 
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            committeeDAO = new CommitteeMemberDAOImpl();
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            committeeDAO = DAOFactory.getCommitteeMemberDAO();
+            aggregateService = ConferenceAggregateService.getInstance();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -55,27 +57,25 @@ public class CommitteeManagementServlet extends HttpServlet {
 
         try {
             Long conferenceId = Long.parseLong(pathInfo.substring(1));
-            Conference conference = conferenceDAO.findById(conferenceId);
+            // Conference and both committees come from one cached snapshot
+            ConferenceAggregate aggregate = aggregateService.getConferenceAggregate(conferenceId);
             
-            if (conference == null) {
+            if (aggregate == null) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
 
             // Check if user is the president of the conference
             Long userId = (Long) session.getAttribute("userId");
-            if (!conference.getPresidentId().equals(userId)) {
+            if (!userId.equals(aggregate.getPresidentId())) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
 
-            // Get committee members
-            List<CommitteeMember> pcMembers = committeeDAO.findByCommitteeType(conferenceId, "PC");
-            List<CommitteeMember> scMembers = committeeDAO.findByCommitteeType(conferenceId, "SC");
-
-            request.setAttribute("conference", conference);
-            request.setAttribute("pcMembers", pcMembers);
-            request.setAttribute("scMembers", scMembers);
+            request.setAttribute("conference", aggregate.getConference());
+            request.setAttribute("pcMembers", aggregate.getPcMembers());
+            request.setAttribute("scMembers", aggregate.getScMembers());
+            request.setAttribute("scResponsible", aggregate.getScResponsible());
             request.getRequestDispatcher("/WEB-INF/views/conference/committee.jsp").forward(request, response);
         } catch (NumberFormatException e) {
             response.sendError(HttpServletResponse.SC_BAD_REQUEST);
@@ -111,7 +111,7 @@ public class CommitteeManagementServlet extends HttpServlet {
 
             // Check if user is the president of the conference
             Long userId = (Long) session.getAttribute("userId");
-            if (!conference.getPresidentId().equals(userId)) {
+            if (!userId.equals(conference.getPresidentId())) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
@@ -17,21 +17,20 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.mail.MessagingException;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.DAOFactory;
 import com.campusconf.dao.ConferenceTopicDAO;
-import com.campusconf.dao.impl.ConferenceTopicDAOImpl;
 import com.campusconf.models.Conference;
 import com.campusconf.models.ConferenceTopic;
+import com.campusconf.services.OutboundMailService;
 import com.campusconf.utils.ValidationUtils;
 import com.campusconf.utils.DatabaseUtil;
 import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
 import com.campusconf.models.CommitteeMember;
 import com.campusconf.dao.UserDAO;
-import com.campusconf.dao.impl.UserDAOImpl;
 import com.campusconf.models.User;
-import com.campusconf.utils.DatabaseConnection;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
+import com.campusconf.utils.LogUtil;
 import com.campusconf.utils.StringUtil;
 
 @WebServlet("/conference/create")
@@ -45,10 +44,10 @@ public class ConferenceCreationServlet extends HttpServlet {
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            topicDAO = new ConferenceTopicDAOImpl();
-            committeeDAO = new CommitteeMemberDAOImpl();
-            userDAO = new UserDAOImpl(DatabaseConnection.getConnection());
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            topicDAO = DAOFactory.getConferenceTopicDAO();
+            committeeDAO = DAOFactory.getCommitteeMemberDAO();
+            userDAO = DAOFactory.getUserDAO();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -217,13 +216,8 @@ public class ConferenceCreationServlet extends HttpServlet {
 
                                     // Send email notification to new committee member
                                     try {
-                                        EmailUtil.sendCommitteeMemberNotification(
-                                            email,
-                                            fullName,
-                                            conference.getName(),
-                                            committeeName,
-                                            tempPassword
-                                        );
+                                        sendCommitteeInvitation(email, fullName, conference.getName(),
+                                            committeeName, tempPassword, EmailTemplateEngine.languageOf(request));
                                     } catch (MessagingException e) {
                                         System.err.println("Failed to send committee member notification email: " + e.getMessage());
                                         e.printStackTrace();
@@ -252,13 +246,9 @@ public class ConferenceCreationServlet extends HttpServlet {
                                 // Send email notification to existing committee member
                                 if (user != null && user.getUserId() != null) {
                                     try {
-                                        EmailUtil.sendCommitteeMemberNotification(
-                                            email,
-                                            fullName,
-                                            conference.getName(),
-                                            committeeName,
-                                            null // No temp password for existing users
-                                        );
+                                        sendCommitteeInvitation(email, fullName, conference.getName(),
+                                            committeeName, null, // No temp password for existing users
+                                            languageOf(user.getUserId(), request));
                                     } catch (MessagingException e) {
                                         System.err.println("Failed to send committee member notification email: " + e.getMessage());
                                         e.printStackTrace();
@@ -318,4 +308,34 @@ public class ConferenceCreationServlet extends HttpServlet {
     private String generateTempPassword() {
         return StringUtil.generateShortUUID();
     }
+
+    private void sendCommitteeInvitation(String email, String fullName, String conferenceName,
+            String committeeName, String tempPassword, String language) throws MessagingException {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", fullName);
+        values.put("conference", conferenceName);
+        values.put("committee", committeeName);
+        if (tempPassword != null) {
+            values.put("account", EmailTemplateEngine.renderBody(EmailTemplateCatalog.COMMITTEE_INVITATION_ACCOUNT,
+                    language, Map.of("password", tempPassword)));
+        }
+        EmailTemplateEngine.RenderedEmail rendered =
+                EmailTemplateEngine.render(EmailTemplateCatalog.COMMITTEE_INVITATION, language, values);
+        OutboundMailService.getInstance().send(email, rendered.getSubject(), rendered.getBody());
+    }
+
+    /**
+     * The language the member picked for themselves, else the president's.
+     */
+    private String languageOf(Long userId, HttpServletRequest request) {
+        try {
+            String language = DAOFactory.getUserLanguageDAO().findLanguages(List.of(userId)).get(userId);
+            if (EmailTemplateEngine.isSupportedLanguage(language)) {
+                return language;
+            }
+        } catch (SQLException e) {
+            LogUtil.warn("Could not read language of user " + userId + ": " + e.getMessage());
+        }
+        return EmailTemplateEngine.languageOf(request);
+    }
 } 
\ No newline at end of file
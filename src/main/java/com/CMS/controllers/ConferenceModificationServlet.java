@@ -2,10 +2,11 @@ package com.campusconf.controllers;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.sql.Date;
-import java.util.List;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -14,31 +15,45 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
-import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.DAOFactory;
 import com.campusconf.dao.ConferenceTopicDAO;
-import com.campusconf.dao.impl.ConferenceTopicDAOImpl;
-import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
+import com.campusconf.dao.UpdateResult;
+import com.campusconf.dao.UserConferenceRoleDAO;
+import com.campusconf.dao.Versioned;
+import com.campusconf.dao.VersionedUpdateDAO;
 import com.campusconf.models.Conference;
 import com.campusconf.models.ConferenceTopic;
-import com.campusconf.models.CommitteeMember;
+import com.campusconf.models.ConferenceAggregate;
+import com.campusconf.models.Notification;
+import com.campusconf.services.ConferenceAggregateService;
+import com.campusconf.services.DigestService;
+import com.campusconf.services.LiveNotificationService;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
+import com.campusconf.utils.LogUtil;
 import com.campusconf.utils.ValidationUtils;
 import com.campusconf.utils.JsonUtil;
 
 @WebServlet("/conference/modify/*")
 public class ConferenceModificationServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
-    private ConferenceDAO conferenceDAO;
+    // Everyone affected by a change to the submission deadline
+    private static final List<String> DEADLINE_AUDIENCE = Arrays.asList(
+            UserConferenceRoleDAO.ROLE_AUTHOR, UserConferenceRoleDAO.ROLE_AUTHOR_CP,
+            UserConferenceRoleDAO.ROLE_PC_MEMBER, UserConferenceRoleDAO.ROLE_PC_RESP,
+            UserConferenceRoleDAO.ROLE_SC_MEMBER, UserConferenceRoleDAO.ROLE_SC_RESP);
+    private VersionedUpdateDAO versionedUpdateDAO;
     private ConferenceTopicDAO topicDAO;
-    private CommitteeMemberDAO committeeMemberDAO;
+    private ConferenceAggregateService aggregateService;
+    private LiveNotificationService notificationService;
 
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            topicDAO = new ConferenceTopicDAOImpl();
-            committeeMemberDAO = new CommitteeMemberDAOImpl();
+            versionedUpdateDAO = DAOFactory.getVersionedUpdateDAO();
+            topicDAO = DAOFactory.getConferenceTopicDAO();
+            aggregateService = ConferenceAggregateService.getInstance();
+            notificationService = LiveNotificationService.getInstance();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -63,27 +78,28 @@ public class ConferenceModificationServlet extends HttpServlet {
         Long userId = (Long) session.getAttribute("userId");
 
         try {
-            Conference conference = conferenceDAO.findById(conferenceId);
-            if (conference == null) {
+            // Conference, topics and committee members come from one cached snapshot
+            ConferenceAggregate aggregate = aggregateService.getConferenceAggregate(conferenceId);
+            if (aggregate == null) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
 
             // Check if user is the conference president
-            if (!conference.getPresidentId().equals(userId)) {
+            if (!userId.equals(aggregate.getPresidentId())) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
 
-            // Get committee members
-            List<CommitteeMember> committeeMembers = committeeMemberDAO.findByConferenceId(conferenceId);
-            conference.setCommitteeMembers(committeeMembers);
-
-            // Get topics and subtopics
-            List<ConferenceTopic> topics = topicDAO.findByConferenceId(conferenceId);
-            conference.setTopics(topics);
-
-            request.setAttribute("conference", conference);
+            // Posted back with the form so a concurrent edit is detected instead of overwritten
+            Versioned<Conference> current = versionedUpdateDAO.findConference(conferenceId);
+            if (current == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            request.setAttribute("conferenceVersion", current.getVersion());
+            request.setAttribute("conference", aggregate.getConference());
+            request.setAttribute("topicTree", aggregate.getTopicTree());
             request.getRequestDispatcher("/WEB-INF/views/conference/modify.jsp").forward(request, response);
         } catch (SQLException e) {
             throw new ServletException("Database error", e);
@@ -110,14 +126,15 @@ public class ConferenceModificationServlet extends HttpServlet {
         Map<String, String> errors = new HashMap<>();
 
         try {
-            Conference conference = conferenceDAO.findById(conferenceId);
-            if (conference == null) {
+            Versioned<Conference> current = versionedUpdateDAO.findConference(conferenceId);
+            if (current == null) {
                 response.sendError(HttpServletResponse.SC_NOT_FOUND);
                 return;
             }
+            Conference conference = current.getEntity();
 
             // Check if user is the conference president
-            if (!conference.getPresidentId().equals(userId)) {
+            if (!userId.equals(conference.getPresidentId())) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN);
                 return;
             }
@@ -135,6 +152,13 @@ public class ConferenceModificationServlet extends HttpServlet {
             String extensionDate = request.getParameter("extensionDate");
             String[] topics = request.getParameterValues("topics");
             String[] subtopics = request.getParameterValues("subtopics");
+            // The version the form was rendered at (conferenceVersion); without it a concurrent edit would go unnoticed
+            String version = request.getParameter("version");
+            if (version == null || version.trim().isEmpty()) {
+                response.sendError(428, "Missing version; reload the form and try again");
+                return;
+            }
+            long expectedVersion = Long.parseLong(version.trim());
 
             // Validate input
             if (name == null || name.trim().isEmpty()) {
@@ -179,6 +203,7 @@ public class ConferenceModificationServlet extends HttpServlet {
             }
 
             // Update conference
+            Date previousExtension = conference.getExtensionDate();
             conference.setName(name);
             conference.setAcronym(acronym);
             conference.setTheme(theme);
@@ -192,7 +217,9 @@ public class ConferenceModificationServlet extends HttpServlet {
                 conference.setExtensionDate(Date.valueOf(extensionDate));
             }
 
-            if (conferenceDAO.update(conference)) {
+            UpdateResult result = versionedUpdateDAO.updateConference(conference, expectedVersion);
+            if (result.isUpdated()) {
+                DAOFactory.evictConference(conferenceId);
                 // Update topics
                 topicDAO.deleteTopicsByConferenceId(conferenceId); // Remove old topics
                 if (topics != null) {
@@ -214,11 +241,26 @@ public class ConferenceModificationServlet extends HttpServlet {
                     }
                 }
 
+                if (conference.getExtensionDate() != null
+                        && !conference.getExtensionDate().equals(previousExtension)) {
+                    notifyDeadlineExtended(conference);
+                }
+
                 Map<String, Object> success = new HashMap<>();
                 success.put("success", true);
                 success.put("message", "Conference updated successfully");
+                success.put("version", result.getVersion());
                 response.setContentType("application/json");
                 response.getWriter().write(JsonUtil.toJson(success));
+            } else if (result.isConflict()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("conflict", true);
+                error.put("version", result.getVersion());
+                error.put("message", "The conference was changed by someone else; reload it and try again");
+                response.setStatus(HttpServletResponse.SC_CONFLICT);
+                response.setContentType("application/json");
+                response.getWriter().write(JsonUtil.toJson(error));
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -226,6 +268,8 @@ public class ConferenceModificationServlet extends HttpServlet {
                 response.setContentType("application/json");
                 response.getWriter().write(JsonUtil.toJson(error));
             }
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid version");
         } catch (SQLException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -235,6 +279,23 @@ public class ConferenceModificationServlet extends HttpServlet {
         }
     }
 
+    private void notifyDeadlineExtended(Conference conference) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("conference", conference.getName());
+        values.put("date", conference.getExtensionDate());
+        Notification notification = DigestService.event(EmailTemplateCatalog.NOTICE_DEADLINE_EXTENDED,
+                EmailTemplateEngine.DEFAULT_LANGUAGE, values, "DEADLINE");
+        try {
+            List<Long> recipients = notificationService.broadcastToConference(
+                    conference.getConferenceId(), DEADLINE_AUDIENCE, notification);
+            DigestService.getInstance().submit(recipients, EmailTemplateCatalog.NOTICE_DEADLINE_EXTENDED, values,
+                    "DEADLINE");
+        } catch (SQLException e) {
+            // The conference is already saved; a missed notification must not fail the request
+            LogUtil.error("Failed to notify deadline extension for conference " + conference.getConferenceId(), e);
+        }
+    }
+
     private boolean isValidConferenceType(String type) {
         return type != null && (type.equals("Physical") || type.equals("Virtual") || type.equals("Hybrid"));
     }
@@ -3,11 +3,21 @@ package com.campusconf.controllers;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.UpdateResult;
+import com.campusconf.dao.Versioned;
+import com.campusconf.dao.VersionedUpdateDAO;
+import com.campusconf.dao.cache.CachingConferenceDAO;
 import com.campusconf.models.Conference;
+import com.campusconf.models.ConferencePurgeJob;
 import com.campusconf.models.User;
+import com.campusconf.services.ConferencePurgeService;
 import com.campusconf.services.ConferenceService;
+import com.campusconf.utils.ConstantsUtil;
 import com.campusconf.utils.DatabaseUtil;
 import com.campusconf.utils.JsonUtil;
 
@@ -18,7 +28,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
-@WebServlet("/api/conference/*")
+@WebServlet(urlPatterns = "/api/conference/*", asyncSupported = true)
 public class ConferenceServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceService conferenceService;
@@ -40,16 +50,35 @@ public class ConferenceServlet extends HttpServlet {
             String pathInfo = request.getPathInfo();
             
             if (pathInfo == null || pathInfo.equals("/")) {
-                // Get all conferences
-                List<Conference> conferences = conferenceService.getAllConferences();
+                // Get all conferences, except deleted ones awaiting their purge
+                List<Conference> conferences = new ArrayList<>();
+                for (Conference conference : conferenceService.getAllConferences()) {
+                    if (!CachingConferenceDAO.isDeleted(conference)) {
+                        conferences.add(conference);
+                    }
+                }
                 JsonUtil.sendJsonResponse(response, conferences);
             } else {
                 // Get conference by ID
                 String[] pathParts = pathInfo.split("/");
-                if (pathParts.length == 2) {
+                if (pathParts.length == 3 && "deletion".equals(pathParts[2])) {
+                    sendDeletionStatus(request, response, Long.parseLong(pathParts[1]));
+                } else if (pathParts.length == 2) {
                     Long conferenceId = Long.parseLong(pathParts[1]);
+                    // Version first: a body newer than its ETag only costs the client a conflict later
+                    Versioned<Conference> current = DAOFactory.getVersionedUpdateDAO().findConference(conferenceId);
+                    if (current == null) {
+                        JsonUtil.sendErrorResponse(response, "Conference not found", 404);
+                        return;
+                    }
+                    response.setHeader("ETag", etag(current.getVersion()));
+                    String ifNoneMatch = request.getHeader("If-None-Match");
+                    if (ifNoneMatch != null && matches(ifNoneMatch, current.getVersion(), true)) {
+                        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                        return;
+                    }
                     Conference conference = conferenceService.getConferenceById(conferenceId);
-                    if (conference != null) {
+                    if (conference != null && !CachingConferenceDAO.isDeleted(conference)) {
                         JsonUtil.sendJsonResponse(response, conference);
                     } else {
                         JsonUtil.sendErrorResponse(response, "Conference not found", 404);
@@ -76,6 +105,14 @@ public class ConferenceServlet extends HttpServlet {
                 return;
             }
 
+            // POST /{id}/deletion retries a purge that gave up
+            String pathInfo = request.getPathInfo();
+            String[] pathParts = pathInfo != null ? pathInfo.split("/") : new String[0];
+            if (pathParts.length == 3 && "deletion".equals(pathParts[2])) {
+                resumeDeletion(request, response, Long.parseLong(pathParts[1]));
+                return;
+            }
+
             // Parse conference data from request body
             String requestBody = request.getReader().lines()
                     .reduce("", (accumulator, actual) -> accumulator + actual);
@@ -87,6 +124,10 @@ public class ConferenceServlet extends HttpServlet {
 
             // Create the conference
             Conference createdConference = conferenceService.createConference(conference);
+            if (createdConference != null) {
+                // ConferenceService writes on its own connection; index the president and drop cached misses
+                DAOFactory.evictConference(createdConference.getConferenceId());
+            }
             JsonUtil.sendJsonResponse(response, createdConference, 201);
         } catch (SQLException e) {
             JsonUtil.sendErrorResponse(response, "Database error: " + e.getMessage(), 500);
@@ -123,17 +164,27 @@ public class ConferenceServlet extends HttpServlet {
             User currentUser = (User) session.getAttribute("user");
 
             // Check if user is the conference president
-            Conference existingConference = conferenceService.getConferenceById(conferenceId);
-            if (existingConference == null) {
+            VersionedUpdateDAO versionedUpdateDAO = DAOFactory.getVersionedUpdateDAO();
+            Versioned<Conference> existing = versionedUpdateDAO.findConference(conferenceId);
+            if (existing == null) {
                 JsonUtil.sendErrorResponse(response, "Conference not found", 404);
                 return;
             }
 
-            if (!existingConference.getPresidentId().equals(currentUser.getUserId())) {
+            if (!currentUser.getUserId().equals(existing.getEntity().getPresidentId())) {
                 JsonUtil.sendErrorResponse(response, "Unauthorized to update this conference", 403);
                 return;
             }
 
+            // With If-Match the client's version must still be current; without it the
+            // update is checked against the version read above
+            String ifMatch = request.getHeader("If-Match");
+            if (ifMatch != null && !matches(ifMatch, existing.getVersion(), false)) {
+                response.setHeader("ETag", etag(existing.getVersion()));
+                JsonUtil.sendErrorResponse(response, "Conference was modified; reload it and try again", 412);
+                return;
+            }
+
             // Parse updated conference data
             String requestBody = request.getReader().lines()
                     .reduce("", (accumulator, actual) -> accumulator + actual);
@@ -142,8 +193,21 @@ public class ConferenceServlet extends HttpServlet {
             updatedConference.setPresidentId(currentUser.getUserId());
 
             // Update the conference
-            Conference result = conferenceService.updateConference(updatedConference);
-            JsonUtil.sendJsonResponse(response, result);
+            UpdateResult result = versionedUpdateDAO.updateConference(updatedConference, existing.getVersion());
+            if (result.isConflict()) {
+                response.setHeader("ETag", etag(result.getVersion()));
+                JsonUtil.sendErrorResponse(response, "Conference was modified concurrently; reload it and try again",
+                        ifMatch != null ? 412 : 409);
+                return;
+            }
+            if (!result.isUpdated()) {
+                JsonUtil.sendErrorResponse(response, "Conference not found", 404);
+                return;
+            }
+            DAOFactory.evictConference(conferenceId);
+            Versioned<Conference> saved = versionedUpdateDAO.findConference(conferenceId);
+            response.setHeader("ETag", etag(saved != null ? saved.getVersion() : result.getVersion()));
+            JsonUtil.sendJsonResponse(response, saved != null ? saved.getEntity() : updatedConference);
         } catch (SQLException e) {
             JsonUtil.sendErrorResponse(response, "Database error: " + e.getMessage(), 500);
         } catch (NumberFormatException e) {
@@ -182,22 +246,25 @@ public class ConferenceServlet extends HttpServlet {
 
             // Check if user is the conference president
             Conference conference = conferenceService.getConferenceById(conferenceId);
-            if (conference == null) {
+            if (conference == null || CachingConferenceDAO.isDeleted(conference)) {
                 JsonUtil.sendErrorResponse(response, "Conference not found", 404);
                 return;
             }
 
-            if (!conference.getPresidentId().equals(currentUser.getUserId())) {
+            if (!currentUser.getUserId().equals(conference.getPresidentId())) {
                 JsonUtil.sendErrorResponse(response, "Unauthorized to delete this conference", 403);
                 return;
             }
 
-            // Delete the conference
-            boolean deleted = conferenceService.deleteConference(conferenceId);
+            // Hide the conference now; its submissions, committees and files are purged in the background
+            ConferencePurgeDAO purgeDAO = DAOFactory.getConferencePurgeDAO();
+            boolean deleted = purgeDAO.softDelete(conferenceId, currentUser.getUserId());
+            DAOFactory.evictConference(conferenceId);
             if (deleted) {
-                JsonUtil.sendSuccessResponse(response, "Conference deleted successfully");
+                ConferencePurgeService.getInstance().wake();
+                JsonUtil.sendJsonResponse(response, purgeDAO.findByConferenceId(conferenceId), 202);
             } else {
-                JsonUtil.sendErrorResponse(response, "Failed to delete conference", 500);
+                JsonUtil.sendErrorResponse(response, "Conference not found", 404);
             }
         } catch (SQLException e) {
             JsonUtil.sendErrorResponse(response, "Database error: " + e.getMessage(), 500);
@@ -205,4 +272,82 @@ public class ConferenceServlet extends HttpServlet {
             JsonUtil.sendErrorResponse(response, "Invalid conference ID format", 400);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Progress of a conference's purge, for the president who deleted it or
+     * an admin.
+     */
+    private void sendDeletionStatus(HttpServletRequest request, HttpServletResponse response, Long conferenceId)
+            throws SQLException, IOException {
+        ConferencePurgeJob job = findOwnDeletion(request, response, conferenceId);
+        if (job != null) {
+            JsonUtil.sendJsonResponse(response, job);
+        }
+    }
+
+    private void resumeDeletion(HttpServletRequest request, HttpServletResponse response, Long conferenceId)
+            throws SQLException, IOException {
+        ConferencePurgeJob job = findOwnDeletion(request, response, conferenceId);
+        if (job == null) {
+            return;
+        }
+        ConferencePurgeDAO purgeDAO = DAOFactory.getConferencePurgeDAO();
+        if (!purgeDAO.resume(conferenceId)) {
+            JsonUtil.sendErrorResponse(response, "Deletion is not failed: " + job.getStatus(), 409);
+            return;
+        }
+        ConferencePurgeService.getInstance().wake();
+        JsonUtil.sendJsonResponse(response, purgeDAO.findByConferenceId(conferenceId), 202);
+    }
+
+    /**
+     * The conference's purge job if the current user may see it; otherwise
+     * sends the error and returns null.
+     */
+    private ConferencePurgeJob findOwnDeletion(HttpServletRequest request, HttpServletResponse response,
+                                               Long conferenceId) throws SQLException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("user") == null) {
+            JsonUtil.sendErrorResponse(response, "User not authenticated", 401);
+            return null;
+        }
+        ConferencePurgeJob job = DAOFactory.getConferencePurgeDAO().findByConferenceId(conferenceId);
+        if (job == null) {
+            JsonUtil.sendErrorResponse(response, "No deletion for this conference", 404);
+            return null;
+        }
+        User currentUser = (User) session.getAttribute("user");
+        if (!job.getRequestedBy().equals(currentUser.getUserId())
+                && !ConstantsUtil.ROLE_ADMIN.equals(session.getAttribute(ConstantsUtil.SESSION_USER_ROLE))) {
+            JsonUtil.sendErrorResponse(response, "Unauthorized to view this deletion", 403);
+            return null;
+        }
+        return job;
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Whether an If-Match or If-None-Match header names the version. "*"
+     * matches any existing conference; weak tags only count for
+     * If-None-Match.
+     */
+    private static boolean matches(String header, long version, boolean allowWeak) {
+        String expected = etag(version);
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (allowWeak && tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
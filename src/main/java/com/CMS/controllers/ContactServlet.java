@@ -4,10 +4,14 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
+import com.campusconf.services.OutboundMailService;
 import com.campusconf.utils.DatabaseUtil;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
 
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
@@ -21,7 +25,7 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-@WebServlet("/contact")
+@WebServlet(urlPatterns = "/contact", asyncSupported = true)
 public class ContactServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final String ADMIN_EMAIL = "admin@campusconf.com"; // Replace with actual admin email
@@ -65,7 +69,7 @@ public class ContactServlet extends HttpServlet {
             sendAdminNotification(name, email, subject, message);
 
             // Send confirmation email to user
-            sendUserConfirmation(name, email, subject);
+            sendUserConfirmation(name, email, subject, EmailTemplateEngine.languageOf(request));
 
             // Redirect to success page
             response.sendRedirect(request.getContextPath() + "/contact?success=true");
@@ -98,33 +102,26 @@ public class ContactServlet extends HttpServlet {
 
     private void sendAdminNotification(String name, String email, String subject, String message) 
             throws MessagingException {
-        String emailSubject = "New Contact Form Submission: " + subject;
-        String emailBody = String.format(
-            "New contact form submission received:\n\n" +
-            "Name: %s\n" +
-            "Email: %s\n" +
-            "Subject: %s\n\n" +
-            "Message:\n%s",
-            name, email, subject, message
-        );
-
-        EmailUtil.sendEmail(ADMIN_EMAIL, emailSubject, emailBody);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("email", email);
+        values.put("subject", subject);
+        values.put("message", message);
+        EmailTemplateEngine.RenderedEmail rendered = EmailTemplateEngine.render(
+                EmailTemplateCatalog.CONTACT_ADMIN, EmailTemplateEngine.DEFAULT_LANGUAGE, values);
+
+        OutboundMailService.getInstance().send(ADMIN_EMAIL, rendered.getSubject(), rendered.getBody());
     }
 
-    private void sendUserConfirmation(String name, String email, String subject) 
+    private void sendUserConfirmation(String name, String email, String subject, String language) 
             throws MessagingException {
-        String emailSubject = "Contact Form Submission Confirmation";
-        String emailBody = String.format(
-            "Dear %s,\n\n" +
-            "Thank you for contacting CampusConf. We have received your message:\n\n" +
-            "Subject: %s\n\n" +
-            "We will review your message and get back to you as soon as possible.\n\n" +
-            "Best regards,\n" +
-            "CampusConf Team",
-            name, subject
-        );
-
-        EmailUtil.sendEmail(email, emailSubject, emailBody);
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("subject", subject);
+        EmailTemplateEngine.RenderedEmail rendered = EmailTemplateEngine.render(
+                EmailTemplateCatalog.CONTACT_CONFIRMATION, language, values);
+
+        OutboundMailService.getInstance().send(email, rendered.getSubject(), rendered.getBody());
     }
 
     private boolean isValidEmail(String email) {
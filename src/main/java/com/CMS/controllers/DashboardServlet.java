@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -15,30 +17,23 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
-import com.campusconf.dao.SubmissionDAO;
-import com.campusconf.dao.impl.SubmissionDAOImpl;
-import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.UserConferenceRoleDAO;
 import com.campusconf.models.Conference;
-import com.campusconf.models.Submission;
-import com.campusconf.models.CommitteeMember;
 import com.campusconf.models.User;
 import com.campusconf.utils.DatabaseUtil;
 
-@WebServlet(urlPatterns = {"/dashboard", "/dashboard/*"})
+@WebServlet(urlPatterns = {"/dashboard", "/dashboard/*"}, asyncSupported = true)
 public class DashboardServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceDAO conferenceDAO;
-    private SubmissionDAO submissionDAO;
-    private CommitteeMemberDAO committeeMemberDAO;
+    private UserConferenceRoleDAO roleDAO;
 
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            submissionDAO = new SubmissionDAOImpl();
-            committeeMemberDAO = new CommitteeMemberDAOImpl();
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            roleDAO = DAOFactory.getUserConferenceRoleDAO();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -84,45 +79,11 @@ public class DashboardServlet extends HttpServlet {
             
             // Only process roles if there are conferences
             if (!conferences.isEmpty()) {
-                // Get committee memberships
-                List<CommitteeMember> committeeMembers = committeeMemberDAO.findByUserId(userId);
-                
-                // Determine role for each conference
+                // One index lookup gives the user's roles in every conference
+                Map<Long, Set<String>> rolesByConference = roleDAO.findRolesByUserId(userId);
                 for (Conference conf : conferences) {
-                    String role = "USER";
-                    
-                    // Check if user is president
-                    if (userId.equals(conf.getPresidentId())) {
-                        role = "PRESIDENT";
-                    } else {
-                        // Check if user is a committee member
-                        for (CommitteeMember member : committeeMembers) {
-                            if (member.getConferenceId().equals(conf.getConferenceId())) {
-                                role = member.getCommitteeType() + (member.isResponsible() ? "_RESP" : "_MEMBER");
-                                break;
-                            }
-                        }
-                        
-                        // If not a committee member, check if user is an author
-                        if (role.equals("USER")) {
-                            List<Submission> submissions = submissionDAO.findByConferenceId(conf.getConferenceId());
-                            for (Submission sub : submissions) {
-                                if (userId.equals(sub.getCorrespondingAuthorId())) {
-                                    role = "AUTHOR_CP";
-                                    break;
-                                }
-                            }
-                            if (role.equals("USER")) {
-                                for (Submission sub : submissions) {
-                                    if (sub.getAuthors().stream().anyMatch(author -> userId.equals(author.getUserId()))) {
-                                        role = "AUTHOR";
-                                        break;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    conferenceRoles.put(conf.getConferenceId(), role);
+                    Set<String> roles = rolesByConference.getOrDefault(conf.getConferenceId(), Collections.emptySet());
+                    conferenceRoles.put(conf.getConferenceId(), primaryRole(roles));
                 }
 
                 // Apply status filter
@@ -179,4 +140,23 @@ public class DashboardServlet extends HttpServlet {
             request.getRequestDispatcher("/WEB-INF/views/error.jsp").forward(request, response);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Picks the role shown for a conference: president first, then a
+     * committee role, then corresponding author, then co-author.
+     */
+    private String primaryRole(Set<String> roles) {
+        String[] precedence = {
+            UserConferenceRoleDAO.ROLE_PRESIDENT,
+            UserConferenceRoleDAO.ROLE_PC_RESP, UserConferenceRoleDAO.ROLE_PC_MEMBER,
+            UserConferenceRoleDAO.ROLE_SC_RESP, UserConferenceRoleDAO.ROLE_SC_MEMBER,
+            UserConferenceRoleDAO.ROLE_AUTHOR_CP, UserConferenceRoleDAO.ROLE_AUTHOR
+        };
+        for (String role : precedence) {
+            if (roles.contains(role)) {
+                return role;
+            }
+        }
+        return "USER";
+    }
+}
@@ -0,0 +1,76 @@
+package com.campusconf.controllers;
+
+import com.campusconf.services.DigestService;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Reads and sets how often the user gets notification emails: IMMEDIATE,
+ * HOURLY or DAILY.
+ */
+@WebServlet("/notifications/digest")
+public class DigestPreferenceServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final DigestService digestService = DigestService.getInstance();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Long userId = currentUserId(request, response);
+        if (userId == null) {
+            return;
+        }
+        try {
+            writeFrequency(response, digestService.getFrequency(userId));
+        } catch (SQLException e) {
+            LogUtil.error("Error reading digest preference", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error reading digest preference");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        Long userId = currentUserId(request, response);
+        if (userId == null) {
+            return;
+        }
+        String frequency = request.getParameter("frequency");
+        if (frequency == null || !DigestService.isValidFrequency(frequency.toUpperCase())) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "frequency must be one of " + DigestService.FREQUENCIES);
+            return;
+        }
+        try {
+            digestService.setFrequency(userId, frequency.toUpperCase());
+            writeFrequency(response, frequency.toUpperCase());
+        } catch (SQLException e) {
+            LogUtil.error("Error saving digest preference", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error saving digest preference");
+        }
+    }
+
+    private static Long currentUserId(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return null;
+        }
+        return (Long) session.getAttribute("userId");
+    }
+
+    private static void writeFrequency(HttpServletResponse response, String frequency) throws IOException {
+        response.setContentType("application/json");
+        response.getWriter().write(JsonUtil.toJsonObject(Map.of("frequency", frequency)));
+    }
+}
@@ -1,8 +1,11 @@
 package com.campusconf.controllers;
 
+import com.campusconf.services.OutboundMailService;
 import com.campusconf.utils.ConfigUtil;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
 import com.campusconf.utils.JsonUtil;
+import jakarta.mail.MessagingException;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -14,7 +17,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
-@WebServlet("/email/*")
+@WebServlet(urlPatterns = "/email/*", asyncSupported = true)
 public class EmailServlet extends HttpServlet {
 
     @Override
@@ -66,9 +69,7 @@ public class EmailServlet extends HttpServlet {
         }
 
         try {
-            EmailUtil.sendEmail(to, subject, body);
-            response.setStatus(HttpServletResponse.SC_OK);
-            response.getWriter().write(JsonUtil.toJsonObject(Map.of("status", "success")));
+            writeSendResult(response, OutboundMailService.getInstance().send(to, subject, body));
         } catch (Exception e) {
             handleError(response, "Failed to send email", e);
         }
@@ -85,9 +86,7 @@ public class EmailServlet extends HttpServlet {
         }
 
         try {
-            EmailUtil.sendSubmissionIdEmail(to, submissionId);
-            response.setStatus(HttpServletResponse.SC_OK);
-            response.getWriter().write(JsonUtil.toJsonObject(Map.of("status", "success")));
+            writeSendResult(response, send(to, EmailTemplateCatalog.SUBMISSION_ID, request, Map.of("submissionId", submissionId)));
         } catch (Exception e) {
             handleError(response, "Failed to send submission ID email", e);
         }
@@ -104,9 +103,7 @@ public class EmailServlet extends HttpServlet {
         }
 
         try {
-            EmailUtil.sendPasswordResetEmail(to, resetToken);
-            response.setStatus(HttpServletResponse.SC_OK);
-            response.getWriter().write(JsonUtil.toJsonObject(Map.of("status", "success")));
+            writeSendResult(response, send(to, EmailTemplateCatalog.PASSWORD_RESET, request, Map.of("token", resetToken)));
         } catch (Exception e) {
             handleError(response, "Failed to send password reset email", e);
         }
@@ -125,14 +122,29 @@ public class EmailServlet extends HttpServlet {
         }
 
         try {
-            EmailUtil.sendSubmissionDecisionEmail(to, submissionId, decision, comments);
-            response.setStatus(HttpServletResponse.SC_OK);
-            response.getWriter().write(JsonUtil.toJsonObject(Map.of("status", "success")));
+            Map<String, Object> values = new HashMap<>();
+            values.put("submissionId", submissionId);
+            values.put("decision", decision);
+            values.put("comments", comments != null ? comments : "");
+            writeSendResult(response, send(to, EmailTemplateCatalog.SUBMISSION_DECISION, request, values));
         } catch (Exception e) {
             handleError(response, "Failed to send decision email", e);
         }
     }
 
+    private boolean send(String to, String template, HttpServletRequest request, Map<String, ?> values)
+            throws MessagingException {
+        EmailTemplateEngine.RenderedEmail rendered =
+                EmailTemplateEngine.render(template, EmailTemplateEngine.languageOf(request), values);
+        return OutboundMailService.getInstance().send(to, rendered.getSubject(), rendered.getBody());
+    }
+
+    // 202 "queued" when the relay was unavailable and the mail went to the outbox
+    private static void writeSendResult(HttpServletResponse response, boolean sent) throws IOException {
+        response.setStatus(sent ? HttpServletResponse.SC_OK : HttpServletResponse.SC_ACCEPTED);
+        response.getWriter().write(JsonUtil.toJsonObject(Map.of("status", sent ? "success" : "queued")));
+    }
+
     private void handleError(HttpServletResponse response, String message, Exception e) 
             throws IOException {
         Map<String, Object> error = new HashMap<>();
@@ -0,0 +1,83 @@
+package com.campusconf.controllers;
+
+import com.campusconf.services.ExecutionBenchmarkService;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Compares platform and virtual threads on a blocking workload.
+ *
+ * POST /admin/thread-benchmark?workload=SLEEP&amp;tasks=2000&amp;blockMillis=50&amp;platformThreads=200
+ */
+@WebServlet("/admin/thread-benchmark")
+public class ExecutionBenchmarkServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final ExecutionBenchmarkService benchmarkService = ExecutionBenchmarkService.getInstance();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+        JsonUtil.sendJsonResponse(response, Map.of("workloads", ExecutionBenchmarkService.WORKLOADS));
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+        try {
+            String workload = request.getParameter("workload");
+            Map<String, Object> report = benchmarkService.run(
+                    workload != null ? workload.trim().toUpperCase() : "SLEEP",
+                    (int) longParameter(request, "tasks", 2000),
+                    longParameter(request, "blockMillis", 50),
+                    (int) longParameter(request, "platformThreads", 200));
+            JsonUtil.sendJsonResponse(response, report);
+        } catch (NumberFormatException e) {
+            JsonUtil.sendErrorResponse(response, "Invalid number: " + e.getMessage(), 400);
+        } catch (IllegalArgumentException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 400);
+        } catch (IllegalStateException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 409);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            JsonUtil.sendErrorResponse(response, "Benchmark interrupted", 503);
+        } catch (Exception e) {
+            LogUtil.error("Thread benchmark failed", e);
+            JsonUtil.sendErrorResponse(response, "Thread benchmark failed: " + e.getMessage(), 500);
+        }
+    }
+
+    private static long longParameter(HttpServletRequest request, String name, long defaultValue) {
+        String value = request.getParameter(name);
+        return value != null && !value.trim().isEmpty() ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    private boolean isAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return false;
+        }
+        if (!ConstantsUtil.ROLE_ADMIN.equals(session.getAttribute(ConstantsUtil.SESSION_USER_ROLE))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, ConstantsUtil.ERROR_UNAUTHORIZED);
+            return false;
+        }
+        return true;
+    }
+}
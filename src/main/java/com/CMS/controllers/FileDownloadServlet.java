@@ -1,5 +1,7 @@
 package com.campusconf.controllers;
 
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.UserConferenceRoleDAO;
 import com.campusconf.models.Submission;
 import com.campusconf.services.SubmissionService;
 import com.campusconf.utils.ConstantsUtil;
@@ -18,13 +20,21 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.sql.SQLException;
+import java.util.List;
 
 @WebServlet("/download/*")
 public class FileDownloadServlet extends HttpServlet {
+    private static final List<String> COMMITTEE_ROLES = List.of(
+            UserConferenceRoleDAO.ROLE_PRESIDENT,
+            UserConferenceRoleDAO.ROLE_PC_MEMBER, UserConferenceRoleDAO.ROLE_PC_RESP,
+            UserConferenceRoleDAO.ROLE_SC_MEMBER, UserConferenceRoleDAO.ROLE_SC_RESP);
+
     private final SubmissionService submissionService;
+    private final UserConferenceRoleDAO roleDAO;
 
     public FileDownloadServlet() {
         this.submissionService = new SubmissionService();
+        this.roleDAO = DAOFactory.getUserConferenceRoleDAO();
     }
 
     @Override
@@ -176,7 +186,7 @@ public class FileDownloadServlet extends HttpServlet {
         LogUtil.logFileDownload("Revision document downloaded", file.getName(), submissionId);
     }
 
-    private boolean checkDownloadPermission(Submission submission, String userRole, Long userId) {
+    private boolean checkDownloadPermission(Submission submission, String userRole, Long userId) throws SQLException {
         // Authors can download their own submissions
         if (submission.getCorrespondingAuthorId().equals(userId)) {
             return true;
@@ -187,7 +197,8 @@ public class FileDownloadServlet extends HttpServlet {
             case "PC Member":
             case "SC Member":
             case "SC Resp":
-                return true;
+                // ...but only for a conference they actually sit on
+                return roleDAO.hasAnyRole(userId, submission.getConferenceId(), COMMITTEE_ROLES);
             default:
                 return false;
         }
@@ -1,12 +1,21 @@
 package com.campusconf.controllers;
 
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.OptimisticRetry;
+import com.campusconf.dao.UpdateResult;
+import com.campusconf.dao.Versioned;
+import com.campusconf.dao.VersionedUpdateDAO;
 import com.campusconf.models.Submission;
-import com.campusconf.services.SubmissionService;
+import com.campusconf.services.SubmissionAdmissionService;
 import com.campusconf.utils.ConstantsUtil;
 import com.campusconf.utils.FileUploadUtil;
 import com.campusconf.utils.JsonUtil;
 import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
 import com.campusconf.utils.SecurityUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.annotation.WebServlet;
@@ -18,22 +27,49 @@ import jakarta.servlet.http.Part;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
-@WebServlet("/upload/*")
+@WebServlet(urlPatterns = "/upload/*", asyncSupported = true)
 @MultipartConfig(
     maxFileSize = 10485760, // 10MB
     maxRequestSize = 10485760,
     fileSizeThreshold = 5242880 // 5MB
 )
 public class FileUploadServlet extends HttpServlet {
-    private final SubmissionService submissionService;
+    private final VersionedUpdateDAO versionedUpdateDAO = DAOFactory.getVersionedUpdateDAO();
+    private final SubmissionAdmissionService admission = SubmissionAdmissionService.getInstance();
 
-    public FileUploadServlet() {
-        this.submissionService = new SubmissionService();
+    /**
+     * GET /upload/admission: live upload queue state for organizers.
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!"/admission".equals(request.getPathInfo())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return;
+        }
+        Object role = session.getAttribute(ConstantsUtil.SESSION_USER_ROLE);
+        if (!ConstantsUtil.ROLE_ADMIN.equals(role) && !ConstantsUtil.ROLE_CHAIR.equals(role)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, ConstantsUtil.ERROR_UNAUTHORIZED);
+            return;
+        }
+        JsonUtil.sendJsonResponse(response, admission.getStatus());
     }
 
+    /**
+     * Uploads go through SubmissionAdmissionService: the request is put in
+     * async mode, queued fairly per author and processed on an upload slot.
+     */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
@@ -48,25 +84,103 @@ public class FileUploadServlet extends HttpServlet {
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid request path");
             return;
         }
+        if (!pathInfo.equals("/submission") && !pathInfo.equals("/revision")) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Invalid upload operation");
+            return;
+        }
+
+        // Keep the filters' request/response wrappers, e.g. the idempotency filter's response capture
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(admission.getQueueTimeoutMillis()
+                + PerformanceConfigUtil.getLong("upload.admission.processingTimeoutMillis", 300_000));
+        // Registered before submitting: a free slot may finish the upload before submit() returns
+        AtomicReference<SubmissionAdmissionService.Ticket> admitted = new AtomicReference<>();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                SubmissionAdmissionService.Ticket ticket = admitted.get();
+                if (ticket != null && admission.cancel(ticket)) {
+                    rejectBusy(asyncContext);
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                SubmissionAdmissionService.Ticket ticket = admitted.get();
+                if (ticket != null) {
+                    admission.cancel(ticket);
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        SubmissionAdmissionService.Ticket ticket;
+        try {
+            ticket = admission.submit((Long) session.getAttribute("userId"),
+                    new SubmissionAdmissionService.UploadTask() {
+                        @Override
+                        public void run(SubmissionAdmissionService.Ticket ticket) {
+                            processUpload(asyncContext, pathInfo, session, ticket.getAcceptedAt());
+                        }
+
+                        @Override
+                        public void expired(SubmissionAdmissionService.Ticket ticket) {
+                            rejectBusy(asyncContext);
+                        }
+                    });
+        } catch (IllegalStateException e) {
+            // Shutting down
+            ticket = null;
+        }
+        if (ticket == null) {
+            rejectBusy(asyncContext);
+            return;
+        }
+        admitted.set(ticket);
+    }
 
+    private void processUpload(AsyncContext asyncContext, String pathInfo, HttpSession session, Timestamp acceptedAt) {
+        HttpServletRequest request = (HttpServletRequest) asyncContext.getRequest();
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
         try {
-            switch (pathInfo) {
-                case "/submission":
-                    handleSubmissionUpload(request, response, session);
-                    break;
-                case "/revision":
-                    handleRevisionUpload(request, response, session);
-                    break;
-                default:
-                    response.sendError(HttpServletResponse.SC_NOT_FOUND, "Invalid upload operation");
+            try {
+                if (pathInfo.equals("/submission")) {
+                    handleSubmissionUpload(request, response, session, acceptedAt);
+                } else {
+                    handleRevisionUpload(request, response, session, acceptedAt);
+                }
+            } catch (Exception e) {
+                handleError(response, "Error processing file upload", e);
             }
-        } catch (Exception e) {
-            handleError(response, "Error processing file upload", e);
+        } catch (IOException e) {
+            LogUtil.logFileUploadError(e.getMessage(), "Failed to write upload response");
+        } finally {
+            asyncContext.complete();
+        }
+    }
+
+    private static void rejectBusy(AsyncContext asyncContext) {
+        HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+        try {
+            response.setHeader("Retry-After", String.valueOf(PerformanceConfigUtil.getInt("upload.admission.retryAfterSeconds", 5)));
+            JsonUtil.sendErrorResponse(response, "Upload queue is full, please retry shortly",
+                    HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        } catch (IOException e) {
+            LogUtil.logFileUploadError(e.getMessage(), "Failed to write busy response");
+        } finally {
+            asyncContext.complete();
         }
     }
 
-    private void handleSubmissionUpload(HttpServletRequest request, HttpServletResponse response, HttpSession session) 
-            throws IOException, ServletException, SQLException {
+    private void handleSubmissionUpload(HttpServletRequest request, HttpServletResponse response, HttpSession session,
+                                        Timestamp acceptedAt) throws IOException, ServletException, SQLException {
         // Get submission ID from request
         String submissionId = request.getParameter("submissionId");
         if (submissionId == null || submissionId.trim().isEmpty()) {
@@ -98,38 +212,33 @@ public class FileUploadServlet extends HttpServlet {
         LogUtil.logFileUpload("Submission document uploaded", fileName, savedFileName);
 
         // Update submission with new document path
-        Submission submission = submissionService.getSubmissionById(submissionId);
-        if (submission == null) {
+        // Admission time, not completion time, so queueing never makes an upload late
+        UpdateResult update = replaceDocument(submissionId, savedFileName,
+                submission -> submission.setSubmissionDate(acceptedAt));
+        if (update.getStatus() == UpdateResult.Status.NOT_FOUND) {
             FileUploadUtil.deleteFile(savedFileName);
             response.sendError(HttpServletResponse.SC_NOT_FOUND, "Submission not found");
             return;
         }
 
-        // Delete old file if exists
-        if (submission.getDocumentPath() != null) {
-            FileUploadUtil.deleteFile(submission.getDocumentPath());
-        }
-
-        submission.setDocumentPath(savedFileName);
-        boolean updated = submissionService.updateSubmission(submission);
-
-        if (updated) {
+        if (update.isUpdated()) {
             Map<String, Object> result = new HashMap<>();
             result.put("status", "success");
             result.put("message", ConstantsUtil.SUCCESS_SUBMISSION);
             result.put("fileName", savedFileName);
+            result.put("acceptedAt", acceptedAt.toString());
             
             response.setStatus(HttpServletResponse.SC_OK);
             response.setContentType("application/json");
             response.getWriter().write(JsonUtil.toJsonObject(result));
         } else {
             FileUploadUtil.deleteFile(savedFileName);
-            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to update submission");
+            response.sendError(HttpServletResponse.SC_CONFLICT, "Submission is being changed concurrently, please retry");
         }
     }
 
-    private void handleRevisionUpload(HttpServletRequest request, HttpServletResponse response, HttpSession session) 
-            throws IOException, ServletException, SQLException {
+    private void handleRevisionUpload(HttpServletRequest request, HttpServletResponse response, HttpSession session,
+                                      Timestamp acceptedAt) throws IOException, ServletException, SQLException {
         // Get submission ID from request
         String submissionId = request.getParameter("submissionId");
         if (submissionId == null || submissionId.trim().isEmpty()) {
@@ -161,35 +270,55 @@ public class FileUploadServlet extends HttpServlet {
         LogUtil.logFileUpload("Revision document uploaded", fileName, savedFileName);
 
         // Update submission with new document path
-        Submission submission = submissionService.getSubmissionById(submissionId);
-        if (submission == null) {
+        UpdateResult update = replaceDocument(submissionId, savedFileName,
+                submission -> submission.setStatus("REVISION_SUBMITTED"));
+        if (update.getStatus() == UpdateResult.Status.NOT_FOUND) {
             FileUploadUtil.deleteFile(savedFileName);
             response.sendError(HttpServletResponse.SC_NOT_FOUND, "Submission not found");
             return;
         }
 
-        // Delete old file if exists
-        if (submission.getDocumentPath() != null) {
-            FileUploadUtil.deleteFile(submission.getDocumentPath());
-        }
-
-        submission.setDocumentPath(savedFileName);
-        submission.setStatus("REVISION_SUBMITTED");
-        boolean updated = submissionService.updateSubmission(submission);
-
-        if (updated) {
+        if (update.isUpdated()) {
             Map<String, Object> result = new HashMap<>();
             result.put("status", "success");
             result.put("message", "Revision submitted successfully");
             result.put("fileName", savedFileName);
+            result.put("acceptedAt", acceptedAt.toString());
             
             response.setStatus(HttpServletResponse.SC_OK);
             response.setContentType("application/json");
             response.getWriter().write(JsonUtil.toJsonObject(result));
         } else {
             FileUploadUtil.deleteFile(savedFileName);
-            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Failed to update submission");
+            response.sendError(HttpServletResponse.SC_CONFLICT, "Submission is being changed concurrently, please retry");
+        }
+    }
+
+    /**
+     * Points the submission at the newly saved document and applies the
+     * handler's other changes. Setting a new document is safe to redo, so a
+     * concurrent write to the submission makes this re-read and retry
+     * rather than overwrite it. The replaced document is deleted only once
+     * the update has gone through.
+     */
+    private UpdateResult replaceDocument(String submissionId, String savedFileName, Consumer<Submission> change)
+            throws SQLException, IOException {
+        AtomicReference<String> replaced = new AtomicReference<>();
+        UpdateResult result = OptimisticRetry.run(() -> {
+            Versioned<Submission> current = versionedUpdateDAO.findSubmission(submissionId);
+            if (current == null) {
+                return UpdateResult.notFound();
+            }
+            Submission submission = current.getEntity();
+            replaced.set(submission.getDocumentPath());
+            submission.setDocumentPath(savedFileName);
+            change.accept(submission);
+            return versionedUpdateDAO.updateSubmission(submission, current.getVersion());
+        });
+        if (result.isUpdated() && replaced.get() != null && !replaced.get().equals(savedFileName)) {
+            FileUploadUtil.deleteFile(replaced.get());
         }
+        return result;
     }
 
     private void handleError(HttpServletResponse response, String message, Exception e) 
@@ -1,11 +1,10 @@
 package com.campusconf.controllers;
 
-import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.SubmissionDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
-import com.campusconf.dao.impl.SubmissionDAOImpl;
-import com.campusconf.models.Conference;
-import com.campusconf.models.Submission;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.SummaryDAO;
+import com.campusconf.dao.UserConferenceRoleDAO;
+import com.campusconf.models.ConferenceSummary;
+import com.campusconf.models.SubmissionSummary;
 import com.campusconf.utils.ConstantsUtil;
 import com.campusconf.utils.JsonUtil;
 import com.campusconf.utils.LogUtil;
@@ -21,17 +20,20 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-@WebServlet("/filter/*")
+@WebServlet(urlPatterns = "/filter/*", asyncSupported = true)
 public class FilterServlet extends HttpServlet {
-    private final ConferenceDAO conferenceDAO;
-    private final SubmissionDAO submissionDAO;
+    private final SummaryDAO summaryDAO;
+    private final UserConferenceRoleDAO roleDAO;
 
     public FilterServlet() {
-        this.conferenceDAO = new ConferenceDAOImpl();
-        this.submissionDAO = new SubmissionDAOImpl();
+        // List results only need the summary columns
+        this.summaryDAO = DAOFactory.getSummaryDAO();
+        this.roleDAO = DAOFactory.getUserConferenceRoleDAO();
     }
 
     @Override
@@ -73,8 +75,8 @@ public class FilterServlet extends HttpServlet {
         String dateFilter = request.getParameter("date");
 
         // Get all conferences for the user
-        List<Conference> conferences = conferenceDAO.findByUserId((Long) session.getAttribute("userId"));
-        List<Conference> filteredResults = new ArrayList<>(conferences);
+        List<ConferenceSummary> conferences = summaryDAO.findConferenceSummariesByUserId((Long) session.getAttribute("userId"));
+        List<ConferenceSummary> filteredResults = new ArrayList<>(conferences);
 
         // Apply role filter
         if (role != null && !role.trim().isEmpty()) {
@@ -108,7 +110,7 @@ public class FilterServlet extends HttpServlet {
         int endIndex = Math.min(startIndex + recordsPerPage, noOfRecords);
 
         // Get paginated results
-        List<Conference> paginatedResults = filteredResults.subList(startIndex, endIndex);
+        List<ConferenceSummary> paginatedResults = filteredResults.subList(startIndex, endIndex);
 
         // Prepare response
         Map<String, Object> result = new HashMap<>();
@@ -130,8 +132,8 @@ public class FilterServlet extends HttpServlet {
         String conferenceId = request.getParameter("conferenceId");
 
         // Get all submissions for the user
-        List<Submission> submissions = submissionDAO.findByUserId((Long) session.getAttribute("userId"));
-        List<Submission> filteredResults = new ArrayList<>(submissions);
+        List<SubmissionSummary> submissions = summaryDAO.findSubmissionSummariesByUserId((Long) session.getAttribute("userId"));
+        List<SubmissionSummary> filteredResults = new ArrayList<>(submissions);
 
         // Apply status filter
         if (status != null && !status.trim().isEmpty()) {
@@ -165,7 +167,7 @@ public class FilterServlet extends HttpServlet {
         int endIndex = Math.min(startIndex + recordsPerPage, noOfRecords);
 
         // Get paginated results
-        List<Submission> paginatedResults = filteredResults.subList(startIndex, endIndex);
+        List<SubmissionSummary> paginatedResults = filteredResults.subList(startIndex, endIndex);
 
         // Prepare response
         Map<String, Object> result = new HashMap<>();
@@ -179,30 +181,31 @@ public class FilterServlet extends HttpServlet {
         response.getWriter().write(JsonUtil.toJsonObject(result));
     }
 
-    private List<Conference> filterByRole(List<Conference> conferences, String role, HttpSession session) throws SQLException {
+    private List<ConferenceSummary> filterByRole(List<ConferenceSummary> conferences, String role, HttpSession session) throws SQLException {
         final Long userId = (Long) session.getAttribute("userId");
-        final List<Conference> authorConferences = new ArrayList<>();
-        final List<Conference> committeeConferences = new ArrayList<>();
-
-        // Pre-fetch conferences for Author and Committee roles
-        if ("Author".equals(role) || "PC".equals(role) || "SC".equals(role)) {
-            if ("Author".equals(role)) {
-                authorConferences.addAll(conferenceDAO.findByAuthorId(userId));
-            } else {
-                committeeConferences.addAll(conferenceDAO.findByCommitteeMemberId(userId));
-            }
+        final Set<Long> roleConferences = new HashSet<>();
+
+        // Look up the conferences where the user holds the role in the role index
+        if ("Author".equals(role)) {
+            roleConferences.addAll(roleDAO.findConferenceIdsByRoles(userId,
+                    List.of(UserConferenceRoleDAO.ROLE_AUTHOR, UserConferenceRoleDAO.ROLE_AUTHOR_CP)));
+        } else if ("PC".equals(role)) {
+            roleConferences.addAll(roleDAO.findConferenceIdsByRoles(userId,
+                    List.of(UserConferenceRoleDAO.ROLE_PC_MEMBER, UserConferenceRoleDAO.ROLE_PC_RESP)));
+        } else if ("SC".equals(role)) {
+            roleConferences.addAll(roleDAO.findConferenceIdsByRoles(userId,
+                    List.of(UserConferenceRoleDAO.ROLE_SC_MEMBER, UserConferenceRoleDAO.ROLE_SC_RESP)));
         }
 
         return conferences.stream()
                 .filter(conf -> {
                     switch (role) {
                         case "President":
-                            return conf.getPresidentId().equals(userId);
+                            return userId != null && userId.equals(conf.getPresidentId());
                         case "Author":
-                            return authorConferences.contains(conf);
                         case "PC":
                         case "SC":
-                            return committeeConferences.contains(conf);
+                            return roleConferences.contains(conf.getConferenceId());
                         default:
                             return true;
                     }
@@ -210,13 +213,13 @@ public class FilterServlet extends HttpServlet {
                 .toList();
     }
 
-    private List<Conference> filterByStatus(List<Conference> conferences, String status) {
+    private List<ConferenceSummary> filterByStatus(List<ConferenceSummary> conferences, String status) {
         return conferences.stream()
                 .filter(conf -> status.equals(conf.getStatus()))
                 .toList();
     }
 
-    private List<Conference> filterByDate(List<Conference> conferences, String dateFilter) {
+    private List<ConferenceSummary> filterByDate(List<ConferenceSummary> conferences, String dateFilter) {
         LocalDate today = LocalDate.now();
         return conferences.stream()
                 .filter(conf -> {
@@ -239,13 +242,13 @@ public class FilterServlet extends HttpServlet {
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByStatus(List<Submission> submissions, String status) {
+    private List<SubmissionSummary> filterSubmissionsByStatus(List<SubmissionSummary> submissions, String status) {
         return submissions.stream()
                 .filter(sub -> status.equals(sub.getStatus()))
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByDate(List<Submission> submissions, String dateFilter) {
+    private List<SubmissionSummary> filterSubmissionsByDate(List<SubmissionSummary> submissions, String dateFilter) {
         LocalDate today = LocalDate.now();
         return submissions.stream()
                 .filter(sub -> {
@@ -268,7 +271,7 @@ public class FilterServlet extends HttpServlet {
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByConference(List<Submission> submissions, Long conferenceId) {
+    private List<SubmissionSummary> filterSubmissionsByConference(List<SubmissionSummary> submissions, Long conferenceId) {
         return submissions.stream()
                 .filter(sub -> conferenceId.equals(sub.getConferenceId()))
                 .toList();
@@ -4,15 +4,22 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.loader.EntityLoaders;
+import com.campusconf.models.Notification;
 import com.campusconf.models.Review;
 import com.campusconf.models.Submission;
 import com.campusconf.models.User;
+import com.campusconf.services.DigestService;
+import com.campusconf.services.LiveNotificationService;
 import com.campusconf.utils.DatabaseUtil;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -21,9 +28,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
-@WebServlet("/review/final-decision")
+@WebServlet(urlPatterns = "/review/final-decision", asyncSupported = true)
 public class FinalDecisionServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
+    private final LiveNotificationService notificationService = LiveNotificationService.getInstance();
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
@@ -94,11 +102,10 @@ public class FinalDecisionServlet extends HttpServlet {
                 return;
             }
 
-            // Get all reviews
+            // Get all reviews; reviewers are resolved through the request loader
             String getReviewsSql = 
-                "SELECT r.*, u.first_name, u.last_name, u.email " +
+                "SELECT r.* " +
                 "FROM reviews r " +
-                "JOIN users u ON r.reviewer_id = u.user_id " +
                 "WHERE r.submission_id = ?";
             
             PreparedStatement getReviewsStmt = conn.prepareStatement(getReviewsSql);
@@ -119,11 +126,19 @@ public class FinalDecisionServlet extends HttpServlet {
                 reviews.add(review);
             }
 
+            // Load every reviewer in one query
+            List<Long> reviewerIds = new ArrayList<>();
+            for (Review review : reviews) {
+                reviewerIds.add(review.getReviewerId());
+            }
+            Map<Long, User> reviewers = EntityLoaders.forRequest(request).users().loadAll(reviewerIds);
+
             // Set attributes for JSP
             request.setAttribute("submissionId", submissionId);
             request.setAttribute("submissionTitle", submissionRs.getString("title"));
             request.setAttribute("conferenceName", submissionRs.getString("conference_name"));
             request.setAttribute("reviews", reviews);
+            request.setAttribute("reviewers", reviewers);
 
             // Forward to final decision page
             request.getRequestDispatcher("/WEB-INF/views/review/final-decision.jsp").forward(request, response);
@@ -190,30 +205,16 @@ public class FinalDecisionServlet extends HttpServlet {
                 return;
             }
 
-            // Update submission status
-            String updateSubmissionSql = 
-                "UPDATE submissions " +
-                "SET status = ?, " +
-                "    updated_at = ? " +
-                "WHERE submission_id = ?";
-            
-            PreparedStatement updateStmt = conn.prepareStatement(updateSubmissionSql);
-            updateStmt.setString(1, finalDecision);
-            updateStmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
-            updateStmt.setString(3, submissionId);
-            updateStmt.executeUpdate();
+            // Update submission status; moves the row version in the same statement so
+            // versions handed out before the decision no longer match
+            DAOFactory.getVersionedUpdateDAO().updateSubmissionStatus(submissionId, finalDecision);
 
-            // Get submission details and authors for email
+            // Get submission details for the notification
             String getDetailsSql = 
-                "SELECT s.title, c.name as conference_name, " +
-                "       GROUP_CONCAT(DISTINCT u.email) as author_emails, " +
-                "       GROUP_CONCAT(DISTINCT CONCAT(u.first_name, ' ', u.last_name)) as author_names " +
+                "SELECT s.title, c.name as conference_name " +
                 "FROM submissions s " +
                 "JOIN conferences c ON s.conference_id = c.conference_id " +
-                "JOIN submission_authors sa ON s.submission_id = sa.submission_id " +
-                "JOIN users u ON sa.user_id = u.user_id " +
-                "WHERE s.submission_id = ? " +
-                "GROUP BY s.submission_id";
+                "WHERE s.submission_id = ?";
             
             PreparedStatement detailsStmt = conn.prepareStatement(getDetailsSql);
             detailsStmt.setString(1, submissionId);
@@ -222,28 +223,18 @@ public class FinalDecisionServlet extends HttpServlet {
 
             String submissionTitle = detailsRs.getString("title");
             String conferenceName = detailsRs.getString("conference_name");
-            String[] authorEmails = detailsRs.getString("author_emails").split(",");
-            String[] authorNames = detailsRs.getString("author_names").split(",");
-
-            // Send email notifications to all authors
-            String subject = "Final Decision on Your Submission";
-            String body = String.format(
-                "Dear Author(s),\n\n" +
-                "The final decision has been made on your submission:\n\n" +
-                "Conference: %s\n" +
-                "Submission Title: %s\n" +
-                "Submission ID: %s\n" +
-                "Final Decision: %s\n\n" +
-                "Comments from the Review Committee:\n%s\n\n" +
-                "Best regards,\n" +
-                "CampusConf Team",
-                conferenceName, submissionTitle, submissionId,
-                finalDecision, comments != null ? comments : "No additional comments."
-            );
-
-            for (String authorEmail : authorEmails) {
-                EmailUtil.sendEmail(authorEmail.trim(), subject, body);
-            }
+
+            // Notify all authors; the email goes out with each author's digest, in their language
+            Map<String, Object> values = new HashMap<>();
+            values.put("conference", conferenceName);
+            values.put("title", submissionTitle);
+            values.put("submissionId", submissionId);
+            values.put("decision", finalDecision);
+            values.put("comments", comments != null && !comments.trim().isEmpty() ? comments : "-");
+            Notification notification = DigestService.event(EmailTemplateCatalog.NOTICE_DECISION,
+                    EmailTemplateEngine.DEFAULT_LANGUAGE, values, "DECISION");
+            List<Long> authorIds = notificationService.broadcastToSubmissionAuthors(submissionId, notification);
+            DigestService.getInstance().submit(authorIds, EmailTemplateCatalog.NOTICE_DECISION, values, "DECISION");
 
             response.sendRedirect(request.getContextPath() + "/dashboard?success=final_decision_made");
 
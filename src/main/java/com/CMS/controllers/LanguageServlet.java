@@ -1,8 +1,13 @@
 package com.campusconf.controllers;
 
 import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Locale;
 
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.utils.EmailTemplateEngine;
+import com.campusconf.utils.LogUtil;
+
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.Cookie;
@@ -38,6 +43,16 @@ public class LanguageServlet extends HttpServlet {
         HttpSession session = request.getSession();
         session.setAttribute("language", language);
 
+        // Remember it for mail sent outside a request, such as digests
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId != null) {
+            try {
+                DAOFactory.getUserLanguageDAO().saveLanguage(userId, language);
+            } catch (SQLException e) {
+                LogUtil.warn("Could not save language for user " + userId + ": " + e.getMessage());
+            }
+        }
+
         // Create and set language cookie
         Cookie languageCookie = new Cookie(LANGUAGE_COOKIE_NAME, language);
         languageCookie.setMaxAge(COOKIE_MAX_AGE);
@@ -57,14 +72,8 @@ public class LanguageServlet extends HttpServlet {
     }
 
     private boolean isValidLanguage(String language) {
-        // Add supported languages here
-        String[] supportedLanguages = {"en", "fr", "es", "de", "ar"};
-        for (String supported : supportedLanguages) {
-            if (supported.equals(language)) {
-                return true;
-            }
-        }
-        return false;
+        // Every language the emails are translated to
+        return EmailTemplateEngine.isSupportedLanguage(language);
     }
 
     @Override
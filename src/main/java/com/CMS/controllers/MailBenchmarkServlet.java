@@ -0,0 +1,91 @@
+package com.campusconf.controllers;
+
+import com.campusconf.services.MailBenchmarkService;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Runs an email throughput benchmark against the in-JVM SMTP sink.
+ *
+ * POST /admin/mail-benchmark?scenario=POOLED&amp;messages=1000&amp;concurrency=4
+ *      &amp;latencyMillis=0&amp;failureRate=0&amp;dropRate=0
+ */
+@WebServlet("/admin/mail-benchmark")
+public class MailBenchmarkServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final MailBenchmarkService benchmarkService = MailBenchmarkService.getInstance();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+        JsonUtil.sendJsonResponse(response, Map.of("scenarios", MailBenchmarkService.SCENARIOS));
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+        try {
+            String scenario = request.getParameter("scenario");
+            Map<String, Object> report = benchmarkService.run(
+                    scenario != null ? scenario.trim().toUpperCase() : "POOLED",
+                    (int) longParameter(request, "messages", 1000),
+                    (int) longParameter(request, "concurrency", 4),
+                    longParameter(request, "latencyMillis", 0),
+                    doubleParameter(request, "failureRate"),
+                    doubleParameter(request, "dropRate"));
+            JsonUtil.sendJsonResponse(response, report);
+        } catch (NumberFormatException e) {
+            JsonUtil.sendErrorResponse(response, "Invalid number: " + e.getMessage(), 400);
+        } catch (IllegalArgumentException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 400);
+        } catch (IllegalStateException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 409);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            JsonUtil.sendErrorResponse(response, "Benchmark interrupted", 503);
+        } catch (Exception e) {
+            LogUtil.error("Mail benchmark failed", e);
+            JsonUtil.sendErrorResponse(response, "Mail benchmark failed: " + e.getMessage(), 500);
+        }
+    }
+
+    private static long longParameter(HttpServletRequest request, String name, long defaultValue) {
+        String value = request.getParameter(name);
+        return value != null && !value.trim().isEmpty() ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    private static double doubleParameter(HttpServletRequest request, String name) {
+        String value = request.getParameter(name);
+        return value != null && !value.trim().isEmpty() ? Double.parseDouble(value.trim()) : 0.0;
+    }
+
+    private boolean isAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return false;
+        }
+        if (!ConstantsUtil.ROLE_ADMIN.equals(session.getAttribute(ConstantsUtil.SESSION_USER_ROLE))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, ConstantsUtil.ERROR_UNAUTHORIZED);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.campusconf.controllers;
+
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.MetricsUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+
+@WebServlet("/admin/metrics")
+public class MetricsServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return;
+        }
+        if (!ConstantsUtil.ROLE_ADMIN.equals(session.getAttribute(ConstantsUtil.SESSION_USER_ROLE))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, ConstantsUtil.ERROR_UNAUTHORIZED);
+            return;
+        }
+
+        JsonUtil.sendJsonResponse(response, MetricsUtil.snapshot());
+    }
+}
@@ -1,8 +1,10 @@
 package com.campusconf.controllers;
 
 import com.campusconf.models.Notification;
-import com.campusconf.services.NotificationService;
+import com.campusconf.models.NotificationPage;
+import com.campusconf.services.LiveNotificationService;
 import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.CursorUtil;
 import com.campusconf.utils.JsonUtil;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -14,15 +16,17 @@ import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
-@WebServlet("/notifications/*")
+@WebServlet(urlPatterns = "/notifications/*", asyncSupported = true)
 public class NotificationServlet extends HttpServlet {
-    private final NotificationService notificationService;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LiveNotificationService notificationService;
 
     public NotificationServlet() {
-        this.notificationService = new NotificationService();
+        this.notificationService = LiveNotificationService.getInstance();
     }
 
     @Override
@@ -37,11 +41,22 @@ public class NotificationServlet extends HttpServlet {
         Long userId = (Long) session.getAttribute("userId");
         String pathInfo = request.getPathInfo();
 
+        CursorUtil.Position after;
+        int limit;
+        try {
+            after = CursorUtil.decode(request.getParameter("cursor"));
+            limit = pageSize(request);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid cursor or limit");
+            return;
+        }
+
         try {
             if (pathInfo == null || pathInfo.equals("/")) {
-                // Get all notifications for the user
-                List<Notification> notifications = notificationService.getNotificationsByUserId(userId);
-                request.setAttribute("notifications", notifications);
+                // Get one page of the user's notifications
+                NotificationPage page = notificationService.getNotificationPage(userId, null, after, limit);
+                request.setAttribute("notifications", page.getNotifications());
+                request.setAttribute("nextCursor", page.getNextCursor());
                 request.getRequestDispatcher("/WEB-INF/views/notifications/list.jsp").forward(request, response);
             } else if (pathInfo.equals("/count")) {
                 // Get unread notification count
@@ -49,10 +64,14 @@ public class NotificationServlet extends HttpServlet {
                 response.setContentType("application/json");
                 response.getWriter().write(JsonUtil.toJsonObject(Map.of("count", count)));
             } else if (pathInfo.equals("/unread")) {
-                // Get unread notifications
-                List<Notification> unreadNotifications = notificationService.getNotificationsByUserIdAndStatus(userId, ConstantsUtil.NOTIFICATION_UNREAD);
+                // Get one page of unread notifications
+                NotificationPage page = notificationService.getNotificationPage(userId,
+                        ConstantsUtil.NOTIFICATION_UNREAD, after, limit);
+                if (page.hasMore()) {
+                    response.setHeader("X-Next-Cursor", page.getNextCursor());
+                }
                 response.setContentType("application/json");
-                response.getWriter().write(JsonUtil.toJsonArray(unreadNotifications));
+                response.getWriter().write(JsonUtil.toJsonArray(page.getNotifications()));
             }
         } catch (SQLException e) {
             handleError(response, "Error retrieving notifications", e);
@@ -165,6 +184,18 @@ public class NotificationServlet extends HttpServlet {
         }
     }
 
+    private static int pageSize(HttpServletRequest request) {
+        String limit = request.getParameter("limit");
+        if (limit == null || limit.isEmpty()) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        int size = Integer.parseInt(limit);
+        if (size < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
     private void handleError(HttpServletResponse response, String message, Exception e) 
             throws IOException {
         Map<String, Object> error = new HashMap<>();
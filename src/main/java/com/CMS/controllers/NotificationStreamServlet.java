@@ -0,0 +1,87 @@
+package com.campusconf.controllers;
+
+import com.campusconf.services.LiveNotificationService;
+import com.campusconf.services.NotificationStreamHub;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Server-Sent Events stream of the user's notifications ("notification"
+ * events) and unread count ("unread-count" events). Replaces polling
+ * /notifications/count and /notifications/unread from every tab.
+ */
+@WebServlet(urlPatterns = "/notifications/stream", asyncSupported = true)
+public class NotificationStreamServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private final LiveNotificationService notificationService = LiveNotificationService.getInstance();
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return;
+        }
+        Long userId = (Long) session.getAttribute("userId");
+
+        Long lastEventId;
+        try {
+            lastEventId = parseLastEventId(request);
+        } catch (NumberFormatException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid Last-Event-ID");
+            return;
+        }
+
+        // Current count first, so the badge is right before any event arrives
+        int unreadCount;
+        try {
+            unreadCount = notificationService.countUnreadNotifications(userId);
+        } catch (SQLException e) {
+            LogUtil.error("Error opening notification stream", e);
+            response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error opening notification stream");
+            return;
+        }
+
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        // Keep reverse proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync();
+        // Recycle long-lived connections; the browser reconnects with Last-Event-ID
+        asyncContext.setTimeout(PerformanceConfigUtil.getLong("notifications.stream.timeoutMinutes", 30) * 60_000);
+
+        NotificationStreamHub hub = NotificationStreamHub.getInstance();
+        hub.connect(userId, asyncContext, lastEventId);
+        if (lastEventId == null) {
+            hub.publish(userId, "unread-count", JsonUtil.toJsonObject(Map.of("count", unreadCount)));
+        }
+    }
+
+    private Long parseLastEventId(HttpServletRequest request) {
+        String lastEventId = request.getHeader("Last-Event-ID");
+        if (lastEventId == null || lastEventId.trim().isEmpty()) {
+            // EventSource polyfills cannot set headers
+            lastEventId = request.getParameter("lastEventId");
+        }
+        if (lastEventId == null || lastEventId.trim().isEmpty()) {
+            return null;
+        }
+        return Long.parseLong(lastEventId.trim());
+    }
+}
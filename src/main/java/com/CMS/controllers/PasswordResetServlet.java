@@ -9,12 +9,15 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import com.campusconf.services.UserService;
 import com.campusconf.services.PasswordResetService;
+import com.campusconf.services.OutboundMailService;
 import com.campusconf.utils.DatabaseUtil;
-import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
-@WebServlet("/password-reset/*")
+@WebServlet(urlPatterns = "/password-reset/*", asyncSupported = true)
 public class PasswordResetServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private UserService userService;
@@ -70,9 +73,10 @@ public class PasswordResetServlet extends HttpServlet {
                 String verificationCode = passwordResetService.generateVerificationCode(email);
                 
                 // Send verification code via email
-                String subject = "Password Reset Verification Code";
-                String message = "Your verification code is: " + verificationCode;
-                EmailUtil.sendEmail(email, subject, message);
+                EmailTemplateEngine.RenderedEmail rendered = EmailTemplateEngine.render(
+                        EmailTemplateCatalog.PASSWORD_CODE, EmailTemplateEngine.languageOf(request),
+                        Map.of("code", verificationCode));
+                OutboundMailService.getInstance().send(email, rendered.getSubject(), rendered.getBody());
                 
                 session.setAttribute("reset_email", email);
                 response.sendRedirect(request.getContextPath() + "/password-reset/verify");
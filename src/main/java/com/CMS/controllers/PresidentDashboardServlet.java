@@ -14,29 +14,28 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 
 import com.campusconf.dao.ConferenceDAO;
-import com.campusconf.dao.impl.ConferenceDAOImpl;
-import com.campusconf.dao.SubmissionDAO;
-import com.campusconf.dao.impl.SubmissionDAOImpl;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.SummaryDAO;
 import com.campusconf.dao.CommitteeMemberDAO;
-import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
 import com.campusconf.models.Conference;
-import com.campusconf.models.Submission;
+import com.campusconf.models.SubmissionSummary;
 import com.campusconf.models.CommitteeMember;
 import com.campusconf.utils.DatabaseUtil;
+import com.campusconf.utils.QueryScope;
 
-@WebServlet("/dashboard/president/*")
+@WebServlet(urlPatterns = "/dashboard/president/*", asyncSupported = true)
 public class PresidentDashboardServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private ConferenceDAO conferenceDAO;
-    private SubmissionDAO submissionDAO;
+    private SummaryDAO summaryDAO;
     private CommitteeMemberDAO committeeDAO;
 
     @Override
     public void init() throws ServletException {
         try {
-            conferenceDAO = new ConferenceDAOImpl();
-            submissionDAO = new SubmissionDAOImpl();
-            committeeDAO = new CommitteeMemberDAOImpl();
+            conferenceDAO = DAOFactory.getConferenceDAO();
+            summaryDAO = DAOFactory.getSummaryDAO();
+            committeeDAO = DAOFactory.getCommitteeMemberDAO();
         } catch (Exception e) {
             throw new ServletException("Failed to initialize DAOs", e);
         }
@@ -62,20 +61,23 @@ public class PresidentDashboardServlet extends HttpServlet {
         try {
             // Get conferences where user is president
             List<Conference> conferences = conferenceDAO.findByPresidentId(userId);
-            
-            // Get submissions for all conferences
-            List<Submission> submissions = submissionDAO.findByConferenceIds(
-                conferences.stream()
+            List<Long> conferenceIds = conferences.stream()
                     .map(Conference::getConferenceId)
-                    .toList()
-            );
-
-            // Get committee members for all conferences
-            List<CommitteeMember> committeeMembers = committeeDAO.findByConferenceIds(
-                conferences.stream()
-                    .map(Conference::getConferenceId)
-                    .toList()
-            );
+                    .toList();
+
+            // Submissions and committee members only depend on the conference ids,
+            // so load them side by side
+            List<SubmissionSummary> submissions;
+            List<CommitteeMember> committeeMembers;
+            try (QueryScope scope = QueryScope.open()) {
+                QueryScope.Task<List<SubmissionSummary>> submissionsTask =
+                        scope.fork(() -> summaryDAO.findSubmissionSummariesByConferenceIds(conferenceIds));
+                QueryScope.Task<List<CommitteeMember>> committeeTask =
+                        scope.fork(() -> committeeDAO.findByConferenceIds(conferenceIds));
+                scope.join();
+                submissions = submissionsTask.get();
+                committeeMembers = committeeTask.get();
+            }
 
             // Get filter parameters
             String filterStatus = request.getParameter("filterStatus");
@@ -110,7 +112,7 @@ public class PresidentDashboardServlet extends HttpServlet {
             int endIndex = Math.min(startIndex + recordsPerPage, noOfRecords);
 
             // Get paginated submissions
-            List<Submission> paginatedSubmissions = submissions.subList(startIndex, endIndex);
+            List<SubmissionSummary> paginatedSubmissions = submissions.subList(startIndex, endIndex);
 
             // Set attributes for the view
             request.setAttribute("conferences", conferences);
@@ -207,13 +209,13 @@ public class PresidentDashboardServlet extends HttpServlet {
         response.sendRedirect(request.getContextPath() + "/conference/modify/" + conferenceId);
     }
 
-    private List<Submission> filterSubmissionsByStatus(List<Submission> submissions, String status) {
+    private List<SubmissionSummary> filterSubmissionsByStatus(List<SubmissionSummary> submissions, String status) {
         return submissions.stream()
                 .filter(sub -> status.equals(sub.getStatus()))
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByDate(List<Submission> submissions, String dateFilter) {
+    private List<SubmissionSummary> filterSubmissionsByDate(List<SubmissionSummary> submissions, String dateFilter) {
         java.time.LocalDate today = java.time.LocalDate.now();
         return submissions.stream()
                 .filter(sub -> {
@@ -236,7 +238,7 @@ public class PresidentDashboardServlet extends HttpServlet {
                 .toList();
     }
 
-    private List<Submission> filterSubmissionsByConference(List<Submission> submissions, Long conferenceId) {
+    private List<SubmissionSummary> filterSubmissionsByConference(List<SubmissionSummary> submissions, Long conferenceId) {
         return submissions.stream()
                 .filter(sub -> conferenceId.equals(sub.getConferenceId()))
                 .toList();
@@ -0,0 +1,143 @@
+package com.campusconf.controllers;
+
+import com.campusconf.services.ProfilingService;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+@WebServlet("/admin/profiling/*")
+public class ProfilingServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final long DEFAULT_DURATION_SECONDS = 60;
+
+    private final ProfilingService profilingService;
+
+    public ProfilingServlet() {
+        this.profilingService = ProfilingService.getInstance();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+
+        String pathInfo = request.getPathInfo();
+        try {
+            if (pathInfo == null || pathInfo.equals("/") || pathInfo.equals("/status")) {
+                JsonUtil.sendJsonResponse(response, profilingService.getStatus());
+            } else if (pathInfo.equals("/summary")) {
+                JsonUtil.sendJsonResponse(response, profilingService.summarize());
+            } else if (pathInfo.equals("/download")) {
+                handleDownload(response);
+            } else {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "Invalid profiling operation");
+            }
+        } catch (IllegalStateException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 409);
+        } catch (Exception e) {
+            handleError(response, "Error reading profiling data", e);
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!isAdmin(request, response)) {
+            return;
+        }
+
+        String pathInfo = request.getPathInfo();
+        if (pathInfo == null || pathInfo.equals("/")) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid request path");
+            return;
+        }
+
+        try {
+            switch (pathInfo) {
+                case "/start":
+                    String profile = request.getParameter("profile");
+                    String duration = request.getParameter("duration");
+                    long durationSeconds = duration != null && !duration.trim().isEmpty()
+                            ? Long.parseLong(duration.trim()) : DEFAULT_DURATION_SECONDS;
+                    Map<String, Object> started = profilingService.startRecording(
+                            profile != null && !profile.trim().isEmpty() ? profile.trim() : "profile",
+                            durationSeconds);
+                    JsonUtil.sendJsonResponse(response, started, 201);
+                    break;
+                case "/stop":
+                    JsonUtil.sendJsonResponse(response, profilingService.stopRecording());
+                    break;
+                default:
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND, "Invalid profiling operation");
+            }
+        } catch (NumberFormatException e) {
+            JsonUtil.sendErrorResponse(response, "Invalid duration format", 400);
+        } catch (IllegalArgumentException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 400);
+        } catch (IllegalStateException e) {
+            JsonUtil.sendErrorResponse(response, e.getMessage(), 409);
+        } catch (Exception e) {
+            handleError(response, "Error controlling profiling recording", e);
+        }
+    }
+
+    private void handleDownload(HttpServletResponse response) throws IOException {
+        Path file = profilingService.getRecordingFile();
+        if (file == null) {
+            JsonUtil.sendErrorResponse(response, "No finished recording is available", 409);
+            return;
+        }
+
+        // Set response headers
+        response.setContentType("application/octet-stream");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + file.getFileName() + "\"");
+        response.setHeader("Content-Length", String.valueOf(Files.size(file)));
+
+        // Stream the recording
+        try (OutputStream outputStream = response.getOutputStream()) {
+            Files.copy(file, outputStream);
+            outputStream.flush();
+        }
+    }
+
+    private boolean isAdmin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("userId") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "User not authenticated");
+            return false;
+        }
+        if (!ConstantsUtil.ROLE_ADMIN.equals(session.getAttribute(ConstantsUtil.SESSION_USER_ROLE))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, ConstantsUtil.ERROR_UNAUTHORIZED);
+            return false;
+        }
+        return true;
+    }
+
+    private void handleError(HttpServletResponse response, String message, Exception e)
+            throws IOException {
+        LogUtil.error(message, e);
+
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", message);
+        error.put("details", e.getMessage());
+
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        response.setContentType("application/json");
+        response.getWriter().write(JsonUtil.toJsonObject(error));
+    }
+}
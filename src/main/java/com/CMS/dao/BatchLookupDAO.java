@@ -0,0 +1,19 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.Conference;
+import com.campusconf.models.Submission;
+import com.campusconf.models.User;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Multi-id lookups, one IN (...) query per call. Ids that do not exist are
+ * simply absent from the returned map.
+ */
+public interface BatchLookupDAO {
+    Map<Long, User> findUsersByIds(Collection<Long> userIds) throws SQLException;
+    Map<Long, Conference> findConferencesByIds(Collection<Long> conferenceIds) throws SQLException;
+    Map<String, Submission> findSubmissionsByIds(Collection<String> submissionIds) throws SQLException;
+}
@@ -0,0 +1,55 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.BulkMailJob;
+import com.campusconf.models.BulkMailRecipient;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bulk mail jobs (bulk_mail_jobs) and their recipients
+ * (bulk_mail_recipients). Recipient rows carry their own status, so an
+ * interrupted job resumes with exactly the addresses not yet mailed.
+ */
+public interface BulkMailJobDAO {
+    String STATUS_PENDING = "PENDING";
+    String STATUS_RUNNING = "RUNNING";
+    String STATUS_COMPLETED = "COMPLETED";
+    String STATUS_CANCELLED = "CANCELLED";
+
+    String RECIPIENT_PENDING = "PENDING";
+    String RECIPIENT_SENT = "SENT";
+    String RECIPIENT_FAILED = "FAILED";
+
+    String AUDIENCE_AUTHORS = "AUTHORS";
+    String AUDIENCE_PC = "PC";
+    String AUDIENCE_SC = "SC";
+    String AUDIENCE_COMMITTEES = "COMMITTEES";
+    String AUDIENCE_ALL = "ALL";
+
+    String MODE_BCC = "BCC";
+    String MODE_PERSONALIZED = "PERSONALIZED";
+
+    void createTablesIfMissing() throws SQLException;
+
+    /**
+     * Inserts the job and resolves its audience into recipient rows, one per
+     * distinct address, in a single transaction. Sets the job id and total.
+     */
+    void create(BulkMailJob job) throws SQLException;
+    BulkMailJob findById(Long jobId) throws SQLException;
+    List<BulkMailJob> findByStatus(String status) throws SQLException;
+    boolean updateStatus(Long jobId, String expectedStatus, String newStatus) throws SQLException;
+
+    /**
+     * Pending recipients with an id above afterRecipientId, in id order.
+     */
+    List<BulkMailRecipient> findPendingRecipients(Long jobId, long afterRecipientId, int limit) throws SQLException;
+
+    /**
+     * Marks the recipients and adds them to the job's sent or failed count
+     * in one transaction.
+     */
+    void markRecipients(Long jobId, Collection<Long> recipientIds, String status) throws SQLException;
+}
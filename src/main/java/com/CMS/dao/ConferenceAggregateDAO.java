@@ -0,0 +1,9 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.ConferenceAggregate;
+
+import java.sql.SQLException;
+
+public interface ConferenceAggregateDAO {
+    ConferenceAggregate findByConferenceId(Long conferenceId, long version) throws SQLException;
+}
@@ -0,0 +1,80 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.ConferencePurgeJob;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deleting a conference in two phases. softDelete() only flips the
+ * conference to status DELETED and records a purge job; the purger then
+ * removes the dependent rows step by step in small transactions
+ * (conference_purge_jobs), collecting the documents of deleted submissions
+ * in conference_purge_files so they can be removed from disk last.
+ */
+public interface ConferencePurgeDAO {
+    // conferences.status of a soft-deleted conference
+    String STATUS_DELETED = "DELETED";
+    // Condition excluding soft-deleted conferences, for queries aliasing conferences as c
+    String NOT_DELETED_SQL = "COALESCE(c.status, '') <> '" + STATUS_DELETED + "'";
+
+    String JOB_PENDING = "PENDING";
+    String JOB_DONE = "DONE";
+    String JOB_FAILED = "FAILED";
+
+    // Purge steps, in order; dependent rows go before the conference row, files last
+    String STEP_SUBMISSIONS = "SUBMISSIONS";
+    String STEP_COMMITTEE = "COMMITTEE";
+    String STEP_TOPICS = "TOPICS";
+    String STEP_ROLE_INDEX = "ROLE_INDEX";
+    String STEP_CONFERENCE = "CONFERENCE";
+    String STEP_FILES = "FILES";
+    List<String> STEPS = Arrays.asList(
+            STEP_SUBMISSIONS, STEP_COMMITTEE, STEP_TOPICS, STEP_ROLE_INDEX, STEP_CONFERENCE, STEP_FILES);
+
+    void createTablesIfMissing() throws SQLException;
+
+    /**
+     * Marks the conference DELETED and queues its purge, in one transaction.
+     * Returns false if there is no such conference or it is already deleted.
+     */
+    boolean softDelete(Long conferenceId, Long requestedBy) throws SQLException;
+
+    ConferencePurgeJob findByConferenceId(Long conferenceId) throws SQLException;
+
+    /**
+     * Pending jobs, oldest first.
+     */
+    List<ConferencePurgeJob> findPending(int limit) throws SQLException;
+
+    /**
+     * Deletes up to chunkSize rows of the given row step in one transaction
+     * and adds them to the job's progress. For STEP_SUBMISSIONS a chunk is
+     * chunkSize submissions with their reviews and authors, and their
+     * documents are remembered for STEP_FILES. Returns the number of rows
+     * deleted; 0 means the step is finished.
+     */
+    int purgeChunk(Long conferenceId, String step, int chunkSize) throws SQLException;
+
+    List<String> findPendingFiles(Long conferenceId, int limit) throws SQLException;
+
+    /**
+     * Forgets handled documents and adds them to the job's progress.
+     */
+    void removePendingFiles(Long conferenceId, List<String> documentPaths, int deleted, int failed)
+            throws SQLException;
+
+    void advance(Long conferenceId, String step) throws SQLException;
+    void markDone(Long conferenceId) throws SQLException;
+
+    /**
+     * Records a failed attempt; the job stays pending unless giveUp is set.
+     */
+    void recordFailure(Long conferenceId, String error, boolean giveUp) throws SQLException;
+
+    /**
+     * Puts a failed job back in the queue. Returns false if it was not failed.
+     */
+    boolean resume(Long conferenceId) throws SQLException;
+}
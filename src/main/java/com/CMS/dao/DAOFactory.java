@@ -0,0 +1,170 @@
+package com.campusconf.dao;
+
+import com.campusconf.dao.cache.CachingCommitteeMemberDAO;
+import com.campusconf.dao.cache.CachingConferenceDAO;
+import com.campusconf.dao.cache.CachingUserDAO;
+import com.campusconf.dao.cache.VersionTrackingConferenceTopicDAO;
+import com.campusconf.dao.impl.BulkMailJobDAOImpl;
+import com.campusconf.dao.impl.CommitteeMemberDAOImpl;
+import com.campusconf.dao.impl.ConferenceDAOImpl;
+import com.campusconf.dao.impl.ConferencePurgeDAOImpl;
+import com.campusconf.dao.impl.ConferenceTopicDAOImpl;
+import com.campusconf.dao.impl.DigestDAOImpl;
+import com.campusconf.dao.impl.HydratingSubmissionDAOImpl;
+import com.campusconf.dao.impl.IdempotencyKeyDAOImpl;
+import com.campusconf.dao.impl.MailOutboxDAOImpl;
+import com.campusconf.dao.impl.NotificationArchiveDAOImpl;
+import com.campusconf.dao.impl.NotificationBroadcastDAOImpl;
+import com.campusconf.dao.impl.NotificationPageDAOImpl;
+import com.campusconf.dao.impl.SummaryDAOImpl;
+import com.campusconf.dao.impl.UserConferenceRoleDAOImpl;
+import com.campusconf.dao.impl.UserDAOImpl;
+import com.campusconf.dao.impl.UserLanguageDAOImpl;
+import com.campusconf.dao.impl.VersionedUpdateDAOImpl;
+import com.campusconf.utils.DatabaseConnection;
+
+import java.sql.SQLException;
+
+/**
+ * Shared DAO instances. Servlets must use these rather than creating their
+ * own impls so that every write goes through the same second-level cache and
+ * moves the conference versions used by read models. Caching is toggled per
+ * DAO with cache.&lt;name&gt;.enabled in config.properties; the decorators stay
+ * installed either way.
+ */
+public class DAOFactory {
+    private static volatile CachingConferenceDAO conferenceDAO;
+    private static volatile CachingCommitteeMemberDAO committeeMemberDAO;
+    private static volatile ConferenceTopicDAO conferenceTopicDAO;
+    private static volatile CachingUserDAO userDAO;
+    private static final SubmissionDAO submissionDAO = new HydratingSubmissionDAOImpl(false);
+    private static final SubmissionDAO lazyAuthorsSubmissionDAO = new HydratingSubmissionDAOImpl(true);
+    private static final SummaryDAO summaryDAO = new SummaryDAOImpl();
+    private static final UserConferenceRoleDAO userConferenceRoleDAO = new UserConferenceRoleDAOImpl();
+    private static final NotificationPageDAO notificationPageDAO = new NotificationPageDAOImpl();
+    private static final NotificationArchiveDAO notificationArchiveDAO = new NotificationArchiveDAOImpl();
+    private static final NotificationBroadcastDAO notificationBroadcastDAO = new NotificationBroadcastDAOImpl();
+    private static final DigestDAO digestDAO = new DigestDAOImpl();
+    private static final UserLanguageDAO userLanguageDAO = new UserLanguageDAOImpl();
+    private static final BulkMailJobDAO bulkMailJobDAO = new BulkMailJobDAOImpl();
+    private static final MailOutboxDAO mailOutboxDAO = new MailOutboxDAOImpl();
+    private static final ConferencePurgeDAO conferencePurgeDAO = new ConferencePurgeDAOImpl();
+    private static final VersionedUpdateDAO versionedUpdateDAO = new VersionedUpdateDAOImpl();
+    private static final IdempotencyKeyDAO idempotencyKeyDAO = new IdempotencyKeyDAOImpl();
+
+    public static CachingConferenceDAO getConferenceDAO() {
+        if (conferenceDAO == null) {
+            synchronized (DAOFactory.class) {
+                if (conferenceDAO == null) {
+                    conferenceDAO = new CachingConferenceDAO(new ConferenceDAOImpl());
+                }
+            }
+        }
+        return conferenceDAO;
+    }
+
+    public static CommitteeMemberDAO getCommitteeMemberDAO() {
+        if (committeeMemberDAO == null) {
+            synchronized (DAOFactory.class) {
+                if (committeeMemberDAO == null) {
+                    committeeMemberDAO = new CachingCommitteeMemberDAO(new CommitteeMemberDAOImpl());
+                }
+            }
+        }
+        return committeeMemberDAO;
+    }
+
+    public static ConferenceTopicDAO getConferenceTopicDAO() {
+        if (conferenceTopicDAO == null) {
+            synchronized (DAOFactory.class) {
+                if (conferenceTopicDAO == null) {
+                    conferenceTopicDAO = new VersionTrackingConferenceTopicDAO(new ConferenceTopicDAOImpl());
+                }
+            }
+        }
+        return conferenceTopicDAO;
+    }
+
+    /**
+     * Submission lists come back with their authors, loaded in one query per
+     * list.
+     */
+    public static SubmissionDAO getSubmissionDAO() {
+        return submissionDAO;
+    }
+
+    /**
+     * Submission lists whose authors are only loaded, for the whole list at
+     * once, if getAuthors() is actually called.
+     */
+    public static SubmissionDAO getLazyAuthorsSubmissionDAO() {
+        return lazyAuthorsSubmissionDAO;
+    }
+
+    public static SummaryDAO getSummaryDAO() {
+        return summaryDAO;
+    }
+
+    public static UserConferenceRoleDAO getUserConferenceRoleDAO() {
+        return userConferenceRoleDAO;
+    }
+
+    public static NotificationPageDAO getNotificationPageDAO() {
+        return notificationPageDAO;
+    }
+
+    public static NotificationArchiveDAO getNotificationArchiveDAO() {
+        return notificationArchiveDAO;
+    }
+
+    public static NotificationBroadcastDAO getNotificationBroadcastDAO() {
+        return notificationBroadcastDAO;
+    }
+
+    public static DigestDAO getDigestDAO() {
+        return digestDAO;
+    }
+
+    public static UserLanguageDAO getUserLanguageDAO() {
+        return userLanguageDAO;
+    }
+
+    public static BulkMailJobDAO getBulkMailJobDAO() {
+        return bulkMailJobDAO;
+    }
+
+    public static MailOutboxDAO getMailOutboxDAO() {
+        return mailOutboxDAO;
+    }
+
+    public static ConferencePurgeDAO getConferencePurgeDAO() {
+        return conferencePurgeDAO;
+    }
+
+    public static VersionedUpdateDAO getVersionedUpdateDAO() {
+        return versionedUpdateDAO;
+    }
+
+    public static IdempotencyKeyDAO getIdempotencyKeyDAO() {
+        return idempotencyKeyDAO;
+    }
+
+    public static CachingUserDAO getUserDAO() throws SQLException {
+        if (userDAO == null) {
+            synchronized (DAOFactory.class) {
+                if (userDAO == null) {
+                    userDAO = new CachingUserDAO(new UserDAOImpl(DatabaseConnection.getConnection()));
+                }
+            }
+        }
+        return userDAO;
+    }
+
+    /**
+     * Drops a conference from the cache after it was changed outside the DAO,
+     * e.g. by ConferenceService.
+     */
+    public static void evictConference(Long conferenceId) {
+        getConferenceDAO().evict(conferenceId);
+    }
+}
@@ -0,0 +1,40 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.DigestEntry;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for email digests: each user's chosen frequency
+ * (digest_preferences) and the events waiting to be mailed (digest_queue).
+ */
+public interface DigestDAO {
+    void createTablesIfMissing() throws SQLException;
+
+    /**
+     * Returns the stored frequency per user; users without a preference are
+     * absent.
+     */
+    Map<Long, String> findFrequencies(Collection<Long> userIds) throws SQLException;
+    void saveFrequency(Long userId, String frequency) throws SQLException;
+
+    /**
+     * Queues the entries with multi-row inserts in one transaction.
+     */
+    void enqueue(List<DigestEntry> entries) throws SQLException;
+
+    /**
+     * Users with at least one entry due at or before now, oldest first.
+     */
+    List<Long> findDueUserIds(Timestamp now, int limit) throws SQLException;
+
+    /**
+     * Every due entry of the user, in the order the events happened.
+     */
+    List<DigestEntry> findDueByUserId(Long userId, Timestamp now) throws SQLException;
+    int deleteByIds(Collection<Long> entryIds) throws SQLException;
+}
@@ -0,0 +1,51 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.IdempotencyRecord;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * Idempotency keys, scoped per user. A key is claimed IN_PROGRESS by the
+ * first request that uses it and becomes COMPLETED with the stored response
+ * when that request finishes. Both states carry an expiry: an IN_PROGRESS
+ * claim left behind by a crash can be taken over once it expires, and a
+ * COMPLETED key is forgotten after its TTL. Each claim carries a random
+ * token, so a request that overran its claim cannot complete or release
+ * the claim of the retry that took the key over.
+ */
+public interface IdempotencyKeyDAO {
+    String STATUS_IN_PROGRESS = "IN_PROGRESS";
+    String STATUS_COMPLETED = "COMPLETED";
+
+    int MAX_KEY_LENGTH = 255;
+
+    void createTableIfMissing() throws SQLException;
+
+    IdempotencyRecord find(String scope, String key) throws SQLException;
+
+    /**
+     * Claims the key for a new request under the given token, or takes over
+     * an expired record. Returns false if another request holds it.
+     */
+    boolean claim(String scope, String key, String fingerprint, String token, Timestamp lockedUntil)
+            throws SQLException;
+
+    /**
+     * Stores the response of the request holding the claim. Does nothing if
+     * the claim with this token is gone.
+     */
+    void complete(String scope, String key, String token, IdempotencyRecord response, Timestamp expiresAt)
+            throws SQLException;
+
+    /**
+     * Gives up a claim so the next retry runs the request again, e.g. after
+     * a server error. Does nothing if the claim with this token is gone.
+     */
+    void release(String scope, String key, String token) throws SQLException;
+
+    /**
+     * Deletes up to limit expired keys and returns how many were deleted.
+     */
+    int deleteExpired(Timestamp now, int limit) throws SQLException;
+}
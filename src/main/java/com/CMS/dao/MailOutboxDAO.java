@@ -0,0 +1,31 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.OutboxMail;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Emails deferred while the SMTP relay was unavailable (mail_outbox). Sent
+ * mail is deleted; mail that keeps failing is kept with status FAILED.
+ * Mail whose send timed out may already have been accepted by the relay;
+ * it is kept with status UNKNOWN and never retried automatically.
+ */
+public interface MailOutboxDAO {
+    String STATUS_PENDING = "PENDING";
+    String STATUS_FAILED = "FAILED";
+    String STATUS_UNKNOWN = "UNKNOWN";
+
+    void createTableIfMissing() throws SQLException;
+    void enqueue(OutboxMail mail) throws SQLException;
+
+    /**
+     * Pending mail whose next attempt is at or before now, oldest first.
+     */
+    List<OutboxMail> findDue(Timestamp now, int limit) throws SQLException;
+    void delete(Long id) throws SQLException;
+    void reschedule(Long id, int attempts, Timestamp nextAttemptAt, String lastError) throws SQLException;
+    void markFailed(Long id, int attempts, String lastError) throws SQLException;
+    void markUnknown(Long id, int attempts, String lastError) throws SQLException;
+}
@@ -0,0 +1,26 @@
+package com.campusconf.dao;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+public interface NotificationArchiveDAO {
+    /**
+     * Creates notifications_archive and the (user_id, created_at, id) index
+     * the paged queries rely on, if they are missing.
+     */
+    void ensureSchema() throws SQLException;
+
+    /**
+     * Makes sure notifications has monthly partitions up to monthsAhead
+     * months from now. Returns false if the table is not partitioned and
+     * migrate is false.
+     */
+    boolean ensureMonthlyPartitions(int monthsAhead, boolean migrate) throws SQLException;
+
+    /**
+     * Moves up to batchSize read notifications created before the cutoff
+     * into notifications_archive in one transaction and returns how many
+     * were moved.
+     */
+    int archiveReadBefore(Timestamp cutoff, int batchSize) throws SQLException;
+}
@@ -0,0 +1,32 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.Notification;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based notification writes. The title, message, type and status of the
+ * template are copied to one row per recipient; the template's user id is
+ * ignored. Each method returns the distinct recipients that got a row.
+ */
+public interface NotificationBroadcastDAO {
+    /**
+     * Notifies every user holding one of the roles in the conference, as
+     * recorded in user_conference_roles, with a single INSERT ... SELECT.
+     */
+    List<Long> insertForConferenceRoles(Long conferenceId, Collection<String> roles, Notification template)
+            throws SQLException;
+
+    /**
+     * Notifies every author of the submission with a single INSERT ... SELECT.
+     */
+    List<Long> insertForSubmissionAuthors(String submissionId, Notification template) throws SQLException;
+
+    /**
+     * Notifies the given users with multi-row inserts of up to
+     * MAX_IDS_PER_QUERY rows each, in one transaction.
+     */
+    List<Long> insertForUsers(Collection<Long> userIds, Notification template) throws SQLException;
+}
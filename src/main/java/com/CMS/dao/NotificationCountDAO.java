@@ -0,0 +1,25 @@
+package com.campusconf.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+public interface NotificationCountDAO {
+    /**
+     * Unread notification counts for many users in one query. Users with no
+     * unread notifications map to 0.
+     */
+    Map<Long, Integer> countUnreadByUserIds(Collection<Long> userIds) throws SQLException;
+
+    /**
+     * Sets the status of a notification only if it still has the expected
+     * status (null matches NULL). Returns false if another write got there
+     * first, so exactly one of two racing writers sees the transition.
+     */
+    boolean updateStatusIf(Long notificationId, String expectedStatus, String newStatus) throws SQLException;
+
+    /**
+     * Deletes a notification only if it still has the expected status.
+     */
+    boolean deleteIf(Long notificationId, String expectedStatus) throws SQLException;
+}
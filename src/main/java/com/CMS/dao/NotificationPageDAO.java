@@ -0,0 +1,17 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.Notification;
+import com.campusconf.utils.CursorUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public interface NotificationPageDAO {
+    /**
+     * Up to limit notifications of the user strictly older than the cursor
+     * position (or the newest ones when it is null), newest first. A null
+     * status means any status.
+     */
+    List<Notification> findPage(Long userId, String status, CursorUtil.Position after, int limit)
+            throws SQLException;
+}
@@ -0,0 +1,61 @@
+package com.campusconf.dao;
+
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries a read-modify-write that lost a version race. Only for updates
+ * the server can safely redo on fresh data, e.g. pointing a submission at
+ * a newly uploaded document: each attempt must re-read the row, re-apply
+ * its change and try the versioned update again. Edits made by a person
+ * from a form must not be retried; their conflicts go back to the client.
+ *
+ * Up to optimistic.retry.maxAttempts attempts, with a short jittered pause
+ * of up to optimistic.retry.backoffMillis (times the attempt number) in
+ * between so the racing writers spread out.
+ */
+public final class OptimisticRetry {
+
+    /**
+     * One read-modify-write attempt.
+     */
+    public interface Attempt {
+        UpdateResult run() throws SQLException;
+    }
+
+    private static final LongAdder RETRIES = MetricsUtil.counter("optimistic.retries");
+    private static final LongAdder EXHAUSTED = MetricsUtil.counter("optimistic.exhausted");
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Returns the first result that is not a conflict, or the last conflict
+     * once the attempts are used up.
+     */
+    public static UpdateResult run(Attempt attempt) throws SQLException {
+        int maxAttempts = Math.max(1, PerformanceConfigUtil.getInt("optimistic.retry.maxAttempts", 3));
+        long backoffMillis = PerformanceConfigUtil.getLong("optimistic.retry.backoffMillis", 20);
+        UpdateResult result = attempt.run();
+        for (int i = 1; i < maxAttempts && result.isConflict(); i++) {
+            RETRIES.increment();
+            if (backoffMillis > 0) {
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * i + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted retrying a conflicting update", e);
+                }
+            }
+            result = attempt.run();
+        }
+        if (result.isConflict()) {
+            EXHAUSTED.increment();
+        }
+        return result;
+    }
+}
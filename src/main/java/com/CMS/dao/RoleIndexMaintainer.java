@@ -0,0 +1,92 @@
+package com.campusconf.dao;
+
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps user_conference_roles in step with its source tables. The DAO
+ * decorators and the servlets that write those tables directly call in here
+ * after each write; the affected conference is recomputed right away. If that
+ * fails the conference is queued and picked up by the repair job, so a
+ * failed refresh never fails the write that triggered it.
+ */
+public class RoleIndexMaintainer {
+    private static final Set<Long> pendingConferences = ConcurrentHashMap.newKeySet();
+    private static volatile boolean rebuildPending;
+
+    static {
+        MetricsUtil.registerGauge("roleIndex.pendingConferences", pendingConferences::size);
+    }
+
+    public static void conferenceChanged(Long conferenceId) {
+        if (conferenceId == null) {
+            // Cannot tell which conference moved; the repair job rebuilds everything
+            rebuildPending = true;
+            return;
+        }
+        try {
+            DAOFactory.getUserConferenceRoleDAO().refreshConference(conferenceId);
+            MetricsUtil.increment("roleIndex.refreshes");
+        } catch (SQLException e) {
+            pendingConferences.add(conferenceId);
+            MetricsUtil.increment("roleIndex.refreshFailures");
+            LogUtil.warn("Deferred role index refresh for conference " + conferenceId + ": " + e.getMessage());
+        }
+    }
+
+    public static void submissionChanged(String submissionId) {
+        if (submissionId == null) {
+            rebuildPending = true;
+            return;
+        }
+        try {
+            DAOFactory.getUserConferenceRoleDAO().refreshConferenceOfSubmission(submissionId);
+            MetricsUtil.increment("roleIndex.refreshes");
+        } catch (SQLException e) {
+            rebuildPending = true;
+            MetricsUtil.increment("roleIndex.refreshFailures");
+            LogUtil.warn("Deferred role index refresh for submission " + submissionId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retries the refreshes that failed since the last run, or rebuilds the
+     * whole index if a write could not be attributed to a conference.
+     */
+    public static void repairPending() throws SQLException {
+        if (rebuildPending) {
+            rebuildAll();
+            return;
+        }
+        List<Long> conferenceIds = new ArrayList<>(pendingConferences);
+        for (Long conferenceId : conferenceIds) {
+            pendingConferences.remove(conferenceId);
+            try {
+                DAOFactory.getUserConferenceRoleDAO().refreshConference(conferenceId);
+            } catch (SQLException e) {
+                pendingConferences.add(conferenceId);
+                throw e;
+            }
+        }
+    }
+
+    public static int rebuildAll() throws SQLException {
+        // Cleared first: a write that lands during the rebuild flags it again
+        rebuildPending = false;
+        pendingConferences.clear();
+        try {
+            int rows = DAOFactory.getUserConferenceRoleDAO().rebuildAll();
+            MetricsUtil.increment("roleIndex.rebuilds");
+            return rows;
+        } catch (SQLException e) {
+            rebuildPending = true;
+            throw e;
+        }
+    }
+}
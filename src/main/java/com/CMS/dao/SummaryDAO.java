@@ -0,0 +1,22 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.ConferenceSummary;
+import com.campusconf.models.SubmissionSummary;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Projection queries for list views. They select only the columns the
+ * summaries carry, instead of mapping full Conference/Submission rows.
+ */
+public interface SummaryDAO {
+    List<ConferenceSummary> findConferenceSummariesByUserId(Long userId) throws SQLException;
+    List<ConferenceSummary> findConferenceSummariesByAuthorId(Long userId) throws SQLException;
+    List<ConferenceSummary> findConferenceSummariesByCommitteeMemberId(Long userId) throws SQLException;
+
+    List<SubmissionSummary> findSubmissionSummariesByUserId(Long userId) throws SQLException;
+    List<SubmissionSummary> findSubmissionSummariesByConferenceIds(List<Long> conferenceIds) throws SQLException;
+    List<SubmissionSummary> findSubmissionSummariesByReviewerId(Long reviewerId, String committeeType)
+            throws SQLException;
+}
@@ -0,0 +1,57 @@
+package com.campusconf.dao;
+
+/**
+ * Outcome of a version-checked update. A conflict is an expected result,
+ * not an error: the caller decides whether to re-read and retry (see
+ * OptimisticRetry) or to report it to the client.
+ */
+public final class UpdateResult {
+    public enum Status {
+        UPDATED,
+        // The row exists but its version is not the one the caller read
+        CONFLICT,
+        NOT_FOUND
+    }
+
+    private static final UpdateResult NOT_FOUND = new UpdateResult(Status.NOT_FOUND, -1);
+
+    private final Status status;
+    private final long version;
+
+    private UpdateResult(Status status, long version) {
+        this.status = status;
+        this.version = version;
+    }
+
+    public static UpdateResult updated(long newVersion) {
+        return new UpdateResult(Status.UPDATED, newVersion);
+    }
+
+    public static UpdateResult conflict(long currentVersion) {
+        return new UpdateResult(Status.CONFLICT, currentVersion);
+    }
+
+    public static UpdateResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isUpdated() {
+        return status == Status.UPDATED;
+    }
+
+    public boolean isConflict() {
+        return status == Status.CONFLICT;
+    }
+
+    /**
+     * The row's version after the update, or its current version on a
+     * conflict; -1 if the row was not found.
+     */
+    public long getVersion() {
+        return version;
+    }
+}
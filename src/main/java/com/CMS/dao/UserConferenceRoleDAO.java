@@ -0,0 +1,39 @@
+package com.campusconf.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lookups on user_conference_roles, the materialized (user, conference, role)
+ * index derived from conferences, committee_members, submissions and
+ * submission_authors. Each (user, conference) lookup is a primary key probe.
+ */
+public interface UserConferenceRoleDAO {
+    String ROLE_PRESIDENT = "PRESIDENT";
+    String ROLE_PC_MEMBER = "PC_MEMBER";
+    String ROLE_PC_RESP = "PC_RESP";
+    String ROLE_SC_MEMBER = "SC_MEMBER";
+    String ROLE_SC_RESP = "SC_RESP";
+    String ROLE_AUTHOR_CP = "AUTHOR_CP";
+    String ROLE_AUTHOR = "AUTHOR";
+
+    Set<String> findRoles(Long userId, Long conferenceId) throws SQLException;
+    boolean hasAnyRole(Long userId, Long conferenceId, Collection<String> roles) throws SQLException;
+    Map<Long, Set<String>> findRolesByUserId(Long userId) throws SQLException;
+    Set<Long> findConferenceIdsByRoles(Long userId, Collection<String> roles) throws SQLException;
+
+    void createTableIfMissing() throws SQLException;
+    /**
+     * Recomputes the rows of one conference from the source tables in a
+     * single transaction.
+     */
+    void refreshConference(Long conferenceId) throws SQLException;
+    void refreshConferenceOfSubmission(String submissionId) throws SQLException;
+    /**
+     * Recomputes the whole index in a single transaction and returns the
+     * number of rows written.
+     */
+    int rebuildAll() throws SQLException;
+}
@@ -0,0 +1,19 @@
+package com.campusconf.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The language each user last picked through LanguageServlet, kept so that
+ * mail sent outside a request (digests) can be localized.
+ */
+public interface UserLanguageDAO {
+    void createTableIfMissing() throws SQLException;
+
+    /**
+     * Users that never picked a language are absent.
+     */
+    Map<Long, String> findLanguages(Collection<Long> userIds) throws SQLException;
+    void saveLanguage(Long userId, String language) throws SQLException;
+}
@@ -0,0 +1,22 @@
+package com.campusconf.dao;
+
+/**
+ * An entity together with the row version it was read at.
+ */
+public final class Versioned<T> {
+    private final T entity;
+    private final long version;
+
+    public Versioned(T entity, long version) {
+        this.entity = entity;
+        this.version = version;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,58 @@
+package com.campusconf.dao;
+
+import com.campusconf.models.Conference;
+import com.campusconf.models.Submission;
+
+import java.sql.Date;
+import java.sql.SQLException;
+
+/**
+ * Optimistic locking for conferences and submissions. Both tables carry a
+ * row_version that every write through this DAO increments; an update only
+ * applies if the row is still at the version the caller read, so two
+ * concurrent edits can no longer silently overwrite each other. Writers
+ * that never read a version (the legacy services, the final decision) use
+ * the unversioned methods, which move the version in the same statement so
+ * outstanding versions stop matching and cannot overwrite them.
+ */
+public interface VersionedUpdateDAO {
+    String VERSION_COLUMN = "row_version";
+
+    /**
+     * Adds row_version to conferences and submissions if it is missing.
+     */
+    void ensureVersionColumns() throws SQLException;
+
+    /**
+     * The conference and its version, or null if it does not exist or is
+     * soft-deleted.
+     */
+    Versioned<Conference> findConference(Long conferenceId) throws SQLException;
+
+    Versioned<Submission> findSubmission(String submissionId) throws SQLException;
+
+    /**
+     * Writes the conference's editable columns if its row is still at
+     * expectedVersion. A null status leaves the status unchanged, and the
+     * status can never be set to DELETED this way.
+     */
+    UpdateResult updateConference(Conference conference, long expectedVersion) throws SQLException;
+
+    /**
+     * Writes the submission's editable columns if its row is still at
+     * expectedVersion.
+     */
+    UpdateResult updateSubmission(Submission submission, long expectedVersion) throws SQLException;
+
+    /**
+     * Writes the same columns as updateConference whatever the version.
+     * Returns false if the conference does not exist or is soft-deleted.
+     */
+    boolean overwriteConference(Conference conference) throws SQLException;
+
+    boolean updateConferenceStatus(Long conferenceId, String status) throws SQLException;
+
+    boolean updateExtensionDate(Long conferenceId, Date extensionDate) throws SQLException;
+
+    boolean updateSubmissionStatus(String submissionId, String status) throws SQLException;
+}
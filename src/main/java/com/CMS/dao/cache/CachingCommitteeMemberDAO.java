@@ -0,0 +1,113 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.dao.CommitteeMemberDAO;
+import com.campusconf.dao.RoleIndexMaintainer;
+import com.campusconf.models.CommitteeMember;
+import com.campusconf.utils.ModelCopyUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+
+public class CachingCommitteeMemberDAO extends CachingDAO<CommitteeMember> implements CommitteeMemberDAO {
+    private final CommitteeMemberDAO committeeMemberDAO;
+
+    public CachingCommitteeMemberDAO(CommitteeMemberDAO delegate) {
+        super("committeeMember", true, delegate, CommitteeMember::getMemberId, ModelCopyUtil::copy);
+        this.committeeMemberDAO = delegate;
+    }
+
+    @Override
+    public boolean create(CommitteeMember member) throws SQLException {
+        try {
+            return super.create(member);
+        } finally {
+            ConferenceVersionTracker.bump(member.getConferenceId());
+            RoleIndexMaintainer.conferenceChanged(member.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean update(CommitteeMember member) throws SQLException {
+        try {
+            return super.update(member);
+        } finally {
+            ConferenceVersionTracker.bump(member.getConferenceId());
+            RoleIndexMaintainer.conferenceChanged(member.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean delete(Object memberId) throws SQLException {
+        CommitteeMember member = findById(memberId);
+        try {
+            return super.delete(memberId);
+        } finally {
+            ConferenceVersionTracker.bump(member != null ? member.getConferenceId() : null);
+            RoleIndexMaintainer.conferenceChanged(member != null ? member.getConferenceId() : null);
+        }
+    }
+
+    @Override
+    public List<CommitteeMember> findByConferenceId(Long conferenceId) throws SQLException {
+        return committeeMemberDAO.findByConferenceId(conferenceId);
+    }
+
+    @Override
+    public List<CommitteeMember> findByUserId(Long userId) throws SQLException {
+        return committeeMemberDAO.findByUserId(userId);
+    }
+
+    @Override
+    public List<CommitteeMember> findByCommitteeType(Long conferenceId, String committeeType) throws SQLException {
+        return committeeMemberDAO.findByCommitteeType(conferenceId, committeeType);
+    }
+
+    @Override
+    public List<CommitteeMember> findByConferenceIds(List<Long> conferenceIds) throws SQLException {
+        return committeeMemberDAO.findByConferenceIds(conferenceIds);
+    }
+
+    @Override
+    public CommitteeMember findResponsibleMember(Long conferenceId, String committeeType) throws SQLException {
+        return committeeMemberDAO.findResponsibleMember(conferenceId, committeeType);
+    }
+
+    @Override
+    public boolean updateResponsibleMember(Long conferenceId, String committeeType, Long memberId) throws SQLException {
+        // The previous responsible member is updated too; it is one of these
+        List<CommitteeMember> affected = committeeMemberDAO.findByCommitteeType(conferenceId, committeeType);
+        try {
+            return committeeMemberDAO.updateResponsibleMember(conferenceId, committeeType, memberId);
+        } finally {
+            evictMembers(affected);
+            evict(memberId);
+            ConferenceVersionTracker.bump(conferenceId);
+            RoleIndexMaintainer.conferenceChanged(conferenceId);
+        }
+    }
+
+    @Override
+    public boolean deleteMembersByConferenceId(Long conferenceId) throws SQLException {
+        List<CommitteeMember> affected = committeeMemberDAO.findByConferenceId(conferenceId);
+        try {
+            return committeeMemberDAO.deleteMembersByConferenceId(conferenceId);
+        } finally {
+            evictMembers(affected);
+            ConferenceVersionTracker.bump(conferenceId);
+            RoleIndexMaintainer.conferenceChanged(conferenceId);
+        }
+    }
+
+    /**
+     * Evicts only the members a bulk write touched rather than the whole cache.
+     */
+    private void evictMembers(List<CommitteeMember> members) {
+        if (members == null) {
+            evictAll();
+            return;
+        }
+        for (CommitteeMember member : members) {
+            evict(member.getMemberId());
+        }
+    }
+}
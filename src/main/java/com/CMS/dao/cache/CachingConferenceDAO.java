@@ -0,0 +1,139 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.dao.ConferenceDAO;
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.RoleIndexMaintainer;
+import com.campusconf.models.Conference;
+import com.campusconf.utils.ModelCopyUtil;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conferences are cached by id, and soft-deleted ones (status DELETED,
+ * waiting for ConferencePurgeService) are hidden from every read except
+ * findByStatus(DELETED). Updates go through VersionedUpdateDAO's
+ * unversioned writes, which move the row version in the same statement, so
+ * they invalidate versions clients hold.
+ */
+public class CachingConferenceDAO extends CachingDAO<Conference> implements ConferenceDAO {
+    private final ConferenceDAO conferenceDAO;
+    // The public listings are read by every visitor; concurrent identical reads share one query
+    private final SingleFlight<List<Conference>> listFlights =
+            new SingleFlight<>("conferenceLists", CachingConferenceDAO::copyList);
+
+    public CachingConferenceDAO(ConferenceDAO delegate) {
+        super("conference", true, delegate, Conference::getConferenceId, ModelCopyUtil::copy);
+        this.conferenceDAO = delegate;
+    }
+
+    @Override
+    public Conference findById(Object id) throws SQLException {
+        Conference conference = super.findById(id);
+        return isDeleted(conference) ? null : conference;
+    }
+
+    @Override
+    public List<Conference> findAll() throws SQLException {
+        return withoutDeleted(super.findAll());
+    }
+
+    @Override
+    public List<Conference> findByStatus(String status) throws SQLException {
+        return listFlights.execute("status:" + status, () -> conferenceDAO.findByStatus(status));
+    }
+
+    @Override
+    public List<Conference> findByPresidentId(Long presidentId) throws SQLException {
+        return withoutDeleted(conferenceDAO.findByPresidentId(presidentId));
+    }
+
+    @Override
+    public List<Conference> findByAuthorId(Long authorId) throws SQLException {
+        return withoutDeleted(conferenceDAO.findByAuthorId(authorId));
+    }
+
+    @Override
+    public List<Conference> findByCommitteeMemberId(Long userId) throws SQLException {
+        return withoutDeleted(conferenceDAO.findByCommitteeMemberId(userId));
+    }
+
+    @Override
+    public List<Conference> findByUserId(Long userId) throws SQLException {
+        return withoutDeleted(conferenceDAO.findByUserId(userId));
+    }
+
+    @Override
+    public boolean update(Conference conference) throws SQLException {
+        try {
+            return DAOFactory.getVersionedUpdateDAO().overwriteConference(conference);
+        } finally {
+            evict(conference.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean updateStatus(Long conferenceId, String status) throws SQLException {
+        try {
+            return DAOFactory.getVersionedUpdateDAO().updateConferenceStatus(conferenceId, status);
+        } finally {
+            evict(conferenceId);
+        }
+    }
+
+    @Override
+    public boolean extendSubmissionDeadline(Long conferenceId, Date newDeadline) throws SQLException {
+        try {
+            return DAOFactory.getVersionedUpdateDAO().updateExtensionDate(conferenceId, newDeadline);
+        } finally {
+            evict(conferenceId);
+        }
+    }
+
+    @Override
+    public void evict(Object conferenceId) {
+        super.evict(conferenceId);
+        listFlights.forgetAll();
+        Long id = conferenceId instanceof Long ? (Long) conferenceId : null;
+        ConferenceVersionTracker.bump(id);
+        RoleIndexMaintainer.conferenceChanged(id);
+    }
+
+    @Override
+    public List<Conference> findActiveConferences() throws SQLException {
+        return withoutDeleted(listFlights.execute("active", conferenceDAO::findActiveConferences));
+    }
+
+    @Override
+    public List<Conference> findUpcomingConferences() throws SQLException {
+        return withoutDeleted(listFlights.execute("upcoming", conferenceDAO::findUpcomingConferences));
+    }
+
+    public static boolean isDeleted(Conference conference) {
+        return conference != null && ConferencePurgeDAO.STATUS_DELETED.equals(conference.getStatus());
+    }
+
+    private static List<Conference> withoutDeleted(List<Conference> conferences) {
+        if (conferences == null) {
+            return null;
+        }
+        List<Conference> visible = new ArrayList<>(conferences.size());
+        for (Conference conference : conferences) {
+            if (!isDeleted(conference)) {
+                visible.add(conference);
+            }
+        }
+        return visible;
+    }
+
+    private static List<Conference> copyList(List<Conference> conferences) {
+        List<Conference> copies = new ArrayList<>(conferences.size());
+        for (Conference conference : conferences) {
+            copies.add(ModelCopyUtil.copy(conference));
+        }
+        return copies;
+    }
+}
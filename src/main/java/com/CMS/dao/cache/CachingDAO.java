@@ -0,0 +1,92 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.dao.BaseDAO;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Second-level cache in front of any BaseDAO. Reads by id go through the
+ * cache; create, update and delete hit the database first and then invalidate
+ * the affected id. Lists and counts are always read from the delegate.
+ */
+public class CachingDAO<T> implements BaseDAO<T> {
+    protected final BaseDAO<T> delegate;
+    protected final EntityCache<T> cache;
+    private final Function<T, Object> idExtractor;
+
+    public CachingDAO(String cacheName, boolean enabledByDefault, BaseDAO<T> delegate,
+            Function<T, Object> idExtractor, UnaryOperator<T> copier) {
+        this(delegate, new EntityCache<>(cacheName, enabledByDefault, copier), idExtractor);
+    }
+
+    public CachingDAO(BaseDAO<T> delegate, EntityCache<T> cache, Function<T, Object> idExtractor) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.idExtractor = idExtractor;
+    }
+
+    @Override
+    public boolean create(T entity) throws SQLException {
+        boolean created = delegate.create(entity);
+        // Drop any remembered miss for the newly assigned id
+        evict(idExtractor.apply(entity));
+        return created;
+    }
+
+    @Override
+    public T findById(Object id) throws SQLException {
+        return cache.get(id, () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<T> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean update(T entity) throws SQLException {
+        Object id = idExtractor.apply(entity);
+        try {
+            return delegate.update(entity);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public boolean delete(Object id) throws SQLException {
+        try {
+            return delegate.delete(id);
+        } finally {
+            evict(id);
+        }
+    }
+
+    @Override
+    public boolean exists(Object id) throws SQLException {
+        if (cache.peek(id) != null) {
+            return true;
+        }
+        return delegate.exists(id);
+    }
+
+    @Override
+    public long count() throws SQLException {
+        return delegate.count();
+    }
+
+    public void evict(Object id) {
+        cache.invalidate(id);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    public EntityCache<T> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,120 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.dao.UserDAO;
+import com.campusconf.models.User;
+import com.campusconf.utils.ModelCopyUtil;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * UserDAO does not extend BaseDAO, so it gets its own decorator over the
+ * same EntityCache. Lookups by email are not cached. Off by default because
+ * UserService writes through its own UserDAOImpl.
+ */
+public class CachingUserDAO implements UserDAO {
+    private final UserDAO delegate;
+    private final EntityCache<User> cache;
+
+    public CachingUserDAO(UserDAO delegate) {
+        this.delegate = delegate;
+        this.cache = new EntityCache<>("user", false, ModelCopyUtil::copy);
+    }
+
+    @Override
+    public User findByEmail(String email) throws SQLException {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public User findById(Long userId) throws SQLException {
+        return cache.get(userId, () -> delegate.findById(userId));
+    }
+
+    @Override
+    public boolean create(User user) throws SQLException {
+        boolean created = delegate.create(user);
+        cache.invalidate(user.getUserId());
+        return created;
+    }
+
+    @Override
+    public boolean update(User user) throws SQLException {
+        try {
+            return delegate.update(user);
+        } finally {
+            cache.invalidate(user.getUserId());
+        }
+    }
+
+    @Override
+    public boolean delete(Long userId) throws SQLException {
+        try {
+            return delegate.delete(userId);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean updatePassword(Long userId, String newPassword) throws SQLException {
+        try {
+            return delegate.updatePassword(userId, newPassword);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean updateLastLogin(Long userId) throws SQLException {
+        try {
+            return delegate.updateLastLogin(userId);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean deactivateAccount(Long userId) throws SQLException {
+        try {
+            return delegate.deactivateAccount(userId);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean activateAccount(Long userId) throws SQLException {
+        try {
+            return delegate.activateAccount(userId);
+        } finally {
+            cache.invalidate(userId);
+        }
+    }
+
+    @Override
+    public boolean exists(Long userId) throws SQLException {
+        if (cache.peek(userId) != null) {
+            return true;
+        }
+        return delegate.exists(userId);
+    }
+
+    @Override
+    public List<User> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() throws SQLException {
+        return delegate.count();
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public EntityCache<User> getCache() {
+        return cache;
+    }
+}
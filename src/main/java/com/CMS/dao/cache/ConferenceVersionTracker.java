@@ -0,0 +1,34 @@
+package com.campusconf.dao.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counter per conference, bumped by the DAO decorators on every write
+ * to conferences, conference_topics or committee_members. Read models built
+ * from those tables remember the version they were loaded at and are thrown
+ * away once it moves.
+ */
+public class ConferenceVersionTracker {
+    private static final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    // Bumped when a write cannot be attributed to a single conference
+    private static final AtomicLong epoch = new AtomicLong();
+
+    public static long currentVersion(Long conferenceId) {
+        AtomicLong version = conferenceId != null ? versions.get(conferenceId) : null;
+        return epoch.get() + (version != null ? version.get() : 0);
+    }
+
+    public static void bump(Long conferenceId) {
+        if (conferenceId == null) {
+            bumpAll();
+            return;
+        }
+        versions.computeIfAbsent(conferenceId, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public static void bumpAll() {
+        epoch.incrementAndGet();
+    }
+}
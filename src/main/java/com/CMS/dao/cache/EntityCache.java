@@ -0,0 +1,224 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded LRU cache of entities keyed by id, with a TTL for hits and a
+ * shorter TTL for remembered misses. Values are copied on the way in and out
+ * so callers can keep mutating the models they get back, as the servlets do.
+ * A disabled cache loads straight through but keeps its invalidation hooks,
+ * so the decorators can always be installed.
+ *
+ * Loads go through a SingleFlight of the same name, enabled or not, so a
+ * burst of misses for one key costs one query.
+ */
+public class EntityCache<T> {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Loads of one key in flight, and how often the key was invalidated
+     * while they ran.
+     */
+    private static final class Pending {
+        private long generation;
+        private int loaders;
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final UnaryOperator<T> copier;
+    private final Map<Object, Entry<T>> entries;
+    // Per key, so a load racing with a write to that key is not cached; guarded by entries
+    private final Map<Object, Pending> pending = new HashMap<>();
+    // Bumped by invalidateAll, which races with loads of every key
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight<T> flights;
+
+    private final LongAdder hits;
+    private final LongAdder negativeHits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder invalidations;
+
+    public EntityCache(String name, boolean enabledByDefault, UnaryOperator<T> copier) {
+        this(name,
+                PerformanceConfigUtil.isCacheEnabled(name, enabledByDefault),
+                PerformanceConfigUtil.getCacheMaxSize(name),
+                PerformanceConfigUtil.getCacheTtlSeconds(name) * 1000,
+                PerformanceConfigUtil.getCacheNegativeTtlSeconds(name) * 1000,
+                copier);
+    }
+
+    public EntityCache(String name, boolean enabled, int maxSize, long ttlMillis, long negativeTtlMillis,
+            UnaryOperator<T> copier) {
+        this.name = name;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.copier = copier;
+        this.flights = new SingleFlight<>(name, copier);
+        this.entries = new LinkedHashMap<Object, Entry<T>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry<T>> eldest) {
+                if (size() > EntityCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        String prefix = "cache." + name + ".";
+        this.hits = MetricsUtil.counter(prefix + "hits");
+        this.negativeHits = MetricsUtil.counter(prefix + "negativeHits");
+        this.misses = MetricsUtil.counter(prefix + "misses");
+        this.evictions = MetricsUtil.counter(prefix + "evictions");
+        this.invalidations = MetricsUtil.counter(prefix + "invalidations");
+        MetricsUtil.registerGauge(prefix + "size", this::size);
+    }
+
+    public T get(Object key, Loader<T> loader) throws SQLException {
+        if (!enabled || key == null) {
+            return flights.execute(key, loader);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<T> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt > now) {
+                    if (entry.value == null) {
+                        negativeHits.increment();
+                        return null;
+                    }
+                    hits.increment();
+                    return copier.apply(entry.value);
+                }
+                entries.remove(key);
+            }
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        Pending load;
+        long keyGeneration;
+        synchronized (entries) {
+            load = pending.computeIfAbsent(key, k -> new Pending());
+            load.loaders++;
+            keyGeneration = load.generation;
+        }
+        try {
+            T value = flights.execute(key, loader);
+            put(key, value, load, keyGeneration, loadGeneration);
+            return value;
+        } finally {
+            synchronized (entries) {
+                if (--load.loaders == 0) {
+                    pending.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a cached, non-expired value without loading, or null.
+     */
+    public T peek(Object key) {
+        if (!enabled) {
+            return null;
+        }
+        synchronized (entries) {
+            Entry<T> entry = entries.get(key);
+            if (entry == null || entry.value == null || entry.expiresAt <= System.currentTimeMillis()) {
+                return null;
+            }
+            return copier.apply(entry.value);
+        }
+    }
+
+    public void invalidate(Object key) {
+        if (key == null) {
+            return;
+        }
+        invalidations.increment();
+        // Loads started before the write may return the old row
+        flights.forget(key);
+        synchronized (entries) {
+            entries.remove(key);
+            Pending load = pending.get(key);
+            if (load != null) {
+                load.generation++;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.increment();
+        flights.forgetAll();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void put(Object key, T value, Pending load, long keyGeneration, long loadGeneration) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long ttl = value != null ? ttlMillis : negativeTtlMillis;
+        if (ttl <= 0) {
+            return;
+        }
+        Entry<T> entry = new Entry<>(value != null ? copier.apply(value) : null, System.currentTimeMillis() + ttl);
+        synchronized (entries) {
+            // The key (or the whole cache) was invalidated while we were loading; the value may be stale
+            if (load.generation != keyGeneration || generation.get() != loadGeneration) {
+                return;
+            }
+            entries.put(key, entry);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Coalesces concurrent identical reads: the first caller for a key runs
+ * the load, and callers arriving while it is in flight wait for its result
+ * instead of sending the same query to MySQL again. Nothing is kept once
+ * the load finishes; caching is EntityCache's job.
+ *
+ * Waiters give up after singleflight.&lt;name&gt;.timeoutMillis (or the
+ * request's remaining deadline, if shorter) with SQLTimeoutException; the
+ * loading caller is bounded by the request deadline like any other query.
+ * A failed load fails every waiter with the same cause, except when the
+ * loading caller's own request ran out of time or was cancelled: then the
+ * waiters start over, one of them running the load under its own deadline.
+ * Waiters get their own copy of the value, so callers may mutate what they
+ * get back.
+ *
+ * Any read can be coalesced by choosing a key that identifies it, e.g.
+ * {@code flights.execute("status:" + status, () -> dao.findByStatus(status))}.
+ */
+public class SingleFlight<V> {
+    private final String name;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final UnaryOperator<V> copier;
+    private final ConcurrentHashMap<Object, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads;
+    private final LongAdder coalesced;
+    private final LongAdder timeouts;
+    private final LongAdder takeovers;
+
+    public SingleFlight(String name, UnaryOperator<V> copier) {
+        this.name = name;
+        this.enabled = PerformanceConfigUtil.getBoolean("singleflight." + name + ".enabled", true);
+        this.timeoutMillis = PerformanceConfigUtil.getLong("singleflight." + name + ".timeoutMillis", 5000);
+        this.copier = copier;
+        String prefix = "singleflight." + name + ".";
+        this.loads = MetricsUtil.counter(prefix + "loads");
+        this.coalesced = MetricsUtil.counter(prefix + "coalesced");
+        this.timeouts = MetricsUtil.counter(prefix + "timeouts");
+        this.takeovers = MetricsUtil.counter(prefix + "takeovers");
+        MetricsUtil.registerGauge(prefix + "inFlight", inFlight::size);
+    }
+
+    public V execute(Object key, EntityCache.Loader<V> loader) throws SQLException {
+        if (!enabled || key == null) {
+            return loader.load();
+        }
+
+        long waitMillis = timeoutMillis;
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            waitMillis = Math.min(waitMillis, deadline.remainingMillis());
+        }
+        long giveUpAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        boolean counted = false;
+
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, loader);
+            }
+            if (!counted) {
+                coalesced.increment();
+                counted = true;
+            }
+            try {
+                return await(key, existing, giveUpAt);
+            } catch (LeaderGaveUp e) {
+                takeovers.increment();
+            }
+        }
+    }
+
+    /**
+     * Makes later callers for the key start a fresh load, e.g. after the
+     * underlying row was written. Callers already waiting keep the old one.
+     */
+    public void forget(Object key) {
+        if (key != null) {
+            inFlight.remove(key);
+        }
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V lead(Object key, CompletableFuture<V> flight, EntityCache.Loader<V> loader) throws SQLException {
+        loads.increment();
+        try {
+            V value = loader.load();
+            // Waiters copy from a private snapshot, not from the object this caller may go on to mutate
+            V snapshot = value == null ? null : copier.apply(value);
+            // Unpublish before waking waiters, so one that starts over finds the key free
+            inFlight.remove(key, flight);
+            flight.complete(snapshot);
+            return value;
+        } catch (SQLException | RuntimeException | Error e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ownBudgetSpent(e) ? new LeaderGaveUp(e) : e);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether a load failed because of this caller's request rather than
+     * the query: its deadline passed, or it was cancelled or interrupted.
+     */
+    private static boolean ownBudgetSpent(Throwable e) {
+        if (e instanceof SQLTimeoutException || Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        return deadline != null && (deadline.isCancelled() || deadline.remainingMillis() == 0);
+    }
+
+    private V await(Object key, CompletableFuture<V> flight, long giveUpAt) throws SQLException, LeaderGaveUp {
+        try {
+            long waitNanos = Math.max(0, giveUpAt - System.nanoTime());
+            V value = flight.get(waitNanos, TimeUnit.NANOSECONDS);
+            return value == null ? null : copier.apply(value);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out waiting for shared " + name + " load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for shared " + name + " load of " + key, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof LeaderGaveUp) {
+                throw (LeaderGaveUp) cause;
+            }
+            if (cause instanceof SQLException) {
+                SQLException sqlCause = (SQLException) cause;
+                throw new SQLException(sqlCause.getMessage(), sqlCause.getSQLState(), sqlCause.getErrorCode(), sqlCause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException("Shared " + name + " load failed", cause);
+        }
+    }
+
+    /**
+     * Tells waiters the loading caller gave up for reasons of its own.
+     */
+    private static final class LeaderGaveUp extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private LeaderGaveUp(Throwable cause) {
+            super(cause.getMessage(), cause, false, false);
+        }
+    }
+}
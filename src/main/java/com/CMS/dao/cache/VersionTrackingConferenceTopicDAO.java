@@ -0,0 +1,91 @@
+package com.campusconf.dao.cache;
+
+import com.campusconf.dao.ConferenceTopicDAO;
+import com.campusconf.models.ConferenceTopic;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Topics are not cached on their own, but writes to them must still move the
+ * owning conference's version.
+ */
+public class VersionTrackingConferenceTopicDAO implements ConferenceTopicDAO {
+    private final ConferenceTopicDAO delegate;
+
+    public VersionTrackingConferenceTopicDAO(ConferenceTopicDAO delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean create(ConferenceTopic topic) throws SQLException {
+        try {
+            return delegate.create(topic);
+        } finally {
+            ConferenceVersionTracker.bump(topic.getConferenceId());
+        }
+    }
+
+    @Override
+    public ConferenceTopic findById(Object id) throws SQLException {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<ConferenceTopic> findAll() throws SQLException {
+        return delegate.findAll();
+    }
+
+    @Override
+    public boolean update(ConferenceTopic topic) throws SQLException {
+        try {
+            return delegate.update(topic);
+        } finally {
+            ConferenceVersionTracker.bump(topic.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean delete(Object id) throws SQLException {
+        ConferenceTopic topic = delegate.findById(id);
+        try {
+            return delegate.delete(id);
+        } finally {
+            ConferenceVersionTracker.bump(topic != null ? topic.getConferenceId() : null);
+        }
+    }
+
+    @Override
+    public boolean exists(Object id) throws SQLException {
+        return delegate.exists(id);
+    }
+
+    @Override
+    public long count() throws SQLException {
+        return delegate.count();
+    }
+
+    @Override
+    public List<ConferenceTopic> findByConferenceId(Long conferenceId) throws SQLException {
+        return delegate.findByConferenceId(conferenceId);
+    }
+
+    @Override
+    public List<ConferenceTopic> findMainTopics(Long conferenceId) throws SQLException {
+        return delegate.findMainTopics(conferenceId);
+    }
+
+    @Override
+    public List<ConferenceTopic> findSubTopics(Long parentTopicId) throws SQLException {
+        return delegate.findSubTopics(parentTopicId);
+    }
+
+    @Override
+    public boolean deleteTopicsByConferenceId(Long conferenceId) throws SQLException {
+        try {
+            return delegate.deleteTopicsByConferenceId(conferenceId);
+        } finally {
+            ConferenceVersionTracker.bump(conferenceId);
+        }
+    }
+}
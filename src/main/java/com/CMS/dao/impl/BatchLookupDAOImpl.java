@@ -0,0 +1,118 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.BatchLookupDAO;
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.models.Conference;
+import com.campusconf.models.Submission;
+import com.campusconf.models.User;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+public class BatchLookupDAOImpl implements BatchLookupDAO {
+    // Keeps each statement well under max_allowed_packet and the planner's IN list limits
+    static final int MAX_IDS_PER_QUERY = 500;
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    @Override
+    public Map<Long, User> findUsersByIds(Collection<Long> userIds) throws SQLException {
+        Map<Long, User> users = new HashMap<>();
+        for (User user : findByIds("users", "user_id", userIds, ResultSetMapper::mapUser)) {
+            users.put(user.getUserId(), user);
+        }
+        return users;
+    }
+
+    @Override
+    public Map<Long, Conference> findConferencesByIds(Collection<Long> conferenceIds) throws SQLException {
+        Map<Long, Conference> conferences = new HashMap<>();
+        // Soft-deleted conferences wait for purge and are hidden like on every other read
+        for (Conference conference : findByIds("conferences c", "c.conference_id", conferenceIds,
+                ConferencePurgeDAO.NOT_DELETED_SQL, ResultSetMapper::mapConference)) {
+            conferences.put(conference.getConferenceId(), conference);
+        }
+        return conferences;
+    }
+
+    @Override
+    public Map<String, Submission> findSubmissionsByIds(Collection<String> submissionIds) throws SQLException {
+        Map<String, Submission> submissions = new HashMap<>();
+        for (Submission submission : findByIds("submissions", "submission_id", submissionIds,
+                ResultSetMapper::mapSubmission)) {
+            submissions.put(submission.getSubmissionId(), submission);
+        }
+        return submissions;
+    }
+
+    /**
+     * Runs SELECT * FROM table WHERE idColumn IN (...) for the distinct ids,
+     * in chunks of MAX_IDS_PER_QUERY, on a single connection.
+     */
+    static <T> List<T> findByIds(String table, String idColumn, Collection<?> ids, RowMapper<T> mapper)
+            throws SQLException {
+        return findByIds(table, idColumn, ids, null, mapper);
+    }
+
+    /**
+     * As above, keeping only rows that also match condition, if not null.
+     */
+    static <T> List<T> findByIds(String table, String idColumn, Collection<?> ids, String condition,
+            RowMapper<T> mapper) throws SQLException {
+        List<Object> distinctIds = distinctNonNull(ids);
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<T> rows = new ArrayList<>(distinctIds.size());
+        try (Connection conn = RequestDeadline.getConnection()) {
+            for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_QUERY) {
+                List<Object> chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, distinctIds.size()));
+                String sql = "SELECT * FROM " + table + " WHERE " + idColumn + " IN (" + placeholders(chunk.size())
+                        + ")" + (condition != null ? " AND " + condition : "");
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setObject(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            rows.add(mapper.map(rs));
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    static List<Object> distinctNonNull(Collection<?> ids) {
+        LinkedHashSet<Object> distinct = new LinkedHashSet<>();
+        for (Object id : ids) {
+            if (id != null) {
+                distinct.add(id);
+            }
+        }
+        return new ArrayList<>(distinct);
+    }
+
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,274 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.BulkMailJobDAO;
+import com.campusconf.models.BulkMailJob;
+import com.campusconf.models.BulkMailRecipient;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class BulkMailJobDAOImpl implements BulkMailJobDAO {
+    private static final String CREATE_JOBS_SQL =
+        "CREATE TABLE IF NOT EXISTS bulk_mail_jobs (" +
+        "    job_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+        "    conference_id BIGINT NOT NULL, " +
+        "    created_by BIGINT NOT NULL, " +
+        "    audience VARCHAR(20) NOT NULL, " +
+        "    mode VARCHAR(20) NOT NULL, " +
+        "    subject VARCHAR(255) NOT NULL, " +
+        "    body TEXT NOT NULL, " +
+        "    status VARCHAR(20) NOT NULL, " +
+        "    total_recipients INT NOT NULL DEFAULT 0, " +
+        "    sent_count INT NOT NULL DEFAULT 0, " +
+        "    failed_count INT NOT NULL DEFAULT 0, " +
+        "    created_at TIMESTAMP NOT NULL, " +
+        "    updated_at TIMESTAMP NOT NULL, " +
+        "    KEY idx_bulk_mail_jobs_status (status)" +
+        ")";
+
+    private static final String CREATE_RECIPIENTS_SQL =
+        "CREATE TABLE IF NOT EXISTS bulk_mail_recipients (" +
+        "    recipient_id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+        "    job_id BIGINT NOT NULL, " +
+        "    email VARCHAR(255) NOT NULL, " +
+        "    name VARCHAR(255), " +
+        "    status VARCHAR(10) NOT NULL, " +
+        "    UNIQUE KEY uk_bulk_mail_recipients_email (job_id, email), " +
+        "    KEY idx_bulk_mail_recipients_pending (job_id, status, recipient_id)" +
+        ")";
+
+    private static final String INSERT_RECIPIENTS_PREFIX =
+        "INSERT IGNORE INTO bulk_mail_recipients (job_id, email, name, status) ";
+
+    private static final String AUTHORS_SQL =
+        "SELECT ?, u.email, CONCAT(u.first_name, ' ', u.last_name), ? " +
+        "FROM submissions s " +
+        "JOIN submission_authors sa ON sa.submission_id = s.submission_id " +
+        "JOIN users u ON u.user_id = sa.user_id " +
+        "WHERE s.conference_id = ? AND u.email IS NOT NULL";
+
+    private static final String COMMITTEE_SQL =
+        "SELECT ?, cm.email, cm.name, ? FROM committee_members cm " +
+        "WHERE cm.conference_id = ? AND cm.email IS NOT NULL%s";
+
+    @Override
+    public void createTablesIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_JOBS_SQL);
+            stmt.executeUpdate(CREATE_RECIPIENTS_SQL);
+        }
+    }
+
+    @Override
+    public void create(BulkMailJob job) throws SQLException {
+        String insertJobSql = "INSERT INTO bulk_mail_jobs " +
+                "(conference_id, created_by, audience, mode, subject, body, status, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                try (PreparedStatement stmt = conn.prepareStatement(insertJobSql, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setLong(1, job.getConferenceId());
+                    stmt.setLong(2, job.getCreatedBy());
+                    stmt.setString(3, job.getAudience());
+                    stmt.setString(4, job.getMode());
+                    stmt.setString(5, job.getSubject());
+                    stmt.setString(6, job.getBody());
+                    stmt.setString(7, STATUS_PENDING);
+                    stmt.setTimestamp(8, now);
+                    stmt.setTimestamp(9, now);
+                    stmt.executeUpdate();
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        keys.next();
+                        job.setJobId(keys.getLong(1));
+                    }
+                }
+
+                int total = 0;
+                for (String audienceSql : audienceQueries(job.getAudience())) {
+                    try (PreparedStatement stmt = conn.prepareStatement(INSERT_RECIPIENTS_PREFIX + audienceSql)) {
+                        stmt.setLong(1, job.getJobId());
+                        stmt.setString(2, RECIPIENT_PENDING);
+                        stmt.setLong(3, job.getConferenceId());
+                        total += stmt.executeUpdate();
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE bulk_mail_jobs SET total_recipients = ? WHERE job_id = ?")) {
+                    stmt.setInt(1, total);
+                    stmt.setLong(2, job.getJobId());
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+
+                job.setStatus(STATUS_PENDING);
+                job.setTotalRecipients(total);
+                job.setCreatedAt(now);
+                job.setUpdatedAt(now);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public BulkMailJob findById(Long jobId) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT * FROM bulk_mail_jobs WHERE job_id = ?")) {
+            stmt.setLong(1, jobId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapJob(rs) : null;
+            }
+        }
+    }
+
+    @Override
+    public List<BulkMailJob> findByStatus(String status) throws SQLException {
+        List<BulkMailJob> jobs = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT * FROM bulk_mail_jobs WHERE status = ? ORDER BY job_id")) {
+            stmt.setString(1, status);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(mapJob(rs));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public boolean updateStatus(Long jobId, String expectedStatus, String newStatus) throws SQLException {
+        String sql = "UPDATE bulk_mail_jobs SET status = ?, updated_at = ? WHERE job_id = ? AND status = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, newStatus);
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(3, jobId);
+            stmt.setString(4, expectedStatus);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public List<BulkMailRecipient> findPendingRecipients(Long jobId, long afterRecipientId, int limit)
+            throws SQLException {
+        String sql = "SELECT * FROM bulk_mail_recipients " +
+                "WHERE job_id = ? AND status = ? AND recipient_id > ? ORDER BY recipient_id LIMIT ?";
+        List<BulkMailRecipient> recipients = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, jobId);
+            stmt.setString(2, RECIPIENT_PENDING);
+            stmt.setLong(3, afterRecipientId);
+            stmt.setInt(4, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BulkMailRecipient recipient = new BulkMailRecipient();
+                    recipient.setRecipientId(rs.getLong("recipient_id"));
+                    recipient.setJobId(rs.getLong("job_id"));
+                    recipient.setEmail(rs.getString("email"));
+                    recipient.setName(rs.getString("name"));
+                    recipient.setStatus(rs.getString("status"));
+                    recipients.add(recipient);
+                }
+            }
+        }
+        return recipients;
+    }
+
+    @Override
+    public void markRecipients(Long jobId, Collection<Long> recipientIds, String status) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(recipientIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        String counter = RECIPIENT_SENT.equals(status) ? "sent_count" : "failed_count";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int marked = 0;
+                for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                    List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                    // Only pending rows move, so a retried chunk is never counted twice
+                    String sql = "UPDATE bulk_mail_recipients SET status = ? WHERE job_id = ? AND status = ? " +
+                            "AND recipient_id IN (" + BatchLookupDAOImpl.placeholders(chunk.size()) + ")";
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, status);
+                        stmt.setLong(2, jobId);
+                        stmt.setString(3, RECIPIENT_PENDING);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            stmt.setObject(i + 4, chunk.get(i));
+                        }
+                        marked += stmt.executeUpdate();
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("UPDATE bulk_mail_jobs SET " + counter +
+                        " = " + counter + " + ?, updated_at = ? WHERE job_id = ?")) {
+                    stmt.setInt(1, marked);
+                    stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                    stmt.setLong(3, jobId);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static List<String> audienceQueries(String audience) {
+        List<String> queries = new ArrayList<>();
+        if (AUDIENCE_AUTHORS.equals(audience) || AUDIENCE_ALL.equals(audience)) {
+            queries.add(AUTHORS_SQL);
+        }
+        if (AUDIENCE_PC.equals(audience)) {
+            queries.add(String.format(COMMITTEE_SQL, " AND cm.committee_type = 'PC'"));
+        } else if (AUDIENCE_SC.equals(audience)) {
+            queries.add(String.format(COMMITTEE_SQL, " AND cm.committee_type = 'SC'"));
+        } else if (AUDIENCE_COMMITTEES.equals(audience) || AUDIENCE_ALL.equals(audience)) {
+            queries.add(String.format(COMMITTEE_SQL, ""));
+        }
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("Unknown audience: " + audience);
+        }
+        return queries;
+    }
+
+    private static BulkMailJob mapJob(ResultSet rs) throws SQLException {
+        BulkMailJob job = new BulkMailJob();
+        job.setJobId(rs.getLong("job_id"));
+        job.setConferenceId(rs.getLong("conference_id"));
+        job.setCreatedBy(rs.getLong("created_by"));
+        job.setAudience(rs.getString("audience"));
+        job.setMode(rs.getString("mode"));
+        job.setSubject(rs.getString("subject"));
+        job.setBody(rs.getString("body"));
+        job.setStatus(rs.getString("status"));
+        job.setTotalRecipients(rs.getInt("total_recipients"));
+        job.setSentCount(rs.getInt("sent_count"));
+        job.setFailedCount(rs.getInt("failed_count"));
+        job.setCreatedAt(rs.getTimestamp("created_at"));
+        job.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return job;
+    }
+}
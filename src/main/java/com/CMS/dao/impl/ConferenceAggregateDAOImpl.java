@@ -0,0 +1,133 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.ConferenceAggregateDAO;
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.models.CommitteeMember;
+import com.campusconf.models.Conference;
+import com.campusconf.models.ConferenceAggregate;
+import com.campusconf.models.ConferenceTopic;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads a conference, its topics and its committee members in one round trip
+ * by sending the three SELECTs as a single multi-result statement. That needs
+ * allowMultiQueries=true on the MySQL connection URL; without it the driver
+ * rejects the batch and we fall back to three queries on one connection.
+ */
+public class ConferenceAggregateDAOImpl implements ConferenceAggregateDAO {
+    private static final String CONFERENCE_SQL =
+        "SELECT * FROM conferences c WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+    private static final String TOPICS_SQL =
+        "SELECT * FROM conference_topics WHERE conference_id = ? ORDER BY parent_topic_id, topic_id";
+    private static final String MEMBERS_SQL =
+        "SELECT * FROM committee_members WHERE conference_id = ? ORDER BY committee_type, member_id";
+
+    private volatile boolean multiQueriesSupported = true;
+
+    @Override
+    public ConferenceAggregate findByConferenceId(Long conferenceId, long version) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection()) {
+            if (multiQueriesSupported) {
+                try {
+                    return loadInOneRoundTrip(conn, conferenceId, version);
+                } catch (SQLSyntaxErrorException e) {
+                    multiQueriesSupported = false;
+                    LogUtil.warn("Multi-statement queries are disabled on the connection; "
+                            + "loading conference aggregates with separate queries");
+                }
+            }
+            return loadSequentially(conn, conferenceId, version);
+        }
+    }
+
+    private ConferenceAggregate loadInOneRoundTrip(Connection conn, Long conferenceId, long version)
+            throws SQLException {
+        String sql = CONFERENCE_SQL + "; " + TOPICS_SQL + "; " + MEMBERS_SQL;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, conferenceId);
+            stmt.setLong(2, conferenceId);
+            stmt.setLong(3, conferenceId);
+
+            Conference conference = null;
+            List<ConferenceTopic> topics = new ArrayList<>();
+            List<CommitteeMember> members = new ArrayList<>();
+
+            boolean hasResultSet = stmt.execute();
+            int resultIndex = 0;
+            while (hasResultSet || stmt.getUpdateCount() != -1) {
+                if (hasResultSet) {
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        switch (resultIndex) {
+                            case 0:
+                                if (rs.next()) {
+                                    conference = ResultSetMapper.mapConference(rs);
+                                }
+                                break;
+                            case 1:
+                                while (rs.next()) {
+                                    topics.add(ResultSetMapper.mapConferenceTopic(rs));
+                                }
+                                break;
+                            case 2:
+                                while (rs.next()) {
+                                    members.add(ResultSetMapper.mapCommitteeMember(rs));
+                                }
+                                break;
+                            default:
+                                break;
+                        }
+                    }
+                    resultIndex++;
+                }
+                hasResultSet = stmt.getMoreResults();
+            }
+
+            return conference != null ? new ConferenceAggregate(version, conference, topics, members) : null;
+        }
+    }
+
+    private ConferenceAggregate loadSequentially(Connection conn, Long conferenceId, long version)
+            throws SQLException {
+        Conference conference;
+        try (PreparedStatement stmt = conn.prepareStatement(CONFERENCE_SQL)) {
+            stmt.setLong(1, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                conference = ResultSetMapper.mapConference(rs);
+            }
+        }
+
+        List<ConferenceTopic> topics = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(TOPICS_SQL)) {
+            stmt.setLong(1, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    topics.add(ResultSetMapper.mapConferenceTopic(rs));
+                }
+            }
+        }
+
+        List<CommitteeMember> members = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(MEMBERS_SQL)) {
+            stmt.setLong(1, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    members.add(ResultSetMapper.mapCommitteeMember(rs));
+                }
+            }
+        }
+
+        return new ConferenceAggregate(version, conference, topics, members);
+    }
+}
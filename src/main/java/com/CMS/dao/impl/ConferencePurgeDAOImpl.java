@@ -0,0 +1,375 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.models.ConferencePurgeJob;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConferencePurgeDAOImpl implements ConferencePurgeDAO {
+    private static final String CREATE_JOBS_SQL =
+        "CREATE TABLE IF NOT EXISTS conference_purge_jobs (" +
+        "    conference_id BIGINT NOT NULL PRIMARY KEY, " +
+        "    requested_by BIGINT NOT NULL, " +
+        "    status VARCHAR(10) NOT NULL, " +
+        "    step VARCHAR(20) NOT NULL, " +
+        "    rows_deleted BIGINT NOT NULL DEFAULT 0, " +
+        "    files_deleted INT NOT NULL DEFAULT 0, " +
+        "    files_failed INT NOT NULL DEFAULT 0, " +
+        "    attempts INT NOT NULL DEFAULT 0, " +
+        "    last_error VARCHAR(500), " +
+        "    requested_at TIMESTAMP NOT NULL, " +
+        "    updated_at TIMESTAMP NOT NULL, " +
+        "    completed_at TIMESTAMP NULL, " +
+        "    KEY idx_conference_purge_jobs_pending (status, requested_at)" +
+        ")";
+
+    private static final String CREATE_FILES_SQL =
+        "CREATE TABLE IF NOT EXISTS conference_purge_files (" +
+        "    conference_id BIGINT NOT NULL, " +
+        "    document_path VARCHAR(500) NOT NULL, " +
+        "    PRIMARY KEY (conference_id, document_path)" +
+        ")";
+
+    // Row steps other than submissions: one table keyed by conference_id each
+    private static final String DELETE_COMMITTEE_SQL =
+        "DELETE FROM committee_members WHERE conference_id = ? LIMIT ?";
+    private static final String DELETE_TOPICS_SQL =
+        "DELETE FROM conference_topics WHERE conference_id = ? LIMIT ?";
+    private static final String DELETE_ROLE_INDEX_SQL =
+        "DELETE FROM user_conference_roles WHERE conference_id = ? LIMIT ?";
+    private static final String DELETE_CONFERENCE_SQL =
+        "DELETE FROM conferences WHERE conference_id = ? AND status = ?";
+
+    @Override
+    public void createTablesIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_JOBS_SQL);
+            stmt.executeUpdate(CREATE_FILES_SQL);
+        }
+    }
+
+    @Override
+    public boolean softDelete(Long conferenceId, Long requestedBy) throws SQLException {
+        String markSql = "UPDATE conferences SET status = ? " +
+                "WHERE conference_id = ? AND COALESCE(status, '') <> ?";
+        String jobSql = "INSERT INTO conference_purge_jobs " +
+                "(conference_id, requested_by, status, step, requested_at, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE requested_by = VALUES(requested_by), status = VALUES(status), " +
+                "step = VALUES(step), rows_deleted = 0, files_deleted = 0, files_failed = 0, attempts = 0, " +
+                "last_error = NULL, requested_at = VALUES(requested_at), updated_at = VALUES(updated_at), " +
+                "completed_at = NULL";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(markSql)) {
+                    stmt.setString(1, STATUS_DELETED);
+                    stmt.setLong(2, conferenceId);
+                    stmt.setString(3, STATUS_DELETED);
+                    if (stmt.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
+                }
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                try (PreparedStatement stmt = conn.prepareStatement(jobSql)) {
+                    stmt.setLong(1, conferenceId);
+                    stmt.setLong(2, requestedBy);
+                    stmt.setString(3, JOB_PENDING);
+                    stmt.setString(4, STEPS.get(0));
+                    stmt.setTimestamp(5, now);
+                    stmt.setTimestamp(6, now);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public ConferencePurgeJob findByConferenceId(Long conferenceId) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT * FROM conference_purge_jobs WHERE conference_id = ?")) {
+            stmt.setLong(1, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapJob(rs) : null;
+            }
+        }
+    }
+
+    @Override
+    public List<ConferencePurgeJob> findPending(int limit) throws SQLException {
+        List<ConferencePurgeJob> jobs = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT * FROM conference_purge_jobs WHERE status = ? ORDER BY requested_at LIMIT ?")) {
+            stmt.setString(1, JOB_PENDING);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(mapJob(rs));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public int purgeChunk(Long conferenceId, String step, int chunkSize) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                int deleted;
+                switch (step) {
+                    case STEP_SUBMISSIONS:
+                        deleted = purgeSubmissions(conn, conferenceId, chunkSize);
+                        break;
+                    case STEP_COMMITTEE:
+                        deleted = deleteLimited(conn, DELETE_COMMITTEE_SQL, conferenceId, chunkSize);
+                        break;
+                    case STEP_TOPICS:
+                        deleted = deleteLimited(conn, DELETE_TOPICS_SQL, conferenceId, chunkSize);
+                        break;
+                    case STEP_ROLE_INDEX:
+                        deleted = deleteLimited(conn, DELETE_ROLE_INDEX_SQL, conferenceId, chunkSize);
+                        break;
+                    case STEP_CONFERENCE:
+                        try (PreparedStatement stmt = conn.prepareStatement(DELETE_CONFERENCE_SQL)) {
+                            stmt.setLong(1, conferenceId);
+                            stmt.setString(2, STATUS_DELETED);
+                            deleted = stmt.executeUpdate();
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Not a row step: " + step);
+                }
+                if (deleted > 0) {
+                    addProgress(conn, conferenceId, deleted, 0, 0);
+                }
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * One chunk of submissions: remember their documents, then delete their
+     * reviews, authors and the submissions themselves.
+     */
+    private int purgeSubmissions(Connection conn, Long conferenceId, int chunkSize) throws SQLException {
+        List<String> submissionIds = new ArrayList<>();
+        List<String> documentPaths = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT submission_id, document_path FROM submissions WHERE conference_id = ? " +
+                "ORDER BY submission_id LIMIT ? FOR UPDATE")) {
+            stmt.setLong(1, conferenceId);
+            stmt.setInt(2, chunkSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    submissionIds.add(rs.getString("submission_id"));
+                    String documentPath = rs.getString("document_path");
+                    if (documentPath != null && !documentPath.isEmpty()) {
+                        documentPaths.add(documentPath);
+                    }
+                }
+            }
+        }
+        if (submissionIds.isEmpty()) {
+            return 0;
+        }
+
+        if (!documentPaths.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT IGNORE INTO conference_purge_files (conference_id, document_path) VALUES (?, ?)")) {
+                for (String documentPath : documentPaths) {
+                    stmt.setLong(1, conferenceId);
+                    stmt.setString(2, documentPath);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        String in = " WHERE submission_id IN (" + BatchLookupDAOImpl.placeholders(submissionIds.size()) + ")";
+        int deleted = 0;
+        for (String table : new String[] {"reviews", "submission_authors", "submissions"}) {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + in)) {
+                for (int i = 0; i < submissionIds.size(); i++) {
+                    stmt.setString(i + 1, submissionIds.get(i));
+                }
+                deleted += stmt.executeUpdate();
+            }
+        }
+        return deleted;
+    }
+
+    private static int deleteLimited(Connection conn, String sql, Long conferenceId, int chunkSize)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, conferenceId);
+            stmt.setInt(2, chunkSize);
+            return stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<String> findPendingFiles(Long conferenceId, int limit) throws SQLException {
+        List<String> paths = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT document_path FROM conference_purge_files WHERE conference_id = ? " +
+                     "ORDER BY document_path LIMIT ?")) {
+            stmt.setLong(1, conferenceId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    paths.add(rs.getString("document_path"));
+                }
+            }
+        }
+        return paths;
+    }
+
+    @Override
+    public void removePendingFiles(Long conferenceId, List<String> documentPaths, int deleted, int failed)
+            throws SQLException {
+        if (documentPaths.isEmpty()) {
+            return;
+        }
+        String sql = "DELETE FROM conference_purge_files WHERE conference_id = ? AND document_path IN (" +
+                BatchLookupDAOImpl.placeholders(documentPaths.size()) + ")";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setLong(1, conferenceId);
+                    for (int i = 0; i < documentPaths.size(); i++) {
+                        stmt.setString(i + 2, documentPaths.get(i));
+                    }
+                    stmt.executeUpdate();
+                }
+                addProgress(conn, conferenceId, 0, deleted, failed);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public void advance(Long conferenceId, String step) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE conference_purge_jobs SET step = ?, updated_at = ? WHERE conference_id = ?")) {
+            stmt.setString(1, step);
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(3, conferenceId);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void markDone(Long conferenceId) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE conference_purge_jobs SET status = ?, last_error = NULL, updated_at = ?, " +
+                     "completed_at = ? WHERE conference_id = ?")) {
+            stmt.setString(1, JOB_DONE);
+            stmt.setTimestamp(2, now);
+            stmt.setTimestamp(3, now);
+            stmt.setLong(4, conferenceId);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void recordFailure(Long conferenceId, String error, boolean giveUp) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE conference_purge_jobs SET status = ?, attempts = attempts + 1, last_error = ?, " +
+                     "updated_at = ? WHERE conference_id = ?")) {
+            stmt.setString(1, giveUp ? JOB_FAILED : JOB_PENDING);
+            stmt.setString(2, truncate(error));
+            stmt.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(4, conferenceId);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public boolean resume(Long conferenceId) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE conference_purge_jobs SET status = ?, attempts = 0, updated_at = ? " +
+                     "WHERE conference_id = ? AND status = ?")) {
+            stmt.setString(1, JOB_PENDING);
+            stmt.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(3, conferenceId);
+            stmt.setString(4, JOB_FAILED);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private static void addProgress(Connection conn, Long conferenceId, int rows, int filesDeleted, int filesFailed)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE conference_purge_jobs SET rows_deleted = rows_deleted + ?, " +
+                "files_deleted = files_deleted + ?, files_failed = files_failed + ?, updated_at = ? " +
+                "WHERE conference_id = ?")) {
+            stmt.setInt(1, rows);
+            stmt.setInt(2, filesDeleted);
+            stmt.setInt(3, filesFailed);
+            stmt.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+            stmt.setLong(5, conferenceId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static ConferencePurgeJob mapJob(ResultSet rs) throws SQLException {
+        ConferencePurgeJob job = new ConferencePurgeJob();
+        job.setConferenceId(rs.getLong("conference_id"));
+        job.setRequestedBy(rs.getLong("requested_by"));
+        job.setStatus(rs.getString("status"));
+        job.setStep(rs.getString("step"));
+        job.setRowsDeleted(rs.getLong("rows_deleted"));
+        job.setFilesDeleted(rs.getInt("files_deleted"));
+        job.setFilesFailed(rs.getInt("files_failed"));
+        job.setAttempts(rs.getInt("attempts"));
+        job.setLastError(rs.getString("last_error"));
+        job.setRequestedAt(rs.getTimestamp("requested_at"));
+        job.setUpdatedAt(rs.getTimestamp("updated_at"));
+        job.setCompletedAt(rs.getTimestamp("completed_at"));
+        return job;
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
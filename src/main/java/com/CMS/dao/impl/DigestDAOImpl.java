@@ -0,0 +1,189 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.DigestDAO;
+import com.campusconf.models.DigestEntry;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DigestDAOImpl implements DigestDAO {
+    private static final String CREATE_PREFERENCES_SQL =
+        "CREATE TABLE IF NOT EXISTS digest_preferences (" +
+        "    user_id BIGINT NOT NULL PRIMARY KEY, " +
+        "    frequency VARCHAR(10) NOT NULL" +
+        ")";
+
+    private static final String CREATE_QUEUE_SQL =
+        "CREATE TABLE IF NOT EXISTS digest_queue (" +
+        "    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+        "    user_id BIGINT NOT NULL, " +
+        "    title VARCHAR(255) NOT NULL, " +
+        "    message TEXT, " +
+        "    type VARCHAR(50), " +
+        "    created_at TIMESTAMP NOT NULL, " +
+        "    due_at TIMESTAMP NOT NULL, " +
+        "    KEY idx_digest_queue_due (due_at, user_id), " +
+        "    KEY idx_digest_queue_user (user_id, due_at)" +
+        ")";
+
+    @Override
+    public void createTablesIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_PREFERENCES_SQL);
+            stmt.executeUpdate(CREATE_QUEUE_SQL);
+        }
+    }
+
+    @Override
+    public Map<Long, String> findFrequencies(Collection<Long> userIds) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(userIds);
+        Map<Long, String> frequencies = new HashMap<>();
+        if (ids.isEmpty()) {
+            return frequencies;
+        }
+        try (Connection conn = RequestDeadline.getConnection()) {
+            for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                String sql = "SELECT user_id, frequency FROM digest_preferences WHERE user_id IN (" +
+                        BatchLookupDAOImpl.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setObject(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            frequencies.put(rs.getLong("user_id"), rs.getString("frequency"));
+                        }
+                    }
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    @Override
+    public void saveFrequency(Long userId, String frequency) throws SQLException {
+        String sql = "INSERT INTO digest_preferences (user_id, frequency) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE frequency = VALUES(frequency)";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            stmt.setString(2, frequency);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void enqueue(List<DigestEntry> entries) throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < entries.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                    List<DigestEntry> chunk = entries.subList(from,
+                            Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, entries.size()));
+                    String sql = "INSERT INTO digest_queue (user_id, title, message, type, created_at, due_at) VALUES " +
+                            String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, ?)"));
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (DigestEntry entry : chunk) {
+                            stmt.setLong(index++, entry.getUserId());
+                            stmt.setString(index++, entry.getTitle());
+                            stmt.setString(index++, entry.getMessage());
+                            stmt.setString(index++, entry.getType());
+                            stmt.setTimestamp(index++, entry.getCreatedAt());
+                            stmt.setTimestamp(index++, entry.getDueAt());
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    @Override
+    public List<Long> findDueUserIds(Timestamp now, int limit) throws SQLException {
+        String sql = "SELECT user_id FROM digest_queue WHERE due_at <= ? " +
+                "GROUP BY user_id ORDER BY MIN(due_at) LIMIT ?";
+        List<Long> userIds = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, now);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    userIds.add(rs.getLong("user_id"));
+                }
+            }
+        }
+        return userIds;
+    }
+
+    @Override
+    public List<DigestEntry> findDueByUserId(Long userId, Timestamp now) throws SQLException {
+        String sql = "SELECT * FROM digest_queue WHERE user_id = ? AND due_at <= ? ORDER BY created_at, id";
+        List<DigestEntry> entries = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            stmt.setTimestamp(2, now);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    DigestEntry entry = new DigestEntry();
+                    entry.setId(rs.getLong("id"));
+                    entry.setUserId(rs.getLong("user_id"));
+                    entry.setTitle(rs.getString("title"));
+                    entry.setMessage(rs.getString("message"));
+                    entry.setType(rs.getString("type"));
+                    entry.setCreatedAt(rs.getTimestamp("created_at"));
+                    entry.setDueAt(rs.getTimestamp("due_at"));
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> entryIds) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(entryIds);
+        int deleted = 0;
+        if (ids.isEmpty()) {
+            return deleted;
+        }
+        try (Connection conn = RequestDeadline.getConnection()) {
+            for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                String sql = "DELETE FROM digest_queue WHERE id IN (" + BatchLookupDAOImpl.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setObject(i + 1, chunk.get(i));
+                    }
+                    deleted += stmt.executeUpdate();
+                }
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,258 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.RoleIndexMaintainer;
+import com.campusconf.models.Submission;
+import com.campusconf.models.SubmissionAuthor;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SubmissionDAOImpl whose writes keep the role index current and whose list
+ * queries load the authors of the whole result set with one follow-up
+ * IN (...) query instead of one query per row.
+ *
+ * In lazy mode the rows come back without authors; the first getAuthors()
+ * call on any of them loads the authors for every row of that result set in
+ * one query, so callers that never look at authors pay nothing.
+ */
+public class HydratingSubmissionDAOImpl extends SubmissionDAOImpl {
+    private static final String BY_CONFERENCE_SQL = "SELECT * FROM submissions WHERE conference_id ";
+    // Same row sets as SummaryDAOImpl's user and reviewer lists
+    private static final String BY_USER_SQL =
+        "SELECT s.* FROM submissions s " +
+        "WHERE s.corresponding_author_id = ? " +
+        "   OR s.submission_id IN (SELECT sa.submission_id FROM submission_authors sa WHERE sa.user_id = ?)";
+    private static final String BY_REVIEWER_SQL =
+        "SELECT s.* FROM submissions s " +
+        "WHERE s.submission_id IN (" +
+        "    SELECT r.submission_id FROM reviews r " +
+        "    JOIN committee_members cm ON cm.user_id = r.reviewer_id " +
+        "    WHERE r.reviewer_id = ? AND cm.committee_type = ? AND cm.conference_id = s.conference_id)";
+    private static final String SUBMISSION_ORDER = " ORDER BY submission_date DESC";
+    // Matches ORDER BY submission_date DESC, which puts NULLs last
+    private static final Comparator<Submission> NEWEST_FIRST = Comparator.comparing(Submission::getSubmissionDate,
+            Comparator.nullsFirst(Comparator.<Timestamp>naturalOrder())).reversed();
+
+    private final boolean lazyAuthors;
+
+    public HydratingSubmissionDAOImpl() {
+        this(false);
+    }
+
+    public HydratingSubmissionDAOImpl(boolean lazyAuthors) {
+        this.lazyAuthors = lazyAuthors;
+    }
+
+    @Override
+    public boolean create(Submission submission) throws SQLException {
+        try {
+            return super.create(submission);
+        } finally {
+            RoleIndexMaintainer.conferenceChanged(submission.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean update(Submission submission) throws SQLException {
+        try {
+            return super.update(submission);
+        } finally {
+            RoleIndexMaintainer.conferenceChanged(submission.getConferenceId());
+        }
+    }
+
+    @Override
+    public boolean delete(Object submissionId) throws SQLException {
+        Submission submission = super.findById(submissionId);
+        try {
+            return super.delete(submissionId);
+        } finally {
+            RoleIndexMaintainer.conferenceChanged(submission != null ? submission.getConferenceId() : null);
+        }
+    }
+
+    @Override
+    public boolean joinTeam(String submissionId, Long userId) throws SQLException {
+        try {
+            return super.joinTeam(submissionId, userId);
+        } finally {
+            RoleIndexMaintainer.submissionChanged(submissionId);
+        }
+    }
+
+    @Override
+    public List<Submission> findByConferenceId(Long conferenceId) throws SQLException {
+        return select(BY_CONFERENCE_SQL + "= ?" + SUBMISSION_ORDER, conferenceId);
+    }
+
+    @Override
+    public List<Submission> findByConferenceIds(List<Long> conferenceIds) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(conferenceIds);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Submission> submissions = new ArrayList<>();
+        List<LazyAuthorsSubmission> lazyRows = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+            List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+            submissions.addAll(query(BY_CONFERENCE_SQL + "IN (" + BatchLookupDAOImpl.placeholders(chunk.size()) + ")"
+                    + SUBMISSION_ORDER, lazyRows, chunk.toArray()));
+        }
+        if (ids.size() > BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+            // Each chunk is sorted on its own; restore the order a single query would give
+            submissions.sort(NEWEST_FIRST);
+        }
+        return attachAuthors(submissions, lazyRows);
+    }
+
+    // The legacy finders load authors row by row; these select the rows only and batch the authors
+
+    @Override
+    public List<Submission> findByUserId(Long userId) throws SQLException {
+        return select(BY_USER_SQL + SUBMISSION_ORDER, userId, userId);
+    }
+
+    @Override
+    public List<Submission> findByPCReviewerId(Long reviewerId) throws SQLException {
+        return select(BY_REVIEWER_SQL + SUBMISSION_ORDER, reviewerId, "PC");
+    }
+
+    @Override
+    public List<Submission> findBySCReviewerId(Long reviewerId) throws SQLException {
+        return select(BY_REVIEWER_SQL + SUBMISSION_ORDER, reviewerId, "SC");
+    }
+
+    /**
+     * Loads the authors of all the given submissions in one query and sets
+     * them on each. Submissions without authors get an empty list.
+     */
+    public void hydrateAuthors(List<? extends Submission> submissions) throws SQLException {
+        if (submissions.isEmpty()) {
+            return;
+        }
+        List<String> submissionIds = new ArrayList<>(submissions.size());
+        for (Submission submission : submissions) {
+            submissionIds.add(submission.getSubmissionId());
+        }
+
+        Map<String, List<SubmissionAuthor>> authorsBySubmission = new HashMap<>();
+        for (SubmissionAuthor author : BatchLookupDAOImpl.findByIds("submission_authors", "submission_id",
+                submissionIds, ResultSetMapper::mapSubmissionAuthor)) {
+            authorsBySubmission.computeIfAbsent(author.getSubmissionId(), key -> new ArrayList<>()).add(author);
+        }
+        for (Submission submission : submissions) {
+            submission.setAuthors(authorsBySubmission.getOrDefault(submission.getSubmissionId(), new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Runs one submission query and attaches the authors of its rows.
+     */
+    private List<Submission> select(String sql, Object... params) throws SQLException {
+        List<LazyAuthorsSubmission> lazyRows = new ArrayList<>();
+        return attachAuthors(query(sql, lazyRows, params), lazyRows);
+    }
+
+    /**
+     * Maps the rows without authors; in lazy mode they are also added to
+     * lazyRows, to be batched by attachAuthors.
+     */
+    private List<Submission> query(String sql, List<LazyAuthorsSubmission> lazyRows, Object... params)
+            throws SQLException {
+        List<Submission> submissions = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (lazyAuthors) {
+                        LazyAuthorsSubmission row = ResultSetMapper.mapSubmission(rs, new LazyAuthorsSubmission());
+                        lazyRows.add(row);
+                        submissions.add(row);
+                    } else {
+                        submissions.add(ResultSetMapper.mapSubmission(rs));
+                    }
+                }
+            }
+        }
+        return submissions;
+    }
+
+    private List<Submission> attachAuthors(List<Submission> submissions, List<LazyAuthorsSubmission> lazyRows)
+            throws SQLException {
+        if (!lazyAuthors) {
+            hydrateAuthors(submissions);
+            return submissions;
+        }
+        AuthorBatch batch = new AuthorBatch(this, lazyRows);
+        for (LazyAuthorsSubmission submission : lazyRows) {
+            submission.batch = batch;
+        }
+        return submissions;
+    }
+
+    /**
+     * The rows of one lazy result set; hydrated together on first access.
+     */
+    private static final class AuthorBatch {
+        private final HydratingSubmissionDAOImpl dao;
+        // A lock rather than synchronized: the query must not pin a virtual thread's carrier
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<LazyAuthorsSubmission> submissions;
+
+        private AuthorBatch(HydratingSubmissionDAOImpl dao, List<LazyAuthorsSubmission> submissions) {
+            this.dao = dao;
+            this.submissions = submissions;
+        }
+
+        private void hydrate() {
+            lock.lock();
+            try {
+                if (submissions == null) {
+                    return;
+                }
+                dao.hydrateAuthors(submissions);
+                submissions = null;
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to load submission authors", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class LazyAuthorsSubmission extends Submission {
+        // transient so JSON serialization never sees the batch
+        private transient volatile AuthorBatch batch;
+
+        @Override
+        public List<SubmissionAuthor> getAuthors() {
+            AuthorBatch pending = batch;
+            if (pending != null) {
+                pending.hydrate();
+            }
+            List<SubmissionAuthor> authors = super.getAuthors();
+            return authors != null ? authors : Collections.emptyList();
+        }
+
+        @Override
+        public void setAuthors(List<SubmissionAuthor> authors) {
+            batch = null;
+            super.setAuthors(authors);
+        }
+    }
+}
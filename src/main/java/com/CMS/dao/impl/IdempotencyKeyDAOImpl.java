@@ -0,0 +1,165 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.IdempotencyKeyDAO;
+import com.campusconf.models.IdempotencyRecord;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+public class IdempotencyKeyDAOImpl implements IdempotencyKeyDAO {
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS idempotency_keys (" +
+        "    scope VARCHAR(64) NOT NULL, " +
+        "    idempotency_key VARCHAR(" + MAX_KEY_LENGTH + ") NOT NULL, " +
+        "    fingerprint CHAR(64) NOT NULL, " +
+        "    status VARCHAR(12) NOT NULL, " +
+        "    claim_token CHAR(36), " +
+        "    response_status INT, " +
+        "    content_type VARCHAR(255), " +
+        "    location VARCHAR(1000), " +
+        "    body MEDIUMBLOB, " +
+        "    created_at TIMESTAMP NOT NULL, " +
+        "    expires_at TIMESTAMP NOT NULL, " +
+        "    PRIMARY KEY (scope, idempotency_key), " +
+        "    KEY idx_idempotency_keys_expires (expires_at)" +
+        ")";
+
+    @Override
+    public void createTableIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_TABLE_SQL);
+            // Tables created before claims carried a token
+            if (!columnExists(conn, "claim_token")) {
+                stmt.executeUpdate("ALTER TABLE idempotency_keys ADD COLUMN claim_token CHAR(36) AFTER status");
+            }
+        }
+    }
+
+    @Override
+    public IdempotencyRecord find(String scope, String key) throws SQLException {
+        String sql = "SELECT * FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, scope);
+            stmt.setString(2, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setScope(rs.getString("scope"));
+                record.setIdempotencyKey(rs.getString("idempotency_key"));
+                record.setFingerprint(rs.getString("fingerprint"));
+                record.setStatus(rs.getString("status"));
+                record.setResponseStatus(rs.getInt("response_status"));
+                record.setContentType(rs.getString("content_type"));
+                record.setLocation(rs.getString("location"));
+                record.setBody(rs.getBytes("body"));
+                record.setCreatedAt(rs.getTimestamp("created_at"));
+                record.setExpiresAt(rs.getTimestamp("expires_at"));
+                return record;
+            }
+        }
+    }
+
+    @Override
+    public boolean claim(String scope, String key, String fingerprint, String token, Timestamp lockedUntil)
+            throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        String insertSql = "INSERT IGNORE INTO idempotency_keys " +
+                "(scope, idempotency_key, fingerprint, status, claim_token, created_at, expires_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String takeOverSql = "UPDATE idempotency_keys SET fingerprint = ?, status = ?, claim_token = ?, " +
+                "response_status = NULL, content_type = NULL, location = NULL, body = NULL, created_at = ?, " +
+                "expires_at = ? WHERE scope = ? AND idempotency_key = ? AND expires_at < ?";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                stmt.setString(1, scope);
+                stmt.setString(2, key);
+                stmt.setString(3, fingerprint);
+                stmt.setString(4, STATUS_IN_PROGRESS);
+                stmt.setString(5, token);
+                stmt.setTimestamp(6, now);
+                stmt.setTimestamp(7, lockedUntil);
+                if (stmt.executeUpdate() > 0) {
+                    return true;
+                }
+            }
+            // Expired but not yet cleaned up: the key is free again
+            try (PreparedStatement stmt = conn.prepareStatement(takeOverSql)) {
+                stmt.setString(1, fingerprint);
+                stmt.setString(2, STATUS_IN_PROGRESS);
+                stmt.setString(3, token);
+                stmt.setTimestamp(4, now);
+                stmt.setTimestamp(5, lockedUntil);
+                stmt.setString(6, scope);
+                stmt.setString(7, key);
+                stmt.setTimestamp(8, now);
+                return stmt.executeUpdate() > 0;
+            }
+        }
+    }
+
+    @Override
+    public void complete(String scope, String key, String token, IdempotencyRecord response, Timestamp expiresAt)
+            throws SQLException {
+        String sql = "UPDATE idempotency_keys SET status = ?, response_status = ?, content_type = ?, location = ?, " +
+                "body = ?, expires_at = ? WHERE scope = ? AND idempotency_key = ? AND status = ? AND claim_token = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_COMPLETED);
+            stmt.setInt(2, response.getResponseStatus());
+            stmt.setString(3, response.getContentType());
+            stmt.setString(4, response.getLocation());
+            stmt.setBytes(5, response.getBody());
+            stmt.setTimestamp(6, expiresAt);
+            stmt.setString(7, scope);
+            stmt.setString(8, key);
+            stmt.setString(9, STATUS_IN_PROGRESS);
+            stmt.setString(10, token);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void release(String scope, String key, String token) throws SQLException {
+        String sql = "DELETE FROM idempotency_keys " +
+                "WHERE scope = ? AND idempotency_key = ? AND status = ? AND claim_token = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, scope);
+            stmt.setString(2, key);
+            stmt.setString(3, STATUS_IN_PROGRESS);
+            stmt.setString(4, token);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public int deleteExpired(Timestamp now, int limit) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "DELETE FROM idempotency_keys WHERE expires_at < ? LIMIT ?")) {
+            stmt.setTimestamp(1, now);
+            stmt.setInt(2, limit);
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static boolean columnExists(Connection conn, String column) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'idempotency_keys' AND COLUMN_NAME = ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
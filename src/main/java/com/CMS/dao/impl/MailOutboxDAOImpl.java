@@ -0,0 +1,141 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.MailOutboxDAO;
+import com.campusconf.models.OutboxMail;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MailOutboxDAOImpl implements MailOutboxDAO {
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS mail_outbox (" +
+        "    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+        "    recipient VARCHAR(255) NOT NULL, " +
+        "    subject VARCHAR(255) NOT NULL, " +
+        "    body TEXT NOT NULL, " +
+        "    status VARCHAR(10) NOT NULL, " +
+        "    attempts INT NOT NULL DEFAULT 0, " +
+        "    last_error VARCHAR(500), " +
+        "    created_at TIMESTAMP NOT NULL, " +
+        "    next_attempt_at TIMESTAMP NOT NULL, " +
+        "    KEY idx_mail_outbox_due (status, next_attempt_at)" +
+        ")";
+
+    @Override
+    public void createTableIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_TABLE_SQL);
+        }
+    }
+
+    @Override
+    public void enqueue(OutboxMail mail) throws SQLException {
+        String sql = "INSERT INTO mail_outbox " +
+                "(recipient, subject, body, status, attempts, last_error, created_at, next_attempt_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, mail.getRecipient());
+            stmt.setString(2, mail.getSubject());
+            stmt.setString(3, mail.getBody());
+            stmt.setString(4, mail.getStatus() != null ? mail.getStatus() : STATUS_PENDING);
+            stmt.setInt(5, mail.getAttempts());
+            stmt.setString(6, truncate(mail.getLastError()));
+            stmt.setTimestamp(7, now);
+            stmt.setTimestamp(8, mail.getNextAttemptAt() != null ? mail.getNextAttemptAt() : now);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    mail.setId(keys.getLong(1));
+                }
+            }
+            mail.setCreatedAt(now);
+        }
+    }
+
+    @Override
+    public List<OutboxMail> findDue(Timestamp now, int limit) throws SQLException {
+        String sql = "SELECT * FROM mail_outbox WHERE status = ? AND next_attempt_at <= ? " +
+                "ORDER BY next_attempt_at, id LIMIT ?";
+        List<OutboxMail> mails = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, STATUS_PENDING);
+            stmt.setTimestamp(2, now);
+            stmt.setInt(3, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    OutboxMail mail = new OutboxMail();
+                    mail.setId(rs.getLong("id"));
+                    mail.setRecipient(rs.getString("recipient"));
+                    mail.setSubject(rs.getString("subject"));
+                    mail.setBody(rs.getString("body"));
+                    mail.setStatus(rs.getString("status"));
+                    mail.setAttempts(rs.getInt("attempts"));
+                    mail.setLastError(rs.getString("last_error"));
+                    mail.setCreatedAt(rs.getTimestamp("created_at"));
+                    mail.setNextAttemptAt(rs.getTimestamp("next_attempt_at"));
+                    mails.add(mail);
+                }
+            }
+        }
+        return mails;
+    }
+
+    @Override
+    public void delete(Long id) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM mail_outbox WHERE id = ?")) {
+            stmt.setLong(1, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void reschedule(Long id, int attempts, Timestamp nextAttemptAt, String lastError) throws SQLException {
+        String sql = "UPDATE mail_outbox SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, attempts);
+            stmt.setTimestamp(2, nextAttemptAt);
+            stmt.setString(3, truncate(lastError));
+            stmt.setLong(4, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void markFailed(Long id, int attempts, String lastError) throws SQLException {
+        markFinal(id, STATUS_FAILED, attempts, lastError);
+    }
+
+    @Override
+    public void markUnknown(Long id, int attempts, String lastError) throws SQLException {
+        markFinal(id, STATUS_UNKNOWN, attempts, lastError);
+    }
+
+    private void markFinal(Long id, String status, int attempts, String lastError) throws SQLException {
+        String sql = "UPDATE mail_outbox SET status = ?, attempts = ?, last_error = ? WHERE id = ?";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, status);
+            stmt.setInt(2, attempts);
+            stmt.setString(3, truncate(lastError));
+            stmt.setLong(4, id);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
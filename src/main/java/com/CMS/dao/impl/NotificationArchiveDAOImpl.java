@@ -0,0 +1,218 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.NotificationArchiveDAO;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class NotificationArchiveDAOImpl implements NotificationArchiveDAO {
+    private static final String PAGE_INDEX = "idx_notifications_user_created";
+    // Lets each archive batch range-scan old READ rows instead of the whole table
+    private static final String ARCHIVE_INDEX = "idx_notifications_status_created";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Override
+    public void ensureSchema() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            if (!indexExists(conn, "notifications", PAGE_INDEX)) {
+                stmt.executeUpdate("ALTER TABLE notifications ADD INDEX " + PAGE_INDEX +
+                        " (user_id, created_at, id)");
+            }
+            if (!indexExists(conn, "notifications", ARCHIVE_INDEX)) {
+                stmt.executeUpdate("ALTER TABLE notifications ADD INDEX " + ARCHIVE_INDEX +
+                        " (status, created_at, id)");
+            }
+            // Same columns as notifications, but never partitioned and without
+            // foreign keys so archived rows do not block deleting users
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS notifications_archive LIKE notifications");
+            if (isPartitioned(conn, "notifications_archive")) {
+                stmt.executeUpdate("ALTER TABLE notifications_archive REMOVE PARTITIONING");
+            }
+        }
+    }
+
+    @Override
+    public boolean ensureMonthlyPartitions(int monthsAhead, boolean migrate) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            Set<String> existing = partitionNames(conn, "notifications");
+            LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+
+            if (existing.isEmpty()) {
+                if (!migrate) {
+                    return false;
+                }
+                migrateToPartitions(conn, stmt, firstOfMonth, monthsAhead);
+                return true;
+            }
+
+            // New months are split off the catch-all partition, which is empty
+            // as long as we stay ahead of the calendar, so this is cheap
+            List<String> added = new ArrayList<>();
+            for (int month = 0; month <= monthsAhead; month++) {
+                LocalDate start = firstOfMonth.plusMonths(month);
+                String name = start.format(PARTITION_NAME);
+                if (!existing.contains(name)) {
+                    added.add(partitionDefinition(start));
+                }
+            }
+            if (!added.isEmpty()) {
+                stmt.executeUpdate("ALTER TABLE notifications REORGANIZE PARTITION pmax INTO (" +
+                        String.join(", ", added) + ", PARTITION pmax VALUES LESS THAN MAXVALUE)");
+                LogUtil.info("Added " + added.size() + " monthly partitions to notifications");
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public int archiveReadBefore(Timestamp cutoff, int batchSize) throws SQLException {
+        // Served by ARCHIVE_INDEX; ordered like the index so the scan stops after batchSize rows
+        String selectSql = "SELECT id FROM notifications WHERE status = ? AND created_at < ? " +
+                "ORDER BY created_at, id LIMIT ?";
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                List<Long> ids = new ArrayList<>(batchSize);
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    stmt.setString(1, ConstantsUtil.NOTIFICATION_READ);
+                    stmt.setTimestamp(2, cutoff);
+                    stmt.setInt(3, batchSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getLong("id"));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+
+                String in = " WHERE id IN (" + BatchLookupDAOImpl.placeholders(ids.size()) + ")";
+                // IGNORE makes a batch that was copied but not deleted safe to retry
+                executeForIds(conn, "INSERT IGNORE INTO notifications_archive SELECT * FROM notifications" + in,
+                        null, ids);
+                executeForIds(conn, "UPDATE notifications_archive SET status = ?" + in,
+                        ConstantsUtil.NOTIFICATION_ARCHIVED, ids);
+                int moved = executeForIds(conn, "DELETE FROM notifications" + in, null, ids);
+                conn.commit();
+                return moved;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * One-time conversion to RANGE partitioning on created_at. MySQL requires
+     * every unique key to contain the partitioning column and does not allow
+     * foreign keys on partitioned tables, so the primary key becomes
+     * (id, created_at) and the foreign keys are dropped.
+     */
+    private void migrateToPartitions(Connection conn, Statement stmt, LocalDate firstOfMonth, int monthsAhead)
+            throws SQLException {
+        LogUtil.warn("Partitioning notifications by month; this rebuilds the table");
+        for (String foreignKey : foreignKeyNames(conn, "notifications")) {
+            stmt.executeUpdate("ALTER TABLE notifications DROP FOREIGN KEY " + foreignKey);
+        }
+        stmt.executeUpdate("ALTER TABLE notifications DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at)");
+
+        // Everything older than this month stays in one partition; the
+        // archiver empties it over time
+        List<String> definitions = new ArrayList<>();
+        definitions.add("PARTITION p_old VALUES LESS THAN (TO_DAYS('" + firstOfMonth + "'))");
+        for (int month = 0; month <= monthsAhead; month++) {
+            definitions.add(partitionDefinition(firstOfMonth.plusMonths(month)));
+        }
+        definitions.add("PARTITION pmax VALUES LESS THAN MAXVALUE");
+        stmt.executeUpdate("ALTER TABLE notifications PARTITION BY RANGE (TO_DAYS(created_at)) (" +
+                String.join(", ", definitions) + ")");
+    }
+
+    /**
+     * The partition named after a month holds the rows created in it.
+     */
+    private static String partitionDefinition(LocalDate monthStart) {
+        return "PARTITION " + monthStart.format(PARTITION_NAME) +
+                " VALUES LESS THAN (TO_DAYS('" + monthStart.plusMonths(1) + "'))";
+    }
+
+    private static int executeForIds(Connection conn, String sql, String firstParam, List<Long> ids)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (firstParam != null) {
+                stmt.setString(index++, firstParam);
+            }
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, index);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static boolean isPartitioned(Connection conn, String table) throws SQLException {
+        return !partitionNames(conn, table).isEmpty();
+    }
+
+    private static Set<String> partitionNames(Connection conn, String table) throws SQLException {
+        String sql = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+        Set<String> names = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString("PARTITION_NAME"));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static List<String> foreignKeyNames(Connection conn, String table) throws SQLException {
+        String sql = "SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'";
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString("CONSTRAINT_NAME"));
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,141 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.NotificationBroadcastDAO;
+import com.campusconf.models.Notification;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class NotificationBroadcastDAOImpl implements NotificationBroadcastDAO {
+    private static final String INSERT_PREFIX =
+        "INSERT INTO notifications (user_id, title, message, type, status, created_at) ";
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        int bind(PreparedStatement stmt, int index) throws SQLException;
+    }
+
+    @Override
+    public List<Long> insertForConferenceRoles(Long conferenceId, Collection<String> roles, Notification template)
+            throws SQLException {
+        if (conferenceId == null || roles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> roleList = new ArrayList<>(roles);
+        String audience = "FROM user_conference_roles WHERE conference_id = ? AND role IN (" +
+                BatchLookupDAOImpl.placeholders(roleList.size()) + ")";
+        return insertForAudience(audience, (stmt, index) -> {
+            stmt.setLong(index++, conferenceId);
+            for (String role : roleList) {
+                stmt.setString(index++, role);
+            }
+            return index;
+        }, template);
+    }
+
+    @Override
+    public List<Long> insertForSubmissionAuthors(String submissionId, Notification template) throws SQLException {
+        if (submissionId == null) {
+            return Collections.emptyList();
+        }
+        return insertForAudience("FROM submission_authors WHERE submission_id = ?", (stmt, index) -> {
+            stmt.setString(index++, submissionId);
+            return index;
+        }, template);
+    }
+
+    @Override
+    public List<Long> insertForUsers(Collection<Long> userIds, Notification template) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(userIds);
+        List<Long> recipients = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return recipients;
+        }
+
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                    List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                    String sql = INSERT_PREFIX + "VALUES " +
+                            String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?, ?, ?, NOW())"));
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (Object id : chunk) {
+                            stmt.setLong(index++, (Long) id);
+                            index = bindTemplate(stmt, index, template);
+                        }
+                        stmt.executeUpdate();
+                    }
+                    for (Object id : chunk) {
+                        recipients.add((Long) id);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return recipients;
+    }
+
+    /**
+     * Reads the audience with a locking read and inserts from the same
+     * predicate in one transaction. Both statements lock the audience rows,
+     * so the returned recipients are exactly the users that got a row.
+     */
+    private List<Long> insertForAudience(String audience, ParameterBinder binder, Notification template)
+            throws SQLException {
+        String selectSql = "SELECT DISTINCT user_id " + audience + " AND user_id IS NOT NULL LOCK IN SHARE MODE";
+        String insertSql = INSERT_PREFIX + "SELECT DISTINCT user_id, ?, ?, ?, ?, NOW() " + audience +
+                " AND user_id IS NOT NULL";
+
+        List<Long> recipients = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                    binder.bind(stmt, 1);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            recipients.add(rs.getLong("user_id"));
+                        }
+                    }
+                }
+                if (!recipients.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                        binder.bind(stmt, bindTemplate(stmt, 1, template));
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return recipients;
+    }
+
+    private static int bindTemplate(PreparedStatement stmt, int index, Notification template) throws SQLException {
+        stmt.setString(index++, template.getTitle());
+        stmt.setString(index++, template.getMessage());
+        stmt.setString(index++, template.getType());
+        stmt.setString(index++, template.getStatus());
+        return index;
+    }
+}
@@ -0,0 +1,73 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.NotificationCountDAO;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class NotificationCountDAOImpl implements NotificationCountDAO {
+
+    @Override
+    public Map<Long, Integer> countUnreadByUserIds(Collection<Long> userIds) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(userIds);
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object id : ids) {
+            counts.put((Long) id, 0);
+        }
+        if (ids.isEmpty()) {
+            return counts;
+        }
+
+        try (Connection conn = RequestDeadline.getConnection()) {
+            for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                String sql = "SELECT user_id, COUNT(*) AS unread FROM notifications " +
+                        "WHERE status = ? AND user_id IN (" + BatchLookupDAOImpl.placeholders(chunk.size()) + ") " +
+                        "GROUP BY user_id";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, ConstantsUtil.NOTIFICATION_UNREAD);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setObject(i + 2, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.put(rs.getLong("user_id"), rs.getInt("unread"));
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    public boolean updateStatusIf(Long notificationId, String expectedStatus, String newStatus) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE notifications SET status = ? WHERE id = ? AND status <=> ?")) {
+            stmt.setString(1, newStatus);
+            stmt.setLong(2, notificationId);
+            stmt.setString(3, expectedStatus);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    @Override
+    public boolean deleteIf(Long notificationId, String expectedStatus) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "DELETE FROM notifications WHERE id = ? AND status <=> ?")) {
+            stmt.setLong(1, notificationId);
+            stmt.setString(2, expectedStatus);
+            return stmt.executeUpdate() == 1;
+        }
+    }
+}
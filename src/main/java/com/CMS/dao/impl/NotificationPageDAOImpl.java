@@ -0,0 +1,53 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.NotificationPageDAO;
+import com.campusconf.models.Notification;
+import com.campusconf.utils.CursorUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class NotificationPageDAOImpl implements NotificationPageDAO {
+
+    @Override
+    public List<Notification> findPage(Long userId, String status, CursorUtil.Position after, int limit)
+            throws SQLException {
+        // Keyset pagination on (created_at, id): each page is an index range
+        // scan of idx_notifications_user_created, however deep the user pages
+        StringBuilder sql = new StringBuilder("SELECT * FROM notifications WHERE user_id = ?");
+        if (status != null) {
+            sql.append(" AND status = ?");
+        }
+        if (after != null) {
+            sql.append(" AND (created_at < ? OR (created_at = ? AND id < ?))");
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+
+        List<Notification> notifications = new ArrayList<>(limit);
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setLong(index++, userId);
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            if (after != null) {
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setTimestamp(index++, after.getCreatedAt());
+                stmt.setLong(index++, after.getId());
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(ResultSetMapper.mapNotification(rs));
+                }
+            }
+        }
+        return notifications;
+    }
+}
@@ -0,0 +1,132 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.models.CommitteeMember;
+import com.campusconf.models.Conference;
+import com.campusconf.models.ConferenceTopic;
+import com.campusconf.models.Notification;
+import com.campusconf.models.Submission;
+import com.campusconf.models.SubmissionAuthor;
+import com.campusconf.models.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Row mappers shared by the DAOs that read the same tables in new shapes
+ * (aggregates, batches) instead of going through the per-entity DAOs.
+ */
+public class ResultSetMapper {
+
+    public static Conference mapConference(ResultSet rs) throws SQLException {
+        Conference conference = new Conference();
+        conference.setConferenceId(rs.getLong("conference_id"));
+        conference.setName(rs.getString("name"));
+        conference.setAcronym(rs.getString("acronym"));
+        conference.setTheme(rs.getString("theme"));
+        conference.setType(rs.getString("type"));
+        conference.setWebsite(rs.getString("website"));
+        conference.setStartDate(rs.getDate("start_date"));
+        conference.setEndDate(rs.getDate("end_date"));
+        conference.setLocation(rs.getString("location"));
+        conference.setSubmissionDeadline(rs.getDate("submission_deadline"));
+        conference.setExtensionDate(rs.getDate("extension_date"));
+        conference.setPresidentId(rs.getObject("president_id", Long.class));
+        conference.setCreationDate(rs.getTimestamp("creation_date"));
+        conference.setStatus(rs.getString("status"));
+        return conference;
+    }
+
+    public static ConferenceTopic mapConferenceTopic(ResultSet rs) throws SQLException {
+        ConferenceTopic topic = new ConferenceTopic();
+        topic.setTopicId(rs.getLong("topic_id"));
+        topic.setConferenceId(rs.getLong("conference_id"));
+        topic.setTopicName(rs.getString("topic_name"));
+        long parentTopicId = rs.getLong("parent_topic_id");
+        topic.setParentTopicId(rs.wasNull() ? null : parentTopicId);
+        return topic;
+    }
+
+    public static CommitteeMember mapCommitteeMember(ResultSet rs) throws SQLException {
+        CommitteeMember member = new CommitteeMember();
+        member.setMemberId(rs.getLong("member_id"));
+        member.setConferenceId(rs.getLong("conference_id"));
+        member.setUserId(rs.getLong("user_id"));
+        member.setEmail(rs.getString("email"));
+        member.setName(rs.getString("name"));
+        member.setCommitteeType(rs.getString("committee_type"));
+        member.setCommitteeName(rs.getString("committee_name"));
+        member.setResponsible(rs.getBoolean("is_responsible"));
+        member.setAcademicTitle(rs.getString("academic_title"));
+        member.setExpertiseAreas(rs.getString("expertise_areas"));
+        member.setBiography(rs.getString("biography"));
+        return member;
+    }
+
+    public static Submission mapSubmission(ResultSet rs) throws SQLException {
+        return mapSubmission(rs, new Submission());
+    }
+
+    /**
+     * Fills an existing (possibly subclassed) submission from the row.
+     */
+    public static <S extends Submission> S mapSubmission(ResultSet rs, S submission) throws SQLException {
+        submission.setSubmissionId(rs.getString("submission_id"));
+        submission.setConferenceId(rs.getLong("conference_id"));
+        submission.setTitle(rs.getString("title"));
+        submission.setSummary(rs.getString("summary"));
+        submission.setKeywords(rs.getString("keywords"));
+        submission.setDocumentPath(rs.getString("document_path"));
+        submission.setSubmissionDate(rs.getTimestamp("submission_date"));
+        submission.setStatus(rs.getString("status"));
+        long correspondingAuthorId = rs.getLong("corresponding_author_id");
+        submission.setCorrespondingAuthorId(rs.wasNull() ? null : correspondingAuthorId);
+        return submission;
+    }
+
+    public static SubmissionAuthor mapSubmissionAuthor(ResultSet rs) throws SQLException {
+        SubmissionAuthor author = new SubmissionAuthor();
+        author.setId(rs.getLong("id"));
+        author.setSubmissionId(rs.getString("submission_id"));
+        author.setUserId(rs.getLong("user_id"));
+        author.setCorrespondingAuthor(rs.getBoolean("corresponding_author"));
+        author.setCreatedAt(rs.getTimestamp("created_at"));
+        author.setUpdatedAt(rs.getTimestamp("updated_at"));
+        return author;
+    }
+
+    /**
+     * Maps a users row for display. The password hash is deliberately left
+     * out so these users are safe to hand to views.
+     */
+    public static User mapUser(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setUserId(rs.getLong("user_id"));
+        user.setEmail(rs.getString("email"));
+        user.setFirstName(rs.getString("first_name"));
+        user.setLastName(rs.getString("last_name"));
+        user.setPersonalWebsite(rs.getString("personal_website"));
+        user.setInstitution(rs.getString("institution"));
+        user.setCity(rs.getString("city"));
+        user.setCountry(rs.getString("country"));
+        user.setPostalCode(rs.getString("postal_code"));
+        user.setAddress(rs.getString("address"));
+        user.setRole(rs.getString("role"));
+        user.setRegistrationDate(rs.getTimestamp("registration_date"));
+        user.setLastLogin(rs.getTimestamp("last_login"));
+        user.setActive(rs.getBoolean("active"));
+        user.setEmailNotifications(rs.getBoolean("email_notifications"));
+        return user;
+    }
+
+    public static Notification mapNotification(ResultSet rs) throws SQLException {
+        Notification notification = new Notification();
+        notification.setId(rs.getLong("id"));
+        notification.setUserId(rs.getLong("user_id"));
+        notification.setTitle(rs.getString("title"));
+        notification.setMessage(rs.getString("message"));
+        notification.setStatus(rs.getString("status"));
+        notification.setType(rs.getString("type"));
+        notification.setCreatedAt(rs.getTimestamp("created_at"));
+        return notification;
+    }
+}
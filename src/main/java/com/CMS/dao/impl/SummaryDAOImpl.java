@@ -0,0 +1,153 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.SummaryDAO;
+import com.campusconf.models.ConferenceSummary;
+import com.campusconf.models.SubmissionSummary;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class SummaryDAOImpl implements SummaryDAO {
+    private static final String CONFERENCE_COLUMNS =
+        "SELECT c.conference_id, c.name, c.acronym, c.status, c.start_date, c.end_date, " +
+        "       c.submission_deadline, c.creation_date, c.president_id " +
+        "FROM conferences c WHERE " + ConferencePurgeDAO.NOT_DELETED_SQL + " ";
+    private static final String CONFERENCE_ORDER = " ORDER BY c.start_date DESC";
+
+    // Same author test as the submission lists: corresponding author or listed co-author (two parameters)
+    private static final String AUTHORED_CONFERENCE_IDS =
+        "SELECT s.conference_id FROM submissions s " +
+        "WHERE s.corresponding_author_id = ? " +
+        "   OR s.submission_id IN (SELECT sa.submission_id FROM submission_authors sa WHERE sa.user_id = ?)";
+    private static final String COMMITTEE_CONFERENCE_IDS =
+        "SELECT cm.conference_id FROM committee_members cm WHERE cm.user_id = ?";
+
+    private static final String SUBMISSION_COLUMNS =
+        "SELECT s.submission_id, s.title, s.status, s.submission_date, s.conference_id, " +
+        "       s.corresponding_author_id, c.name AS conference_name " +
+        "FROM submissions s " +
+        "JOIN conferences c ON c.conference_id = s.conference_id AND " + ConferencePurgeDAO.NOT_DELETED_SQL + " ";
+    private static final String SUBMISSION_ORDER = " ORDER BY s.submission_date DESC";
+
+    @Override
+    public List<ConferenceSummary> findConferenceSummariesByUserId(Long userId) throws SQLException {
+        return queryConferences(CONFERENCE_COLUMNS +
+                "AND (c.president_id = ? " +
+                "   OR c.conference_id IN (" + COMMITTEE_CONFERENCE_IDS + ") " +
+                "   OR c.conference_id IN (" + AUTHORED_CONFERENCE_IDS + "))" + CONFERENCE_ORDER,
+                userId, userId, userId, userId);
+    }
+
+    @Override
+    public List<ConferenceSummary> findConferenceSummariesByAuthorId(Long userId) throws SQLException {
+        return queryConferences(CONFERENCE_COLUMNS +
+                "AND c.conference_id IN (" + AUTHORED_CONFERENCE_IDS + ")" + CONFERENCE_ORDER, userId, userId);
+    }
+
+    @Override
+    public List<ConferenceSummary> findConferenceSummariesByCommitteeMemberId(Long userId) throws SQLException {
+        return queryConferences(CONFERENCE_COLUMNS +
+                "AND c.conference_id IN (" + COMMITTEE_CONFERENCE_IDS + ")" + CONFERENCE_ORDER, userId);
+    }
+
+    @Override
+    public List<SubmissionSummary> findSubmissionSummariesByUserId(Long userId) throws SQLException {
+        return querySubmissions(SUBMISSION_COLUMNS +
+                "WHERE s.corresponding_author_id = ? " +
+                "   OR s.submission_id IN (SELECT sa.submission_id FROM submission_authors sa WHERE sa.user_id = ?)" +
+                SUBMISSION_ORDER, userId, userId);
+    }
+
+    @Override
+    public List<SubmissionSummary> findSubmissionSummariesByConferenceIds(List<Long> conferenceIds)
+            throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(conferenceIds);
+        List<SubmissionSummary> summaries = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+            List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+            summaries.addAll(querySubmissions(SUBMISSION_COLUMNS + "WHERE s.conference_id IN ("
+                    + BatchLookupDAOImpl.placeholders(chunk.size()) + ")" + SUBMISSION_ORDER, chunk.toArray()));
+        }
+        if (ids.size() > BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+            // Each chunk is sorted on its own; restore the order a single query would give (NULLs last)
+            summaries.sort(Comparator.comparing(SubmissionSummary::getSubmissionDate,
+                    Comparator.nullsFirst(Comparator.<Timestamp>naturalOrder())).reversed());
+        }
+        return summaries;
+    }
+
+    @Override
+    public List<SubmissionSummary> findSubmissionSummariesByReviewerId(Long reviewerId, String committeeType)
+            throws SQLException {
+        return querySubmissions(SUBMISSION_COLUMNS +
+                "WHERE s.submission_id IN (" +
+                "    SELECT r.submission_id FROM reviews r " +
+                "    JOIN committee_members cm ON cm.user_id = r.reviewer_id " +
+                "    WHERE r.reviewer_id = ? AND cm.committee_type = ? AND cm.conference_id = s.conference_id)" +
+                SUBMISSION_ORDER, reviewerId, committeeType);
+    }
+
+    private List<ConferenceSummary> queryConferences(String sql, Object... params) throws SQLException {
+        List<ConferenceSummary> summaries = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = prepare(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ConferenceSummary summary = new ConferenceSummary();
+                summary.setConferenceId(rs.getLong("conference_id"));
+                summary.setName(rs.getString("name"));
+                summary.setAcronym(rs.getString("acronym"));
+                summary.setStatus(rs.getString("status"));
+                summary.setStartDate(rs.getDate("start_date"));
+                summary.setEndDate(rs.getDate("end_date"));
+                summary.setSubmissionDeadline(rs.getDate("submission_deadline"));
+                summary.setCreationDate(rs.getTimestamp("creation_date"));
+                summary.setPresidentId(rs.getObject("president_id", Long.class));
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private List<SubmissionSummary> querySubmissions(String sql, Object... params) throws SQLException {
+        List<SubmissionSummary> summaries = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = prepare(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                SubmissionSummary summary = new SubmissionSummary();
+                summary.setSubmissionId(rs.getString("submission_id"));
+                summary.setTitle(rs.getString("title"));
+                summary.setStatus(rs.getString("status"));
+                summary.setSubmissionDate(rs.getTimestamp("submission_date"));
+                summary.setConferenceId(rs.getLong("conference_id"));
+                summary.setConferenceName(rs.getString("conference_name"));
+                long correspondingAuthorId = rs.getLong("corresponding_author_id");
+                summary.setCorrespondingAuthorId(rs.wasNull() ? null : correspondingAuthorId);
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    private static PreparedStatement prepare(Connection conn, String sql, Object... params) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        try {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            return stmt;
+        } catch (SQLException e) {
+            stmt.close();
+            throw e;
+        }
+    }
+}
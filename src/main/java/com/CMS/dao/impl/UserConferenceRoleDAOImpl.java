@@ -0,0 +1,214 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.UserConferenceRoleDAO;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class UserConferenceRoleDAOImpl implements UserConferenceRoleDAO {
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS user_conference_roles (" +
+        "    user_id BIGINT NOT NULL, " +
+        "    conference_id BIGINT NOT NULL, " +
+        "    role VARCHAR(20) NOT NULL, " +
+        "    PRIMARY KEY (user_id, conference_id, role), " +
+        "    KEY idx_user_conference_roles_conference (conference_id)" +
+        ")";
+
+    // Role strings match the ones DashboardServlet has always shown; soft-deleted conferences grant no roles
+    private static final String ROLE_ROWS_SQL =
+        "SELECT c.president_id AS user_id, c.conference_id, 'PRESIDENT' AS role " +
+        "FROM conferences c WHERE c.president_id IS NOT NULL AND " + ConferencePurgeDAO.NOT_DELETED_SQL + "%1$s " +
+        "UNION " +
+        "SELECT cm.user_id, cm.conference_id, " +
+        "       CONCAT(cm.committee_type, CASE WHEN cm.is_responsible THEN '_RESP' ELSE '_MEMBER' END) " +
+        "FROM committee_members cm JOIN conferences c ON c.conference_id = cm.conference_id " +
+        "WHERE cm.user_id IS NOT NULL AND " + ConferencePurgeDAO.NOT_DELETED_SQL + "%2$s " +
+        "UNION " +
+        "SELECT s.corresponding_author_id, s.conference_id, 'AUTHOR_CP' " +
+        "FROM submissions s JOIN conferences c ON c.conference_id = s.conference_id " +
+        "WHERE s.corresponding_author_id IS NOT NULL AND " + ConferencePurgeDAO.NOT_DELETED_SQL + "%3$s " +
+        "UNION " +
+        "SELECT sa.user_id, s.conference_id, 'AUTHOR' " +
+        "FROM submission_authors sa JOIN submissions s ON s.submission_id = sa.submission_id " +
+        "JOIN conferences c ON c.conference_id = s.conference_id " +
+        "WHERE sa.user_id IS NOT NULL AND " + ConferencePurgeDAO.NOT_DELETED_SQL + "%3$s";
+
+    private static final String INSERT_PREFIX = "INSERT IGNORE INTO user_conference_roles (user_id, conference_id, role) ";
+
+    private static final String REFRESH_CONFERENCE_SQL = INSERT_PREFIX + String.format(ROLE_ROWS_SQL,
+            " AND c.conference_id = ?", " AND cm.conference_id = ?", " AND s.conference_id = ?");
+    private static final String REBUILD_SQL = INSERT_PREFIX + String.format(ROLE_ROWS_SQL, "", "", "");
+
+    @Override
+    public Set<String> findRoles(Long userId, Long conferenceId) throws SQLException {
+        String sql = "SELECT role FROM user_conference_roles WHERE user_id = ? AND conference_id = ?";
+        Set<String> roles = new HashSet<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            stmt.setLong(2, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    roles.add(rs.getString("role"));
+                }
+            }
+        }
+        return roles;
+    }
+
+    @Override
+    public boolean hasAnyRole(Long userId, Long conferenceId, Collection<String> roles) throws SQLException {
+        if (userId == null || conferenceId == null || roles.isEmpty()) {
+            return false;
+        }
+        String sql = "SELECT 1 FROM user_conference_roles " +
+                "WHERE user_id = ? AND conference_id = ? AND role IN (" +
+                BatchLookupDAOImpl.placeholders(roles.size()) + ") LIMIT 1";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setLong(index++, userId);
+            stmt.setLong(index++, conferenceId);
+            for (String role : roles) {
+                stmt.setString(index++, role);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    @Override
+    public Map<Long, Set<String>> findRolesByUserId(Long userId) throws SQLException {
+        String sql = "SELECT conference_id, role FROM user_conference_roles WHERE user_id = ?";
+        Map<Long, Set<String>> roles = new HashMap<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    roles.computeIfAbsent(rs.getLong("conference_id"), key -> new HashSet<>())
+                            .add(rs.getString("role"));
+                }
+            }
+        }
+        return roles;
+    }
+
+    @Override
+    public Set<Long> findConferenceIdsByRoles(Long userId, Collection<String> roles) throws SQLException {
+        Set<Long> conferenceIds = new LinkedHashSet<>();
+        if (userId == null || roles.isEmpty()) {
+            return conferenceIds;
+        }
+        String sql = "SELECT DISTINCT conference_id FROM user_conference_roles " +
+                "WHERE user_id = ? AND role IN (" + BatchLookupDAOImpl.placeholders(roles.size()) + ")";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            stmt.setLong(index++, userId);
+            for (String role : roles) {
+                stmt.setString(index++, role);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    conferenceIds.add(rs.getLong("conference_id"));
+                }
+            }
+        }
+        return conferenceIds;
+    }
+
+    @Override
+    public void createTableIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(CREATE_TABLE_SQL);
+        }
+    }
+
+    @Override
+    public void refreshConference(Long conferenceId) throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection()) {
+            inTransaction(conn, () -> {
+                try (PreparedStatement delete = conn.prepareStatement(
+                        "DELETE FROM user_conference_roles WHERE conference_id = ?")) {
+                    delete.setLong(1, conferenceId);
+                    delete.executeUpdate();
+                }
+                try (PreparedStatement insert = conn.prepareStatement(REFRESH_CONFERENCE_SQL)) {
+                    insert.setLong(1, conferenceId);
+                    insert.setLong(2, conferenceId);
+                    insert.setLong(3, conferenceId);
+                    insert.setLong(4, conferenceId);
+                    return insert.executeUpdate();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void refreshConferenceOfSubmission(String submissionId) throws SQLException {
+        List<Long> conferenceIds = new ArrayList<>();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "SELECT conference_id FROM submissions WHERE submission_id = ?")) {
+            stmt.setString(1, submissionId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    conferenceIds.add(rs.getLong("conference_id"));
+                }
+            }
+        }
+        for (Long conferenceId : conferenceIds) {
+            refreshConference(conferenceId);
+        }
+    }
+
+    @Override
+    public int rebuildAll() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection()) {
+            return inTransaction(conn, () -> {
+                try (Statement stmt = conn.createStatement()) {
+                    // DELETE rather than TRUNCATE so readers keep the old rows until commit
+                    stmt.executeUpdate("DELETE FROM user_conference_roles");
+                    return stmt.executeUpdate(REBUILD_SQL);
+                }
+            });
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        int run() throws SQLException;
+    }
+
+    private static int inTransaction(Connection conn, Work work) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            int result = work.run();
+            conn.commit();
+            return result;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.UserLanguageDAO;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserLanguageDAOImpl implements UserLanguageDAO {
+    private static final String CREATE_TABLE_SQL =
+        "CREATE TABLE IF NOT EXISTS user_languages (" +
+        "    user_id BIGINT NOT NULL PRIMARY KEY, " +
+        "    language VARCHAR(5) NOT NULL" +
+        ")";
+
+    @Override
+    public void createTableIfMissing() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CREATE_TABLE_SQL);
+        }
+    }
+
+    @Override
+    public Map<Long, String> findLanguages(Collection<Long> userIds) throws SQLException {
+        List<Object> ids = BatchLookupDAOImpl.distinctNonNull(userIds);
+        Map<Long, String> languages = new HashMap<>();
+        if (ids.isEmpty()) {
+            return languages;
+        }
+        try (Connection conn = RequestDeadline.getConnection()) {
+            for (int from = 0; from < ids.size(); from += BatchLookupDAOImpl.MAX_IDS_PER_QUERY) {
+                List<Object> chunk = ids.subList(from, Math.min(from + BatchLookupDAOImpl.MAX_IDS_PER_QUERY, ids.size()));
+                String sql = "SELECT user_id, language FROM user_languages WHERE user_id IN (" +
+                        BatchLookupDAOImpl.placeholders(chunk.size()) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setObject(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            languages.put(rs.getLong("user_id"), rs.getString("language"));
+                        }
+                    }
+                }
+            }
+        }
+        return languages;
+    }
+
+    @Override
+    public void saveLanguage(Long userId, String language) throws SQLException {
+        String sql = "INSERT INTO user_languages (user_id, language) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE language = VALUES(language)";
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, userId);
+            stmt.setString(2, language);
+            stmt.executeUpdate();
+        }
+    }
+}
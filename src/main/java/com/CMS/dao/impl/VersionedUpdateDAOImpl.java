@@ -0,0 +1,220 @@
+package com.campusconf.dao.impl;
+
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.UpdateResult;
+import com.campusconf.dao.Versioned;
+import com.campusconf.dao.VersionedUpdateDAO;
+import com.campusconf.models.Conference;
+import com.campusconf.models.Submission;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class VersionedUpdateDAOImpl implements VersionedUpdateDAO {
+    private static final String FIND_CONFERENCE_SQL =
+        "SELECT * FROM conferences c WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+    private static final String CONFERENCE_VERSION_SQL =
+        "SELECT c.row_version FROM conferences c WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+    // creation_date is never rewritten; a PUT cannot soft-delete
+    private static final String OVERWRITE_CONFERENCE_SQL =
+        "UPDATE conferences c SET c.name = ?, c.acronym = ?, c.theme = ?, c.type = ?, c.website = ?, " +
+        "       c.start_date = ?, c.end_date = ?, c.location = ?, c.submission_deadline = ?, " +
+        "       c.extension_date = ?, c.president_id = ?, " +
+        "       c.status = COALESCE(NULLIF(?, '" + ConferencePurgeDAO.STATUS_DELETED + "'), c.status), " +
+        "       c.row_version = c.row_version + 1 " +
+        "WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+    private static final String UPDATE_CONFERENCE_SQL = OVERWRITE_CONFERENCE_SQL + " AND c.row_version = ?";
+    private static final String UPDATE_CONFERENCE_STATUS_SQL =
+        "UPDATE conferences c SET c.status = ?, c.row_version = c.row_version + 1 " +
+        "WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+    private static final String UPDATE_EXTENSION_DATE_SQL =
+        "UPDATE conferences c SET c.extension_date = ?, c.row_version = c.row_version + 1 " +
+        "WHERE c.conference_id = ? AND " + ConferencePurgeDAO.NOT_DELETED_SQL;
+
+    private static final String FIND_SUBMISSION_SQL =
+        "SELECT * FROM submissions WHERE submission_id = ?";
+    private static final String SUBMISSION_VERSION_SQL =
+        "SELECT row_version FROM submissions WHERE submission_id = ?";
+    private static final String UPDATE_SUBMISSION_SQL =
+        "UPDATE submissions SET title = ?, summary = ?, keywords = ?, document_path = ?, submission_date = ?, " +
+        "       status = ?, corresponding_author_id = ?, updated_at = CURRENT_TIMESTAMP, " +
+        "       row_version = row_version + 1 " +
+        "WHERE submission_id = ? AND row_version = ?";
+    private static final String UPDATE_SUBMISSION_STATUS_SQL =
+        "UPDATE submissions SET status = ?, updated_at = CURRENT_TIMESTAMP, row_version = row_version + 1 " +
+        "WHERE submission_id = ?";
+
+    // Set once the columns are known to exist, so only the first call pays for the check
+    private volatile boolean columnsEnsured;
+
+    @Override
+    public void ensureVersionColumns() throws SQLException {
+        try (Connection conn = RequestDeadline.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : new String[] {"conferences", "submissions"}) {
+                if (!columnExists(conn, table, VERSION_COLUMN)) {
+                    stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + VERSION_COLUMN +
+                            " BIGINT NOT NULL DEFAULT 0");
+                }
+            }
+        }
+        columnsEnsured = true;
+    }
+
+    @Override
+    public Versioned<Conference> findConference(Long conferenceId) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_CONFERENCE_SQL)) {
+            stmt.setLong(1, conferenceId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new Versioned<>(ResultSetMapper.mapConference(rs), rs.getLong(VERSION_COLUMN));
+            }
+        }
+    }
+
+    @Override
+    public Versioned<Submission> findSubmission(String submissionId) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_SUBMISSION_SQL)) {
+            stmt.setString(1, submissionId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                return new Versioned<>(ResultSetMapper.mapSubmission(rs), rs.getLong(VERSION_COLUMN));
+            }
+        }
+    }
+
+    @Override
+    public UpdateResult updateConference(Conference conference, long expectedVersion) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_CONFERENCE_SQL)) {
+                setConferenceColumns(stmt, conference);
+                stmt.setLong(14, expectedVersion);
+                if (stmt.executeUpdate() > 0) {
+                    return UpdateResult.updated(expectedVersion + 1);
+                }
+            }
+            return missed(conn, CONFERENCE_VERSION_SQL, conference.getConferenceId());
+        }
+    }
+
+    @Override
+    public UpdateResult updateSubmission(Submission submission, long expectedVersion) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SUBMISSION_SQL)) {
+                stmt.setString(1, submission.getTitle());
+                stmt.setString(2, submission.getSummary());
+                stmt.setString(3, submission.getKeywords());
+                stmt.setString(4, submission.getDocumentPath());
+                stmt.setTimestamp(5, submission.getSubmissionDate());
+                stmt.setString(6, submission.getStatus());
+                stmt.setObject(7, submission.getCorrespondingAuthorId());
+                stmt.setString(8, submission.getSubmissionId());
+                stmt.setLong(9, expectedVersion);
+                if (stmt.executeUpdate() > 0) {
+                    return UpdateResult.updated(expectedVersion + 1);
+                }
+            }
+            return missed(conn, SUBMISSION_VERSION_SQL, submission.getSubmissionId());
+        }
+    }
+
+    @Override
+    public boolean overwriteConference(Conference conference) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(OVERWRITE_CONFERENCE_SQL)) {
+            setConferenceColumns(stmt, conference);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    @Override
+    public boolean updateConferenceStatus(Long conferenceId, String status) throws SQLException {
+        return write(UPDATE_CONFERENCE_STATUS_SQL, status, conferenceId);
+    }
+
+    @Override
+    public boolean updateExtensionDate(Long conferenceId, Date extensionDate) throws SQLException {
+        return write(UPDATE_EXTENSION_DATE_SQL, extensionDate, conferenceId);
+    }
+
+    @Override
+    public boolean updateSubmissionStatus(String submissionId, String status) throws SQLException {
+        return write(UPDATE_SUBMISSION_STATUS_SQL, status, submissionId);
+    }
+
+    private boolean write(String sql, Object value, Object id) throws SQLException {
+        ensureColumns();
+        try (Connection conn = RequestDeadline.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setObject(1, value);
+            stmt.setObject(2, id);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private static void setConferenceColumns(PreparedStatement stmt, Conference conference) throws SQLException {
+        stmt.setString(1, conference.getName());
+        stmt.setString(2, conference.getAcronym());
+        stmt.setString(3, conference.getTheme());
+        stmt.setString(4, conference.getType());
+        stmt.setString(5, conference.getWebsite());
+        stmt.setDate(6, conference.getStartDate());
+        stmt.setDate(7, conference.getEndDate());
+        stmt.setString(8, conference.getLocation());
+        stmt.setDate(9, conference.getSubmissionDeadline());
+        stmt.setDate(10, conference.getExtensionDate());
+        stmt.setObject(11, conference.getPresidentId());
+        stmt.setString(12, conference.getStatus());
+        stmt.setLong(13, conference.getConferenceId());
+    }
+
+    /**
+     * Tells a lost race from a missing row after an update matched nothing.
+     */
+    private static UpdateResult missed(Connection conn, String versionSql, Object id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(versionSql)) {
+            stmt.setObject(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? UpdateResult.conflict(rs.getLong(1)) : UpdateResult.notFound();
+            }
+        }
+    }
+
+    private void ensureColumns() throws SQLException {
+        if (!columnsEnsured) {
+            synchronized (this) {
+                if (!columnsEnsured) {
+                    ensureVersionColumns();
+                }
+            }
+        }
+    }
+
+    private static boolean columnExists(Connection conn, String table, String column) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.COLUMNS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
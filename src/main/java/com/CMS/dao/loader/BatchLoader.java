@@ -0,0 +1,118 @@
+package com.campusconf.dao.loader;
+
+import com.campusconf.utils.MetricsUtil;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataLoader-style loader: callers queue ids with {@link #prime}, and the
+ * first {@link #load} fetches every queued id in one batch. Results, including
+ * misses, stay in an identity map, so each entity is fetched at most once for
+ * the lifetime of the loader. Not thread-safe; one instance per request.
+ */
+public class BatchLoader<K, V> {
+
+    @FunctionalInterface
+    public interface BatchFunction<K, V> {
+        Map<K, V> loadAll(Set<K> keys) throws SQLException;
+    }
+
+    private final BatchFunction<K, V> batchFunction;
+    private final Map<K, V> identityMap = new HashMap<>();
+    private final Set<K> pending = new LinkedHashSet<>();
+
+    private final LongAdder batches;
+    private final LongAdder keysLoaded;
+    private final LongAdder identityHits;
+
+    public BatchLoader(String name, BatchFunction<K, V> batchFunction) {
+        this.batchFunction = batchFunction;
+        String prefix = "loader." + name + ".";
+        this.batches = MetricsUtil.counter(prefix + "batches");
+        this.keysLoaded = MetricsUtil.counter(prefix + "keys");
+        this.identityHits = MetricsUtil.counter(prefix + "identityHits");
+    }
+
+    /**
+     * Queues an id for the next batch without loading anything yet.
+     */
+    public BatchLoader<K, V> prime(K key) {
+        if (key != null && !identityMap.containsKey(key)) {
+            pending.add(key);
+        }
+        return this;
+    }
+
+    public BatchLoader<K, V> primeAll(Collection<? extends K> keys) {
+        for (K key : keys) {
+            prime(key);
+        }
+        return this;
+    }
+
+    /**
+     * Seeds the identity map with an entity the caller already loaded.
+     */
+    public void put(K key, V value) {
+        if (key != null) {
+            pending.remove(key);
+            identityMap.put(key, value);
+        }
+    }
+
+    public V load(K key) throws SQLException {
+        if (key == null) {
+            return null;
+        }
+        if (identityMap.containsKey(key)) {
+            identityHits.increment();
+            return identityMap.get(key);
+        }
+        pending.add(key);
+        dispatch();
+        return identityMap.get(key);
+    }
+
+    /**
+     * Loads the given ids (plus anything already queued) and returns the
+     * entities found, in the order requested.
+     */
+    public Map<K, V> loadAll(Collection<? extends K> keys) throws SQLException {
+        primeAll(keys);
+        dispatch();
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = key != null ? identityMap.get(key) : null;
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Fetches every queued id in one call to the batch function.
+     */
+    public void dispatch() throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<K> batch = new LinkedHashSet<>(pending);
+        pending.clear();
+
+        Map<K, V> loaded = batchFunction.loadAll(batch);
+        batches.increment();
+        keysLoaded.add(batch.size());
+        for (K key : batch) {
+            // Remember misses too, so a missing id is not queried again
+            identityMap.put(key, loaded.get(key));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.campusconf.dao.loader;
+
+import com.campusconf.dao.BatchLookupDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.cache.CachingConferenceDAO;
+import com.campusconf.dao.cache.EntityCache;
+import com.campusconf.dao.impl.BatchLookupDAOImpl;
+import com.campusconf.models.Conference;
+import com.campusconf.models.Submission;
+import com.campusconf.models.User;
+import jakarta.servlet.ServletRequest;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The batch loaders for one request. Servlets prime the ids they are about to
+ * render, and the views resolve them through the same instance (exposed as
+ * the "entityLoaders" request attribute), so every user, conference and
+ * submission is read at most once per request and in one query per type.
+ * Conferences and users are taken from the second-level cache when present.
+ */
+public class EntityLoaders {
+    public static final String REQUEST_ATTRIBUTE = "entityLoaders";
+
+    private static final BatchLookupDAO batchLookupDAO = new BatchLookupDAOImpl();
+
+    private final BatchLoader<Long, User> users;
+    private final BatchLoader<Long, Conference> conferences;
+    private final BatchLoader<String, Submission> submissions;
+
+    private EntityLoaders() {
+        this.users = new BatchLoader<>("user", ids -> {
+            EntityCache<User> cache = DAOFactory.getUserDAO().getCache();
+            return withSecondLevel(cache, ids, batchLookupDAO::findUsersByIds);
+        });
+        this.conferences = new BatchLoader<>("conference", ids -> {
+            EntityCache<Conference> cache = DAOFactory.getConferenceDAO().getCache();
+            Map<Long, Conference> conferences = withSecondLevel(cache, ids, batchLookupDAO::findConferencesByIds);
+            // The cache may still hold a conference soft-deleted since
+            conferences.values().removeIf(CachingConferenceDAO::isDeleted);
+            return conferences;
+        });
+        this.submissions = new BatchLoader<>("submission", batchLookupDAO::findSubmissionsByIds);
+    }
+
+    public static EntityLoaders forRequest(ServletRequest request) {
+        EntityLoaders loaders = (EntityLoaders) request.getAttribute(REQUEST_ATTRIBUTE);
+        if (loaders == null) {
+            loaders = new EntityLoaders();
+            request.setAttribute(REQUEST_ATTRIBUTE, loaders);
+        }
+        return loaders;
+    }
+
+    public BatchLoader<Long, User> users() {
+        return users;
+    }
+
+    public BatchLoader<Long, Conference> conferences() {
+        return conferences;
+    }
+
+    public BatchLoader<String, Submission> submissions() {
+        return submissions;
+    }
+
+    private static <V> Map<Long, V> withSecondLevel(EntityCache<V> cache, Set<Long> ids,
+            BatchLoader.BatchFunction<Long, V> database) throws SQLException {
+        if (cache == null || !cache.isEnabled()) {
+            return database.loadAll(ids);
+        }
+        Map<Long, V> result = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            V cached = cache.peek(id);
+            if (cached != null) {
+                result.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.putAll(database.loadAll(missing));
+        }
+        return result;
+    }
+}
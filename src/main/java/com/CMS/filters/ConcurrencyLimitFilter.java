@@ -0,0 +1,231 @@
+package com.campusconf.filters;
+
+import com.campusconf.utils.AdaptiveLimiter;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load per route group before it reaches the database. Each group in
+ * limiter.groups (path prefixes in limiter.group.&lt;name&gt;.paths) has its
+ * own AdaptiveLimiter; a request over the group's current limit waits up
+ * to limiter.group.&lt;name&gt;.queueTimeoutMillis and is otherwise answered
+ * with 503 and Retry-After, so a burst on the dashboards costs those
+ * requests a fast failure instead of slowing down every page.
+ *
+ * Paths in limiter.criticalPaths (login by default) are cheap and matter
+ * most near submission deadlines: they jump the queue, may use the
+ * group's reserve above the limit and wait longer before being shed.
+ * Paths outside every group, such as the notification stream and uploads
+ * (which have their own SubmissionAdmissionService), are not limited.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class ConcurrencyLimitFilter implements Filter {
+    private static final String DEFAULT_GROUPS = "dashboard,filter,core";
+
+    private static final class RouteGroup {
+        private final List<String> paths;
+        private final AdaptiveLimiter limiter;
+        private final long queueTimeoutMillis;
+
+        private RouteGroup(List<String> paths, AdaptiveLimiter limiter, long queueTimeoutMillis) {
+            this.paths = paths;
+            this.limiter = limiter;
+            this.queueTimeoutMillis = queueTimeoutMillis;
+        }
+    }
+
+    private final Map<String, RouteGroup> groups = new LinkedHashMap<>();
+    private boolean enabled;
+    private List<String> criticalPaths;
+    private long criticalQueueTimeoutMillis;
+    private int retryAfterSeconds;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        enabled = PerformanceConfigUtil.getBoolean("limiter.enabled", true);
+        if (!enabled) {
+            return;
+        }
+        for (String name : splitList(PerformanceConfigUtil.getString("limiter.groups", DEFAULT_GROUPS))) {
+            String prefix = "limiter.group." + name + ".";
+            List<String> paths = splitList(PerformanceConfigUtil.getString(prefix + "paths", defaultPaths(name)));
+            if (paths.isEmpty()) {
+                LogUtil.warn("Concurrency limiter group " + name + " has no paths; skipping");
+                continue;
+            }
+            AdaptiveLimiter limiter = new AdaptiveLimiter(name,
+                    PerformanceConfigUtil.getInt(prefix + "initialLimit", 20),
+                    PerformanceConfigUtil.getInt(prefix + "minLimit", 2),
+                    PerformanceConfigUtil.getInt(prefix + "maxLimit", 100),
+                    PerformanceConfigUtil.getInt(prefix + "maxQueue", 50),
+                    PerformanceConfigUtil.getInt(prefix + "criticalReserve", 2),
+                    PerformanceConfigUtil.getInt(prefix + "tolerancePercent", 200),
+                    PerformanceConfigUtil.getInt(prefix + "backoffPercent", 10));
+            groups.put(name, new RouteGroup(paths, limiter,
+                    PerformanceConfigUtil.getLong(prefix + "queueTimeoutMillis", 250)));
+        }
+        criticalPaths = splitList(PerformanceConfigUtil.getString("limiter.criticalPaths", "/login"));
+        criticalQueueTimeoutMillis = PerformanceConfigUtil.getLong("limiter.criticalQueueTimeoutMillis", 2000);
+        retryAfterSeconds = PerformanceConfigUtil.getInt("limiter.retryAfterSeconds", 1);
+        LogUtil.info("Concurrency limiter active for groups " + groups.keySet());
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        RouteGroup group = enabled && request.getDispatcherType() == DispatcherType.REQUEST
+                ? groupFor(pathOf(httpRequest)) : null;
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean critical = matches(pathOf(httpRequest), criticalPaths);
+        boolean acquired;
+        try {
+            acquired = group.limiter.acquire(critical ? AdaptiveLimiter.Priority.CRITICAL : AdaptiveLimiter.Priority.NORMAL,
+                    critical ? criticalQueueTimeoutMillis : group.queueTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        if (!acquired) {
+            httpResponse.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            JsonUtil.sendErrorResponse(httpResponse, "Server is busy, please retry shortly",
+                    HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        boolean releaseLater = false;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+            if (request.isAsyncStarted()) {
+                // The servlet (or the virtual-thread filter) finishes later; hold the slot until then
+                request.getAsyncContext().addListener(new ReleaseOnComplete(group.limiter, start, httpResponse));
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) {
+                group.limiter.release(System.nanoTime() - start, failed || httpResponse.getStatus() >= 500);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        groups.clear();
+    }
+
+    private RouteGroup groupFor(String path) {
+        for (RouteGroup group : groups.values()) {
+            if (matches(path, group.paths)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    // Prefix match on whole path segments, so /filter does not cover /filters
+    private static boolean matches(String path, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (path.equals(prefix) || path.startsWith(prefix.endsWith("/") ? prefix : prefix + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String defaultPaths(String group) {
+        switch (group) {
+            case "dashboard":
+                return "/dashboard,/api/conference";
+            case "filter":
+                return "/filter";
+            case "core":
+                return "/login,/review,/conference,/team";
+            default:
+                return "";
+        }
+    }
+
+    private static List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.trim().isEmpty()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Releases the slot of an async request once, whichever way it ends.
+     */
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final AdaptiveLimiter limiter;
+        private final long start;
+        private final HttpServletResponse response;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnComplete(AdaptiveLimiter limiter, long start, HttpServletResponse response) {
+            this.limiter = limiter;
+            this.start = start;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Still the same request; keep the slot
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+}
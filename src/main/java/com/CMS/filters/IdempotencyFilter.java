@@ -0,0 +1,522 @@
+package com.campusconf.filters;
+
+import com.campusconf.dao.IdempotencyKeyDAO;
+import com.campusconf.models.IdempotencyRecord;
+import com.campusconf.models.User;
+import com.campusconf.services.IdempotencyService;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Makes client retries of expensive POSTs safe. A POST to one of
+ * idempotency.paths (prefixes) that carries an Idempotency-Key header runs
+ * at most once per user and key: its response is recorded, and a retry
+ * with the same key gets that response back, marked Idempotent-Replayed,
+ * without the upload, transaction or mail being repeated. A retry sent
+ * while the first attempt is still running waits for it (see
+ * IdempotencyService). Requests without the header are not affected.
+ *
+ * A key is tied to a fingerprint of the request that first used it:
+ * method, URI, query and content type, plus the form parameters, the body
+ * (up to idempotency.maxBodyBytes) or, for multipart uploads, which are
+ * only parsed later by the upload workers, the content length. Reusing a
+ * key for a different request is answered 422. Responses larger than
+ * idempotency.maxResponseBytes are not recorded and the key is released.
+ *
+ * If the key store is unavailable the request simply runs, as it would
+ * without a key.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class IdempotencyFilter implements Filter {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int SC_UNPROCESSABLE_ENTITY = 422;
+
+    private final IdempotencyService service = IdempotencyService.getInstance();
+
+    private boolean enabled;
+    private List<String> paths;
+    private int maxBodyBytes;
+    private int maxResponseBytes;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        enabled = PerformanceConfigUtil.getBoolean("idempotency.enabled", true);
+        paths = new ArrayList<>();
+        for (String path : PerformanceConfigUtil.getString("idempotency.paths",
+                "/upload,/conference/create,/api/conference").split(",")) {
+            if (!path.trim().isEmpty()) {
+                paths.add(path.trim());
+            }
+        }
+        maxBodyBytes = PerformanceConfigUtil.getInt("idempotency.maxBodyBytes", 1 << 20);
+        maxResponseBytes = PerformanceConfigUtil.getInt("idempotency.maxResponseBytes", 1 << 20);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String key = httpRequest.getHeader(HEADER);
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST
+                || !"POST".equals(httpRequest.getMethod()) || key == null || key.trim().isEmpty()
+                || !matches(httpRequest.getRequestURI().substring(httpRequest.getContextPath().length()))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        key = key.trim();
+        if (key.length() > IdempotencyKeyDAO.MAX_KEY_LENGTH) {
+            JsonUtil.sendErrorResponse(httpResponse, HEADER + " is too long", HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        HttpServletRequest fingerprinted = bufferBody(httpRequest);
+        String scope = scopeOf(fingerprinted);
+        IdempotencyService.Decision decision;
+        try {
+            decision = service.begin(scope, key, fingerprint(fingerprinted));
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Idempotency store unavailable; running request without its key", e);
+            chain.doFilter(fingerprinted, response);
+            return;
+        }
+
+        switch (decision.getOutcome()) {
+            case REPLAY:
+                replay(decision.getRecord(), httpResponse);
+                return;
+            case MISMATCH:
+                JsonUtil.sendErrorResponse(httpResponse, HEADER + " was already used for a different request",
+                        SC_UNPROCESSABLE_ENTITY);
+                return;
+            case BUSY:
+                httpResponse.setHeader("Retry-After", "1");
+                JsonUtil.sendErrorResponse(httpResponse, "A request with this " + HEADER + " is still in progress",
+                        HttpServletResponse.SC_CONFLICT);
+                return;
+            default:
+                break;
+        }
+
+        IdempotencyService.Claim claim = decision.getClaim();
+        CapturingResponse capture = new CapturingResponse(httpResponse, maxResponseBytes);
+        boolean wasAsync = request.isAsyncStarted();
+        boolean finishLater = false;
+        boolean failed = true;
+        try {
+            chain.doFilter(fingerprinted, capture);
+            failed = false;
+            if (!wasAsync && request.isAsyncStarted()) {
+                // The servlet answers later, e.g. an upload waiting for a slot
+                request.getAsyncContext().addListener(new FinishOnComplete(claim, capture));
+                finishLater = true;
+            }
+        } finally {
+            if (!finishLater) {
+                if (failed) {
+                    service.abandon(claim);
+                } else {
+                    finish(claim, capture);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private void finish(IdempotencyService.Claim claim, CapturingResponse capture) {
+        IdempotencyRecord recorded = capture.toRecord();
+        if (recorded == null) {
+            service.abandon(claim);
+        } else {
+            service.finish(claim, recorded);
+        }
+    }
+
+    private static void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setHeader("Idempotent-Replayed", "true");
+        if (record.getLocation() != null) {
+            response.sendRedirect(record.getLocation());
+            return;
+        }
+        byte[] body = record.getBody();
+        if ((body == null || body.length == 0) && record.getResponseStatus() >= 400) {
+            // Originally sent with sendError; let the container render its error page again
+            response.sendError(record.getResponseStatus());
+            return;
+        }
+        response.setStatus(record.getResponseStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (body != null) {
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private boolean matches(String path) {
+        for (String prefix : paths) {
+            if (path.equals(prefix) || path.startsWith(prefix.endsWith("/") ? prefix : prefix + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String scopeOf(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object userId = session.getAttribute("userId");
+            if (userId == null && session.getAttribute("user") instanceof User) {
+                userId = ((User) session.getAttribute("user")).getUserId();
+            }
+            if (userId != null) {
+                return "user:" + userId;
+            }
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private static String mediaType(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return "";
+        }
+        int semicolon = contentType.indexOf(';');
+        return (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase();
+    }
+
+    /**
+     * Reads small non-form bodies (JSON) up front so they can be part of the
+     * fingerprint; the servlet then reads the copy. Forms are fingerprinted
+     * from their parameters and multipart bodies are left to the servlet.
+     */
+    private HttpServletRequest bufferBody(HttpServletRequest request) throws IOException {
+        String mediaType = mediaType(request);
+        long length = request.getContentLengthLong();
+        if (mediaType.startsWith("multipart/") || mediaType.equals("application/x-www-form-urlencoded")
+                || length <= 0 || length > maxBodyBytes) {
+            return request;
+        }
+        return new BufferedBodyRequest(request, request.getInputStream().readAllBytes());
+    }
+
+    private static String fingerprint(HttpServletRequest request) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        String mediaType = mediaType(request);
+        update(digest, request.getMethod());
+        update(digest, request.getRequestURI());
+        update(digest, request.getQueryString());
+        update(digest, mediaType);
+        if (request instanceof BufferedBodyRequest) {
+            digest.update(((BufferedBodyRequest) request).body);
+        } else if (mediaType.equals("application/x-www-form-urlencoded")) {
+            for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+                update(digest, parameter.getKey());
+                update(digest, Arrays.toString(parameter.getValue()));
+            }
+        } else {
+            update(digest, String.valueOf(request.getContentLengthLong()));
+        }
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        // Field separator, so ("ab", "c") and ("a", "bc") differ
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Records the claimed key's response once an async request ends, or
+     * releases the key if it ended in a timeout or error.
+     */
+    private final class FinishOnComplete implements AsyncListener {
+        private final IdempotencyService.Claim claim;
+        private final CapturingResponse capture;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private FinishOnComplete(IdempotencyService.Claim claim, CapturingResponse capture) {
+            this.claim = claim;
+            this.capture = capture;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) {
+                finish(claim, capture);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) {
+                service.abandon(claim);
+            }
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            if (done.compareAndSet(false, true)) {
+                service.abandon(claim);
+            }
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return in.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    /**
+     * Passes the response through unchanged while keeping a copy of the
+     * body, up to a limit, for the key store.
+     */
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+        private final int limit;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final CharArrayWriter chars = new CharArrayWriter();
+        private boolean overflow;
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        private CapturingResponse(HttpServletResponse response, int limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (stream == null) {
+                ServletOutputStream out = super.getOutputStream();
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        if (fits(1)) {
+                            bytes.write(b);
+                        }
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        if (fits(len)) {
+                            bytes.write(b, off, len);
+                        }
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        out.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        out.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return out.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        out.setWriteListener(writeListener);
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                // Unbuffered, so nothing is held back from the container's own writer
+                Writer out = super.getWriter();
+                writer = new PrintWriter(new Writer() {
+                    @Override
+                    public void write(char[] c, int off, int len) throws IOException {
+                        out.write(c, off, len);
+                        if (fits(len)) {
+                            chars.write(c, off, len);
+                        }
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        out.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        out.close();
+                    }
+                });
+            }
+            return writer;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            clearCopy();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            clearCopy();
+        }
+
+        private void clearCopy() {
+            bytes.reset();
+            chars.reset();
+            overflow = false;
+        }
+
+        private boolean fits(int length) {
+            if (!overflow && bytes.size() + chars.size() + length > limit) {
+                overflow = true;
+            }
+            return !overflow;
+        }
+
+        /**
+         * The response as it should be replayed, or null if it was too large
+         * to keep.
+         */
+        private IdempotencyRecord toRecord() {
+            if (overflow) {
+                return null;
+            }
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setResponseStatus(getStatus());
+            record.setContentType(getContentType());
+            int status = getStatus();
+            if (status >= 300 && status < 400) {
+                record.setLocation(getHeader("Location"));
+            }
+            if (chars.size() > 0) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+                record.setBody(chars.toString().getBytes(charset));
+            } else {
+                record.setBody(bytes.toByteArray());
+            }
+            return record;
+        }
+    }
+}
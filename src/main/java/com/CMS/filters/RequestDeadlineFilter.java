@@ -0,0 +1,123 @@
+package com.campusconf.filters;
+
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.RequestDeadline;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gives every request a RequestDeadline of request.deadline.millis and
+ * binds it to the thread handling the request, so the DAO queries it runs
+ * are capped at what is left of that budget. For async requests the
+ * queries still running are cancelled when the request times out or the
+ * container reports an error, which is how a client disconnect shows up;
+ * a synchronous request cannot notice a disconnect and is bounded by the
+ * deadline alone.
+ *
+ * Paths in request.deadline.excludedPaths (prefixes) get no deadline:
+ * long-lived streams, uploads, which queue by design, and the admin pages.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class RequestDeadlineFilter implements Filter {
+    private boolean enabled;
+    private long budgetMillis;
+    private List<String> excludedPaths;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        enabled = PerformanceConfigUtil.getBoolean("request.deadline.enabled", true);
+        budgetMillis = PerformanceConfigUtil.getLong("request.deadline.millis", 30_000);
+        excludedPaths = new ArrayList<>();
+        for (String path : PerformanceConfigUtil.getString("request.deadline.excludedPaths",
+                "/notifications/stream,/upload,/admin").split(",")) {
+            if (!path.trim().isEmpty()) {
+                excludedPaths.add(path.trim());
+            }
+        }
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!enabled || request.getDispatcherType() != DispatcherType.REQUEST
+                || request.getAttribute(RequestDeadline.ATTRIBUTE) != null
+                || isExcluded((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestDeadline deadline = RequestDeadline.start(budgetMillis);
+        request.setAttribute(RequestDeadline.ATTRIBUTE, deadline);
+        boolean listening = false;
+        if (request.isAsyncStarted()) {
+            // Already running asynchronously, e.g. on a virtual thread
+            request.getAsyncContext().addListener(new CancelOnAbort(deadline));
+            listening = true;
+        }
+        RequestDeadline.Binding binding = RequestDeadline.bind(deadline);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            binding.close();
+        }
+        if (!listening && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CancelOnAbort(deadline));
+        }
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    private boolean isExcluded(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancels the request's queries when the async request is abandoned.
+     */
+    private static final class CancelOnAbort implements AsyncListener {
+        private final RequestDeadline deadline;
+
+        private CancelOnAbort(RequestDeadline deadline) {
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            deadline.cancel();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
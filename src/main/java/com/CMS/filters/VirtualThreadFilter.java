@@ -0,0 +1,223 @@
+package com.campusconf.filters;
+
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.RequestDeadline;
+import com.campusconf.utils.VirtualThreads;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in virtual-thread request handling. With
+ * server.virtualThreads.enabled=true, a request to a servlet declared
+ * asyncSupported is put into async mode and the rest of the filter chain
+ * and the servlet run on a fresh virtual thread; the container thread goes
+ * straight back to its pool. Thread-pool size then no longer caps how many
+ * requests can wait on JDBC or SMTP at once; the connection pool and the
+ * dependency guards do.
+ *
+ * Paths listed in server.virtualThreads.excludedPaths (prefixes) and
+ * servlets that manage async themselves, such as the notification stream
+ * and uploads, are left alone. A request still running after
+ * server.virtualThreads.timeoutMillis is answered 503 and its virtual thread
+ * interrupted. On Tomcat 10.1+ the connector's useVirtualThreads="true"
+ * achieves the same container-wide; this filter is for containers without
+ * that switch and for trying the mode route by route.
+ */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class VirtualThreadFilter implements Filter {
+    private final LongAdder dispatched = MetricsUtil.counter("virtualThreads.requests");
+    private final LongAdder aborted = MetricsUtil.counter("virtualThreads.aborted");
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private boolean enabled;
+    private long timeoutMillis;
+    private List<String> excludedPaths;
+    private ExecutorService executor;
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+        enabled = VirtualThreads.isEnabled();
+        if (!enabled) {
+            return;
+        }
+        timeoutMillis = PerformanceConfigUtil.getLong("server.virtualThreads.timeoutMillis", 60_000);
+        excludedPaths = new ArrayList<>();
+        for (String path : PerformanceConfigUtil.getString("server.virtualThreads.excludedPaths",
+                "/notifications/stream,/upload").split(",")) {
+            if (!path.trim().isEmpty()) {
+                excludedPaths.add(path.trim());
+            }
+        }
+        executor = VirtualThreads.newPerTaskExecutor("request");
+        MetricsUtil.registerGauge("virtualThreads.inFlight", inFlight::get);
+        LogUtil.info("Handling async-capable requests on virtual threads");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!enabled || !shouldDispatch((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutMillis);
+        RequestTask task = new RequestTask(asyncContext, chain);
+        asyncContext.addListener(task);
+        try {
+            executor.execute(task);
+            dispatched.increment();
+        } catch (RejectedExecutionException e) {
+            // Shutting down; finish on the container thread
+            task.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private boolean shouldDispatch(HttpServletRequest request) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || !request.isAsyncSupported() || request.isAsyncStarted()) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs one request on its virtual thread. Whichever of the worker and
+     * the async timeout or error finishes first owns the response: it alone
+     * writes the error, if any, and completes the async context.
+     */
+    private final class RequestTask implements Runnable, AsyncListener {
+        private final AsyncContext asyncContext;
+        private final FilterChain chain;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private Thread worker;
+
+        private RequestTask(AsyncContext asyncContext, FilterChain chain) {
+            this.asyncContext = asyncContext;
+            this.chain = chain;
+        }
+
+        @Override
+        public void run() {
+            if (finished.get()) {
+                // Timed out while queued
+                return;
+            }
+            synchronized (this) {
+                worker = Thread.currentThread();
+            }
+            inFlight.incrementAndGet();
+            // A deadline started before the hand-off belongs to this thread now
+            RequestDeadline deadline = (RequestDeadline) asyncContext.getRequest()
+                    .getAttribute(RequestDeadline.ATTRIBUTE);
+            RequestDeadline.Binding binding = RequestDeadline.bind(deadline);
+            try {
+                chain.doFilter(asyncContext.getRequest(), asyncContext.getResponse());
+            } catch (IOException | ServletException | RuntimeException e) {
+                if (!finished.get()) {
+                    LogUtil.error("Request failed on virtual thread", e);
+                    sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                }
+            } finally {
+                binding.close();
+                inFlight.decrementAndGet();
+                synchronized (this) {
+                    worker = null;
+                    // Do not leak an interrupt from a late timeout into the container thread
+                    Thread.interrupted();
+                }
+                if (finished.compareAndSet(false, true)) {
+                    complete();
+                }
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            abort("timed out");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            abort("failed: " + event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void abort(String reason) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            aborted.increment();
+            synchronized (this) {
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+            LogUtil.warn("Request on virtual thread " + reason + "; answering 503");
+            sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            complete();
+        }
+
+        private void sendError(int status) {
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            if (!response.isCommitted()) {
+                try {
+                    response.sendError(status);
+                } catch (IOException | IllegalStateException ignored) {
+                    // Client is gone, or the response was committed meanwhile
+                }
+            }
+        }
+
+        private void complete() {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // The container already completed it
+            }
+        }
+    }
+}
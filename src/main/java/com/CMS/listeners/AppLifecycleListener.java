@@ -0,0 +1,50 @@
+package com.campusconf.listeners;
+
+import com.campusconf.services.BulkMailService;
+import com.campusconf.services.ConferencePurgeService;
+import com.campusconf.services.DigestService;
+import com.campusconf.services.IdempotencyService;
+import com.campusconf.services.NotificationArchiveService;
+import com.campusconf.services.NotificationStreamHub;
+import com.campusconf.services.OutboundMailService;
+import com.campusconf.services.RoleIndexRepairService;
+import com.campusconf.services.SubmissionAdmissionService;
+import com.campusconf.services.UnreadNotificationCounter;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Starts and stops the application's background jobs with the web app.
+ */
+@WebListener
+public class AppLifecycleListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        RoleIndexRepairService.getInstance().start();
+        UnreadNotificationCounter.getInstance().start();
+        NotificationStreamHub.getInstance().start();
+        NotificationArchiveService.getInstance().start();
+        OutboundMailService.getInstance().start();
+        DigestService.getInstance().start();
+        BulkMailService.getInstance().start();
+        SubmissionAdmissionService.getInstance().start();
+        ConferencePurgeService.getInstance().start();
+        IdempotencyService.getInstance().start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        IdempotencyService.getInstance().stop();
+        ConferencePurgeService.getInstance().stop();
+        SubmissionAdmissionService.getInstance().stop();
+        BulkMailService.getInstance().stop();
+        DigestService.getInstance().stop();
+        OutboundMailService.getInstance().stop();
+        NotificationArchiveService.getInstance().stop();
+        NotificationStreamHub.getInstance().stop();
+        UnreadNotificationCounter.getInstance().stop();
+        RoleIndexRepairService.getInstance().stop();
+    }
+}
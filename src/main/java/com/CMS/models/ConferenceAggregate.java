@@ -0,0 +1,185 @@
+package com.campusconf.models;
+
+import com.campusconf.utils.ModelCopyUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable read model of a conference with its topic tree and committees,
+ * stamped with the conference version it was loaded at. The mutable models
+ * it hands out are fresh copies, so one snapshot can be shared by every
+ * request until a write to the conference moves its version.
+ */
+public final class ConferenceAggregate {
+
+    public static final class TopicNode {
+        private final ConferenceTopic topic;
+        private final List<TopicNode> subtopics;
+
+        private TopicNode(ConferenceTopic topic, List<TopicNode> subtopics) {
+            this.topic = topic;
+            this.subtopics = Collections.unmodifiableList(subtopics);
+        }
+
+        public ConferenceTopic getTopic() {
+            return ModelCopyUtil.copy(topic);
+        }
+
+        public Long getTopicId() {
+            return topic.getTopicId();
+        }
+
+        public String getTopicName() {
+            return topic.getTopicName();
+        }
+
+        public List<TopicNode> getSubtopics() {
+            return subtopics;
+        }
+    }
+
+    private final long version;
+    private final Conference conference;
+    private final List<ConferenceTopic> topics;
+    private final List<TopicNode> topicTree;
+    private final List<CommitteeMember> pcMembers;
+    private final List<CommitteeMember> scMembers;
+    private final CommitteeMember pcResponsible;
+    private final CommitteeMember scResponsible;
+
+    public ConferenceAggregate(long version, Conference conference, List<ConferenceTopic> topics,
+            List<CommitteeMember> committeeMembers) {
+        this.version = version;
+        this.conference = ModelCopyUtil.copy(conference);
+        this.conference.setTopics(null);
+        this.conference.setCommitteeMembers(null);
+
+        List<ConferenceTopic> topicCopies = new ArrayList<>();
+        for (ConferenceTopic topic : topics) {
+            topicCopies.add(ModelCopyUtil.copy(topic));
+        }
+        this.topics = Collections.unmodifiableList(topicCopies);
+        this.topicTree = buildTopicTree(topicCopies);
+
+        List<CommitteeMember> pc = new ArrayList<>();
+        List<CommitteeMember> sc = new ArrayList<>();
+        CommitteeMember pcResp = null;
+        CommitteeMember scResp = null;
+        for (CommitteeMember member : committeeMembers) {
+            CommitteeMember copy = ModelCopyUtil.copy(member);
+            if ("SC".equals(copy.getCommitteeType())) {
+                sc.add(copy);
+                if (copy.isResponsible()) {
+                    scResp = copy;
+                }
+            } else {
+                pc.add(copy);
+                if (copy.isResponsible()) {
+                    pcResp = copy;
+                }
+            }
+        }
+        this.pcMembers = Collections.unmodifiableList(pc);
+        this.scMembers = Collections.unmodifiableList(sc);
+        this.pcResponsible = pcResp;
+        this.scResponsible = scResp;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getConferenceId() {
+        return conference.getConferenceId();
+    }
+
+    public Long getPresidentId() {
+        return conference.getPresidentId();
+    }
+
+    /**
+     * Returns a mutable copy of the conference with topics and committee
+     * members filled in, the shape the conference views expect.
+     */
+    public Conference getConference() {
+        Conference copy = ModelCopyUtil.copy(conference);
+        copy.setTopics(getTopics());
+        copy.setCommitteeMembers(getCommitteeMembers());
+        return copy;
+    }
+
+    public List<ConferenceTopic> getTopics() {
+        return copyTopics(topics);
+    }
+
+    public List<TopicNode> getTopicTree() {
+        return topicTree;
+    }
+
+    public List<CommitteeMember> getCommitteeMembers() {
+        List<CommitteeMember> members = copyMembers(pcMembers);
+        members.addAll(copyMembers(scMembers));
+        return members;
+    }
+
+    public List<CommitteeMember> getPcMembers() {
+        return copyMembers(pcMembers);
+    }
+
+    public List<CommitteeMember> getScMembers() {
+        return copyMembers(scMembers);
+    }
+
+    public CommitteeMember getPcResponsible() {
+        return pcResponsible != null ? ModelCopyUtil.copy(pcResponsible) : null;
+    }
+
+    public CommitteeMember getScResponsible() {
+        return scResponsible != null ? ModelCopyUtil.copy(scResponsible) : null;
+    }
+
+    private static List<TopicNode> buildTopicTree(List<ConferenceTopic> topics) {
+        Map<Long, List<ConferenceTopic>> childrenByParent = new LinkedHashMap<>();
+        List<ConferenceTopic> roots = new ArrayList<>();
+        for (ConferenceTopic topic : topics) {
+            if (topic.getParentTopicId() == null) {
+                roots.add(topic);
+            } else {
+                childrenByParent.computeIfAbsent(topic.getParentTopicId(), key -> new ArrayList<>()).add(topic);
+            }
+        }
+        List<TopicNode> tree = new ArrayList<>();
+        for (ConferenceTopic root : roots) {
+            tree.add(buildNode(root, childrenByParent));
+        }
+        return Collections.unmodifiableList(tree);
+    }
+
+    private static TopicNode buildNode(ConferenceTopic topic, Map<Long, List<ConferenceTopic>> childrenByParent) {
+        List<TopicNode> children = new ArrayList<>();
+        for (ConferenceTopic child : childrenByParent.getOrDefault(topic.getTopicId(), Collections.emptyList())) {
+            children.add(buildNode(child, childrenByParent));
+        }
+        return new TopicNode(topic, children);
+    }
+
+    private static List<ConferenceTopic> copyTopics(List<ConferenceTopic> source) {
+        List<ConferenceTopic> copies = new ArrayList<>(source.size());
+        for (ConferenceTopic topic : source) {
+            copies.add(ModelCopyUtil.copy(topic));
+        }
+        return copies;
+    }
+
+    private static List<CommitteeMember> copyMembers(List<CommitteeMember> source) {
+        List<CommitteeMember> copies = new ArrayList<>(source.size());
+        for (CommitteeMember member : source) {
+            copies.add(ModelCopyUtil.copy(member));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,119 @@
+package com.campusconf.models;
+
+import java.sql.Timestamp;
+
+/**
+ * Progress of removing a soft-deleted conference and everything that
+ * hangs off it (conference_purge_jobs). step names the stage the purger
+ * is in, so a restarted purger continues where the last one stopped.
+ */
+public class ConferencePurgeJob {
+    private Long conferenceId;
+    private Long requestedBy;
+    private String status;
+    private String step;
+    private long rowsDeleted;
+    private int filesDeleted;
+    private int filesFailed;
+    private int attempts;
+    private String lastError;
+    private Timestamp requestedAt;
+    private Timestamp updatedAt;
+    private Timestamp completedAt;
+
+    public Long getConferenceId() {
+        return conferenceId;
+    }
+
+    public void setConferenceId(Long conferenceId) {
+        this.conferenceId = conferenceId;
+    }
+
+    public Long getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Long requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public void setStep(String step) {
+        this.step = step;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public void setRowsDeleted(long rowsDeleted) {
+        this.rowsDeleted = rowsDeleted;
+    }
+
+    public int getFilesDeleted() {
+        return filesDeleted;
+    }
+
+    public void setFilesDeleted(int filesDeleted) {
+        this.filesDeleted = filesDeleted;
+    }
+
+    public int getFilesFailed() {
+        return filesFailed;
+    }
+
+    public void setFilesFailed(int filesFailed) {
+        this.filesFailed = filesFailed;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Timestamp getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Timestamp requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Timestamp updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Timestamp getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Timestamp completedAt) {
+        this.completedAt = completedAt;
+    }
+}
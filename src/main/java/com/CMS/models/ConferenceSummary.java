@@ -0,0 +1,92 @@
+package com.campusconf.models;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * The columns of a conference that list views show. Read with a projection
+ * query, so theme, website, location and committees are never fetched.
+ */
+public class ConferenceSummary {
+    private Long conferenceId;
+    private String name;
+    private String acronym;
+    private String status;
+    private Date startDate;
+    private Date endDate;
+    private Date submissionDeadline;
+    private Timestamp creationDate;
+    private Long presidentId;
+
+    public Long getConferenceId() {
+        return conferenceId;
+    }
+
+    public void setConferenceId(Long conferenceId) {
+        this.conferenceId = conferenceId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getAcronym() {
+        return acronym;
+    }
+
+    public void setAcronym(String acronym) {
+        this.acronym = acronym;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Date getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Date startDate) {
+        this.startDate = startDate;
+    }
+
+    public Date getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Date endDate) {
+        this.endDate = endDate;
+    }
+
+    public Date getSubmissionDeadline() {
+        return submissionDeadline;
+    }
+
+    public void setSubmissionDeadline(Date submissionDeadline) {
+        this.submissionDeadline = submissionDeadline;
+    }
+
+    public Timestamp getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(Timestamp creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public Long getPresidentId() {
+        return presidentId;
+    }
+
+    public void setPresidentId(Long presidentId) {
+        this.presidentId = presidentId;
+    }
+}
@@ -0,0 +1,73 @@
+package com.campusconf.models;
+
+import java.sql.Timestamp;
+
+/**
+ * One event waiting in a user's email digest. dueAt is the end of the
+ * digest window the event fell into.
+ */
+public class DigestEntry {
+    private Long id;
+    private Long userId;
+    private String title;
+    private String message;
+    private String type;
+    private Timestamp createdAt;
+    private Timestamp dueAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getDueAt() {
+        return dueAt;
+    }
+
+    public void setDueAt(Timestamp dueAt) {
+        this.dueAt = dueAt;
+    }
+}
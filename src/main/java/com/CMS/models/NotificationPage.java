@@ -0,0 +1,29 @@
+package com.campusconf.models;
+
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first. nextCursor is null on
+ * the last page.
+ */
+public class NotificationPage {
+    private final List<Notification> notifications;
+    private final String nextCursor;
+
+    public NotificationPage(List<Notification> notifications, String nextCursor) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.campusconf.models;
+
+import java.sql.Timestamp;
+
+/**
+ * The columns of a submission that list views show. Read with a projection
+ * query, so the summary, keywords and document path are never fetched.
+ */
+public class SubmissionSummary {
+    private String submissionId;
+    private String title;
+    private String status;
+    private Timestamp submissionDate;
+    private Long conferenceId;
+    private String conferenceName;
+    private Long correspondingAuthorId;
+
+    public String getSubmissionId() {
+        return submissionId;
+    }
+
+    public void setSubmissionId(String submissionId) {
+        this.submissionId = submissionId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Timestamp getSubmissionDate() {
+        return submissionDate;
+    }
+
+    public void setSubmissionDate(Timestamp submissionDate) {
+        this.submissionDate = submissionDate;
+    }
+
+    public Long getConferenceId() {
+        return conferenceId;
+    }
+
+    public void setConferenceId(Long conferenceId) {
+        this.conferenceId = conferenceId;
+    }
+
+    public String getConferenceName() {
+        return conferenceName;
+    }
+
+    public void setConferenceName(String conferenceName) {
+        this.conferenceName = conferenceName;
+    }
+
+    public Long getCorrespondingAuthorId() {
+        return correspondingAuthorId;
+    }
+
+    public void setCorrespondingAuthorId(Long correspondingAuthorId) {
+        this.correspondingAuthorId = correspondingAuthorId;
+    }
+}
@@ -0,0 +1,495 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.BulkMailJobDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.models.BulkMailJob;
+import com.campusconf.models.BulkMailRecipient;
+import com.campusconf.utils.CircuitBreaker;
+import com.campusconf.utils.ConfigUtil;
+import com.campusconf.utils.DependencyGuard;
+import com.campusconf.utils.DependencyUnavailableException;
+import com.campusconf.utils.EmailTemplate;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.RateLimiter;
+import com.campusconf.utils.SmtpConnection;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Announcement mail to a whole conference audience. A job and its
+ * recipients are stored first (see BulkMailJobDAO), so the request that
+ * creates it returns at once; a dispatcher thread then reads the pending
+ * recipients page by page and spreads each page over bulkMail.lanes SMTP
+ * connections, all sharing one bulkMail.messagesPerSecond rate limit.
+ * Running jobs take turns a page at a time, and the dispatcher never waits
+ * for a page to be sent, so one large job cannot hold up the others.
+ *
+ * Every message goes through the "smtp" DependencyGuard. A recipient is
+ * marked FAILED only when the relay rejects their address; if the relay is
+ * down, slow or the guard turns the call away, the rest of the chunk stays
+ * PENDING and the job re-reads its page after bulkMail.retrySeconds. While
+ * the SMTP circuit is open a job is parked and retried a second later, so a
+ * job only completes once no recipient is left pending.
+ *
+ * In BCC mode each message carries up to bulkMail.bccChunkSize recipients;
+ * in PERSONALIZED mode every recipient gets their own message, with
+ * {{name}} and {{email}} filled in; its templates are checked when the job
+ * is created. Recipients are marked after their chunk
+ * is sent, so a job interrupted by a crash or restart resumes where it
+ * stopped, possibly mailing the last unmarked chunk twice.
+ */
+public class BulkMailService {
+    private static final BulkMailService INSTANCE = new BulkMailService();
+
+    private final BulkMailJobDAO bulkMailJobDAO = DAOFactory.getBulkMailJobDAO();
+    private final DependencyGuard smtp = DependencyGuard.of("smtp");
+    // Jobs with a dispatcher in this JVM
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder messagesSent = MetricsUtil.counter("bulkMail.messages.sent");
+    private final LongAdder recipientsSent = MetricsUtil.counter("bulkMail.recipients.sent");
+    private final LongAdder recipientsFailed = MetricsUtil.counter("bulkMail.recipients.failed");
+
+    private ScheduledExecutorService dispatcher;
+    private ExecutorService lanes;
+    private BlockingQueue<SmtpConnection> connections;
+    private RateLimiter rateLimiter;
+
+    private BulkMailService() {
+        MetricsUtil.registerGauge("bulkMail.jobs.active", activeJobs::size);
+    }
+
+    public static BulkMailService getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isValidAudience(String audience) {
+        return BulkMailJobDAO.AUDIENCE_AUTHORS.equals(audience) || BulkMailJobDAO.AUDIENCE_PC.equals(audience)
+                || BulkMailJobDAO.AUDIENCE_SC.equals(audience) || BulkMailJobDAO.AUDIENCE_COMMITTEES.equals(audience)
+                || BulkMailJobDAO.AUDIENCE_ALL.equals(audience);
+    }
+
+    public static boolean isValidMode(String mode) {
+        return BulkMailJobDAO.MODE_BCC.equals(mode) || BulkMailJobDAO.MODE_PERSONALIZED.equals(mode);
+    }
+
+    /**
+     * Stores the job with its resolved recipients and starts sending it.
+     *
+     * @throws IllegalArgumentException if a PERSONALIZED subject or body is not a valid template
+     */
+    public BulkMailJob createJob(Long conferenceId, Long createdBy, String audience, String mode,
+                                 String subject, String body) throws SQLException {
+        if (BulkMailJobDAO.MODE_PERSONALIZED.equals(mode)) {
+            EmailTemplate.compile(subject);
+            EmailTemplate.compile(body);
+        }
+        BulkMailJob job = new BulkMailJob();
+        job.setConferenceId(conferenceId);
+        job.setCreatedBy(createdBy);
+        job.setAudience(audience);
+        job.setMode(mode);
+        job.setSubject(subject);
+        job.setBody(body);
+        bulkMailJobDAO.create(job);
+        if (bulkMailJobDAO.updateStatus(job.getJobId(), BulkMailJobDAO.STATUS_PENDING, BulkMailJobDAO.STATUS_RUNNING)) {
+            job.setStatus(BulkMailJobDAO.STATUS_RUNNING);
+            dispatch(job.getJobId());
+        }
+        return job;
+    }
+
+    public BulkMailJob getJob(Long jobId) throws SQLException {
+        return bulkMailJobDAO.findById(jobId);
+    }
+
+    /**
+     * Restarts a cancelled job, or a running one whose dispatcher died.
+     * Returns false if the job is already being sent or has completed.
+     */
+    public boolean resume(Long jobId) throws SQLException {
+        if (activeJobs.contains(jobId)) {
+            return false;
+        }
+        BulkMailJob job = bulkMailJobDAO.findById(jobId);
+        if (job == null) {
+            return false;
+        }
+        boolean resumable = BulkMailJobDAO.STATUS_RUNNING.equals(job.getStatus())
+                || (BulkMailJobDAO.STATUS_CANCELLED.equals(job.getStatus())
+                    && bulkMailJobDAO.updateStatus(jobId, BulkMailJobDAO.STATUS_CANCELLED, BulkMailJobDAO.STATUS_RUNNING));
+        if (resumable) {
+            dispatch(jobId);
+        }
+        return resumable;
+    }
+
+    /**
+     * Stops the job after the page being sent; it can be resumed later.
+     */
+    public boolean cancel(Long jobId) throws SQLException {
+        return bulkMailJobDAO.updateStatus(jobId, BulkMailJobDAO.STATUS_RUNNING, BulkMailJobDAO.STATUS_CANCELLED)
+                || bulkMailJobDAO.updateStatus(jobId, BulkMailJobDAO.STATUS_PENDING, BulkMailJobDAO.STATUS_CANCELLED);
+    }
+
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        int laneCount = Math.max(1, PerformanceConfigUtil.getInt("bulkMail.lanes", 4));
+        rateLimiter = new RateLimiter(Math.max(1, PerformanceConfigUtil.getInt("bulkMail.messagesPerSecond", 20)));
+        connections = new ArrayBlockingQueue<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            connections.add(new SmtpConnection());
+        }
+        AtomicInteger laneNumber = new AtomicInteger();
+        lanes = Executors.newFixedThreadPool(laneCount, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-mail-lane-" + laneNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-mail-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.execute(() -> {
+            try {
+                bulkMailJobDAO.createTablesIfMissing();
+                // Jobs that were being sent when the application stopped
+                for (BulkMailJob job : bulkMailJobDAO.findByStatus(BulkMailJobDAO.STATUS_RUNNING)) {
+                    dispatch(job.getJobId());
+                }
+            } catch (SQLException e) {
+                LogUtil.error("Failed to resume bulk mail jobs", e);
+            }
+        });
+    }
+
+    public synchronized void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+            lanes.shutdownNow();
+            for (SmtpConnection connection : connections) {
+                connection.close();
+            }
+            dispatcher = null;
+            lanes = null;
+            connections = null;
+        }
+    }
+
+    private synchronized void dispatch(Long jobId) {
+        if (dispatcher != null && activeJobs.add(jobId)) {
+            JobRun run = new JobRun(jobId, dispatcher, lanes);
+            next(run);
+        }
+    }
+
+    /**
+     * The progress of one job being sent in this JVM.
+     */
+    private static final class JobRun {
+        private final Long jobId;
+        private final ScheduledExecutorService dispatcher;
+        private final ExecutorService lanePool;
+        private final long startedAt = System.currentTimeMillis();
+        private long afterRecipientId;
+        // Compiled on the first page of a PERSONALIZED job
+        private EmailTemplate subject;
+        private EmailTemplate body;
+
+        private JobRun(Long jobId, ScheduledExecutorService dispatcher, ExecutorService lanePool) {
+            this.jobId = jobId;
+            this.dispatcher = dispatcher;
+            this.lanePool = lanePool;
+        }
+    }
+
+    /**
+     * Hands the next page of the job to the lanes and returns. The job is
+     * queued behind the other jobs again once that page has been sent;
+     * its status is re-read every page, so a cancel takes effect promptly.
+     */
+    private void step(JobRun run) {
+        try {
+            if (smtp.getState() == CircuitBreaker.State.OPEN) {
+                // Park the job instead of holding the dispatcher
+                later(run, 1);
+                return;
+            }
+            BulkMailJob job = bulkMailJobDAO.findById(run.jobId);
+            if (job == null || !BulkMailJobDAO.STATUS_RUNNING.equals(job.getStatus())) {
+                finish(run);
+                return;
+            }
+            if (BulkMailJobDAO.MODE_PERSONALIZED.equals(job.getMode()) && run.body == null) {
+                try {
+                    run.subject = EmailTemplate.compile(job.getSubject());
+                    run.body = EmailTemplate.compile(job.getBody());
+                } catch (IllegalArgumentException e) {
+                    // Stored before templates were checked on create; it would fail on every resume
+                    LogUtil.error("Bulk mail job " + run.jobId + " has an invalid template; cancelling it", e);
+                    bulkMailJobDAO.updateStatus(run.jobId, BulkMailJobDAO.STATUS_RUNNING,
+                            BulkMailJobDAO.STATUS_CANCELLED);
+                    finish(run);
+                    return;
+                }
+            }
+
+            int pageSize = PerformanceConfigUtil.getInt("bulkMail.pageSize", 1000);
+            int chunkSize = Math.max(1, PerformanceConfigUtil.getInt("bulkMail.bccChunkSize", 50));
+            long pageStart = run.afterRecipientId;
+            List<BulkMailRecipient> page = bulkMailJobDAO.findPendingRecipients(run.jobId, pageStart, pageSize);
+            if (page.isEmpty()) {
+                bulkMailJobDAO.updateStatus(run.jobId, BulkMailJobDAO.STATUS_RUNNING, BulkMailJobDAO.STATUS_COMPLETED);
+                LogUtil.logPerformanceMetric("bulkMail.job", System.currentTimeMillis() - run.startedAt);
+                finish(run);
+                return;
+            }
+            run.afterRecipientId = page.get(page.size() - 1).getRecipientId();
+
+            List<CompletableFuture<Boolean>> chunks = new ArrayList<>();
+            for (int from = 0; from < page.size(); from += chunkSize) {
+                List<BulkMailRecipient> chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+                CompletableFuture<Boolean> sent = new CompletableFuture<>();
+                run.lanePool.execute(() -> {
+                    try {
+                        sent.complete(sendChunk(run, job, chunk));
+                    } catch (SQLException | InterruptedException | RuntimeException e) {
+                        sent.completeExceptionally(e);
+                    }
+                });
+                chunks.add(sent);
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    // The job stays RUNNING and is picked up by resume or the next start
+                    LogUtil.error("Bulk mail job " + run.jobId + " stopped", error);
+                    finish(run);
+                } else if (chunks.stream().allMatch(CompletableFuture::join)) {
+                    next(run);
+                } else {
+                    // Some recipients are still pending; read this page again once the relay may be back
+                    run.afterRecipientId = pageStart;
+                    later(run, PerformanceConfigUtil.getLong("bulkMail.retrySeconds", 5));
+                }
+            });
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Bulk mail job " + run.jobId + " stopped", e);
+            finish(run);
+        }
+    }
+
+    private void next(JobRun run) {
+        try {
+            run.dispatcher.execute(() -> step(run));
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the job stays RUNNING and resumes on the next start
+            finish(run);
+        }
+    }
+
+    private void later(JobRun run, long seconds) {
+        try {
+            run.dispatcher.schedule(() -> step(run), seconds, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            finish(run);
+        }
+    }
+
+    private void finish(JobRun run) {
+        activeJobs.remove(run.jobId);
+    }
+
+    /**
+     * Sends one chunk and marks the recipients it reached or that the relay
+     * refused. Returns false if the relay failed part way, leaving the rest
+     * of the chunk PENDING.
+     */
+    private boolean sendChunk(JobRun run, BulkMailJob job, List<BulkMailRecipient> chunk)
+            throws SQLException, InterruptedException {
+        SmtpConnection connection = connections.take();
+        try {
+            List<Long> sent = new ArrayList<>();
+            List<Long> failed = new ArrayList<>();
+            boolean complete = true;
+            try {
+                if (BulkMailJobDAO.MODE_PERSONALIZED.equals(job.getMode())) {
+                    sendPersonalized(connection, run, job, chunk, sent, failed);
+                } else {
+                    sendBcc(connection, job, chunk, sent, failed);
+                }
+            } catch (DependencyUnavailableException | MessagingException e) {
+                LogUtil.warn("Bulk mail job " + job.getJobId() + ": " + (chunk.size() - sent.size() - failed.size())
+                        + " recipients left pending: " + e.getMessage());
+                complete = false;
+                if (e instanceof DependencyUnavailableException && ((DependencyUnavailableException) e).getReason()
+                        == DependencyUnavailableException.Reason.TIMEOUT) {
+                    // The overrun send may still be using the connection; leave it to finish on its own
+                    connection = new SmtpConnection();
+                }
+            }
+            bulkMailJobDAO.markRecipients(job.getJobId(), sent, BulkMailJobDAO.RECIPIENT_SENT);
+            bulkMailJobDAO.markRecipients(job.getJobId(), failed, BulkMailJobDAO.RECIPIENT_FAILED);
+            recipientsSent.add(sent.size());
+            recipientsFailed.add(failed.size());
+            return complete;
+        } finally {
+            connections.offer(connection);
+        }
+    }
+
+    /**
+     * Sends the chunk as BCC messages. When the relay refuses some addresses
+     * those recipients fail and the message is sent again to the others.
+     */
+    private void sendBcc(SmtpConnection connection, BulkMailJob job, List<BulkMailRecipient> chunk,
+                         List<Long> sent, List<Long> failed)
+            throws DependencyUnavailableException, MessagingException, InterruptedException {
+        // Addresses are unique within a job
+        Map<String, Long> ids = new HashMap<>();
+        List<InternetAddress> bcc = new ArrayList<>(chunk.size());
+        for (BulkMailRecipient recipient : chunk) {
+            try {
+                InternetAddress address = new InternetAddress(recipient.getEmail(), true);
+                bcc.add(address);
+                ids.put(key(address), recipient.getRecipientId());
+            } catch (AddressException e) {
+                failed.add(recipient.getRecipientId());
+            }
+        }
+        Address[] pending = bcc.toArray(new Address[0]);
+        while (pending.length > 0) {
+            MimeMessage message = connection.newMessage(job.getSubject(), job.getBody());
+            // Recipients only see the conference's own address
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(ConfigUtil.getApplicationEmail()));
+            message.setRecipients(Message.RecipientType.BCC, pending);
+            try {
+                send(connection, message);
+                collect(pending, ids, sent);
+                return;
+            } catch (SendFailedException e) {
+                if (!isPermanent(e)) {
+                    throw e;
+                }
+                collect(e.getInvalidAddresses(), ids, failed);
+                collect(e.getValidSentAddresses(), ids, sent);
+                Address[] unsent = e.getValidUnsentAddresses();
+                if (unsent != null && unsent.length >= pending.length) {
+                    // Nothing of ours was refused; retrying would not get further
+                    throw e;
+                }
+                pending = unsent != null ? unsent : new Address[0];
+            }
+        }
+    }
+
+    /**
+     * Sends each recipient their own message. A refused address fails that
+     * recipient only; any other error stops the chunk.
+     */
+    private void sendPersonalized(SmtpConnection connection, JobRun run, BulkMailJob job,
+                                  List<BulkMailRecipient> chunk, List<Long> sent, List<Long> failed)
+            throws DependencyUnavailableException, MessagingException, InterruptedException {
+        EmailTemplate subject = run.subject;
+        EmailTemplate body = run.body;
+        StringBuilder out = new StringBuilder(job.getBody().length() + 64);
+        Map<String, String> values = new HashMap<>();
+        for (BulkMailRecipient recipient : chunk) {
+            InternetAddress address;
+            try {
+                address = new InternetAddress(recipient.getEmail(), true);
+            } catch (AddressException e) {
+                failed.add(recipient.getRecipientId());
+                continue;
+            }
+            values.put("name", recipient.getName() != null ? recipient.getName() : "");
+            values.put("email", recipient.getEmail());
+            out.setLength(0);
+            subject.renderTo(out, values);
+            String renderedSubject = out.toString();
+            out.setLength(0);
+            body.renderTo(out, values);
+            MimeMessage message = connection.newMessage(renderedSubject, out.toString());
+            message.setRecipient(Message.RecipientType.TO, address);
+            try {
+                send(connection, message);
+                sent.add(recipient.getRecipientId());
+            } catch (SendFailedException e) {
+                if (!isPermanent(e)) {
+                    throw e;
+                }
+                failed.add(recipient.getRecipientId());
+            }
+        }
+    }
+
+    private void send(SmtpConnection connection, MimeMessage message)
+            throws DependencyUnavailableException, MessagingException, InterruptedException {
+        rateLimiter.acquire();
+        smtp.call(() -> {
+            connection.send(message);
+            return null;
+        }, MessagingException.class, BulkMailService::isPermanent);
+        messagesSent.increment();
+    }
+
+    /**
+     * Whether the relay refused the address itself, rather than failing as
+     * a whole; only these errors fail a recipient for good and are left out
+     * of the circuit's count.
+     */
+    private static boolean isPermanent(Throwable e) {
+        if (e instanceof AddressException) {
+            return true;
+        }
+        if (e instanceof SendFailedException) {
+            Address[] invalid = ((SendFailedException) e).getInvalidAddresses();
+            return invalid != null && invalid.length > 0;
+        }
+        return false;
+    }
+
+    private static void collect(Address[] addresses, Map<String, Long> ids, List<Long> into) {
+        if (addresses == null) {
+            return;
+        }
+        for (Address address : addresses) {
+            Long id = address instanceof InternetAddress ? ids.get(key((InternetAddress) address)) : null;
+            if (id != null) {
+                into.add(id);
+            }
+        }
+    }
+
+    private static String key(InternetAddress address) {
+        return address.getAddress().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,60 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.ConferenceAggregateDAO;
+import com.campusconf.dao.cache.ConferenceVersionTracker;
+import com.campusconf.dao.cache.EntityCache;
+import com.campusconf.dao.impl.ConferenceAggregateDAOImpl;
+import com.campusconf.models.ConferenceAggregate;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+
+/**
+ * Serves ConferenceAggregate snapshots from a cache keyed by conference id.
+ * A snapshot is reused only while its version still matches the conference's
+ * current version, so any write to the conference, its topics or its
+ * committees is visible on the next read.
+ */
+public class ConferenceAggregateService {
+    private static final ConferenceAggregateService INSTANCE = new ConferenceAggregateService();
+    private static final String CACHE_NAME = "conferenceAggregate";
+
+    private final ConferenceAggregateDAO aggregateDAO;
+    private final EntityCache<ConferenceAggregate> cache;
+
+    private ConferenceAggregateService() {
+        this.aggregateDAO = new ConferenceAggregateDAOImpl();
+        // Snapshots are immutable, so they can be shared without copying. Misses are not
+        // cached: they carry no version, so a conference created or restored later would
+        // stay hidden until the entry expired.
+        this.cache = new EntityCache<>(CACHE_NAME,
+                PerformanceConfigUtil.isCacheEnabled(CACHE_NAME, true),
+                PerformanceConfigUtil.getCacheMaxSize(CACHE_NAME),
+                PerformanceConfigUtil.getCacheTtlSeconds(CACHE_NAME) * 1000,
+                0,
+                aggregate -> aggregate);
+    }
+
+    public static ConferenceAggregateService getInstance() {
+        return INSTANCE;
+    }
+
+    public ConferenceAggregate getConferenceAggregate(Long conferenceId) throws SQLException {
+        ConferenceAggregate aggregate = load(conferenceId);
+        if (aggregate != null && aggregate.getVersion() != ConferenceVersionTracker.currentVersion(conferenceId)) {
+            // Written since it was cached (or while it was loading)
+            cache.invalidate(conferenceId);
+            aggregate = load(conferenceId);
+        }
+        return aggregate;
+    }
+
+    public void invalidate(Long conferenceId) {
+        cache.invalidate(conferenceId);
+    }
+
+    private ConferenceAggregate load(Long conferenceId) throws SQLException {
+        long version = ConferenceVersionTracker.currentVersion(conferenceId);
+        return cache.get(conferenceId, () -> aggregateDAO.findByConferenceId(conferenceId, version));
+    }
+}
@@ -0,0 +1,189 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.ConferencePurgeDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.models.ConferencePurgeJob;
+import com.campusconf.utils.FileUploadUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Purges soft-deleted conferences (see ConferencePurgeDAO). Every
+ * purge.pollSeconds, or at once when woken after a delete, it works through
+ * the pending jobs one step at a time, deleting purge.chunkSize rows per
+ * transaction with purge.chunkPauseMillis between chunks so a large
+ * conference never holds locks for long, and removes the stored documents
+ * last. The current step is saved as the job advances, so a job cut short
+ * by a failure or restart picks up where it stopped; every chunk is safe to
+ * repeat. A job that fails purge.maxAttempts times is marked FAILED and
+ * waits for a manual resume.
+ */
+public class ConferencePurgeService {
+    private static final ConferencePurgeService INSTANCE = new ConferencePurgeService();
+
+    private final ConferencePurgeDAO purgeDAO = DAOFactory.getConferencePurgeDAO();
+
+    private final LongAdder rowsDeleted = MetricsUtil.counter("purge.rows");
+    private final LongAdder filesDeleted = MetricsUtil.counter("purge.files.deleted");
+    private final LongAdder filesFailed = MetricsUtil.counter("purge.files.failed");
+    private final LongAdder completed = MetricsUtil.counter("purge.jobs.completed");
+    private final LongAdder failures = MetricsUtil.counter("purge.jobs.failures");
+
+    private ScheduledExecutorService scheduler;
+
+    private ConferencePurgeService() {
+    }
+
+    public static ConferencePurgeService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long pollSeconds = Math.max(1, PerformanceConfigUtil.getLong("purge.pollSeconds", 10));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "conference-purger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                purgeDAO.createTablesIfMissing();
+            } catch (SQLException e) {
+                LogUtil.error("Failed to create conference purge tables", e);
+            }
+        });
+        // Jobs left pending by a previous run are picked up by the first poll
+        scheduler.scheduleWithFixedDelay(this::run, pollSeconds, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Starts purging now instead of at the next poll, e.g. right after a
+     * delete request.
+     */
+    public synchronized void wake() {
+        if (scheduler != null) {
+            scheduler.execute(this::run);
+        }
+    }
+
+    private void run() {
+        int maxAttempts = Math.max(1, PerformanceConfigUtil.getInt("purge.maxAttempts", 5));
+        try {
+            for (ConferencePurgeJob job : purgeDAO.findPending(10)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                try {
+                    purge(job);
+                } catch (SQLException | RuntimeException e) {
+                    failures.increment();
+                    boolean giveUp = job.getAttempts() + 1 >= maxAttempts;
+                    LogUtil.error("Purge of conference " + job.getConferenceId() + " failed at step "
+                            + job.getStep() + (giveUp ? "; giving up" : "; will retry"), e);
+                    purgeDAO.recordFailure(job.getConferenceId(), e.toString(), giveUp);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Conference purge run failed", e);
+        }
+    }
+
+    private void purge(ConferencePurgeJob job) throws SQLException {
+        Long conferenceId = job.getConferenceId();
+        int chunkSize = Math.max(1, PerformanceConfigUtil.getInt("purge.chunkSize", 500));
+        long pauseMillis = PerformanceConfigUtil.getLong("purge.chunkPauseMillis", 50);
+        long start = System.currentTimeMillis();
+
+        int from = Math.max(0, ConferencePurgeDAO.STEPS.indexOf(job.getStep()));
+        for (String step : ConferencePurgeDAO.STEPS.subList(from, ConferencePurgeDAO.STEPS.size())) {
+            if (!step.equals(job.getStep())) {
+                purgeDAO.advance(conferenceId, step);
+                job.setStep(step);
+            }
+            if (ConferencePurgeDAO.STEP_FILES.equals(step)) {
+                if (!purgeFiles(conferenceId, chunkSize)) {
+                    return;
+                }
+                continue;
+            }
+            int deleted;
+            do {
+                deleted = purgeDAO.purgeChunk(conferenceId, step, chunkSize);
+                rowsDeleted.add(deleted);
+                if (deleted > 0 && !sleep(pauseMillis)) {
+                    return;
+                }
+            } while (deleted > 0 && !ConferencePurgeDAO.STEP_CONFERENCE.equals(step));
+            if (ConferencePurgeDAO.STEP_CONFERENCE.equals(step)) {
+                DAOFactory.evictConference(conferenceId);
+            }
+        }
+
+        purgeDAO.markDone(conferenceId);
+        completed.increment();
+        LogUtil.logPerformanceMetric("purge.job", System.currentTimeMillis() - start);
+        LogUtil.info("Purged conference " + conferenceId);
+    }
+
+    /**
+     * Removes the documents collected from the deleted submissions. A file
+     * that cannot be deleted is counted and forgotten rather than retried,
+     * since its rows are already gone. Returns false if interrupted.
+     */
+    private boolean purgeFiles(Long conferenceId, int chunkSize) throws SQLException {
+        List<String> paths;
+        while (!(paths = purgeDAO.findPendingFiles(conferenceId, chunkSize)).isEmpty()) {
+            int deleted = 0;
+            int failed = 0;
+            for (String path : paths) {
+                try {
+                    FileUploadUtil.deleteFile(path);
+                    deleted++;
+                } catch (IOException | RuntimeException e) {
+                    LogUtil.warn("Could not delete " + path + " of purged conference " + conferenceId
+                            + ": " + e.getMessage());
+                    failed++;
+                }
+            }
+            purgeDAO.removePendingFiles(conferenceId, paths, deleted, failed);
+            filesDeleted.add(deleted);
+            filesFailed.add(failed);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
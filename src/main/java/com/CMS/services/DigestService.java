@@ -0,0 +1,352 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.BatchLookupDAO;
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.DigestDAO;
+import com.campusconf.dao.cache.EntityCache;
+import com.campusconf.dao.impl.BatchLookupDAOImpl;
+import com.campusconf.models.DigestEntry;
+import com.campusconf.models.Notification;
+import com.campusconf.models.User;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.mail.MessagingException;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Email digests. Instead of mailing every event as it happens, callers hand
+ * events to submit(); they are queued in digest_queue until the end of the
+ * recipient's digest window and then mailed as one summary per user, in the
+ * language they last picked: IMMEDIATE within seconds, HOURLY at the top of
+ * the hour, DAILY at digest.dailyHour. Users choose their frequency;
+ * digest.defaultFrequency applies otherwise.
+ *
+ * All mail goes out from one background thread, so a slow SMTP server no
+ * longer holds up the request that caused the event.
+ */
+public class DigestService {
+    public static final String FREQUENCY_IMMEDIATE = "IMMEDIATE";
+    public static final String FREQUENCY_HOURLY = "HOURLY";
+    public static final String FREQUENCY_DAILY = "DAILY";
+    public static final List<String> FREQUENCIES = Arrays.asList(
+            FREQUENCY_IMMEDIATE, FREQUENCY_HOURLY, FREQUENCY_DAILY);
+
+    private static final DigestService INSTANCE = new DigestService();
+
+    private final DigestDAO digestDAO = DAOFactory.getDigestDAO();
+    private final BatchLookupDAO batchLookupDAO = new BatchLookupDAOImpl();
+    // Cached for users who never chose a frequency, so peek() can tell them from a cache miss
+    private static final String NO_PREFERENCE = "";
+
+    private final EntityCache<String> preferences = new EntityCache<>("digestPreferences", true, UnaryOperator.identity());
+
+    private final LongAdder eventsQueued = MetricsUtil.counter("digest.events.queued");
+    private final LongAdder eventsMailed = MetricsUtil.counter("digest.events.mailed");
+    private final LongAdder emailsSent = MetricsUtil.counter("digest.emails.sent");
+    private final LongAdder emailsFailed = MetricsUtil.counter("digest.emails.failed");
+
+    private ScheduledExecutorService scheduler;
+
+    private DigestService() {
+    }
+
+    public static DigestService getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isValidFrequency(String frequency) {
+        return FREQUENCIES.contains(frequency);
+    }
+
+    public String getFrequency(Long userId) throws SQLException {
+        String frequency = preferences.get(userId,
+                () -> digestDAO.findFrequencies(List.of(userId)).getOrDefault(userId, NO_PREFERENCE));
+        return frequency != null && !NO_PREFERENCE.equals(frequency) ? frequency : defaultFrequency();
+    }
+
+    public void setFrequency(Long userId, String frequency) throws SQLException {
+        if (!isValidFrequency(frequency)) {
+            throw new IllegalArgumentException("Unknown digest frequency: " + frequency);
+        }
+        try {
+            digestDAO.saveFrequency(userId, frequency);
+        } finally {
+            preferences.invalidate(userId);
+        }
+    }
+
+    /**
+     * Queues the event for each user's next digest. The event's title,
+     * message and type are used; its user id is ignored.
+     */
+    public void submit(Collection<Long> userIds, Notification event) throws SQLException {
+        Set<Long> recipients = new LinkedHashSet<>(userIds);
+        recipients.remove(null);
+        if (recipients.isEmpty()) {
+            return;
+        }
+        queue(recipients, userId -> event);
+    }
+
+    /**
+     * Queues a catalog template for each user's next digest, rendered in the
+     * user's language like the digest around it: the subject becomes the
+     * event's title and the body its message. Rendered once per language.
+     */
+    public void submit(Collection<Long> userIds, String template, Map<String, ?> values, String type)
+            throws SQLException {
+        Set<Long> recipients = new LinkedHashSet<>(userIds);
+        recipients.remove(null);
+        if (recipients.isEmpty()) {
+            return;
+        }
+        Map<Long, String> languages = DAOFactory.getUserLanguageDAO().findLanguages(recipients);
+        Map<String, Notification> byLanguage = new HashMap<>();
+        queue(recipients, userId -> byLanguage.computeIfAbsent(
+                languages.getOrDefault(userId, EmailTemplateEngine.DEFAULT_LANGUAGE),
+                language -> event(template, language, values, type)));
+    }
+
+    /**
+     * A catalog template rendered as a notification, e.g. for the in-app copy
+     * of an event that submit(userIds, template, ...) mails.
+     */
+    public static Notification event(String template, String language, Map<String, ?> values, String type) {
+        EmailTemplateEngine.RenderedEmail rendered = EmailTemplateEngine.render(template, language, values);
+        Notification event = new Notification();
+        event.setTitle(rendered.getSubject());
+        event.setMessage(rendered.getBody());
+        event.setType(type);
+        return event;
+    }
+
+    private void queue(Set<Long> recipients, Function<Long, Notification> eventFor) throws SQLException {
+        Map<Long, String> frequencies = findFrequencies(recipients);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+        Map<String, Timestamp> dueAtByFrequency = new HashMap<>();
+        boolean anyImmediate = false;
+
+        List<DigestEntry> entries = new ArrayList<>(recipients.size());
+        for (Long userId : recipients) {
+            String frequency = frequencies.getOrDefault(userId, defaultFrequency());
+            anyImmediate |= FREQUENCY_IMMEDIATE.equals(frequency);
+
+            Notification event = eventFor.apply(userId);
+            DigestEntry entry = new DigestEntry();
+            entry.setUserId(userId);
+            entry.setTitle(event.getTitle());
+            entry.setMessage(event.getMessage());
+            entry.setType(event.getType());
+            entry.setCreatedAt(createdAt);
+            entry.setDueAt(dueAtByFrequency.computeIfAbsent(frequency, key -> windowEnd(key, now)));
+            entries.add(entry);
+        }
+        digestDAO.enqueue(entries);
+        eventsQueued.add(entries.size());
+
+        if (anyImmediate) {
+            triggerFlush();
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = PerformanceConfigUtil.getLong("digest.flushIntervalSeconds", 30);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "digest-mailer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                digestDAO.createTablesIfMissing();
+                DAOFactory.getUserLanguageDAO().createTableIfMissing();
+            } catch (SQLException e) {
+                LogUtil.error("Failed to create digest tables", e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::flushDue, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private synchronized void triggerFlush() {
+        if (scheduler != null) {
+            scheduler.execute(this::flushDue);
+        }
+    }
+
+    /**
+     * Mails one digest to each user with due entries, up to
+     * digest.maxUsersPerRun users per run. Entries of users whose mail
+     * failed stay queued for the next run.
+     */
+    private void flushDue() {
+        try {
+            long start = System.currentTimeMillis();
+            Timestamp now = new Timestamp(start);
+            int maxUsers = PerformanceConfigUtil.getInt("digest.maxUsersPerRun", 500);
+            List<Long> userIds = digestDAO.findDueUserIds(now, maxUsers);
+            if (userIds.isEmpty()) {
+                return;
+            }
+
+            Map<Long, User> users = batchLookupDAO.findUsersByIds(userIds);
+            Map<Long, String> languages = DAOFactory.getUserLanguageDAO().findLanguages(userIds);
+            for (Long userId : userIds) {
+                List<DigestEntry> entries = digestDAO.findDueByUserId(userId, now);
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                User user = users.get(userId);
+                if (user != null && user.getEmail() != null && !send(user, languages.get(userId), entries)) {
+                    continue;
+                }
+                // Mailed, or nobody left to mail it to
+                List<Long> entryIds = new ArrayList<>(entries.size());
+                for (DigestEntry entry : entries) {
+                    entryIds.add(entry.getId());
+                }
+                digestDAO.deleteByIds(entryIds);
+            }
+            LogUtil.logPerformanceMetric("digest.flush", System.currentTimeMillis() - start);
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Digest flush failed", e);
+        }
+    }
+
+    private boolean send(User user, String language, List<DigestEntry> entries) {
+        try {
+            EmailTemplateEngine.RenderedEmail email = render(user, language, entries);
+            // No outbox fallback: unsent entries simply stay in digest_queue
+            OutboundMailService.getInstance().sendNow(user.getEmail(), email.getSubject(), email.getBody());
+            emailsSent.increment();
+            eventsMailed.add(entries.size());
+            return true;
+        } catch (MessagingException e) {
+            emailsFailed.increment();
+            if (OutboundMailService.isOutcomeUnknown(e)) {
+                // The relay may have accepted it; dropping the entries avoids a second copy
+                LogUtil.warn("Digest to user " + user.getUserId() + " timed out and may have been sent");
+                return true;
+            }
+            LogUtil.warn("Could not mail digest to user " + user.getUserId() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static EmailTemplateEngine.RenderedEmail render(User user, String language, List<DigestEntry> entries) {
+        String name = user.getFirstName() + " " + user.getLastName();
+        if (entries.size() == 1) {
+            DigestEntry entry = entries.get(0);
+            Map<String, Object> values = new HashMap<>();
+            values.put("name", name);
+            values.put("title", entry.getTitle());
+            values.put("message", entry.getMessage());
+            return EmailTemplateEngine.render(EmailTemplateCatalog.DIGEST_SINGLE, language, values);
+        }
+
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        List<Map<String, Object>> itemValues = new ArrayList<>(entries.size());
+        for (DigestEntry entry : entries) {
+            Map<String, Object> values = new HashMap<>();
+            values.put("title", entry.getTitle());
+            values.put("time", format.format(entry.getCreatedAt()));
+            values.put("message", entry.getMessage() != null ? entry.getMessage().replace("\n", "\n  ") : "");
+            itemValues.add(values);
+        }
+        StringBuilder items = new StringBuilder();
+        for (EmailTemplateEngine.RenderedEmail item
+                : EmailTemplateEngine.renderAll(EmailTemplateCatalog.DIGEST_ITEM, language, itemValues)) {
+            items.append(item.getBody());
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", name);
+        values.put("count", entries.size());
+        values.put("items", items);
+        return EmailTemplateEngine.render(EmailTemplateCatalog.DIGEST_MULTI, language, values);
+    }
+
+    private Map<Long, String> findFrequencies(Collection<Long> userIds) throws SQLException {
+        Map<Long, String> frequencies = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long userId : userIds) {
+            String cached = preferences.peek(userId);
+            if (NO_PREFERENCE.equals(cached)) {
+                continue;
+            }
+            if (cached != null) {
+                frequencies.put(userId, cached);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, String> loaded = digestDAO.findFrequencies(missing);
+            for (Long userId : missing) {
+                // Goes through the cache so users on the default are remembered too
+                String frequency = preferences.get(userId, () -> loaded.getOrDefault(userId, NO_PREFERENCE));
+                if (frequency != null && !NO_PREFERENCE.equals(frequency)) {
+                    frequencies.put(userId, frequency);
+                }
+            }
+        }
+        return frequencies;
+    }
+
+    private static String defaultFrequency() {
+        String frequency = PerformanceConfigUtil.getString("digest.defaultFrequency", FREQUENCY_IMMEDIATE);
+        return isValidFrequency(frequency) ? frequency : FREQUENCY_IMMEDIATE;
+    }
+
+    /**
+     * The end of the digest window that an event at the given time falls in.
+     */
+    private static Timestamp windowEnd(String frequency, LocalDateTime time) {
+        LocalDateTime end;
+        if (FREQUENCY_HOURLY.equals(frequency)) {
+            end = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        } else if (FREQUENCY_DAILY.equals(frequency)) {
+            int hour = PerformanceConfigUtil.getInt("digest.dailyHour", 8);
+            end = time.toLocalDate().atTime(hour, 0);
+            if (!end.isAfter(time)) {
+                end = end.plusDays(1);
+            }
+        } else {
+            end = time;
+        }
+        return Timestamp.valueOf(end);
+    }
+}
@@ -0,0 +1,131 @@
+package com.campusconf.services;
+
+import com.campusconf.utils.DatabaseUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.VirtualThreads;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares a fixed platform-thread pool, sized like the container's
+ * request pool, with one virtual thread per task on the same blocking
+ * workload. Each task stands in for a request:
+ *
+ * SLEEP  waits blockMillis, like a call to a slow SMTP relay
+ * JDBC   runs SELECT SLEEP(blockMillis) on a pooled connection
+ * LOG    writes a log line, then waits blockMillis
+ *
+ * The report gives tasks/sec and latency percentiles per mode; latency
+ * includes the time a task queued for a platform thread.
+ */
+public class ExecutionBenchmarkService {
+    public static final List<String> WORKLOADS = Arrays.asList("SLEEP", "JDBC", "LOG");
+
+    private static final ExecutionBenchmarkService INSTANCE = new ExecutionBenchmarkService();
+    private static final int MAX_TASKS = 100_000;
+
+    private ExecutionBenchmarkService() {
+    }
+
+    public static ExecutionBenchmarkService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized Map<String, Object> run(String workload, int tasks, long blockMillis, int platformThreads)
+            throws InterruptedException {
+        if (!WORKLOADS.contains(workload)) {
+            throw new IllegalArgumentException("workload must be one of " + WORKLOADS);
+        }
+        if (tasks < 1 || tasks > MAX_TASKS) {
+            throw new IllegalArgumentException("tasks must be between 1 and " + MAX_TASKS);
+        }
+        if (platformThreads < 1 || blockMillis < 0) {
+            throw new IllegalArgumentException("platformThreads must be positive and blockMillis not negative");
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("workload", workload);
+        report.put("tasks", tasks);
+        report.put("blockMillis", blockMillis);
+        report.put("platformThreads", platformThreads);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        report.put("platform", measure(Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, "benchmark-platform-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }), workload, tasks, blockMillis));
+        report.put("virtual", measure(VirtualThreads.newPerTaskExecutor("benchmark-virtual"), workload, tasks, blockMillis));
+        return report;
+    }
+
+    private Map<String, Object> measure(ExecutorService executor, String workload, int tasks, long blockMillis)
+            throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<Long>> futures = new ArrayList<>(tasks);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                long submittedAt = System.nanoTime();
+                futures.add(executor.submit(() -> {
+                    try {
+                        task(workload, blockMillis);
+                    } catch (SQLException e) {
+                        errors.incrementAndGet();
+                    }
+                    return System.nanoTime() - submittedAt;
+                }));
+            }
+            long[] latencies = new long[tasks];
+            for (int i = 0; i < tasks; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            Arrays.sort(latencies);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            result.put("tasksPerSecond", Math.round(tasks / (elapsedNanos / 1_000_000_000.0) * 10) / 10.0);
+            result.put("latencyP50Millis", TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(0.50 * tasks) - 1]));
+            result.put("latencyP99Millis", TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(0.99 * tasks) - 1]));
+            result.put("latencyMaxMillis", TimeUnit.NANOSECONDS.toMillis(latencies[tasks - 1]));
+            result.put("errors", errors.get());
+            return result;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Benchmark task failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void task(String workload, long blockMillis) throws SQLException, InterruptedException {
+        switch (workload) {
+            case "JDBC":
+                try (Connection conn = DatabaseUtil.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement("SELECT SLEEP(?)")) {
+                    stmt.setDouble(1, blockMillis / 1000.0);
+                    stmt.execute();
+                }
+                return;
+            case "LOG":
+                LogUtil.debug("Execution benchmark task on " + Thread.currentThread());
+                Thread.sleep(blockMillis);
+                return;
+            default:
+                Thread.sleep(blockMillis);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.IdempotencyKeyDAO;
+import com.campusconf.models.IdempotencyRecord;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.RequestDeadline;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides what to do with a request carrying an Idempotency-Key (see
+ * IdempotencyFilter). The first request with a key claims it and runs; its
+ * response is stored for idempotency.ttlHours. A retry with the same key
+ * and the same request gets the stored response back; one with a different
+ * request is refused. A duplicate arriving while the first is still running
+ * waits up to idempotency.waitMillis for it to finish, woken directly when
+ * the first runs in this JVM and polling the store otherwise.
+ *
+ * Claims of requests that never finish (a crash, a lost container thread)
+ * expire after idempotency.inProgressSeconds; a request that overruns its
+ * claim can no longer complete or release it once a retry took it over. Expired keys are deleted every
+ * idempotency.cleanupMinutes in batches of idempotency.cleanupBatchSize.
+ */
+public class IdempotencyService {
+    private static final IdempotencyService INSTANCE = new IdempotencyService();
+
+    public enum Outcome {
+        // The key is ours: run the request and call finish or abandon with the claim
+        PROCEED,
+        // The same request already finished; send its stored response
+        REPLAY,
+        // The key was used for a different request
+        MISMATCH,
+        // The first request with the key is still running
+        BUSY
+    }
+
+    /**
+     * A key held by one request, identified by a token of its own.
+     */
+    public static final class Claim {
+        private final String scope;
+        private final String key;
+        private final String token = UUID.randomUUID().toString();
+        // Completed when the claim ends, to wake local duplicates
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Claim(String scope, String key) {
+            this.scope = scope;
+            this.key = key;
+        }
+    }
+
+    public static final class Decision {
+        private final Outcome outcome;
+        private final IdempotencyRecord record;
+        private final Claim claim;
+
+        private Decision(Outcome outcome, IdempotencyRecord record, Claim claim) {
+            this.outcome = outcome;
+            this.record = record;
+            this.claim = claim;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * The claim to finish or abandon, for PROCEED.
+         */
+        public Claim getClaim() {
+            return claim;
+        }
+
+        /**
+         * The stored response, for REPLAY.
+         */
+        public IdempotencyRecord getRecord() {
+            return record;
+        }
+    }
+
+    private final IdempotencyKeyDAO keyDAO = DAOFactory.getIdempotencyKeyDAO();
+    // Requests holding a key in this JVM, so local duplicates wake as soon as they finish
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> running = new ConcurrentHashMap<>();
+
+    private final LongAdder claimed = MetricsUtil.counter("idempotency.claimed");
+    private final LongAdder replayed = MetricsUtil.counter("idempotency.replayed");
+    private final LongAdder mismatched = MetricsUtil.counter("idempotency.mismatched");
+    private final LongAdder waited = MetricsUtil.counter("idempotency.waited");
+    private final LongAdder busy = MetricsUtil.counter("idempotency.busy");
+    private final LongAdder released = MetricsUtil.counter("idempotency.released");
+    private final LongAdder expired = MetricsUtil.counter("idempotency.expired");
+
+    private ScheduledExecutorService scheduler;
+
+    private IdempotencyService() {
+        MetricsUtil.registerGauge("idempotency.running", running::size);
+    }
+
+    public static IdempotencyService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = Math.max(1, PerformanceConfigUtil.getLong("idempotency.cleanupMinutes", 15));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                keyDAO.createTableIfMissing();
+            } catch (SQLException e) {
+                LogUtil.error("Failed to create idempotency_keys", e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::cleanup, interval, interval, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public Decision begin(String scope, String key, String fingerprint) throws SQLException {
+        long waitMillis = PerformanceConfigUtil.getLong("idempotency.waitMillis", 10_000);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline != null) {
+            waitMillis = Math.min(waitMillis, deadline.remainingMillis());
+        }
+        long pollMillis = Math.max(10, PerformanceConfigUtil.getLong("idempotency.pollMillis", 200));
+        long giveUpAt = System.currentTimeMillis() + waitMillis;
+        boolean counted = false;
+
+        while (true) {
+            Claim claim = new Claim(scope, key);
+            if (keyDAO.claim(scope, key, fingerprint, claim.token, lockedUntil())) {
+                running.put(id(scope, key), claim.done);
+                claimed.increment();
+                return new Decision(Outcome.PROCEED, null, claim);
+            }
+            IdempotencyRecord record = keyDAO.find(scope, key);
+            long remaining = giveUpAt - System.currentTimeMillis();
+            if (record == null) {
+                // Released between the claim and the read; try to claim it again while time is left
+                if (remaining <= 0) {
+                    busy.increment();
+                    return new Decision(Outcome.BUSY, null, null);
+                }
+                continue;
+            }
+            if (!fingerprint.equals(record.getFingerprint())) {
+                mismatched.increment();
+                return new Decision(Outcome.MISMATCH, null, null);
+            }
+            if (IdempotencyKeyDAO.STATUS_COMPLETED.equals(record.getStatus())) {
+                replayed.increment();
+                return new Decision(Outcome.REPLAY, record, null);
+            }
+
+            if (remaining <= 0) {
+                busy.increment();
+                return new Decision(Outcome.BUSY, null, null);
+            }
+            if (!counted) {
+                waited.increment();
+                counted = true;
+            }
+            if (!await(running.get(id(scope, key)), Math.min(remaining, pollMillis))) {
+                busy.increment();
+                return new Decision(Outcome.BUSY, null, null);
+            }
+        }
+    }
+
+    /**
+     * Stores the response of a request that claimed its key. Responses a
+     * retry could turn out differently (server errors, timeouts, conflicts,
+     * rate limits) are not stored; the key is released instead.
+     */
+    public void finish(Claim claim, IdempotencyRecord response) {
+        try {
+            if (isFinal(response.getResponseStatus())) {
+                long ttlHours = PerformanceConfigUtil.getLong("idempotency.ttlHours", 24);
+                keyDAO.complete(claim.scope, claim.key, claim.token, response,
+                        new Timestamp(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(ttlHours)));
+            } else {
+                keyDAO.release(claim.scope, claim.key, claim.token);
+                released.increment();
+            }
+        } catch (SQLException | RuntimeException e) {
+            // The claim expires on its own; until then retries wait or get BUSY
+            LogUtil.error("Failed to record idempotency key " + claim.key, e);
+        } finally {
+            wake(claim);
+        }
+    }
+
+    /**
+     * Releases a claim whose request failed or whose response could not be
+     * captured, so the next retry runs it again.
+     */
+    public void abandon(Claim claim) {
+        try {
+            keyDAO.release(claim.scope, claim.key, claim.token);
+            released.increment();
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Failed to release idempotency key " + claim.key, e);
+        } finally {
+            wake(claim);
+        }
+    }
+
+    private void wake(Claim claim) {
+        // Only this claim's entry; a retry that took the key over keeps its own
+        running.remove(id(claim.scope, claim.key), claim.done);
+        claim.done.complete(null);
+    }
+
+    private static boolean isFinal(int status) {
+        return status < 500 && status != 408 && status != 409 && status != 425 && status != 429;
+    }
+
+    /**
+     * Waits for the local request holding the key, or simply sleeps when it
+     * runs elsewhere. Returns false if interrupted.
+     */
+    private static boolean await(CompletableFuture<Void> holder, long millis) {
+        try {
+            if (holder != null) {
+                holder.get(millis, TimeUnit.MILLISECONDS);
+            } else {
+                Thread.sleep(millis);
+            }
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Timestamp lockedUntil() {
+        long seconds = PerformanceConfigUtil.getLong("idempotency.inProgressSeconds", 600);
+        return new Timestamp(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(seconds));
+    }
+
+    private static String id(String scope, String key) {
+        return scope + '\n' + key;
+    }
+
+    private void cleanup() {
+        int batchSize = Math.max(1, PerformanceConfigUtil.getInt("idempotency.cleanupBatchSize", 1000));
+        try {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            int deleted;
+            do {
+                deleted = keyDAO.deleteExpired(now, batchSize);
+                expired.add(deleted);
+            } while (deleted == batchSize && !Thread.currentThread().isInterrupted());
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Idempotency key cleanup failed", e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.NotificationCountDAO;
+import com.campusconf.dao.impl.NotificationCountDAOImpl;
+import com.campusconf.models.Notification;
+import com.campusconf.models.NotificationPage;
+import com.campusconf.utils.ConstantsUtil;
+import com.campusconf.utils.CursorUtil;
+import com.campusconf.utils.JsonUtil;
+import com.campusconf.utils.LogUtil;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * NotificationService that keeps the in-memory unread counters in step with
+ * every notification write, answers unread counts from them, and pushes new
+ * notifications and count changes to the user's open streams.
+ */
+public class LiveNotificationService extends NotificationService {
+    private static final LiveNotificationService INSTANCE = new LiveNotificationService();
+    // Conditional writes that lose this many races in a row fall back to a recount
+    private static final int MAX_CONDITIONAL_ATTEMPTS = 3;
+
+    private final UnreadNotificationCounter unreadCounter = UnreadNotificationCounter.getInstance();
+    private final NotificationStreamHub streamHub = NotificationStreamHub.getInstance();
+    private final NotificationCountDAO countDAO = new NotificationCountDAOImpl();
+
+    private LiveNotificationService() {
+    }
+
+    /**
+     * The notification service every writer should use; writes that bypass
+     * it leave the unread counters stale until the next resync.
+     */
+    public static LiveNotificationService getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean createNotification(Notification notification) throws SQLException {
+        boolean created = super.createNotification(notification);
+        if (created) {
+            if (notification.getStatus() == null) {
+                // Status comes from the column default; recount on the next read
+                unreadCounter.invalidate(notification.getUserId());
+            } else if (isUnread(notification)) {
+                unreadCounter.adjust(notification.getUserId(), 1);
+            }
+            publishNotification(notification);
+            publishUnreadCount(notification.getUserId());
+        }
+        return created;
+    }
+
+    @Override
+    public boolean markAsRead(Long notificationId) throws SQLException {
+        return changeStatus(notificationId, ConstantsUtil.NOTIFICATION_READ);
+    }
+
+    @Override
+    public boolean markAllAsRead(Long userId) throws SQLException {
+        try {
+            return super.markAllAsRead(userId);
+        } finally {
+            // Resetting in place could swallow a notification created meanwhile
+            unreadCounter.invalidate(userId);
+            publishUnreadCount(userId);
+        }
+    }
+
+    @Override
+    public boolean updateNotificationStatus(Long notificationId, String status) throws SQLException {
+        return changeStatus(notificationId, status);
+    }
+
+    @Override
+    public boolean updateNotification(Notification notification) throws SQLException {
+        Notification before = super.getNotificationById(notification.getId());
+        try {
+            return super.updateNotification(notification);
+        } finally {
+            unreadCounter.invalidate(notification.getUserId());
+            publishUnreadCount(notification.getUserId());
+            if (before != null && !before.getUserId().equals(notification.getUserId())) {
+                unreadCounter.invalidate(before.getUserId());
+                publishUnreadCount(before.getUserId());
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteNotification(Long notificationId) throws SQLException {
+        for (int attempt = 0; attempt < MAX_CONDITIONAL_ATTEMPTS; attempt++) {
+            Notification before = super.getNotificationById(notificationId);
+            if (before == null) {
+                return false;
+            }
+            if (countDAO.deleteIf(notificationId, before.getStatus())) {
+                if (isUnread(before)) {
+                    unreadCounter.adjust(before.getUserId(), -1);
+                    publishUnreadCount(before.getUserId());
+                }
+                return true;
+            }
+        }
+        return deleteAndRecount(notificationId);
+    }
+
+    @Override
+    public boolean deleteNotificationsBySubmissionId(String submissionId) throws SQLException {
+        List<Notification> affected = super.getNotificationsBySubmissionId(submissionId);
+        try {
+            return super.deleteNotificationsBySubmissionId(submissionId);
+        } finally {
+            Set<Long> userIds = new LinkedHashSet<>();
+            for (Notification notification : affected) {
+                userIds.add(notification.getUserId());
+            }
+            for (Long userId : userIds) {
+                unreadCounter.invalidate(userId);
+                publishUnreadCount(userId);
+            }
+        }
+    }
+
+    @Override
+    public int countUnreadNotifications(Long userId) throws SQLException {
+        return unreadCounter.get(userId, () -> super.countUnreadNotifications(userId));
+    }
+
+    /**
+     * Sends the notification to every user holding one of the roles (see
+     * UserConferenceRoleDAO) in the conference. The audience is resolved and
+     * the rows inserted in the database with one statement, however many
+     * recipients there are. Returns the recipients.
+     */
+    public List<Long> broadcastToConference(Long conferenceId, Collection<String> roles, Notification template)
+            throws SQLException {
+        prepareTemplate(template);
+        return afterBroadcast(DAOFactory.getNotificationBroadcastDAO()
+                .insertForConferenceRoles(conferenceId, roles, template), template);
+    }
+
+    public List<Long> broadcastToSubmissionAuthors(String submissionId, Notification template) throws SQLException {
+        prepareTemplate(template);
+        return afterBroadcast(DAOFactory.getNotificationBroadcastDAO()
+                .insertForSubmissionAuthors(submissionId, template), template);
+    }
+
+    public List<Long> broadcastToUsers(Collection<Long> userIds, Notification template) throws SQLException {
+        prepareTemplate(template);
+        return afterBroadcast(DAOFactory.getNotificationBroadcastDAO().insertForUsers(userIds, template), template);
+    }
+
+    /**
+     * Returns up to limit notifications of the user, newest first, starting
+     * after the given position (see CursorUtil.decode; null for the first
+     * page). Status may be null for all statuses.
+     */
+    public NotificationPage getNotificationPage(Long userId, String status, CursorUtil.Position after, int limit)
+            throws SQLException {
+        // One extra row tells whether there is a next page
+        List<Notification> rows = DAOFactory.getNotificationPageDAO().findPage(userId, status, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new NotificationPage(rows, null);
+        }
+        List<Notification> page = rows.subList(0, limit);
+        Notification last = page.get(limit - 1);
+        return new NotificationPage(page, CursorUtil.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Moves a notification to the given status with a conditional UPDATE on
+     * the status it was read with, so of two racing writers only the one
+     * whose UPDATE matched adjusts the counter. A writer that keeps losing
+     * falls back to the plain update and a recount.
+     */
+    private boolean changeStatus(Long notificationId, String status) throws SQLException {
+        for (int attempt = 0; attempt < MAX_CONDITIONAL_ATTEMPTS; attempt++) {
+            Notification before = super.getNotificationById(notificationId);
+            if (before == null) {
+                return false;
+            }
+            if (Objects.equals(before.getStatus(), status)) {
+                return true;
+            }
+            if (countDAO.updateStatusIf(notificationId, before.getStatus(), status)) {
+                int delta = (ConstantsUtil.NOTIFICATION_UNREAD.equals(status) ? 1 : 0) - (isUnread(before) ? 1 : 0);
+                if (delta != 0) {
+                    unreadCounter.adjust(before.getUserId(), delta);
+                    publishUnreadCount(before.getUserId());
+                }
+                return true;
+            }
+        }
+        Notification current = super.getNotificationById(notificationId);
+        try {
+            return super.updateNotificationStatus(notificationId, status);
+        } finally {
+            if (current != null) {
+                unreadCounter.invalidate(current.getUserId());
+                publishUnreadCount(current.getUserId());
+            }
+        }
+    }
+
+    private boolean deleteAndRecount(Long notificationId) throws SQLException {
+        Notification current = super.getNotificationById(notificationId);
+        try {
+            return super.deleteNotification(notificationId);
+        } finally {
+            if (current != null) {
+                unreadCounter.invalidate(current.getUserId());
+                publishUnreadCount(current.getUserId());
+            }
+        }
+    }
+
+    private static void prepareTemplate(Notification template) {
+        if (template.getStatus() == null) {
+            template.setStatus(ConstantsUtil.NOTIFICATION_UNREAD);
+        }
+        // Only used for the pushed events; the rows get the database time
+        template.setCreatedAt(new Timestamp(System.currentTimeMillis()));
+    }
+
+    private List<Long> afterBroadcast(List<Long> recipients, Notification template) {
+        if (isUnread(template)) {
+            unreadCounter.adjustAll(recipients, 1);
+        }
+        for (Long userId : recipients) {
+            if (streamHub.hasConnections(userId)) {
+                template.setUserId(userId);
+                publishNotification(template);
+                publishUnreadCount(userId);
+            }
+        }
+        template.setUserId(null);
+        return recipients;
+    }
+
+    private void publishNotification(Notification notification) {
+        if (!streamHub.hasConnections(notification.getUserId())) {
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", notification.getId());
+        data.put("title", notification.getTitle());
+        data.put("message", notification.getMessage());
+        data.put("type", notification.getType());
+        data.put("status", notification.getStatus());
+        data.put("createdAt", notification.getCreatedAt());
+        streamHub.publish(notification.getUserId(), "notification", JsonUtil.toJsonObject(data));
+    }
+
+    private void publishUnreadCount(Long userId) {
+        // Only users with an open stream cost a count
+        if (userId == null || !streamHub.hasConnections(userId)) {
+            return;
+        }
+        try {
+            int count = countUnreadNotifications(userId);
+            streamHub.publish(userId, "unread-count", JsonUtil.toJsonObject(Map.of("count", count)));
+        } catch (SQLException e) {
+            LogUtil.warn("Could not push unread count to user " + userId + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isUnread(Notification notification) {
+        return ConstantsUtil.NOTIFICATION_UNREAD.equals(notification.getStatus());
+    }
+}
@@ -0,0 +1,228 @@
+package com.campusconf.services;
+
+import com.campusconf.utils.ConfigUtil;
+import com.campusconf.utils.EmailTemplateCatalog;
+import com.campusconf.utils.EmailTemplateEngine;
+import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import com.campusconf.utils.SmtpConnection;
+import com.campusconf.utils.SmtpSink;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Email throughput benchmark against an in-JVM SmtpSink. Each run starts a
+ * fresh sink with the requested faults, sends the requested number of
+ * messages from `concurrency` threads and reports messages/sec, send
+ * latency percentiles and the connection reuse ratio (messages the sink
+ * saw per connection it accepted).
+ *
+ * Scenarios:
+ * PER_MESSAGE  a new SMTP connection per message, as EmailUtil does
+ * POOLED       one persistent SmtpConnection per thread
+ * TEMPLATED    POOLED plus rendering a notification template per message
+ * BCC          bulk-mail style, one message per mail.benchmark.bccChunkSize recipients
+ * EMAILUTIL    EmailUtil.sendEmail itself
+ * GUARDED      OutboundMailService.sendNow, i.e. EmailUtil behind the SMTP guard
+ *
+ * EmailUtil takes its relay from config.properties, so the last two only
+ * run when smtp.host is the loopback address and smtp.port equals
+ * mail.sink.port; otherwise the benchmark would mail the real relay.
+ */
+public class MailBenchmarkService {
+    public static final List<String> SCENARIOS = Arrays.asList(
+            "PER_MESSAGE", "POOLED", "TEMPLATED", "BCC", "EMAILUTIL", "GUARDED");
+
+    private static final MailBenchmarkService INSTANCE = new MailBenchmarkService();
+    private static final int MAX_MESSAGES = 20_000;
+    private static final int MAX_CONCURRENCY = 64;
+    private static final String BENCHMARK_RECIPIENT = "benchmark@localhost";
+
+    private MailBenchmarkService() {
+    }
+
+    public static MailBenchmarkService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs one scenario. Only one benchmark runs at a time.
+     */
+    public synchronized Map<String, Object> run(String scenario, int messages, int concurrency,
+                                                long latencyMillis, double failureRate, double dropRate)
+            throws IOException, InterruptedException {
+        if (!SCENARIOS.contains(scenario)) {
+            throw new IllegalArgumentException("scenario must be one of " + SCENARIOS);
+        }
+        if (messages < 1 || messages > MAX_MESSAGES) {
+            throw new IllegalArgumentException("messages must be between 1 and " + MAX_MESSAGES);
+        }
+        if (concurrency < 1 || concurrency > MAX_CONCURRENCY) {
+            throw new IllegalArgumentException("concurrency must be between 1 and " + MAX_CONCURRENCY);
+        }
+        boolean viaEmailUtil = scenario.equals("EMAILUTIL") || scenario.equals("GUARDED");
+        int sinkPort = viaEmailUtil ? PerformanceConfigUtil.getInt("mail.sink.port", 2525) : 0;
+        if (viaEmailUtil && !relayIsSink(sinkPort)) {
+            throw new IllegalStateException(scenario + " needs smtp.host=127.0.0.1 and smtp.port=" + sinkPort);
+        }
+
+        try (SmtpSink sink = SmtpSink.start(sinkPort, 100)) {
+            sink.setLatencyMillis(latencyMillis);
+            sink.setFailureRate(failureRate);
+            sink.setDropRate(dropRate);
+
+            AtomicInteger remaining = new AtomicInteger(messages);
+            AtomicInteger errors = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+                Thread thread = new Thread(runnable, "mail-benchmark");
+                thread.setDaemon(true);
+                return thread;
+            });
+            List<Future<long[]>> results = new ArrayList<>();
+            long start = System.nanoTime();
+            try {
+                for (int i = 0; i < concurrency; i++) {
+                    results.add(workers.submit(() -> worker(scenario, sink, remaining, errors)));
+                }
+                List<Long> latencies = new ArrayList<>(messages);
+                for (Future<long[]> result : results) {
+                    for (long latency : result.get()) {
+                        latencies.add(latency);
+                    }
+                }
+                long elapsedNanos = System.nanoTime() - start;
+                return report(scenario, messages, concurrency, elapsedNanos, latencies, errors.get(), sink);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Benchmark worker failed", e.getCause());
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Sends until the shared budget is used up and returns the latency of
+     * every attempt in nanoseconds.
+     */
+    private long[] worker(String scenario, SmtpSink sink, AtomicInteger remaining, AtomicInteger errors) {
+        int maxPerConnection = scenario.equals("PER_MESSAGE") ? 1
+                : PerformanceConfigUtil.getInt("smtp.maxMessagesPerConnection", 100);
+        int bccChunkSize = PerformanceConfigUtil.getInt("mail.benchmark.bccChunkSize", 50);
+        long[] latencies = new long[64];
+        int count = 0;
+        try (SmtpConnection connection = new SmtpConnection(sink.createSession(), maxPerConnection)) {
+            int sequence;
+            while ((sequence = remaining.getAndDecrement()) > 0) {
+                long start = System.nanoTime();
+                try {
+                    send(scenario, connection, sequence, bccChunkSize);
+                } catch (MessagingException e) {
+                    errors.incrementAndGet();
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static void send(String scenario, SmtpConnection connection, int sequence, int bccChunkSize)
+            throws MessagingException {
+        String subject = "Benchmark message " + sequence;
+        String body = "Benchmark body for message " + sequence + ".";
+        switch (scenario) {
+            case "EMAILUTIL":
+                EmailUtil.sendEmail(BENCHMARK_RECIPIENT, subject, body);
+                return;
+            case "GUARDED":
+                OutboundMailService.getInstance().sendNow(BENCHMARK_RECIPIENT, subject, body);
+                return;
+            case "TEMPLATED": {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("submissionId", sequence);
+                values.put("decision", "ACCEPTED");
+                values.put("comments", "");
+                EmailTemplateEngine.RenderedEmail rendered = EmailTemplateEngine.render(
+                        EmailTemplateCatalog.SUBMISSION_DECISION, EmailTemplateEngine.DEFAULT_LANGUAGE, values);
+                subject = rendered.getSubject();
+                body = rendered.getBody();
+                break;
+            }
+            default:
+                break;
+        }
+        MimeMessage message = connection.newMessage(subject, body);
+        if (scenario.equals("BCC")) {
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(ConfigUtil.getApplicationEmail()));
+            InternetAddress[] bcc = new InternetAddress[bccChunkSize];
+            for (int i = 0; i < bccChunkSize; i++) {
+                bcc[i] = new InternetAddress("benchmark" + i + "@localhost");
+            }
+            message.setRecipients(Message.RecipientType.BCC, bcc);
+        } else {
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(BENCHMARK_RECIPIENT));
+        }
+        connection.send(message);
+    }
+
+    private static Map<String, Object> report(String scenario, int messages, int concurrency, long elapsedNanos,
+                                              List<Long> latencies, int errors, SmtpSink sink) {
+        latencies.sort(null);
+        long connections = sink.getConnectionsAccepted();
+        long transactions = sink.getMessagesAccepted() + sink.getMessagesFailed();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario);
+        report.put("messages", messages);
+        report.put("concurrency", concurrency);
+        report.put("durationMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        report.put("messagesPerSecond", Math.round((messages - errors) / seconds * 10) / 10.0);
+        report.put("latencyP50Millis", percentileMillis(latencies, 0.50));
+        report.put("latencyP99Millis", percentileMillis(latencies, 0.99));
+        report.put("latencyMaxMillis", percentileMillis(latencies, 1.0));
+        report.put("errors", errors);
+        report.put("sinkConnections", connections);
+        report.put("sinkAccepted", sink.getMessagesAccepted());
+        report.put("sinkFailed", sink.getMessagesFailed());
+        report.put("sinkDropped", sink.getConnectionsDropped());
+        report.put("connectionReuseRatio", connections == 0 ? 0.0 : Math.round(transactions * 100.0 / connections) / 100.0);
+        return report;
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        long nanos = sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static boolean relayIsSink(int sinkPort) {
+        try {
+            return InetAddress.getByName(ConfigUtil.getSmtpHost()).isLoopbackAddress()
+                    && ConfigUtil.getSmtpPort() == sinkPort;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.NotificationArchiveDAO;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the notifications table small. Every
+ * notifications.archive.intervalHours it adds the upcoming monthly
+ * partitions and moves read notifications older than
+ * notifications.archive.afterDays to notifications_archive, in batches of
+ * notifications.archive.batchSize with a short pause between them so the
+ * job never holds locks for long.
+ */
+public class NotificationArchiveService {
+    private static final NotificationArchiveService INSTANCE = new NotificationArchiveService();
+
+    private final LongAdder archived = MetricsUtil.counter("notifications.archive.rows");
+    private final LongAdder failures = MetricsUtil.counter("notifications.archive.failures");
+
+    private ScheduledExecutorService scheduler;
+
+    private NotificationArchiveService() {
+    }
+
+    public static NotificationArchiveService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = PerformanceConfigUtil.getLong("notifications.archive.intervalHours", 6);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::run, 1, interval * 60, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void run() {
+        NotificationArchiveDAO archiveDAO = DAOFactory.getNotificationArchiveDAO();
+        try {
+            archiveDAO.ensureSchema();
+            int monthsAhead = PerformanceConfigUtil.getInt("notifications.partitions.monthsAhead", 3);
+            boolean migrate = PerformanceConfigUtil.getBoolean("notifications.partitions.migrate", false);
+            if (!archiveDAO.ensureMonthlyPartitions(monthsAhead, migrate)) {
+                LogUtil.warn("notifications is not partitioned; set notifications.partitions.migrate=true " +
+                        "to convert it during a maintenance window");
+            }
+            archive(archiveDAO);
+        } catch (SQLException | RuntimeException e) {
+            failures.increment();
+            LogUtil.error("Notification archiving failed", e);
+        }
+    }
+
+    private void archive(NotificationArchiveDAO archiveDAO) throws SQLException {
+        long afterDays = PerformanceConfigUtil.getLong("notifications.archive.afterDays", 90);
+        int batchSize = PerformanceConfigUtil.getInt("notifications.archive.batchSize", 1000);
+        long pauseMillis = PerformanceConfigUtil.getLong("notifications.archive.pauseMillis", 200);
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(afterDays));
+
+        long start = System.currentTimeMillis();
+        long total = 0;
+        int moved;
+        do {
+            moved = archiveDAO.archiveReadBefore(cutoff, batchSize);
+            total += moved;
+            archived.add(moved);
+            if (moved == batchSize && !sleep(pauseMillis)) {
+                break;
+            }
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            LogUtil.logPerformanceMetric("notifications.archive", System.currentTimeMillis() - start);
+            LogUtil.info("Archived " + total + " read notifications older than " + afterDays + " days");
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
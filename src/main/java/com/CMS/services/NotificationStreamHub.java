@@ -0,0 +1,357 @@
+package com.campusconf.services;
+
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events fan-out for notifications. Each open
+ * /notifications/stream request is an AsyncContext in a per-user registry;
+ * no thread is parked on it. Output uses non-blocking I/O: events are queued
+ * per connection and written whenever the container reports the socket
+ * writable, so one slow client never holds up the others. A single
+ * background thread sends heartbeats to every connection.
+ *
+ * Every event gets a global, increasing id. The last few events of each
+ * user are kept so a client reconnecting with Last-Event-ID gets what it
+ * missed; if it fell further behind it receives a "resync" event instead.
+ */
+public class NotificationStreamHub {
+    private static final NotificationStreamHub INSTANCE = new NotificationStreamHub();
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final class Event {
+        private final long id;
+        private final long createdAt;
+        private final byte[] frame;
+
+        private Event(long id, String name, String data) {
+            this.id = id;
+            this.createdAt = System.currentTimeMillis();
+            this.frame = frame(id, name, data);
+        }
+    }
+
+    private static final class ReplayBuffer {
+        private final Deque<Event> events = new ArrayDeque<>();
+        // Highest id pushed out of this buffer; older ids cannot be replayed
+        private long evictedThrough;
+    }
+
+    /**
+     * One open stream. Frames are queued and drained under the connection's
+     * lock, either by the publishing thread or by the container's
+     * onWritePossible callback.
+     */
+    private final class Connection implements WriteListener, AsyncListener {
+        private final Long userId;
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        // Set once the write listener is installed; before that frames only queue
+        private volatile boolean listening;
+        private volatile boolean closed;
+
+        private Connection(Long userId, AsyncContext asyncContext) throws IOException {
+            this.userId = userId;
+            this.asyncContext = asyncContext;
+            this.out = asyncContext.getResponse().getOutputStream();
+        }
+
+        /**
+         * Queues the frame (if any) and writes as much as the socket takes.
+         */
+        private void send(byte[] frame) {
+            if (closed) {
+                return;
+            }
+            if (frame != null) {
+                queue(frame);
+            }
+            if (pendingCount.get() > maxPendingFrames) {
+                // The client is not reading; drop it and let it reconnect
+                slowClientsDropped.increment();
+                close();
+                return;
+            }
+            drain();
+        }
+
+        private void queue(byte[] frame) {
+            pending.add(frame);
+            pendingCount.incrementAndGet();
+        }
+
+        private synchronized void drain() {
+            if (!listening) {
+                return;
+            }
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] frame = pending.poll();
+                    if (frame == null) {
+                        out.flush();
+                        return;
+                    }
+                    pendingCount.decrementAndGet();
+                    out.write(frame);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unregister(this);
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closed = true;
+            unregister(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final Map<Long, ReplayBuffer> recentEvents = new ConcurrentHashMap<>();
+    // Ids start at the boot time so they keep increasing across restarts
+    private final AtomicLong nextEventId = new AtomicLong(System.currentTimeMillis());
+    // Highest id of any replay buffer dropped for age; nothing at or below it can be replayed
+    private final AtomicLong forgottenThrough = new AtomicLong(nextEventId.get());
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final int maxPendingFrames;
+    private final int replaySize;
+    private final long replayMillis;
+
+    private final LongAdder eventsPublished = MetricsUtil.counter("notifications.stream.events");
+    private final LongAdder replays = MetricsUtil.counter("notifications.stream.replays");
+    private final LongAdder slowClientsDropped = MetricsUtil.counter("notifications.stream.slowClientsDropped");
+
+    private ScheduledExecutorService scheduler;
+
+    private NotificationStreamHub() {
+        this.maxPendingFrames = PerformanceConfigUtil.getInt("notifications.stream.maxPendingEvents", 256);
+        this.replaySize = PerformanceConfigUtil.getInt("notifications.stream.replaySize", 50);
+        this.replayMillis = PerformanceConfigUtil.getLong("notifications.stream.replaySeconds", 600) * 1000;
+        MetricsUtil.registerGauge("notifications.stream.connections", connectionCount::get);
+        MetricsUtil.registerGauge("notifications.stream.users", connections::size);
+    }
+
+    public static NotificationStreamHub getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers an already started AsyncContext as a stream for the user and
+     * replays the events after lastEventId, if given.
+     */
+    public void connect(Long userId, AsyncContext asyncContext, Long lastEventId) throws IOException {
+        Connection connection = new Connection(userId, asyncContext);
+        asyncContext.addListener(connection);
+
+        // Tell the browser how long to wait before reconnecting
+        connection.queue("retry: 5000\n\n".getBytes(StandardCharsets.UTF_8));
+
+        // Replay and registration happen under the buffer lock, so an event
+        // published meanwhile is neither lost nor sent twice
+        ReplayBuffer buffer = recentEvents.computeIfAbsent(userId, key -> new ReplayBuffer());
+        synchronized (buffer) {
+            if (lastEventId != null) {
+                replay(connection, buffer, lastEventId);
+            }
+            connections.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        connectionCount.incrementAndGet();
+
+        // The container calls onWritePossible right away and whenever the socket drains
+        connection.listening = true;
+        connection.out.setWriteListener(connection);
+    }
+
+    public boolean hasConnections(Long userId) {
+        Set<Connection> userConnections = connections.get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
+
+    /**
+     * Sends a named event with a JSON payload to every open stream of the user
+     * and keeps it for replay.
+     */
+    public void publish(Long userId, String eventName, String data) {
+        if (userId == null) {
+            return;
+        }
+        List<Connection> targets = new ArrayList<>();
+        ReplayBuffer buffer = recentEvents.computeIfAbsent(userId, key -> new ReplayBuffer());
+        synchronized (buffer) {
+            Event event = new Event(nextEventId.incrementAndGet(), eventName, data);
+            buffer.events.addLast(event);
+            while (buffer.events.size() > replaySize) {
+                buffer.evictedThrough = buffer.events.removeFirst().id;
+            }
+            Set<Connection> userConnections = connections.get(userId);
+            if (userConnections != null) {
+                for (Connection connection : userConnections) {
+                    connection.queue(event.frame);
+                    targets.add(connection);
+                }
+            }
+        }
+        eventsPublished.increment();
+
+        // Write outside the buffer lock
+        for (Connection connection : targets) {
+            connection.send(null);
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = PerformanceConfigUtil.getLong("notifications.stream.heartbeatSeconds", 20);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        for (Set<Connection> userConnections : connections.values()) {
+            for (Connection connection : new ArrayList<>(userConnections)) {
+                connection.close();
+            }
+        }
+    }
+
+    private void heartbeat() {
+        try {
+            long cutoff = System.currentTimeMillis() - replayMillis;
+            for (Set<Connection> userConnections : connections.values()) {
+                for (Connection connection : userConnections) {
+                    connection.send(HEARTBEAT);
+                }
+            }
+            // Forget replay buffers that have aged out entirely
+            recentEvents.entrySet().removeIf(entry -> {
+                ReplayBuffer buffer = entry.getValue();
+                synchronized (buffer) {
+                    Event newest = buffer.events.peekLast();
+                    if (newest != null && newest.createdAt >= cutoff) {
+                        return false;
+                    }
+                    long through = newest != null ? newest.id : buffer.evictedThrough;
+                    forgottenThrough.accumulateAndGet(through, Math::max);
+                    return true;
+                }
+            });
+        } catch (RuntimeException e) {
+            LogUtil.error("Notification stream heartbeat failed", e);
+        }
+    }
+
+    /**
+     * Queues the events the client missed, or a "resync" event if some of
+     * them are no longer buffered. Called with the buffer locked.
+     */
+    private void replay(Connection connection, ReplayBuffer buffer, long lastEventId) {
+        boolean complete = lastEventId >= buffer.evictedThrough
+                && lastEventId >= forgottenThrough.get()
+                && lastEventId <= nextEventId.get();
+        if (!complete) {
+            connection.queue(frame(nextEventId.get(), "resync", "{}"));
+            return;
+        }
+        replays.increment();
+        for (Event event : buffer.events) {
+            if (event.id > lastEventId) {
+                connection.queue(event.frame);
+            }
+        }
+    }
+
+    private void unregister(Connection connection) {
+        Set<Connection> userConnections = connections.get(connection.userId);
+        if (userConnections != null && userConnections.remove(connection)) {
+            connectionCount.decrementAndGet();
+            if (userConnections.isEmpty()) {
+                connections.remove(connection.userId, userConnections);
+            }
+        }
+    }
+
+    private static byte[] frame(long id, String name, String data) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("id: ").append(id).append('\n');
+        sb.append("event: ").append(name).append('\n');
+        for (String line : data.split("\n", -1)) {
+            sb.append("data: ").append(line).append('\n');
+        }
+        sb.append('\n');
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
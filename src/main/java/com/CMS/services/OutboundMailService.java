@@ -0,0 +1,203 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.MailOutboxDAO;
+import com.campusconf.models.OutboxMail;
+import com.campusconf.utils.DependencyGuard;
+import com.campusconf.utils.DependencyUnavailableException;
+import com.campusconf.utils.EmailUtil;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Single entry point for transactional email. Every send goes through the
+ * "smtp" DependencyGuard, so a hung relay costs a request thread at most
+ * resilience.smtp.timeoutMillis and, once the circuit opens, nothing at all.
+ *
+ * send() falls back to the mail_outbox table when the relay is unavailable;
+ * a background thread retries outbox mail with exponential backoff
+ * whenever the circuit lets calls through. Rejected addresses are the
+ * caller's problem and are neither deferred nor counted against the relay.
+ *
+ * A send that timed out may still have been accepted by the relay, so it is
+ * not retried: the mail is recorded in the outbox as UNKNOWN for an operator
+ * to check, rather than risking a second copy.
+ */
+public class OutboundMailService {
+    private static final OutboundMailService INSTANCE = new OutboundMailService();
+    private static final Predicate<Throwable> CALLER_FAULT =
+            e -> e instanceof SendFailedException || e instanceof AddressException;
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final DependencyGuard smtp = DependencyGuard.of("smtp");
+    private final MailOutboxDAO mailOutboxDAO = DAOFactory.getMailOutboxDAO();
+
+    private final LongAdder deferred = MetricsUtil.counter("mail.deferred");
+    private final LongAdder unknown = MetricsUtil.counter("mail.unknown");
+    private final LongAdder outboxSent = MetricsUtil.counter("mail.outbox.sent");
+    private final LongAdder outboxFailed = MetricsUtil.counter("mail.outbox.failed");
+
+    private ScheduledExecutorService scheduler;
+
+    private OutboundMailService() {
+    }
+
+    public static OutboundMailService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sends the email now if the relay is healthy, else queues it in the
+     * outbox. Returns false if it was queued. Throws only if the address was
+     * rejected or the email could not be queued either.
+     */
+    public boolean send(String to, String subject, String body) throws MessagingException {
+        try {
+            sendNow(to, subject, body);
+            return true;
+        } catch (MessagingException e) {
+            if (CALLER_FAULT.test(e)) {
+                throw e;
+            }
+            defer(to, subject, body, e.getMessage(), isOutcomeUnknown(e));
+            return false;
+        }
+    }
+
+    /**
+     * Sends the email under the guard without falling back to the outbox;
+     * for callers that keep their own retry queue.
+     */
+    public void sendNow(String to, String subject, String body) throws MessagingException {
+        try {
+            smtp.call(() -> {
+                EmailUtil.sendEmail(to, subject, body);
+                return null;
+            }, MessagingException.class, CALLER_FAULT);
+        } catch (DependencyUnavailableException e) {
+            throw new MessagingException(e.getMessage(), e);
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = PerformanceConfigUtil.getLong("mail.outbox.retrySeconds", 30);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                mailOutboxDAO.createTableIfMissing();
+            } catch (SQLException e) {
+                LogUtil.error("Failed to create mail outbox table", e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::drain, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * True if the send failed in a way that leaves open whether the relay
+     * accepted the mail, i.e. it timed out mid-transaction. Callers with
+     * their own retry queue should not resend such mail blindly.
+     */
+    public static boolean isOutcomeUnknown(MessagingException e) {
+        return e.getCause() instanceof DependencyUnavailableException
+                && ((DependencyUnavailableException) e.getCause()).getReason()
+                    == DependencyUnavailableException.Reason.TIMEOUT;
+    }
+
+    private void defer(String to, String subject, String body, String reason, boolean outcomeUnknown)
+            throws MessagingException {
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        mail.setLastError(reason);
+        mail.setStatus(outcomeUnknown ? MailOutboxDAO.STATUS_UNKNOWN : MailOutboxDAO.STATUS_PENDING);
+        try {
+            mailOutboxDAO.enqueue(mail);
+            if (outcomeUnknown) {
+                unknown.increment();
+                LogUtil.warn("Mail to " + to + " timed out and may have been sent; kept in the outbox as "
+                        + MailOutboxDAO.STATUS_UNKNOWN + " (id " + mail.getId() + ")");
+            } else {
+                deferred.increment();
+            }
+        } catch (SQLException e) {
+            throw new MessagingException("Could not send or queue email: " + reason, e);
+        }
+    }
+
+    /**
+     * Retries due outbox mail, up to mail.outbox.batchSize per run. Stops
+     * early when the circuit opens so a dead relay is not hammered.
+     */
+    private void drain() {
+        try {
+            int batchSize = PerformanceConfigUtil.getInt("mail.outbox.batchSize", 100);
+            int maxAttempts = PerformanceConfigUtil.getInt("mail.outbox.maxAttempts", 10);
+            long baseBackoffMillis = PerformanceConfigUtil.getLong("mail.outbox.retrySeconds", 30) * 1000;
+
+            List<OutboxMail> due = mailOutboxDAO.findDue(new Timestamp(System.currentTimeMillis()), batchSize);
+            for (OutboxMail mail : due) {
+                try {
+                    sendNow(mail.getRecipient(), mail.getSubject(), mail.getBody());
+                    mailOutboxDAO.delete(mail.getId());
+                    outboxSent.increment();
+                } catch (MessagingException e) {
+                    if (isCircuitOpen(e)) {
+                        return;
+                    }
+                    int attempts = mail.getAttempts() + 1;
+                    if (isOutcomeUnknown(e)) {
+                        mailOutboxDAO.markUnknown(mail.getId(), attempts, e.getMessage());
+                        unknown.increment();
+                        LogUtil.warn("Outbox mail " + mail.getId() + " to " + mail.getRecipient()
+                                + " timed out and may have been sent; not retrying it");
+                    } else if (attempts >= maxAttempts || CALLER_FAULT.test(e)) {
+                        mailOutboxDAO.markFailed(mail.getId(), attempts, e.getMessage());
+                        outboxFailed.increment();
+                        LogUtil.warn("Giving up on outbox mail " + mail.getId() + " to " + mail.getRecipient()
+                                + ": " + e.getMessage());
+                    } else {
+                        long backoff = Math.min(MAX_BACKOFF_MILLIS, baseBackoffMillis << Math.min(attempts, 20));
+                        mailOutboxDAO.reschedule(mail.getId(), attempts,
+                                new Timestamp(System.currentTimeMillis() + backoff), e.getMessage());
+                    }
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Mail outbox retry failed", e);
+        }
+    }
+
+    private static boolean isCircuitOpen(MessagingException e) {
+        return e.getCause() instanceof DependencyUnavailableException
+                && ((DependencyUnavailableException) e.getCause()).getReason()
+                    == DependencyUnavailableException.Reason.CIRCUIT_OPEN;
+    }
+}
@@ -0,0 +1,224 @@
+package com.campusconf.services;
+
+import com.campusconf.utils.LogUtil;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a single JDK Flight Recorder recording inside the server JVM and
+ * summarizes its hot spots, so a degraded instance can be profiled without
+ * attaching external tools.
+ */
+public class ProfilingService {
+    private static final ProfilingService INSTANCE = new ProfilingService();
+
+    private static final String[] SUPPORTED_PROFILES = {"default", "profile"};
+    private static final long MAX_DURATION_SECONDS = 30 * 60;
+    private static final int TOP_LIMIT = 15;
+
+    private Recording recording;
+    private Path recordingFile;
+    private String profile;
+    private long startedAt;
+
+    private ProfilingService() {
+    }
+
+    public static ProfilingService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized Map<String, Object> startRecording(String profileName, long durationSeconds)
+            throws IOException, ParseException {
+        if (!isSupportedProfile(profileName)) {
+            throw new IllegalArgumentException("Unsupported JFR profile: " + profileName);
+        }
+        if (durationSeconds <= 0 || durationSeconds > MAX_DURATION_SECONDS) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION_SECONDS + " seconds");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+
+        // Drop the previous recording before starting a new one
+        discardRecording();
+
+        Path destination = Files.createTempFile("campusconf-", ".jfr");
+        Recording newRecording = new Recording(Configuration.getConfiguration(profileName));
+        newRecording.setName("campusconf-" + System.currentTimeMillis());
+        newRecording.setToDisk(true);
+        newRecording.setDuration(Duration.ofSeconds(durationSeconds));
+        newRecording.setDestination(destination);
+        newRecording.start();
+
+        recording = newRecording;
+        recordingFile = destination;
+        profile = profileName;
+        startedAt = System.currentTimeMillis();
+
+        LogUtil.info("JFR recording started with profile '" + profileName + "' for " + durationSeconds + "s");
+        return getStatus();
+    }
+
+    public synchronized Map<String, Object> stopRecording() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED) {
+            // Stopping writes the data to the destination file
+            recording.stop();
+            LogUtil.info("JFR recording stopped after " + (System.currentTimeMillis() - startedAt) + "ms");
+        }
+        return getStatus();
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("profile", profile);
+        status.put("startedAt", startedAt);
+        status.put("durationSeconds", recording.getDuration() != null ? recording.getDuration().getSeconds() : 0);
+        status.put("fileReady", isRecordingFileReady());
+        return status;
+    }
+
+    /**
+     * Returns the finished recording file, or null while the recording is still running.
+     */
+    public synchronized Path getRecordingFile() {
+        return isRecordingFileReady() ? recordingFile : null;
+    }
+
+    // Holds the lock while parsing so a new recording cannot delete the file underneath
+    public synchronized Map<String, Object> summarize() throws IOException {
+        Path file = getRecordingFile();
+        if (file == null) {
+            throw new IllegalStateException("No finished recording is available");
+        }
+
+        Map<String, Long> cpuFrames = new HashMap<>();
+        Map<String, Long> allocationSites = new HashMap<>();
+        Map<String, Long> lockContention = new HashMap<>();
+        long executionSamples = 0;
+        long gcCount = 0;
+        long gcTotalPauseNanos = 0;
+        long gcMaxPauseNanos = 0;
+
+        try (RecordingFile recordingData = new RecordingFile(file)) {
+            while (recordingData.hasMoreEvents()) {
+                RecordedEvent event = recordingData.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample":
+                        executionSamples++;
+                        cpuFrames.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                        break;
+                    case "jdk.ObjectAllocationSample":
+                        allocationSites.merge(topFrame(event.getStackTrace()), event.getLong("weight"), Long::sum);
+                        break;
+                    case "jdk.JavaMonitorEnter":
+                        String monitorClass = event.getClass("monitorClass") != null
+                                ? event.getClass("monitorClass").getName() : "unknown";
+                        lockContention.merge(monitorClass + " @ " + topFrame(event.getStackTrace()),
+                                event.getDuration().toNanos(), Long::sum);
+                        break;
+                    case "jdk.GarbageCollection":
+                        long pause = event.getDuration("sumOfPauses").toNanos();
+                        gcCount++;
+                        gcTotalPauseNanos += pause;
+                        gcMaxPauseNanos = Math.max(gcMaxPauseNanos, pause);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        Map<String, Object> gcPauses = new HashMap<>();
+        gcPauses.put("count", gcCount);
+        gcPauses.put("totalPauseMs", gcTotalPauseNanos / 1_000_000);
+        gcPauses.put("maxPauseMs", gcMaxPauseNanos / 1_000_000);
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("recording", getStatus());
+        summary.put("executionSamples", executionSamples);
+        summary.put("topCpuFrames", topEntries(cpuFrames, "frame", "samples"));
+        summary.put("topAllocationSites", topEntries(allocationSites, "frame", "bytes"));
+        summary.put("topLockContention", topEntries(lockContention, "monitor", "blockedNanos"));
+        summary.put("gcPauses", gcPauses);
+        return summary;
+    }
+
+    private boolean isRecordingFileReady() {
+        return recording != null
+                && (recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED)
+                && recordingFile != null && Files.exists(recordingFile);
+    }
+
+    private void discardRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (recordingFile != null) {
+            try {
+                Files.deleteIfExists(recordingFile);
+            } catch (IOException e) {
+                LogUtil.warn("Could not delete previous JFR file " + recordingFile + ": " + e.getMessage());
+            }
+            recordingFile = null;
+        }
+    }
+
+    private static boolean isSupportedProfile(String profileName) {
+        for (String supported : SUPPORTED_PROFILES) {
+            if (supported.equals(profileName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    private static List<Map<String, Object>> topEntries(Map<String, Long> totals, String keyName, String valueName) {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP_LIMIT)
+                .forEach(entry -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put(keyName, entry.getKey());
+                    item.put(valueName, entry.getValue());
+                    entries.add(item);
+                });
+        return entries;
+    }
+}
@@ -0,0 +1,85 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.DAOFactory;
+import com.campusconf.dao.RoleIndexMaintainer;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job for the user_conference_roles index. On start it creates
+ * the table if needed and rebuilds it; afterwards it retries failed
+ * per-conference refreshes every roleIndex.repairIntervalSeconds and rebuilds
+ * the whole index every roleIndex.rebuildIntervalMinutes to undo any drift
+ * from writes that bypass the DAOs.
+ */
+public class RoleIndexRepairService {
+    private static final RoleIndexRepairService INSTANCE = new RoleIndexRepairService();
+
+    private ScheduledExecutorService scheduler;
+
+    private RoleIndexRepairService() {
+    }
+
+    public static RoleIndexRepairService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long repairInterval = PerformanceConfigUtil.getLong("roleIndex.repairIntervalSeconds", 60);
+        long rebuildInterval = PerformanceConfigUtil.getLong("roleIndex.rebuildIntervalMinutes", 24 * 60);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "role-index-repair");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::initialize);
+        scheduler.scheduleWithFixedDelay(this::repair, repairInterval, repairInterval, TimeUnit.SECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuild, rebuildInterval, rebuildInterval, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void initialize() {
+        try {
+            DAOFactory.getUserConferenceRoleDAO().createTableIfMissing();
+        } catch (SQLException e) {
+            LogUtil.error("Failed to create user_conference_roles", e);
+            return;
+        }
+        rebuild();
+    }
+
+    private void repair() {
+        try {
+            RoleIndexMaintainer.repairPending();
+        } catch (SQLException | RuntimeException e) {
+            // Caught so the schedule keeps running
+            LogUtil.error("Role index repair failed", e);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            int rows = RoleIndexMaintainer.rebuildAll();
+            LogUtil.logPerformanceMetric("roleIndex.rebuild", System.currentTimeMillis() - start);
+            LogUtil.info("Rebuilt user_conference_roles with " + rows + " rows");
+        } catch (SQLException | RuntimeException e) {
+            LogUtil.error("Role index rebuild failed", e);
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.campusconf.services;
+
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission control for submission uploads. Uploads run on their own pool
+ * of upload.admission.slots threads, so the rush before a submission
+ * deadline neither waits behind nor starves the rest of the site. When all
+ * slots are busy, uploads queue per author and are served round-robin
+ * across authors: one author retrying five times waits behind five other
+ * authors' single uploads, not in front of them.
+ *
+ * Each upload is stamped with its accepted-at time when it is admitted to
+ * the queue, and that is the time recorded on the submission, so time
+ * spent waiting for a slot never counts against the author. An upload that
+ * waits longer than upload.admission.queueTimeoutMillis is turned away;
+ * full queues turn uploads away at once.
+ */
+public class SubmissionAdmissionService {
+    private static final SubmissionAdmissionService INSTANCE = new SubmissionAdmissionService();
+
+    /**
+     * The work of one upload. Exactly one of run() and expired() is called,
+     * unless the ticket was cancelled first.
+     */
+    public interface UploadTask {
+        void run(Ticket ticket);
+
+        void expired(Ticket ticket);
+    }
+
+    /**
+     * One admitted upload.
+     */
+    public static final class Ticket {
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+
+        private final Long userId;
+        private final UploadTask task;
+        private final Timestamp acceptedAt;
+        private final long acceptedNanos;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile long startedNanos;
+
+        private Ticket(Long userId, UploadTask task) {
+            this.userId = userId;
+            this.task = task;
+            this.acceptedAt = new Timestamp(System.currentTimeMillis());
+            this.acceptedNanos = System.nanoTime();
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Timestamp getAcceptedAt() {
+            return acceptedAt;
+        }
+
+        public long getQueuedMillis() {
+            long end = startedNanos != 0 ? startedNanos : System.nanoTime();
+            return TimeUnit.NANOSECONDS.toMillis(end - acceptedNanos);
+        }
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Per-author FIFO queues, and the order in which authors get their next turn
+    private final Map<Long, Deque<Ticket>> queues = new HashMap<>();
+    private final Deque<Long> rotation = new ArrayDeque<>();
+    private int queued;
+    private int active;
+
+    private final LongAdder admitted = MetricsUtil.counter("upload.admission.admitted");
+    private final LongAdder rejected = MetricsUtil.counter("upload.admission.rejected");
+    private final LongAdder expired = MetricsUtil.counter("upload.admission.expired");
+    private final LongAdder completed = MetricsUtil.counter("upload.admission.completed");
+    private final LongAdder totalWaitMillis = MetricsUtil.counter("upload.admission.waitMillis");
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private int slots;
+    private int maxQueued;
+    private int maxQueuedPerUser;
+    private long queueTimeoutMillis;
+    private ExecutorService workers;
+
+    private SubmissionAdmissionService() {
+        MetricsUtil.registerGauge("upload.admission.active", this::getActive);
+        MetricsUtil.registerGauge("upload.admission.queued", this::getQueued);
+        MetricsUtil.registerGauge("upload.admission.queuedUsers", this::getQueuedUsers);
+    }
+
+    public static SubmissionAdmissionService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void start() {
+        if (workers != null) {
+            return;
+        }
+        slots = Math.max(1, PerformanceConfigUtil.getInt("upload.admission.slots", 8));
+        maxQueued = PerformanceConfigUtil.getInt("upload.admission.maxQueued", 500);
+        maxQueuedPerUser = PerformanceConfigUtil.getInt("upload.admission.maxQueuedPerUser", 3);
+        queueTimeoutMillis = PerformanceConfigUtil.getLong("upload.admission.queueTimeoutMillis", 120_000);
+        AtomicInteger threadNumber = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(slots, runnable -> {
+            Thread thread = new Thread(runnable, "upload-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LogUtil.info("Upload admission started with " + slots + " slots");
+    }
+
+    public synchronized void stop() {
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+        lock.lock();
+        try {
+            queues.clear();
+            rotation.clear();
+            queued = 0;
+            active = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getQueueTimeoutMillis() {
+        return queueTimeoutMillis;
+    }
+
+    /**
+     * Admits an upload: it starts at once if a slot is free and is queued
+     * otherwise. Returns null if the upload was turned away because the
+     * queue, or the author's share of it, is full.
+     */
+    public Ticket submit(Long userId, UploadTask task) {
+        Ticket ticket = new Ticket(userId, task);
+        lock.lock();
+        try {
+            if (workers == null) {
+                throw new IllegalStateException("Upload admission is not running");
+            }
+            if (active < slots && queued == 0) {
+                active++;
+                dispatch(ticket);
+            } else {
+                Deque<Ticket> queue = queues.get(userId);
+                if (queued >= maxQueued || (queue != null && queue.size() >= maxQueuedPerUser)) {
+                    rejected.increment();
+                    return null;
+                }
+                if (queue == null) {
+                    queue = new ArrayDeque<>();
+                    queues.put(userId, queue);
+                    rotation.addLast(userId);
+                }
+                queue.addLast(ticket);
+                queued++;
+            }
+            admitted.increment();
+            return ticket;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Withdraws a ticket that has not started yet, e.g. because the client
+     * went away. Returns false if it is already running or finished.
+     */
+    public boolean cancel(Ticket ticket) {
+        if (!ticket.state.compareAndSet(Ticket.QUEUED, Ticket.DONE)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Deque<Ticket> queue = queues.get(ticket.userId);
+            if (queue != null && queue.remove(ticket)) {
+                queued--;
+                if (queue.isEmpty()) {
+                    queues.remove(ticket.userId);
+                    rotation.remove(ticket.userId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Queue state for organizers watching a deadline rush.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            status.put("slots", slots);
+            status.put("active", active);
+            status.put("queued", queued);
+            status.put("queuedUsers", queues.size());
+            Ticket oldest = null;
+            for (Deque<Ticket> queue : queues.values()) {
+                Ticket head = queue.peekFirst();
+                if (head != null && (oldest == null || head.acceptedNanos < oldest.acceptedNanos)) {
+                    oldest = head;
+                }
+            }
+            status.put("oldestQueuedMillis", oldest == null ? 0 : oldest.getQueuedMillis());
+        } finally {
+            lock.unlock();
+        }
+        long finished = completed.sum();
+        status.put("admitted", admitted.sum());
+        status.put("rejected", rejected.sum());
+        status.put("expired", expired.sum());
+        status.put("completed", finished);
+        status.put("averageWaitMillis", finished == 0 ? 0 : totalWaitMillis.sum() / finished);
+        status.put("maxWaitMillis", maxWaitMillis.get());
+        status.put("queueTimeoutMillis", queueTimeoutMillis);
+        return status;
+    }
+
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedUsers() {
+        lock.lock();
+        try {
+            return queues.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held and a slot already counted in active
+    private void dispatch(Ticket ticket) {
+        try {
+            workers.execute(() -> runAndContinue(ticket));
+        } catch (RejectedExecutionException e) {
+            active--;
+            throw new IllegalStateException("Upload admission is shutting down", e);
+        }
+    }
+
+    private void runAndContinue(Ticket ticket) {
+        Ticket current = ticket;
+        while (current != null) {
+            execute(current);
+            current = nextTicket();
+        }
+    }
+
+    private void execute(Ticket ticket) {
+        if (!ticket.state.compareAndSet(Ticket.QUEUED, Ticket.RUNNING)) {
+            // Cancelled while queued
+            return;
+        }
+        ticket.startedNanos = System.nanoTime();
+        long waited = ticket.getQueuedMillis();
+        try {
+            if (waited > queueTimeoutMillis) {
+                expired.increment();
+                ticket.task.expired(ticket);
+                return;
+            }
+            totalWaitMillis.add(waited);
+            maxWaitMillis.accumulateAndGet(waited, Math::max);
+            ticket.task.run(ticket);
+            completed.increment();
+        } catch (RuntimeException e) {
+            LogUtil.error("Upload failed", e);
+        } finally {
+            ticket.state.set(Ticket.DONE);
+        }
+    }
+
+    /**
+     * Hands the slot to the next author in rotation, or frees it.
+     */
+    private Ticket nextTicket() {
+        lock.lock();
+        try {
+            Long userId = rotation.pollFirst();
+            if (userId == null) {
+                active--;
+                return null;
+            }
+            Deque<Ticket> queue = queues.get(userId);
+            Ticket next = queue.pollFirst();
+            queued--;
+            if (queue.isEmpty()) {
+                queues.remove(userId);
+            } else {
+                rotation.addLast(userId);
+            }
+            return next;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.campusconf.services;
+
+import com.campusconf.dao.NotificationCountDAO;
+import com.campusconf.dao.impl.NotificationCountDAOImpl;
+import com.campusconf.utils.LogUtil;
+import com.campusconf.utils.MetricsUtil;
+import com.campusconf.utils.PerformanceConfigUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user unread notification counts held in memory. A count is loaded from
+ * the database on first read and afterwards only adjusted by the notification
+ * writes, so polling /notifications/count does not touch MySQL. A background
+ * resync recounts every cached user in one query and drops users that have
+ * not polled for a while.
+ *
+ * Writes bump a per-stripe sequence. A loaded count is only kept if no write
+ * hit its stripe while it was loading, so an adjustment can never be lost
+ * between the COUNT(*) and the cache insert.
+ */
+public class UnreadNotificationCounter {
+    private static final UnreadNotificationCounter INSTANCE = new UnreadNotificationCounter();
+    private static final int STRIPES = 64;
+
+    @FunctionalInterface
+    public interface Loader {
+        int load() throws SQLException;
+    }
+
+    private static final class Counter {
+        private final LongAdder unread = new LongAdder();
+        private volatile long lastReadAt = System.currentTimeMillis();
+
+        private Counter(int initial) {
+            unread.add(initial);
+        }
+    }
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLongArray writeSequences = new AtomicLongArray(STRIPES);
+    private final NotificationCountDAO countDAO = new NotificationCountDAOImpl();
+
+    private final LongAdder hits = MetricsUtil.counter("notifications.unreadCounter.hits");
+    private final LongAdder misses = MetricsUtil.counter("notifications.unreadCounter.misses");
+    private final LongAdder drifts = MetricsUtil.counter("notifications.unreadCounter.drifts");
+
+    private ScheduledExecutorService scheduler;
+
+    private UnreadNotificationCounter() {
+        MetricsUtil.registerGauge("notifications.unreadCounter.size", counters::size);
+    }
+
+    public static UnreadNotificationCounter getInstance() {
+        return INSTANCE;
+    }
+
+    public int get(Long userId, Loader loader) throws SQLException {
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            hits.increment();
+            counter.lastReadAt = System.currentTimeMillis();
+            return (int) Math.max(0, counter.unread.sum());
+        }
+
+        misses.increment();
+        long sequence = writeSequences.get(stripe(userId));
+        int unread = loader.load();
+        install(userId, new Counter(unread), sequence);
+        return unread;
+    }
+
+    public void adjust(Long userId, int delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        writeSequences.incrementAndGet(stripe(userId));
+        Counter counter = counters.get(userId);
+        if (counter != null) {
+            counter.unread.add(delta);
+            if (counter.unread.sum() < 0) {
+                // Lost track somewhere; reload on the next read
+                drifts.increment();
+                counters.remove(userId, counter);
+            }
+        }
+    }
+
+    /**
+     * Applies the same delta to many users, e.g. after a broadcast. Each
+     * stripe's sequence is bumped before any of its counters change.
+     */
+    public void adjustAll(Collection<Long> userIds, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        boolean[] touched = new boolean[STRIPES];
+        for (Long userId : userIds) {
+            if (userId != null) {
+                touched[stripe(userId)] = true;
+            }
+        }
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            if (touched[stripe]) {
+                writeSequences.incrementAndGet(stripe);
+            }
+        }
+        for (Long userId : userIds) {
+            Counter counter = userId != null ? counters.get(userId) : null;
+            if (counter != null) {
+                counter.unread.add(delta);
+                if (counter.unread.sum() < 0) {
+                    drifts.increment();
+                    counters.remove(userId, counter);
+                }
+            }
+        }
+    }
+
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        writeSequences.incrementAndGet(stripe(userId));
+        counters.remove(userId);
+    }
+
+    /**
+     * Recounts every cached user in one query and forgets users that have
+     * not read their count within the idle window.
+     */
+    public void resync() throws SQLException {
+        long idleMillis = PerformanceConfigUtil.getLong("notifications.unreadCounter.idleMinutes", 30) * 60_000;
+        long cutoff = System.currentTimeMillis() - idleMillis;
+        counters.values().removeIf(counter -> counter.lastReadAt < cutoff);
+
+        Map<Long, Long> sequences = new HashMap<>();
+        for (Long userId : counters.keySet()) {
+            sequences.put(userId, writeSequences.get(stripe(userId)));
+        }
+        if (sequences.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>(sequences.keySet());
+        Map<Long, Integer> counts = countDAO.countUnreadByUserIds(userIds);
+        for (Long userId : userIds) {
+            Counter current = counters.get(userId);
+            if (current == null) {
+                continue;
+            }
+            if (current.unread.sum() != counts.getOrDefault(userId, 0)) {
+                drifts.increment();
+            }
+            Counter fresh = new Counter(counts.getOrDefault(userId, 0));
+            fresh.lastReadAt = current.lastReadAt;
+            if (counters.replace(userId, current, fresh)
+                    && writeSequences.get(stripe(userId)) != sequences.get(userId)) {
+                // A write raced with the recount; let the next read reload
+                counters.remove(userId, fresh);
+            }
+        }
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        long interval = PerformanceConfigUtil.getLong("notifications.unreadCounter.resyncSeconds", 300);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "unread-counter-resync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                resync();
+            } catch (SQLException | RuntimeException e) {
+                LogUtil.error("Unread notification counter resync failed", e);
+            }
+        }, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void install(Long userId, Counter counter, long sequence) {
+        if (counters.putIfAbsent(userId, counter) == null
+                && writeSequences.get(stripe(userId)) != sequence) {
+            // A write landed while we were counting; the count may already be stale
+            counters.remove(userId, counter);
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId ^ (userId >>> 32)) & (STRIPES - 1);
+    }
+}
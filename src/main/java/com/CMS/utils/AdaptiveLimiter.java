@@ -0,0 +1,227 @@
+package com.campusconf.utils;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that adapts to observed latency (AIMD). Every
+ * completed call feeds its latency into a short and a long moving average;
+ * while the short average stays within tolerancePercent of the long one
+ * and the limit is actually being used, the limit grows by about one per
+ * limit's worth of calls. When the short average runs away from the long
+ * one, or a call fails, the limit is cut by backoffPercent, at most once
+ * per cool-down of one short average.
+ *
+ * Callers over the limit wait in a queue for at most their own timeout.
+ * CRITICAL callers are served before NORMAL ones and may also use a small
+ * reserve above the limit; within a priority, the caller closest to its
+ * deadline goes first. A full queue rejects NORMAL callers at once;
+ * CRITICAL callers may still queue.
+ */
+public class AdaptiveLimiter {
+    public enum Priority {
+        CRITICAL, NORMAL
+    }
+
+    private static final double SHORT_ALPHA = 0.2;
+    private static final double LONG_ALPHA = 0.01;
+
+    private static final class Waiter {
+        private final Priority priority;
+        private final long deadlineNanos;
+        private final long sequence;
+        private final Condition condition;
+        private boolean granted;
+
+        private Waiter(Priority priority, long deadlineNanos, long sequence, Condition condition) {
+            this.priority = priority;
+            this.deadlineNanos = deadlineNanos;
+            this.sequence = sequence;
+            this.condition = condition;
+        }
+    }
+
+    private static final Comparator<Waiter> WAITER_ORDER = Comparator
+            .comparing((Waiter waiter) -> waiter.priority)
+            .thenComparingLong(waiter -> waiter.deadlineNanos)
+            .thenComparingLong(waiter -> waiter.sequence);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(WAITER_ORDER);
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final int criticalReserve;
+    private final double tolerance;
+    private final double backoff;
+
+    private double limit;
+    private int inFlight;
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+    private long lastDecreaseNanos;
+
+    private final LongAdder rejected;
+    private final LongAdder decreases;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, int maxQueue,
+                           int criticalReserve, int tolerancePercent, int backoffPercent) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.criticalReserve = Math.max(0, criticalReserve);
+        this.tolerance = Math.max(100, tolerancePercent) / 100.0;
+        this.backoff = Math.min(99, Math.max(1, backoffPercent)) / 100.0;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.lastDecreaseNanos = System.nanoTime();
+        this.rejected = MetricsUtil.counter("limiter." + name + ".rejected");
+        this.decreases = MetricsUtil.counter("limiter." + name + ".decreases");
+        MetricsUtil.registerGauge("limiter." + name + ".limit", this::getLimit);
+        MetricsUtil.registerGauge("limiter." + name + ".inFlight", this::getInFlight);
+        MetricsUtil.registerGauge("limiter." + name + ".queued", this::getQueued);
+        MetricsUtil.registerGauge("limiter." + name + ".latencyMillis",
+                () -> Math.round(getShortLatencyNanos() / 10_000.0) / 100.0);
+    }
+
+    /**
+     * Takes a slot, waiting at most maxWaitMillis. Returns false if no slot
+     * became free in time or the queue is full; a true return must be
+     * paired with exactly one release().
+     */
+    public boolean acquire(Priority priority, long maxWaitMillis) throws InterruptedException {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+        Waiter waiter;
+        lock.lock();
+        try {
+            waiter = new Waiter(priority, deadlineNanos, sequence.incrementAndGet(), lock.newCondition());
+            Waiter head = waiters.peek();
+            if (hasCapacity(priority) && (head == null || WAITER_ORDER.compare(waiter, head) < 0)) {
+                inFlight++;
+                return true;
+            }
+            if (maxWaitMillis <= 0 || (priority != Priority.CRITICAL && waiters.size() >= maxQueue)) {
+                rejected.increment();
+                return false;
+            }
+            waiters.add(waiter);
+            try {
+                while (!waiter.granted) {
+                    long remaining = deadlineNanos - System.nanoTime();
+                    if (remaining <= 0) {
+                        waiters.remove(waiter);
+                        rejected.increment();
+                        return false;
+                    }
+                    waiter.condition.awaitNanos(remaining);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // Slot was handed over while we were interrupted; pass it on
+                    inFlight--;
+                    grantWaiters();
+                } else {
+                    waiters.remove(waiter);
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns a slot and feeds the call's outcome into the limit. failed
+     * should be true for errors that suggest overload (timeouts, 5xx).
+     */
+    public void release(long latencyNanos, boolean failed) {
+        lock.lock();
+        try {
+            boolean utilized = inFlight >= limit / 2;
+            inFlight--;
+            adjust(latencyNanos, failed, utilized);
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getShortLatencyNanos() {
+        lock.lock();
+        try {
+            return shortLatencyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adjust(long latencyNanos, boolean failed, boolean utilized) {
+        if (longLatencyNanos == 0) {
+            shortLatencyNanos = latencyNanos;
+            longLatencyNanos = latencyNanos;
+        } else {
+            shortLatencyNanos += SHORT_ALPHA * (latencyNanos - shortLatencyNanos);
+            longLatencyNanos += LONG_ALPHA * (latencyNanos - longLatencyNanos);
+        }
+
+        if (failed || shortLatencyNanos > longLatencyNanos * tolerance) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= shortLatencyNanos) {
+                limit = Math.max(minLimit, limit * (1 - backoff));
+                lastDecreaseNanos = now;
+                decreases.increment();
+            }
+        } else if (utilized) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    private boolean hasCapacity(Priority priority) {
+        int allowed = (int) limit + (priority == Priority.CRITICAL ? criticalReserve : 0);
+        return inFlight < allowed;
+    }
+
+    private void grantWaiters() {
+        Waiter head;
+        while ((head = waiters.peek()) != null && hasCapacity(head.priority)) {
+            waiters.poll();
+            head.granted = true;
+            inFlight++;
+            head.condition.signal();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.campusconf.utils;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of concurrent calls to one dependency, so a slow
+ * dependency can tie up at most maxConcurrent threads. Callers wait at most
+ * maxWaitMillis for a slot.
+ */
+public class Bulkhead {
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final LongAdder rejected;
+
+    public Bulkhead(String name, int maxConcurrent, long maxWaitMillis) {
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.maxWaitMillis = maxWaitMillis;
+        this.rejected = MetricsUtil.counter("bulkhead." + name + ".rejected");
+        int limit = Math.max(1, maxConcurrent);
+        MetricsUtil.registerGauge("bulkhead." + name + ".inUse", () -> limit - permits.availablePermits());
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
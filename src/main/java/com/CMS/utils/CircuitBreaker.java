@@ -0,0 +1,102 @@
+package com.campusconf.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consecutive-failure circuit breaker. After failureThreshold failures in a
+ * row it opens and rejects calls for openMillis; then it lets up to
+ * halfOpenProbes calls through. One successful probe closes it again, a
+ * failed one reopens it for another openMillis.
+ *
+ * State is exported as the gauge breaker.&lt;name&gt;.state (0 closed,
+ * 1 half-open, 2 open).
+ */
+public class CircuitBreaker {
+    public enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+
+    private final LongAdder opened;
+    private final LongAdder rejected;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int probesInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, int halfOpenProbes) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.opened = MetricsUtil.counter("breaker." + name + ".opened");
+        this.rejected = MetricsUtil.counter("breaker." + name + ".rejected");
+        MetricsUtil.registerGauge("breaker." + name + ".state", () -> getState().ordinal());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        return state;
+    }
+
+    /**
+     * Whether a call may go ahead now. Every permitted call must be followed
+     * by exactly one onSuccess or onFailure.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (getState()) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probesInFlight < halfOpenProbes) {
+                    probesInFlight++;
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            LogUtil.info("Circuit " + name + " closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probesInFlight = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probesInFlight = 0;
+            opened.increment();
+            LogUtil.warn("Circuit " + name + " opened after " + consecutiveFailures + " failures");
+        }
+    }
+
+    /**
+     * Releases a permission without judging the dependency, e.g. when the
+     * call failed for a reason that is the caller's fault.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+}
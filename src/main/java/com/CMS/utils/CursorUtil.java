@@ -0,0 +1,58 @@
+package com.campusconf.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors over (created_at, id) for newest-first lists. The
+ * token is URL-safe and only meaningful to the query that issued it.
+ */
+public class CursorUtil {
+
+    public static final class Position {
+        private final Timestamp createdAt;
+        private final Long id;
+
+        public Position(Timestamp createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        public Timestamp getCreatedAt() {
+            return createdAt;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+
+    public static String encode(Timestamp createdAt, Long id) {
+        String raw = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a null or empty cursor (the first page).
+     *
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(new Timestamp(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.campusconf.utils;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bulkhead, call timeout and circuit breaker for one slow dependency, e.g.
+ * "smtp". Calls run on the guard's own threads so the caller waits at most
+ * resilience.&lt;name&gt;.timeoutMillis; a call that overruns keeps its
+ * bulkhead slot until it really ends, so a hung dependency can hold at most
+ * resilience.&lt;name&gt;.maxConcurrent threads.
+ *
+ * Settings, all under resilience.&lt;name&gt;.: maxConcurrent (4),
+ * maxWaitMillis (100), timeoutMillis (5000), failureThreshold (5),
+ * openSeconds (30), halfOpenProbes (1).
+ */
+public class DependencyGuard {
+    private static final Map<String, DependencyGuard> guards = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final CircuitBreaker breaker;
+    private final Bulkhead bulkhead;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+
+    private final LongAdder calls;
+    private final LongAdder failures;
+    private final LongAdder timeouts;
+
+    private DependencyGuard(String name) {
+        String prefix = "resilience." + name + ".";
+        this.name = name;
+        this.breaker = new CircuitBreaker(name,
+                PerformanceConfigUtil.getInt(prefix + "failureThreshold", 5),
+                PerformanceConfigUtil.getLong(prefix + "openSeconds", 30) * 1000,
+                PerformanceConfigUtil.getInt(prefix + "halfOpenProbes", 1));
+        this.bulkhead = new Bulkhead(name,
+                PerformanceConfigUtil.getInt(prefix + "maxConcurrent", 4),
+                PerformanceConfigUtil.getLong(prefix + "maxWaitMillis", 100));
+        this.timeoutMillis = PerformanceConfigUtil.getLong(prefix + "timeoutMillis", 5000);
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded, but never has more busy threads than the bulkhead has slots
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "dependency-" + name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.calls = MetricsUtil.counter("dependency." + name + ".calls");
+        this.failures = MetricsUtil.counter("dependency." + name + ".failures");
+        this.timeouts = MetricsUtil.counter("dependency." + name + ".timeouts");
+    }
+
+    public static DependencyGuard of(String name) {
+        return guards.computeIfAbsent(name, DependencyGuard::new);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getState() {
+        return breaker.getState();
+    }
+
+    /**
+     * Runs the task under the guard. An exception of exceptionType thrown by
+     * the task is rethrown as is; it counts against the circuit unless
+     * callerFault says it is the caller's own doing (a bad address, say).
+     */
+    public <T, E extends Exception> T call(Callable<T> task, Class<E> exceptionType, Predicate<Throwable> callerFault)
+            throws DependencyUnavailableException, E {
+        if (!breaker.tryAcquirePermission()) {
+            throw new DependencyUnavailableException(name, DependencyUnavailableException.Reason.CIRCUIT_OPEN);
+        }
+        Future<T> future;
+        try {
+            if (!bulkhead.tryAcquire()) {
+                breaker.onIgnored();
+                throw new DependencyUnavailableException(name, DependencyUnavailableException.Reason.BULKHEAD_FULL);
+            }
+        } catch (InterruptedException e) {
+            breaker.onIgnored();
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name, DependencyUnavailableException.Reason.INTERRUPTED);
+        }
+        // Released exactly once: by the task when it ends, or by cancel() if it never started
+        Permit permit = new Permit();
+        try {
+            future = executor.submit(() -> {
+                permit.started = true;
+                try {
+                    return task.call();
+                } finally {
+                    permit.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permit.release();
+            breaker.onIgnored();
+            throw e;
+        }
+        calls.increment();
+
+        try {
+            T result = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            breaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            cancel(future, permit);
+            timeouts.increment();
+            breaker.onFailure();
+            throw new DependencyUnavailableException(name, DependencyUnavailableException.Reason.TIMEOUT);
+        } catch (InterruptedException e) {
+            cancel(future, permit);
+            breaker.onIgnored();
+            Thread.currentThread().interrupt();
+            throw new DependencyUnavailableException(name, DependencyUnavailableException.Reason.INTERRUPTED);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (callerFault != null && callerFault.test(cause)) {
+                breaker.onIgnored();
+            } else {
+                failures.increment();
+                breaker.onFailure();
+            }
+            if (exceptionType.isInstance(cause)) {
+                throw exceptionType.cast(cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(name + " call failed", cause);
+        }
+    }
+
+    /**
+     * Cancels a call. A task cancelled before a thread picked it up never
+     * runs, so its finally block cannot return the bulkhead slot; do it here.
+     */
+    private static void cancel(Future<?> future, Permit permit) {
+        future.cancel(true);
+        if (!permit.started) {
+            permit.release();
+        }
+    }
+
+    private final class Permit {
+        private final AtomicBoolean held = new AtomicBoolean(true);
+        private volatile boolean started;
+
+        private void release() {
+            if (held.compareAndSet(true, false)) {
+                bulkhead.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.campusconf.utils;
+
+/**
+ * Thrown by DependencyGuard when a call was not made or not finished in
+ * time: the circuit is open, the bulkhead is full, or the call timed out.
+ */
+public class DependencyUnavailableException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason { CIRCUIT_OPEN, BULKHEAD_FULL, TIMEOUT, INTERRUPTED }
+
+    private final String dependency;
+    private final Reason reason;
+
+    public DependencyUnavailableException(String dependency, Reason reason) {
+        super(dependency + " unavailable: " + reason);
+        this.dependency = dependency;
+        this.reason = reason;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,61 @@
+package com.campusconf.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into alternating literal and variable segments.
+ * Variables are written {{name}}; a variable missing from the values renders
+ * as an empty string. Rendering is a single pass that appends to the
+ * caller's StringBuilder.
+ */
+public final class EmailTemplate {
+    // Even indexes are literals, odd indexes are variable names
+    private final String[] segments;
+    private final int literalLength;
+
+    private EmailTemplate(String[] segments) {
+        this.segments = segments;
+        int length = 0;
+        for (int i = 0; i < segments.length; i += 2) {
+            length += segments[i].length();
+        }
+        this.literalLength = length;
+    }
+
+    public static EmailTemplate compile(String source) {
+        List<String> segments = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) {
+                segments.add(source.substring(position));
+                break;
+            }
+            segments.add(source.substring(position, open));
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty variable at offset " + open);
+            }
+            segments.add(name);
+            position = close + 2;
+        }
+        return new EmailTemplate(segments.toArray(new String[0]));
+    }
+
+    public void renderTo(StringBuilder out, Map<String, ?> values) {
+        out.ensureCapacity(out.length() + literalLength);
+        for (int i = 0; i < segments.length; i++) {
+            if ((i & 1) == 0) {
+                out.append(segments[i]);
+            } else {
+                Object value = values.get(segments[i]);
+                if (value != null) {
+                    out.append(value);
+                }
+            }
+        }
+    }
+}
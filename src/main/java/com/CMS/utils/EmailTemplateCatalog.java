@@ -0,0 +1,323 @@
+package com.campusconf.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Source text of every email the application sends, as {subject, body} per
+ * template and language. Templates only need an English version; other
+ * languages fall back to it. Compiled and cached by EmailTemplateEngine.
+ * Non-ASCII text is written as Unicode escapes so the file compiles under
+ * any source encoding.
+ */
+public class EmailTemplateCatalog {
+    public static final String CONTACT_ADMIN = "contact.admin";
+    public static final String CONTACT_CONFIRMATION = "contact.confirmation";
+    public static final String PASSWORD_CODE = "password.code";
+    public static final String PASSWORD_RESET = "password.reset";
+    public static final String COMMITTEE_INVITATION = "committee.invitation";
+    public static final String COMMITTEE_INVITATION_ACCOUNT = "committee.invitation.account";
+    public static final String SUBMISSION_ID = "submission.id";
+    public static final String SUBMISSION_DECISION = "submission.decision";
+    public static final String DIGEST_SINGLE = "digest.single";
+    public static final String DIGEST_MULTI = "digest.multi";
+    public static final String DIGEST_ITEM = "digest.item";
+    public static final String NOTICE_DECISION = "notice.decision";
+    public static final String NOTICE_TEAM_REMOVED = "notice.team.removed";
+    public static final String NOTICE_DEADLINE_EXTENDED = "notice.deadline.extended";
+
+    private static final Map<String, String[]> templates = new HashMap<>();
+
+    static {
+        // Goes to the site administrators, always in English
+        add(CONTACT_ADMIN, "en", "New Contact Form Submission: {{subject}}",
+                "New contact form submission received:\n\n" +
+                "Name: {{name}}\n" +
+                "Email: {{email}}\n" +
+                "Subject: {{subject}}\n\n" +
+                "Message:\n{{message}}");
+
+        add(CONTACT_CONFIRMATION, "en", "Contact Form Submission Confirmation",
+                "Dear {{name}},\n\n" +
+                "Thank you for contacting CampusConf. We have received your message:\n\n" +
+                "Subject: {{subject}}\n\n" +
+                "We will review your message and get back to you as soon as possible.\n\n" +
+                "Best regards,\nCampusConf Team");
+        add(CONTACT_CONFIRMATION, "fr", "Confirmation de votre message",
+                "Bonjour {{name}},\n\n" +
+                "Merci d'avoir contact\u00e9 CampusConf. Nous avons bien re\u00e7u votre message :\n\n" +
+                "Objet : {{subject}}\n\n" +
+                "Nous l'examinerons et vous r\u00e9pondrons dans les meilleurs d\u00e9lais.\n\n" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(CONTACT_CONFIRMATION, "es", "Confirmaci\u00f3n de su mensaje",
+                "Estimado/a {{name}}:\n\n" +
+                "Gracias por contactar con CampusConf. Hemos recibido su mensaje:\n\n" +
+                "Asunto: {{subject}}\n\n" +
+                "Lo revisaremos y le responderemos lo antes posible.\n\n" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(CONTACT_CONFIRMATION, "de", "Best\u00e4tigung Ihrer Nachricht",
+                "Hallo {{name}},\n\n" +
+                "vielen Dank f\u00fcr Ihre Nachricht an CampusConf. Wir haben sie erhalten:\n\n" +
+                "Betreff: {{subject}}\n\n" +
+                "Wir werden sie pr\u00fcfen und uns so bald wie m\u00f6glich bei Ihnen melden.\n\n" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(CONTACT_CONFIRMATION, "ar", "\u062a\u0623\u0643\u064a\u062f \u0627\u0633\u062a\u0644\u0627\u0645 \u0631\u0633\u0627\u0644\u062a\u0643",
+                "\u0639\u0632\u064a\u0632\u064a/\u0639\u0632\u064a\u0632\u062a\u064a {{name}}\u060c\n\n" +
+                "\u0634\u0643\u0631\u064b\u0627 \u0644\u062a\u0648\u0627\u0635\u0644\u0643 \u0645\u0639 CampusConf. \u0644\u0642\u062f \u0627\u0633\u062a\u0644\u0645\u0646\u0627 \u0631\u0633\u0627\u0644\u062a\u0643:\n\n" +
+                "\u0627\u0644\u0645\u0648\u0636\u0648\u0639: {{subject}}\n\n" +
+                "\u0633\u0646\u0631\u0627\u062c\u0639 \u0631\u0633\u0627\u0644\u062a\u0643 \u0648\u0646\u0631\u062f \u0639\u0644\u064a\u0643 \u0641\u064a \u0623\u0642\u0631\u0628 \u0648\u0642\u062a \u0645\u0645\u0643\u0646.\n\n" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(PASSWORD_CODE, "en", "Password Reset Verification Code",
+                "Your verification code is: {{code}}");
+        add(PASSWORD_CODE, "fr", "Code de v\u00e9rification pour la r\u00e9initialisation du mot de passe",
+                "Votre code de v\u00e9rification est : {{code}}");
+        add(PASSWORD_CODE, "es", "C\u00f3digo de verificaci\u00f3n para restablecer la contrase\u00f1a",
+                "Su c\u00f3digo de verificaci\u00f3n es: {{code}}");
+        add(PASSWORD_CODE, "de", "Best\u00e4tigungscode zum Zur\u00fccksetzen des Passworts",
+                "Ihr Best\u00e4tigungscode lautet: {{code}}");
+        add(PASSWORD_CODE, "ar", "\u0631\u0645\u0632 \u0627\u0644\u062a\u062d\u0642\u0642 \u0644\u0625\u0639\u0627\u062f\u0629 \u062a\u0639\u064a\u064a\u0646 \u0643\u0644\u0645\u0629 \u0627\u0644\u0645\u0631\u0648\u0631",
+                "\u0631\u0645\u0632 \u0627\u0644\u062a\u062d\u0642\u0642 \u0627\u0644\u062e\u0627\u0635 \u0628\u0643 \u0647\u0648: {{code}}");
+
+        add(PASSWORD_RESET, "en", "Password Reset Request",
+                "A password reset was requested for your CampusConf account.\n\n" +
+                "Your reset token is: {{token}}\n\n" +
+                "If you did not request this, you can ignore this email.\n\n" +
+                "Best regards,\nCampusConf Team");
+        add(PASSWORD_RESET, "fr", "Demande de r\u00e9initialisation du mot de passe",
+                "Une r\u00e9initialisation du mot de passe a \u00e9t\u00e9 demand\u00e9e pour votre compte CampusConf.\n\n" +
+                "Votre jeton de r\u00e9initialisation est : {{token}}\n\n" +
+                "Si vous n'\u00eates pas \u00e0 l'origine de cette demande, ignorez cet e-mail.\n\n" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(PASSWORD_RESET, "es", "Solicitud de restablecimiento de contrase\u00f1a",
+                "Se ha solicitado restablecer la contrase\u00f1a de su cuenta de CampusConf.\n\n" +
+                "Su token de restablecimiento es: {{token}}\n\n" +
+                "Si no lo ha solicitado, puede ignorar este correo.\n\n" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(PASSWORD_RESET, "de", "Anfrage zum Zur\u00fccksetzen des Passworts",
+                "F\u00fcr Ihr CampusConf-Konto wurde das Zur\u00fccksetzen des Passworts angefordert.\n\n" +
+                "Ihr Token lautet: {{token}}\n\n" +
+                "Falls Sie dies nicht angefordert haben, k\u00f6nnen Sie diese E-Mail ignorieren.\n\n" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(PASSWORD_RESET, "ar", "\u0637\u0644\u0628 \u0625\u0639\u0627\u062f\u0629 \u062a\u0639\u064a\u064a\u0646 \u0643\u0644\u0645\u0629 \u0627\u0644\u0645\u0631\u0648\u0631",
+                "\u062a\u0645 \u0637\u0644\u0628 \u0625\u0639\u0627\u062f\u0629 \u062a\u0639\u064a\u064a\u0646 \u0643\u0644\u0645\u0629 \u0627\u0644\u0645\u0631\u0648\u0631 \u0644\u062d\u0633\u0627\u0628\u0643 \u0641\u064a CampusConf.\n\n" +
+                "\u0631\u0645\u0632 \u0625\u0639\u0627\u062f\u0629 \u0627\u0644\u062a\u0639\u064a\u064a\u0646 \u0627\u0644\u062e\u0627\u0635 \u0628\u0643 \u0647\u0648: {{token}}\n\n" +
+                "\u0625\u0630\u0627 \u0644\u0645 \u062a\u0637\u0644\u0628 \u0630\u0644\u0643\u060c \u064a\u0645\u0643\u0646\u0643 \u062a\u062c\u0627\u0647\u0644 \u0647\u0630\u0647 \u0627\u0644\u0631\u0633\u0627\u0644\u0629.\n\n" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(COMMITTEE_INVITATION, "en", "You have joined the {{committee}} of {{conference}}",
+                "Dear {{name}},\n\n" +
+                "You have been added to the {{committee}} of {{conference}}.\n\n" +
+                "{{account}}" +
+                "Best regards,\nCampusConf Team");
+        add(COMMITTEE_INVITATION, "fr", "Vous avez rejoint le comit\u00e9 {{committee}} de {{conference}}",
+                "Bonjour {{name}},\n\n" +
+                "Vous avez \u00e9t\u00e9 ajout\u00e9(e) au comit\u00e9 {{committee}} de {{conference}}.\n\n" +
+                "{{account}}" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(COMMITTEE_INVITATION, "es", "Se ha unido al comit\u00e9 {{committee}} de {{conference}}",
+                "Estimado/a {{name}}:\n\n" +
+                "Ha sido a\u00f1adido/a al comit\u00e9 {{committee}} de {{conference}}.\n\n" +
+                "{{account}}" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(COMMITTEE_INVITATION, "de", "Sie sind jetzt Mitglied im {{committee}} von {{conference}}",
+                "Hallo {{name}},\n\n" +
+                "Sie wurden dem {{committee}} von {{conference}} hinzugef\u00fcgt.\n\n" +
+                "{{account}}" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(COMMITTEE_INVITATION, "ar", "\u0627\u0646\u0636\u0645\u0645\u062a \u0625\u0644\u0649 {{committee}} \u0641\u064a {{conference}}",
+                "\u0639\u0632\u064a\u0632\u064a/\u0639\u0632\u064a\u0632\u062a\u064a {{name}}\u060c\n\n" +
+                "\u062a\u0645\u062a \u0625\u0636\u0627\u0641\u062a\u0643 \u0625\u0644\u0649 {{committee}} \u0641\u064a {{conference}}.\n\n" +
+                "{{account}}" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(COMMITTEE_INVITATION_ACCOUNT, "en", "",
+                "An account has been created for you. Your temporary password is: {{password}}\n" +
+                "Please change it after your first login.\n\n");
+        add(COMMITTEE_INVITATION_ACCOUNT, "fr", "",
+                "Un compte a \u00e9t\u00e9 cr\u00e9\u00e9 pour vous. Votre mot de passe temporaire est : {{password}}\n" +
+                "Veuillez le modifier apr\u00e8s votre premi\u00e8re connexion.\n\n");
+        add(COMMITTEE_INVITATION_ACCOUNT, "es", "",
+                "Se ha creado una cuenta para usted. Su contrase\u00f1a temporal es: {{password}}\n" +
+                "C\u00e1mbiela despu\u00e9s de iniciar sesi\u00f3n por primera vez.\n\n");
+        add(COMMITTEE_INVITATION_ACCOUNT, "de", "",
+                "F\u00fcr Sie wurde ein Konto angelegt. Ihr vorl\u00e4ufiges Passwort lautet: {{password}}\n" +
+                "Bitte \u00e4ndern Sie es nach der ersten Anmeldung.\n\n");
+        add(COMMITTEE_INVITATION_ACCOUNT, "ar", "",
+                "\u062a\u0645 \u0625\u0646\u0634\u0627\u0621 \u062d\u0633\u0627\u0628 \u0644\u0643. \u0643\u0644\u0645\u0629 \u0627\u0644\u0645\u0631\u0648\u0631 \u0627\u0644\u0645\u0624\u0642\u062a\u0629 \u0647\u064a: {{password}}\n" +
+                "\u064a\u0631\u062c\u0649 \u062a\u063a\u064a\u064a\u0631\u0647\u0627 \u0628\u0639\u062f \u062a\u0633\u062c\u064a\u0644 \u0627\u0644\u062f\u062e\u0648\u0644 \u0644\u0623\u0648\u0644 \u0645\u0631\u0629.\n\n");
+
+        add(SUBMISSION_ID, "en", "Your Submission ID",
+                "Dear Author,\n\n" +
+                "Your submission has been received. Your submission ID is: {{submissionId}}\n\n" +
+                "Please keep it for future reference.\n\n" +
+                "Best regards,\nCampusConf Team");
+        add(SUBMISSION_ID, "fr", "Votre identifiant de soumission",
+                "Ch\u00e8re autrice, cher auteur,\n\n" +
+                "Votre soumission a bien \u00e9t\u00e9 re\u00e7ue. Son identifiant est : {{submissionId}}\n\n" +
+                "Veuillez le conserver pour toute r\u00e9f\u00e9rence ult\u00e9rieure.\n\n" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(SUBMISSION_ID, "es", "Su identificador de env\u00edo",
+                "Estimado/a autor/a:\n\n" +
+                "Hemos recibido su env\u00edo. Su identificador es: {{submissionId}}\n\n" +
+                "Cons\u00e9rvelo para futuras consultas.\n\n" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(SUBMISSION_ID, "de", "Ihre Einreichungsnummer",
+                "Sehr geehrte Autorin, sehr geehrter Autor,\n\n" +
+                "Ihre Einreichung ist eingegangen. Ihre Einreichungsnummer lautet: {{submissionId}}\n\n" +
+                "Bitte bewahren Sie sie f\u00fcr sp\u00e4tere R\u00fcckfragen auf.\n\n" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(SUBMISSION_ID, "ar", "\u0631\u0642\u0645 \u0645\u0634\u0627\u0631\u0643\u062a\u0643",
+                "\u0639\u0632\u064a\u0632\u064a \u0627\u0644\u0645\u0624\u0644\u0641\u060c\n\n" +
+                "\u062a\u0645 \u0627\u0633\u062a\u0644\u0627\u0645 \u0645\u0634\u0627\u0631\u0643\u062a\u0643. \u0631\u0642\u0645 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629 \u0647\u0648: {{submissionId}}\n\n" +
+                "\u064a\u0631\u062c\u0649 \u0627\u0644\u0627\u062d\u062a\u0641\u0627\u0638 \u0628\u0647 \u0644\u0644\u0631\u062c\u0648\u0639 \u0625\u0644\u064a\u0647 \u0644\u0627\u062d\u0642\u064b\u0627.\n\n" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(SUBMISSION_DECISION, "en", "Decision on Submission {{submissionId}}",
+                "Dear Author(s),\n\n" +
+                "A decision has been made on your submission {{submissionId}}.\n\n" +
+                "Decision: {{decision}}\n\n" +
+                "Comments from the Review Committee:\n{{comments}}\n\n" +
+                "Best regards,\nCampusConf Team");
+        add(SUBMISSION_DECISION, "fr", "D\u00e9cision concernant la soumission {{submissionId}}",
+                "Chers auteurs,\n\n" +
+                "Une d\u00e9cision a \u00e9t\u00e9 prise concernant votre soumission {{submissionId}}.\n\n" +
+                "D\u00e9cision : {{decision}}\n\n" +
+                "Commentaires du comit\u00e9 de relecture :\n{{comments}}\n\n" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(SUBMISSION_DECISION, "es", "Decisi\u00f3n sobre el env\u00edo {{submissionId}}",
+                "Estimados autores:\n\n" +
+                "Se ha tomado una decisi\u00f3n sobre su env\u00edo {{submissionId}}.\n\n" +
+                "Decisi\u00f3n: {{decision}}\n\n" +
+                "Comentarios del comit\u00e9 de revisi\u00f3n:\n{{comments}}\n\n" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(SUBMISSION_DECISION, "de", "Entscheidung zu Einreichung {{submissionId}}",
+                "Sehr geehrte Autorinnen und Autoren,\n\n" +
+                "zu Ihrer Einreichung {{submissionId}} wurde eine Entscheidung getroffen.\n\n" +
+                "Entscheidung: {{decision}}\n\n" +
+                "Kommentare des Gutachterausschusses:\n{{comments}}\n\n" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(SUBMISSION_DECISION, "ar", "\u0627\u0644\u0642\u0631\u0627\u0631 \u0628\u0634\u0623\u0646 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629 {{submissionId}}",
+                "\u0623\u0639\u0632\u0627\u0626\u064a \u0627\u0644\u0645\u0624\u0644\u0641\u064a\u0646\u060c\n\n" +
+                "\u062a\u0645 \u0627\u062a\u062e\u0627\u0630 \u0642\u0631\u0627\u0631 \u0628\u0634\u0623\u0646 \u0645\u0634\u0627\u0631\u0643\u062a\u0643\u0645 {{submissionId}}.\n\n" +
+                "\u0627\u0644\u0642\u0631\u0627\u0631: {{decision}}\n\n" +
+                "\u062a\u0639\u0644\u064a\u0642\u0627\u062a \u0644\u062c\u0646\u0629 \u0627\u0644\u0645\u0631\u0627\u062c\u0639\u0629:\n{{comments}}\n\n" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(DIGEST_SINGLE, "en", "{{title}}",
+                "Dear {{name}},\n\n{{message}}\n\nBest regards,\nCampusConf Team");
+        add(DIGEST_SINGLE, "fr", "{{title}}",
+                "Bonjour {{name}},\n\n{{message}}\n\nCordialement,\nL'\u00e9quipe CampusConf");
+        add(DIGEST_SINGLE, "es", "{{title}}",
+                "Estimado/a {{name}}:\n\n{{message}}\n\nSaludos cordiales,\nEl equipo de CampusConf");
+        add(DIGEST_SINGLE, "de", "{{title}}",
+                "Hallo {{name}},\n\n{{message}}\n\nMit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(DIGEST_SINGLE, "ar", "{{title}}",
+                "\u0639\u0632\u064a\u0632\u064a/\u0639\u0632\u064a\u0632\u062a\u064a {{name}}\u060c\n\n{{message}}\n\n\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        add(DIGEST_MULTI, "en", "CampusConf: {{count}} new updates",
+                "Dear {{name}},\n\n" +
+                "Here is what happened since your last update:\n\n" +
+                "{{items}}" +
+                "Best regards,\nCampusConf Team");
+        add(DIGEST_MULTI, "fr", "CampusConf : {{count}} nouvelles mises \u00e0 jour",
+                "Bonjour {{name}},\n\n" +
+                "Voici ce qui s'est pass\u00e9 depuis votre dernier r\u00e9capitulatif :\n\n" +
+                "{{items}}" +
+                "Cordialement,\nL'\u00e9quipe CampusConf");
+        add(DIGEST_MULTI, "es", "CampusConf: {{count}} novedades",
+                "Estimado/a {{name}}:\n\n" +
+                "Esto es lo que ha ocurrido desde su \u00faltimo resumen:\n\n" +
+                "{{items}}" +
+                "Saludos cordiales,\nEl equipo de CampusConf");
+        add(DIGEST_MULTI, "de", "CampusConf: {{count}} neue Mitteilungen",
+                "Hallo {{name}},\n\n" +
+                "das ist seit Ihrer letzten Zusammenfassung passiert:\n\n" +
+                "{{items}}" +
+                "Mit freundlichen Gr\u00fc\u00dfen\nIhr CampusConf-Team");
+        add(DIGEST_MULTI, "ar", "CampusConf: {{count}} \u062a\u062d\u062f\u064a\u062b\u0627\u062a \u062c\u062f\u064a\u062f\u0629",
+                "\u0639\u0632\u064a\u0632\u064a/\u0639\u0632\u064a\u0632\u062a\u064a {{name}}\u060c\n\n" +
+                "\u0625\u0644\u064a\u0643 \u0645\u0627 \u062d\u062f\u062b \u0645\u0646\u0630 \u0622\u062e\u0631 \u0645\u0644\u062e\u0635:\n\n" +
+                "{{items}}" +
+                "\u0645\u0639 \u0623\u0637\u064a\u0628 \u0627\u0644\u062a\u062d\u064a\u0627\u062a\u060c\n\u0641\u0631\u064a\u0642 CampusConf");
+
+        // Language neutral; repeated once per event inside digest.multi
+        add(DIGEST_ITEM, "en", "", "- {{title}} ({{time}})\n  {{message}}\n\n");
+
+        // Digest events: the subject is the event title, the body its message
+        add(NOTICE_DECISION, "en", "Final decision on your submission",
+                "The final decision has been made on your submission:\n\n" +
+                "Conference: {{conference}}\n" +
+                "Submission title: {{title}}\n" +
+                "Submission ID: {{submissionId}}\n" +
+                "Final decision: {{decision}}\n\n" +
+                "Comments from the Review Committee:\n" +
+                "{{comments}}");
+        add(NOTICE_DECISION, "fr", "D\u00e9cision finale concernant votre soumission",
+                "La d\u00e9cision finale concernant votre soumission a \u00e9t\u00e9 prise :\n\n" +
+                "Conf\u00e9rence : {{conference}}\n" +
+                "Titre de la soumission : {{title}}\n" +
+                "Identifiant de la soumission : {{submissionId}}\n" +
+                "D\u00e9cision finale : {{decision}}\n\n" +
+                "Commentaires du comit\u00e9 de relecture :\n" +
+                "{{comments}}");
+        add(NOTICE_DECISION, "es", "Decisi\u00f3n final sobre su env\u00edo",
+                "Se ha tomado la decisi\u00f3n final sobre su env\u00edo:\n\n" +
+                "Conferencia: {{conference}}\n" +
+                "T\u00edtulo del env\u00edo: {{title}}\n" +
+                "ID del env\u00edo: {{submissionId}}\n" +
+                "Decisi\u00f3n final: {{decision}}\n\n" +
+                "Comentarios del comit\u00e9 de revisi\u00f3n:\n" +
+                "{{comments}}");
+        add(NOTICE_DECISION, "de", "Endg\u00fcltige Entscheidung zu Ihrer Einreichung",
+                "Zu Ihrer Einreichung wurde die endg\u00fcltige Entscheidung getroffen:\n\n" +
+                "Konferenz: {{conference}}\n" +
+                "Titel der Einreichung: {{title}}\n" +
+                "ID der Einreichung: {{submissionId}}\n" +
+                "Endg\u00fcltige Entscheidung: {{decision}}\n\n" +
+                "Kommentare des Gutachterausschusses:\n" +
+                "{{comments}}");
+        add(NOTICE_DECISION, "ar", "\u0627\u0644\u0642\u0631\u0627\u0631 \u0627\u0644\u0646\u0647\u0627\u0626\u064a \u0628\u0634\u0623\u0646 \u0645\u0634\u0627\u0631\u0643\u062a\u0643",
+                "\u062a\u0645 \u0627\u062a\u062e\u0627\u0630 \u0627\u0644\u0642\u0631\u0627\u0631 \u0627\u0644\u0646\u0647\u0627\u0626\u064a \u0628\u0634\u0623\u0646 \u0645\u0634\u0627\u0631\u0643\u062a\u0643:\n\n" +
+                "\u0627\u0644\u0645\u0624\u062a\u0645\u0631: {{conference}}\n" +
+                "\u0639\u0646\u0648\u0627\u0646 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629: {{title}}\n" +
+                "\u0631\u0642\u0645 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629: {{submissionId}}\n" +
+                "\u0627\u0644\u0642\u0631\u0627\u0631 \u0627\u0644\u0646\u0647\u0627\u0626\u064a: {{decision}}\n\n" +
+                "\u062a\u0639\u0644\u064a\u0642\u0627\u062a \u0644\u062c\u0646\u0629 \u0627\u0644\u0645\u0631\u0627\u062c\u0639\u0629:\n" +
+                "{{comments}}");
+
+        add(NOTICE_TEAM_REMOVED, "en", "Removed from submission team",
+                "You have been removed from the team of submission {{submissionId}}.");
+        add(NOTICE_TEAM_REMOVED, "fr", "Retir\u00e9(e) de l'\u00e9quipe d'une soumission",
+                "Vous avez \u00e9t\u00e9 retir\u00e9(e) de l'\u00e9quipe de la soumission {{submissionId}}.");
+        add(NOTICE_TEAM_REMOVED, "es", "Eliminado/a del equipo de un env\u00edo",
+                "Ha sido eliminado/a del equipo del env\u00edo {{submissionId}}.");
+        add(NOTICE_TEAM_REMOVED, "de", "Aus dem Team einer Einreichung entfernt",
+                "Sie wurden aus dem Team der Einreichung {{submissionId}} entfernt.");
+        add(NOTICE_TEAM_REMOVED, "ar", "\u062a\u0645\u062a \u0625\u0632\u0627\u0644\u062a\u0643 \u0645\u0646 \u0641\u0631\u064a\u0642 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629",
+                "\u062a\u0645\u062a \u0625\u0632\u0627\u0644\u062a\u0643 \u0645\u0646 \u0641\u0631\u064a\u0642 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0629 {{submissionId}}.");
+
+        add(NOTICE_DEADLINE_EXTENDED, "en", "Submission deadline extended",
+                "The submission deadline of {{conference}} has been extended to {{date}}.");
+        add(NOTICE_DEADLINE_EXTENDED, "fr", "Date limite de soumission prolong\u00e9e",
+                "La date limite de soumission de {{conference}} a \u00e9t\u00e9 prolong\u00e9e au {{date}}.");
+        add(NOTICE_DEADLINE_EXTENDED, "es", "Plazo de env\u00edo ampliado",
+                "El plazo de env\u00edo de {{conference}} se ha ampliado hasta el {{date}}.");
+        add(NOTICE_DEADLINE_EXTENDED, "de", "Einreichungsfrist verl\u00e4ngert",
+                "Die Einreichungsfrist von {{conference}} wurde bis zum {{date}} verl\u00e4ngert.");
+        add(NOTICE_DEADLINE_EXTENDED, "ar", "\u062a\u0645 \u062a\u0645\u062f\u064a\u062f \u0645\u0648\u0639\u062f \u062a\u0642\u062f\u064a\u0645 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0627\u062a",
+                "\u062a\u0645 \u062a\u0645\u062f\u064a\u062f \u0645\u0648\u0639\u062f \u062a\u0642\u062f\u064a\u0645 \u0627\u0644\u0645\u0634\u0627\u0631\u0643\u0627\u062a \u0641\u064a {{conference}} \u062d\u062a\u0649 {{date}}.");
+    }
+
+    /**
+     * Returns {subject, body} or null if the template has no text in that
+     * language.
+     */
+    public static String[] find(String template, String language) {
+        return templates.get(template + '|' + language);
+    }
+
+    private static void add(String template, String language, String subject, String body) {
+        templates.put(template + '|' + language, new String[] {subject, body});
+    }
+}
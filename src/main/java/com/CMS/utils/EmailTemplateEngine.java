@@ -0,0 +1,163 @@
+package com.campusconf.utils;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders the emails in EmailTemplateCatalog. Each (template, language) pair
+ * is compiled on first use and cached; a language without its own
+ * translation falls back to English. Output is built in StringBuilders taken
+ * from a small shared pool, so rendering a mass send allocates little more
+ * than the resulting strings.
+ */
+public class EmailTemplateEngine {
+    public static final String DEFAULT_LANGUAGE = "en";
+    public static final List<String> SUPPORTED_LANGUAGES = List.of("en", "fr", "es", "de", "ar");
+
+    private static final String LANGUAGE_COOKIE_NAME = "userLanguage";
+    private static final int POOL_SIZE = 32;
+    // Builders that grew past this are dropped instead of pooled
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    public static final class RenderedEmail {
+        private final String subject;
+        private final String body;
+
+        private RenderedEmail(String subject, String body) {
+            this.subject = subject;
+            this.body = body;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+
+    private static final class CompiledEmail {
+        private final EmailTemplate subject;
+        private final EmailTemplate body;
+
+        private CompiledEmail(EmailTemplate subject, EmailTemplate body) {
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+
+    private static final Map<String, CompiledEmail> compiled = new ConcurrentHashMap<>();
+    private static final BlockingQueue<StringBuilder> builders = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private static final LongAdder compilations = MetricsUtil.counter("email.templates.compiled");
+    private static final LongAdder renders = MetricsUtil.counter("email.templates.rendered");
+
+    public static boolean isSupportedLanguage(String language) {
+        return language != null && SUPPORTED_LANGUAGES.contains(language);
+    }
+
+    /**
+     * The language the user picked through LanguageServlet (session, then
+     * cookie), else the browser's if supported, else English.
+     */
+    public static String languageOf(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null && isSupportedLanguage((String) session.getAttribute("language"))) {
+            return (String) session.getAttribute("language");
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (LANGUAGE_COOKIE_NAME.equals(cookie.getName()) && isSupportedLanguage(cookie.getValue())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        String browserLanguage = request.getLocale() != null ? request.getLocale().getLanguage() : null;
+        return isSupportedLanguage(browserLanguage) ? browserLanguage : DEFAULT_LANGUAGE;
+    }
+
+    public static RenderedEmail render(String template, String language, Map<String, ?> values) {
+        CompiledEmail email = compiled(template, language);
+        StringBuilder out = borrow();
+        try {
+            email.subject.renderTo(out, values);
+            String subject = out.toString();
+            out.setLength(0);
+            email.body.renderTo(out, values);
+            renders.increment();
+            return new RenderedEmail(subject, out.toString());
+        } finally {
+            release(out);
+        }
+    }
+
+    /**
+     * Renders only the body; used for fragments that are spliced into
+     * another template.
+     */
+    public static String renderBody(String template, String language, Map<String, ?> values) {
+        return render(template, language, values).getBody();
+    }
+
+    /**
+     * Renders the same template once per set of values, looking it up once
+     * and reusing one builder for the whole batch.
+     */
+    public static List<RenderedEmail> renderAll(String template, String language, List<? extends Map<String, ?>> values) {
+        CompiledEmail email = compiled(template, language);
+        List<RenderedEmail> emails = new ArrayList<>(values.size());
+        StringBuilder out = borrow();
+        try {
+            for (Map<String, ?> recipientValues : values) {
+                out.setLength(0);
+                email.subject.renderTo(out, recipientValues);
+                String subject = out.toString();
+                out.setLength(0);
+                email.body.renderTo(out, recipientValues);
+                emails.add(new RenderedEmail(subject, out.toString()));
+            }
+            renders.add(values.size());
+            return emails;
+        } finally {
+            release(out);
+        }
+    }
+
+    private static CompiledEmail compiled(String template, String language) {
+        String resolved = isSupportedLanguage(language) ? language : DEFAULT_LANGUAGE;
+        return compiled.computeIfAbsent(template + '|' + resolved, key -> {
+            String[] source = EmailTemplateCatalog.find(template, resolved);
+            if (source == null) {
+                source = EmailTemplateCatalog.find(template, DEFAULT_LANGUAGE);
+            }
+            if (source == null) {
+                throw new IllegalArgumentException("Unknown email template: " + template);
+            }
+            compilations.increment();
+            return new CompiledEmail(EmailTemplate.compile(source[0]), EmailTemplate.compile(source[1]));
+        });
+    }
+
+    private static StringBuilder borrow() {
+        StringBuilder builder = builders.poll();
+        return builder != null ? builder : new StringBuilder(1024);
+    }
+
+    private static void release(StringBuilder builder) {
+        if (builder.capacity() <= MAX_POOLED_CAPACITY) {
+            builder.setLength(0);
+            builders.offer(builder);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.campusconf.utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Application log. Lines go to the console and/or to logs/campusconf.log,
+ * with errors also copied to logs/campusconf-error.log, as configured by
+ * log.toConsole and log.toFile in config.properties.
+ *
+ * File writes are serialized with a ReentrantLock rather than a
+ * synchronized method: a virtual thread that blocks on I/O inside a monitor
+ * pins its carrier thread, so with server.virtualThreads.enabled every
+ * logging request would otherwise hold a carrier for the length of a disk
+ * write.
+ */
+public class LogUtil {
+    private static final DateTimeFormatter LOG_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final String LOG_DIRECTORY = "logs";
+    private static final String LOG_FILE = "campusconf.log";
+    private static final String ERROR_LOG_FILE = "campusconf-error.log";
+    private static final boolean LOG_TO_FILE = ConfigUtil.isLogToFile();
+    private static final boolean LOG_TO_CONSOLE = ConfigUtil.isLogToConsole();
+
+    private static final ReentrantLock fileLock = new ReentrantLock();
+
+    static {
+        if (LOG_TO_FILE) {
+            createLogDirectory();
+        }
+    }
+
+    private static void createLogDirectory() {
+        try {
+            Files.createDirectories(Paths.get(LOG_DIRECTORY));
+        } catch (IOException e) {
+            System.err.println("Failed to create log directory: " + e.getMessage());
+        }
+    }
+
+    private static void writeLog(String level, String message, String fileName) {
+        String line = LocalDateTime.now().format(LOG_DATE_FORMATTER) + " [" + level + "] ["
+                + Thread.currentThread().getName() + "] " + message;
+        if (LOG_TO_CONSOLE) {
+            writeToConsole(level, line);
+        }
+        if (LOG_TO_FILE) {
+            writeToFile(fileName, line);
+            if ("ERROR".equals(level) && !ERROR_LOG_FILE.equals(fileName)) {
+                writeToFile(ERROR_LOG_FILE, line);
+            }
+        }
+    }
+
+    private static void writeToConsole(String level, String line) {
+        if ("ERROR".equals(level) || "WARN".equals(level)) {
+            System.err.println(line);
+        } else {
+            System.out.println(line);
+        }
+    }
+
+    public static void info(String message) {
+        log("INFO", message);
+    }
+
+    public static void error(String message) {
+        log("ERROR", message);
+    }
+
+    public static void error(String message, Throwable throwable) {
+        log("ERROR", message + System.lineSeparator() + getStackTrace(throwable));
+    }
+
+    public static void warn(String message) {
+        log("WARN", message);
+    }
+
+    public static void debug(String message) {
+        log("DEBUG", message);
+    }
+
+    public static void trace(String message) {
+        log("TRACE", message);
+    }
+
+    private static String getStackTrace(Throwable throwable) {
+        if (throwable == null) {
+            return "";
+        }
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    public static void logUserAction(String userId, String action, String details) {
+        info("USER_ACTION - User: " + userId + ", Action: " + action + ", Details: " + details);
+    }
+
+    public static void logDatabaseError(String operation, String error) {
+        error("DATABASE_ERROR - Operation: " + operation + ", Error: " + error);
+    }
+
+    public static void logEmailError(String recipient, String subject, String error) {
+        error("EMAIL_ERROR - Recipient: " + recipient + ", Subject: " + subject + ", Error: " + error);
+    }
+
+    public static void logFileUploadError(String error, String details) {
+        error("FILE_UPLOAD_ERROR - " + details + ", Error: " + error);
+    }
+
+    public static void logSecurityEvent(String event, String details) {
+        warn("SECURITY - Event: " + event + ", Details: " + details);
+    }
+
+    public static void logPerformanceMetric(String operation, long durationMillis) {
+        info("PERFORMANCE - Operation: " + operation + ", Duration: " + durationMillis + "ms");
+    }
+
+    public static void logFileUpload(String message, String fileName, String savedFileName) {
+        info("FILE_UPLOAD - " + message + ", File: " + fileName + ", Saved as: " + savedFileName);
+    }
+
+    public static void logFileDownload(String message, String fileName, String submissionId) {
+        info("FILE_DOWNLOAD - " + message + ", File: " + fileName + ", Submission: " + submissionId);
+    }
+
+    public static void logFileDownloadError(String error, String details) {
+        error("FILE_DOWNLOAD_ERROR - " + details + ", Error: " + error);
+    }
+
+    private static void log(String level, String message) {
+        writeLog(level, message, LOG_FILE);
+    }
+
+    private static void writeToFile(String fileName, String line) {
+        Path path = Paths.get(LOG_DIRECTORY, fileName);
+        byte[] bytes = (line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        fileLock.lock();
+        try {
+            Files.write(path, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to write log file " + path + ": " + e.getMessage());
+        } finally {
+            fileLock.unlock();
+        }
+    }
+}
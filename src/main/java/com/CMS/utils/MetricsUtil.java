@@ -0,0 +1,44 @@
+package com.campusconf.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide counters and gauges exposed through /admin/metrics.
+ */
+public class MetricsUtil {
+    private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    public static LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static void increment(String name) {
+        counter(name).increment();
+    }
+
+    public static void add(String name, long delta) {
+        counter(name).add(delta);
+    }
+
+    public static void registerGauge(String name, Supplier<?> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> {
+            try {
+                snapshot.put(name, gauge.get());
+            } catch (RuntimeException e) {
+                snapshot.put(name, "error: " + e.getMessage());
+            }
+        });
+        return snapshot;
+    }
+}
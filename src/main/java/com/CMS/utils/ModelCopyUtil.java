@@ -0,0 +1,86 @@
+package com.campusconf.utils;
+
+import com.campusconf.models.CommitteeMember;
+import com.campusconf.models.Conference;
+import com.campusconf.models.ConferenceTopic;
+import com.campusconf.models.User;
+
+import java.util.ArrayList;
+
+/**
+ * Field-by-field copies of the mutable models, used wherever one instance is
+ * shared between requests (caches, snapshots).
+ */
+public class ModelCopyUtil {
+
+    public static Conference copy(Conference source) {
+        Conference copy = new Conference();
+        copy.setConferenceId(source.getConferenceId());
+        copy.setName(source.getName());
+        copy.setAcronym(source.getAcronym());
+        copy.setTheme(source.getTheme());
+        copy.setType(source.getType());
+        copy.setWebsite(source.getWebsite());
+        copy.setStartDate(source.getStartDate());
+        copy.setEndDate(source.getEndDate());
+        copy.setLocation(source.getLocation());
+        copy.setSubmissionDeadline(source.getSubmissionDeadline());
+        copy.setExtensionDate(source.getExtensionDate());
+        copy.setPresidentId(source.getPresidentId());
+        copy.setCreationDate(source.getCreationDate());
+        copy.setStatus(source.getStatus());
+        if (source.getTopics() != null) {
+            copy.setTopics(new ArrayList<>(source.getTopics()));
+        }
+        if (source.getCommitteeMembers() != null) {
+            copy.setCommitteeMembers(new ArrayList<>(source.getCommitteeMembers()));
+        }
+        return copy;
+    }
+
+    public static CommitteeMember copy(CommitteeMember source) {
+        CommitteeMember copy = new CommitteeMember();
+        copy.setMemberId(source.getMemberId());
+        copy.setConferenceId(source.getConferenceId());
+        copy.setUserId(source.getUserId());
+        copy.setEmail(source.getEmail());
+        copy.setName(source.getName());
+        copy.setCommitteeType(source.getCommitteeType());
+        copy.setCommitteeName(source.getCommitteeName());
+        copy.setResponsible(source.isResponsible());
+        copy.setAcademicTitle(source.getAcademicTitle());
+        copy.setExpertiseAreas(source.getExpertiseAreas());
+        copy.setBiography(source.getBiography());
+        return copy;
+    }
+
+    public static ConferenceTopic copy(ConferenceTopic source) {
+        ConferenceTopic copy = new ConferenceTopic();
+        copy.setTopicId(source.getTopicId());
+        copy.setConferenceId(source.getConferenceId());
+        copy.setTopicName(source.getTopicName());
+        copy.setParentTopicId(source.getParentTopicId());
+        return copy;
+    }
+
+    public static User copy(User source) {
+        User copy = new User();
+        copy.setUserId(source.getUserId());
+        copy.setEmail(source.getEmail());
+        copy.setPassword(source.getPassword());
+        copy.setFirstName(source.getFirstName());
+        copy.setLastName(source.getLastName());
+        copy.setPersonalWebsite(source.getPersonalWebsite());
+        copy.setInstitution(source.getInstitution());
+        copy.setCity(source.getCity());
+        copy.setCountry(source.getCountry());
+        copy.setPostalCode(source.getPostalCode());
+        copy.setAddress(source.getAddress());
+        copy.setRole(source.getRole());
+        copy.setRegistrationDate(source.getRegistrationDate());
+        copy.setLastLogin(source.getLastLogin());
+        copy.setActive(source.isActive());
+        copy.setEmailNotifications(source.getEmailNotifications());
+        return copy;
+    }
+}
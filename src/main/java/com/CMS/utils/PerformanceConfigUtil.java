@@ -0,0 +1,67 @@
+package com.campusconf.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Typed access to the tuning switches (caches, pools, limits) kept in
+ * config.properties next to the settings read by ConfigUtil. Every lookup
+ * takes a default so a missing key never breaks start-up.
+ */
+public class PerformanceConfigUtil {
+    private static final Properties properties = new Properties();
+    private static final String CONFIG_FILE = "config.properties";
+
+    static {
+        try (InputStream input = PerformanceConfigUtil.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to load " + CONFIG_FILE + ": " + e.getMessage());
+        }
+    }
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)));
+    }
+
+    // Per-DAO second-level cache settings, e.g. cache.conference.enabled=true
+    public static boolean isCacheEnabled(String cacheName, boolean defaultValue) {
+        return getBoolean("cache." + cacheName + ".enabled", defaultValue);
+    }
+
+    public static int getCacheMaxSize(String cacheName) {
+        return getInt("cache." + cacheName + ".maxSize", 1000);
+    }
+
+    public static long getCacheTtlSeconds(String cacheName) {
+        return getLong("cache." + cacheName + ".ttlSeconds", 300);
+    }
+
+    public static long getCacheNegativeTtlSeconds(String cacheName) {
+        return getLong("cache." + cacheName + ".negativeTtlSeconds", 30);
+    }
+}
@@ -0,0 +1,168 @@
+package com.campusconf.utils;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs independent DAO calls of one request at the same time, each on its
+ * own thread and therefore its own pooled connection, so a page costs its
+ * slowest query instead of the sum of all of them.
+ *
+ * <pre>
+ * try (QueryScope scope = QueryScope.open()) {
+ *     QueryScope.Task&lt;List&lt;Conference&gt;&gt; conferences = scope.fork(() -&gt; conferenceDAO.findBy...(userId));
+ *     QueryScope.Task&lt;List&lt;CommitteeMember&gt;&gt; members = scope.fork(() -&gt; committeeDAO.findBy...(userId));
+ *     scope.join();
+ *     ... conferences.get() ...
+ * }
+ * </pre>
+ *
+ * All tasks share one deadline (query.scope.deadlineMillis). join() waits
+ * for every task; as soon as one fails or the deadline passes the others
+ * are cancelled and the failure is thrown. Leaving the scope cancels
+ * whatever is still running, so no task outlives the request.
+ */
+public class QueryScope implements AutoCloseable {
+    private static final ExecutorService executor = createExecutor();
+    private static final LongAdder forked = MetricsUtil.counter("query.scope.tasks");
+    private static final LongAdder deadlinesExceeded = MetricsUtil.counter("query.scope.deadlinesExceeded");
+
+    /**
+     * A DAO call that may throw SQLException.
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * The result of a forked query, available after join().
+     */
+    public static final class Task<T> {
+        private final Future<T> future;
+
+        private Task(Future<T> future) {
+            this.future = future;
+        }
+
+        public T get() {
+            if (!future.isDone() || future.isCancelled()) {
+                throw new IllegalStateException("Task read before join() completed");
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Task read after join() failed", e);
+            }
+        }
+    }
+
+    private final long deadlineNanos;
+    private final List<Future<?>> futures = new ArrayList<>();
+
+    private QueryScope(long deadlineMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * A scope with the configured deadline, cut to what is left of the
+     * request's deadline if one is bound.
+     */
+    public static QueryScope open() {
+        long deadlineMillis = PerformanceConfigUtil.getLong("query.scope.deadlineMillis", 5000);
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        if (requestDeadline != null) {
+            deadlineMillis = Math.min(deadlineMillis, requestDeadline.remainingMillis());
+        }
+        return open(deadlineMillis);
+    }
+
+    public static QueryScope open(long deadlineMillis) {
+        return new QueryScope(deadlineMillis);
+    }
+
+    public <T> Task<T> fork(Query<T> query) {
+        // Forked queries run under the caller's request deadline
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        Future<T> future = executor.submit(() -> {
+            RequestDeadline.Binding binding = RequestDeadline.bind(requestDeadline);
+            try {
+                return query.run();
+            } finally {
+                binding.close();
+            }
+        });
+        futures.add(future);
+        forked.increment();
+        return new Task<>(future);
+    }
+
+    /**
+     * Waits for every forked task. Throws the first failure, or
+     * SQLTimeoutException if the deadline passes first; either way the
+     * remaining tasks are cancelled.
+     */
+    public void join() throws SQLException {
+        try {
+            for (Future<?> future : futures) {
+                long remaining = deadlineNanos - System.nanoTime();
+                future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            cancelAll();
+            deadlinesExceeded.increment();
+            throw new SQLTimeoutException("Queries did not finish before the deadline");
+        } catch (InterruptedException e) {
+            cancelAll();
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for queries", e);
+        } catch (ExecutionException e) {
+            cancelAll();
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException("Query failed", cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        cancelAll();
+    }
+
+    private void cancelAll() {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Virtual threads when they are enabled, else a bounded pool; in either
+     * case the connection pool is what really limits concurrent queries.
+     */
+    private static ExecutorService createExecutor() {
+        if (VirtualThreads.isEnabled()) {
+            return VirtualThreads.newPerTaskExecutor("query-scope");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(PerformanceConfigUtil.getInt("query.scope.threads", 16), runnable -> {
+            Thread thread = new Thread(runnable, "query-scope-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
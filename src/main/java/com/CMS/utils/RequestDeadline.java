@@ -0,0 +1,204 @@
+package com.campusconf.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The time budget of one HTTP request, carried to the DAOs. The request
+ * filter starts a deadline and binds it to the handling thread; DAOs get
+ * their connections from getConnection(), which, while a deadline is
+ * bound, hands out a connection whose statements
+ *
+ * - fail at once with SQLTimeoutException once the budget is spent,
+ * - run with Statement.setQueryTimeout set to the remaining budget, so
+ *   MySQL stops the query when the request would have given up anyway, and
+ * - are cancelled with Statement.cancel() when cancel() is called, i.e.
+ *   when an async request times out or the client goes away.
+ *
+ * Threads without a bound deadline, such as the background jobs, get
+ * plain connections.
+ */
+public final class RequestDeadline {
+    public static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    private static final LongAdder exceeded = MetricsUtil.counter("jdbc.deadline.exceeded");
+    private static final LongAdder timedOut = MetricsUtil.counter("jdbc.deadline.timeouts");
+    private static final LongAdder cancelledStatements = MetricsUtil.counter("jdbc.deadline.cancelled");
+
+    /**
+     * Restores the previously bound deadline when closed.
+     */
+    public static final class Binding implements AutoCloseable {
+        private final RequestDeadline previous;
+
+        private Binding(RequestDeadline previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    private final long deadlineNanos;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    private RequestDeadline(long budgetMillis) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    public static RequestDeadline start(long budgetMillis) {
+        return new RequestDeadline(budgetMillis);
+    }
+
+    /**
+     * The deadline bound to this thread, or null.
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a deadline to this thread until the returned binding is closed.
+     * A null deadline unbinds for that span.
+     */
+    public static Binding bind(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return new Binding(previous);
+    }
+
+    /**
+     * A database connection for DAO use; see the class comment.
+     */
+    public static Connection getConnection() throws SQLException {
+        Connection connection = DatabaseUtil.getConnection();
+        RequestDeadline deadline = CURRENT.get();
+        return deadline == null ? connection : deadline.wrap(connection);
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Stops the request's running queries and fails the ones it would still
+     * start.
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Statement statement : running) {
+            try {
+                statement.cancel();
+                cancelledStatements.increment();
+            } catch (SQLException e) {
+                LogUtil.debug("Could not cancel statement: " + e.getMessage());
+            }
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private void beforeExecute(Statement statement) throws SQLException {
+        if (cancelled) {
+            exceeded.increment();
+            throw new SQLTimeoutException("Request was cancelled");
+        }
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining <= 0) {
+            exceeded.increment();
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+        // Whole seconds only; round up so a short budget still gets a timeout of 1s
+        statement.setQueryTimeout((int) Math.max(1, (TimeUnit.NANOSECONDS.toMillis(remaining) + 999) / 1000));
+        running.add(statement);
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement) {
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] {type},
+                        new StatementHandler((Statement) result));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+
+        private StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return invokeTarget(target, method, args);
+            }
+            beforeExecute(target);
+            try {
+                return invokeTarget(target, method, args);
+            } catch (SQLTimeoutException e) {
+                timedOut.increment();
+                throw e;
+            } catch (SQLException e) {
+                if (cancelled) {
+                    // Drivers report a cancelled statement in different ways
+                    timedOut.increment();
+                }
+                throw e;
+            } finally {
+                running.remove(target);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
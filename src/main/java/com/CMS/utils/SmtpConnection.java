@@ -0,0 +1,109 @@
+package com.campusconf.utils;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One SMTP connection that stays open across messages, unlike
+ * EmailUtil.sendEmail which connects per message. It reconnects on the next
+ * send after an error or after smtp.maxMessagesPerConnection messages. Not
+ * thread-safe; callers that send in parallel use one instance per lane.
+ */
+public class SmtpConnection implements AutoCloseable {
+    private static final LongAdder connectionsOpened = MetricsUtil.counter("smtp.connections.opened");
+    private static final LongAdder messagesSent = MetricsUtil.counter("smtp.messages.sent");
+
+    private final Session session;
+    private final int maxMessagesPerConnection;
+    private Transport transport;
+    private int messagesOnConnection;
+
+    public SmtpConnection() {
+        this(createSession());
+    }
+
+    public SmtpConnection(Session session) {
+        this(session, PerformanceConfigUtil.getInt("smtp.maxMessagesPerConnection", 100));
+    }
+
+    public SmtpConnection(Session session, int maxMessagesPerConnection) {
+        this.session = session;
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+    }
+
+    /**
+     * A mail session for the relay in config.properties, with connect, read
+     * and write timeouts so a hung relay cannot block a sender forever.
+     */
+    public static Session createSession() {
+        Properties props = new Properties();
+        props.put("mail.smtp.host", ConfigUtil.getSmtpHost());
+        props.put("mail.smtp.port", String.valueOf(ConfigUtil.getSmtpPort()));
+        props.put("mail.smtp.auth", String.valueOf(ConfigUtil.isSmtpAuthRequired()));
+        props.put("mail.smtp.starttls.enable", String.valueOf(ConfigUtil.isSmtpStartTlsRequired()));
+        String timeout = String.valueOf(PerformanceConfigUtil.getLong("smtp.timeoutMillis", 10_000));
+        props.put("mail.smtp.connectiontimeout", timeout);
+        props.put("mail.smtp.timeout", timeout);
+        props.put("mail.smtp.writetimeout", timeout);
+        return Session.getInstance(props);
+    }
+
+    public MimeMessage newMessage(String subject, String body) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress(ConfigUtil.getApplicationEmail()));
+        message.setSubject(subject, "UTF-8");
+        message.setText(body, "UTF-8");
+        return message;
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        if (transport != null && messagesOnConnection >= maxMessagesPerConnection) {
+            close();
+        }
+        if (transport == null || !transport.isConnected()) {
+            connect();
+        }
+        try {
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            messagesOnConnection++;
+            messagesSent.increment();
+        } catch (MessagingException e) {
+            // The connection may be half broken; start over on the next send
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                // Closing a dead connection
+            }
+            transport = null;
+        }
+    }
+
+    private void connect() throws MessagingException {
+        close();
+        Transport newTransport = session.getTransport("smtp");
+        if (Boolean.parseBoolean(session.getProperty("mail.smtp.auth"))) {
+            newTransport.connect(ConfigUtil.getSmtpHost(), ConfigUtil.getSmtpPort(),
+                    ConfigUtil.getSmtpUsername(), ConfigUtil.getSmtpPassword());
+        } else {
+            newTransport.connect();
+        }
+        transport = newTransport;
+        messagesOnConnection = 0;
+        connectionsOpened.increment();
+    }
+}
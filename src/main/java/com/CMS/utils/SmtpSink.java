@@ -0,0 +1,338 @@
+package com.campusconf.utils;
+
+import jakarta.mail.Session;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A minimal SMTP server running inside the JVM, for measuring and
+ * exercising the mail code without a real relay. It speaks just enough
+ * SMTP for jakarta.mail (EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT), accepts
+ * every message and keeps the last few in memory.
+ *
+ * Faults can be injected per accepted message: a fixed delay before the
+ * reply to DATA, a share of messages answered with a temporary 451
+ * failure, and a share of connections dropped instead of replying.
+ */
+public class SmtpSink implements AutoCloseable {
+    private static final String HOST_NAME = "campusconf-sink";
+
+    /**
+     * One accepted message as the sink received it.
+     */
+    public static final class ReceivedMessage {
+        private final String from;
+        private final List<String> recipients;
+        private final String data;
+        private final long receivedAt;
+
+        private ReceivedMessage(String from, List<String> recipients, String data) {
+            this.from = from;
+            this.recipients = Collections.unmodifiableList(recipients);
+            this.data = data;
+            this.receivedAt = System.currentTimeMillis();
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public List<String> getRecipients() {
+            return recipients;
+        }
+
+        public String getData() {
+            return data;
+        }
+
+        public long getReceivedAt() {
+            return receivedAt;
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final Deque<ReceivedMessage> received = new ConcurrentLinkedDeque<>();
+    private final int maxRecorded;
+
+    private volatile long latencyMillis;
+    private volatile double failureRate;
+    private volatile double dropRate;
+
+    private final AtomicLong connectionsAccepted = new AtomicLong();
+    private final AtomicLong messagesAccepted = new AtomicLong();
+    private final AtomicLong messagesFailed = new AtomicLong();
+    private final AtomicLong connectionsDropped = new AtomicLong();
+
+    private SmtpSink(ServerSocket serverSocket, int maxRecorded) {
+        this.serverSocket = serverSocket;
+        this.maxRecorded = maxRecorded;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "smtp-sink-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a sink on the loopback interface; port 0 picks a free port.
+     */
+    public static SmtpSink start(int port, int maxRecorded) throws IOException {
+        ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        SmtpSink sink = new SmtpSink(serverSocket, maxRecorded);
+        sink.workers.execute(sink::acceptLoop);
+        return sink;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * A mail session that sends to this sink without authentication or TLS.
+     */
+    public Session createSession() {
+        Properties props = new Properties();
+        props.put("mail.smtp.host", InetAddress.getLoopbackAddress().getHostAddress());
+        props.put("mail.smtp.port", String.valueOf(getPort()));
+        props.put("mail.smtp.auth", "false");
+        props.put("mail.smtp.starttls.enable", "false");
+        props.put("mail.smtp.connectiontimeout", "10000");
+        props.put("mail.smtp.timeout", "10000");
+        return Session.getInstance(props);
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+    }
+
+    public void setFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+    }
+
+    public void setDropRate(double dropRate) {
+        this.dropRate = dropRate;
+    }
+
+    public long getConnectionsAccepted() {
+        return connectionsAccepted.get();
+    }
+
+    public long getMessagesAccepted() {
+        return messagesAccepted.get();
+    }
+
+    public long getMessagesFailed() {
+        return messagesFailed.get();
+    }
+
+    public long getConnectionsDropped() {
+        return connectionsDropped.get();
+    }
+
+    /**
+     * The most recently accepted messages, oldest first.
+     */
+    public List<ReceivedMessage> getReceived() {
+        return new ArrayList<>(received);
+    }
+
+    public void reset() {
+        received.clear();
+        connectionsAccepted.set(0);
+        messagesAccepted.set(0);
+        messagesFailed.set(0);
+        connectionsDropped.set(0);
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        for (Socket socket : openSockets) {
+            closeQuietly(socket);
+        }
+        workers.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionsAccepted.incrementAndGet();
+                openSockets.add(socket);
+                workers.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    LogUtil.warn("SMTP sink accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            OutputStream out = socket.getOutputStream();
+            reply(out, "220 " + HOST_NAME + " ESMTP");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO":
+                        reply(out, "250-" + HOST_NAME + "\r\n250-8BITMIME\r\n250 PIPELINING");
+                        break;
+                    case "HELO":
+                        reply(out, "250 " + HOST_NAME);
+                        break;
+                    case "MAIL":
+                        from = address(line);
+                        recipients = new ArrayList<>();
+                        reply(out, "250 2.1.0 OK");
+                        break;
+                    case "RCPT":
+                        if (from == null) {
+                            reply(out, "503 5.5.1 MAIL first");
+                        } else {
+                            recipients.add(address(line));
+                            reply(out, "250 2.1.5 OK");
+                        }
+                        break;
+                    case "DATA":
+                        if (recipients.isEmpty()) {
+                            reply(out, "503 5.5.1 RCPT first");
+                            break;
+                        }
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(in);
+                        if (data == null) {
+                            return;
+                        }
+                        if (!finishMessage(out, from, recipients, data)) {
+                            return;
+                        }
+                        from = null;
+                        recipients = new ArrayList<>();
+                        break;
+                    case "RSET":
+                        from = null;
+                        recipients = new ArrayList<>();
+                        reply(out, "250 2.0.0 OK");
+                        break;
+                    case "NOOP":
+                        reply(out, "250 2.0.0 OK");
+                        break;
+                    case "QUIT":
+                        reply(out, "221 2.0.0 Bye");
+                        return;
+                    default:
+                        reply(out, "502 5.5.2 Command not implemented");
+                }
+            }
+        } catch (SocketException e) {
+            // Client went away or the sink is closing
+        } catch (IOException e) {
+            LogUtil.warn("SMTP sink connection failed: " + e.getMessage());
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    /**
+     * Applies the injected faults and replies to DATA. Returns false if the
+     * connection was dropped.
+     */
+    private boolean finishMessage(OutputStream out, String from, List<String> recipients, String data)
+            throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (dropRate > 0 && random.nextDouble() < dropRate) {
+            connectionsDropped.incrementAndGet();
+            return false;
+        }
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        if (failureRate > 0 && random.nextDouble() < failureRate) {
+            messagesFailed.incrementAndGet();
+            reply(out, "451 4.3.0 Injected failure");
+            return true;
+        }
+        received.addLast(new ReceivedMessage(from, recipients, data));
+        while (received.size() > maxRecorded) {
+            received.pollFirst();
+        }
+        messagesAccepted.incrementAndGet();
+        reply(out, "250 2.0.0 Queued");
+        return true;
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.equals(".")) {
+                return data.toString();
+            }
+            // Undo dot-stuffing
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return null;
+    }
+
+    private static String address(String line) {
+        int open = line.indexOf('<');
+        int close = line.indexOf('>', open + 1);
+        if (open >= 0 && close > open) {
+            return line.substring(open + 1, close);
+        }
+        int colon = line.indexOf(':');
+        return colon >= 0 ? line.substring(colon + 1).trim() : "";
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.campusconf.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors backed by virtual threads, for blocking JDBC and SMTP work
+ * that should not occupy a platform thread while it waits. Request
+ * handling only moves onto them when server.virtualThreads.enabled is set
+ * (see VirtualThreadFilter).
+ */
+public final class VirtualThreads {
+    private VirtualThreads() {
+    }
+
+    public static boolean isEnabled() {
+        return PerformanceConfigUtil.getBoolean("server.virtualThreads.enabled", false);
+    }
+
+    /**
+     * One new virtual thread per task, named prefix-1, prefix-2, ...
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix + "-", 1).factory());
+    }
+}